@@ -2,6 +2,7 @@ package fj;
 
 import fj.data.*;
 import fj.data.hamt.BitSet;
+import fj.data.hamt.HashArrayMappedTrie;
 import fj.data.hlist.HList;
 import fj.data.optic.Traversal;
 import fj.data.vector.V2;
@@ -15,6 +16,7 @@ import fj.parser.Result;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Iterator;
 
 import static fj.Function.compose;
 import static fj.Function.constant;
@@ -427,6 +429,28 @@ public final class Equal<A> {
     return streamEqual(e).contramap(Seq::toStream);
   }
 
+  /**
+   * An equal instance for the {@link PersistentVector} type.
+   *
+   * @param ea Equality across the elements of the vector.
+   * @return An equal instance for the {@link PersistentVector} type.
+   */
+  public static <A> Equal<PersistentVector<A>> persistentVectorEqual(final Equal<A> ea) {
+    final Definition<A> eaDef = ea.def;
+    return equalDef((v1, v2) -> {
+      if (v1.length() != v2.length()) {
+        return false;
+      }
+      final Iterator<A> i2 = v2.iterator();
+      for (final A a : v1) {
+        if (!eaDef.equal(a, i2.next())) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
   /**
    * An equal instance for the {@link Stream} type.
    *
@@ -799,6 +823,19 @@ public final class Equal<A> {
     return streamEqual(p2Equal(k, v)).contramap(TreeMap::toStream);
   }
 
+  /**
+   * An equal instance for hash array mapped tries. Two tries are equal if they have the same keys, according to
+   * the key equality of the tries, and the values of each key are equal.
+   *
+   * @param v Equality for the values of the tries.
+   * @return An equal instance for hash array mapped tries.
+   */
+  public static <K, V> Equal<HashArrayMappedTrie<K, V>> hamtEqual(final Equal<V> v) {
+    final Definition<V> vDef = v.def;
+    return equalDef((h1, h2) -> h1.size() == h2.size() &&
+        h1.foldLeft((acc, p) -> acc && h2.find(p._1()).exists(v2 -> vDef.equal(p._2(), v2)), true));
+  }
+
   public static <A, B> Equal<Writer<A, B>> writerEqual(Equal<A> eq1, Equal<B> eq2) {
     return p2Equal(eq1, eq2).contramap(Writer::run);
   }
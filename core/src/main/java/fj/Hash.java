@@ -3,6 +3,7 @@ package fj;
 import static fj.Function.compose;
 
 import fj.data.*;
+import fj.data.hamt.HashArrayMappedTrie;
 import fj.data.vector.V2;
 import fj.data.vector.V3;
 import fj.data.vector.V4;
@@ -238,6 +239,25 @@ public final class Hash<A> {
         return hash(s -> streamHash(h).hash(s.toStream()));
     }
 
+  /**
+   * A hash instance for the {@link PersistentVector} type.
+   *
+   * @param ha A hash for the elements of the vector.
+   * @return A hash instance for the {@link PersistentVector} type.
+   */
+  public static <A> Hash<PersistentVector<A>> persistentVectorHash(final Hash<A> ha) {
+    return hash(as -> {
+        final int p = 419;
+        int r = 239;
+
+        for (final A a : as) {
+            r = p * r + ha.hash(a);
+        }
+
+        return r;
+    });
+  }
+
     public static <A> Hash<Set<A>> setHash(final Hash<A> h) {
         return hash(s -> streamHash(h).hash(s.toStream()));
     }
@@ -340,6 +360,19 @@ public final class Hash<A> {
         return hash(t -> streamHash(p2Hash(h, v)).hash(t.toStream()));
     }
 
+    /**
+     * A hash instance for hash array mapped tries. The hash does not depend on the order of the key-value pairs.
+     * The hash of the keys must be the one that the tries were built with, which agrees with the key equality
+     * that the tries are compared by.
+     *
+     * @param h A hash for the keys of the trie, the one that the tries were built with.
+     * @param v A hash for the values of the trie.
+     * @return A hash instance for hash array mapped tries.
+     */
+    public static <K, V> Hash<HashArrayMappedTrie<K, V>> hamtHash(final Hash<K> h, final Hash<V> v) {
+        return hash(t -> t.foldLeft((acc, p) -> acc + (31 * h.hash(p._1()) + v.hash(p._2())), 0));
+    }
+
   /**
    * A hash instance for a product-1.
    *
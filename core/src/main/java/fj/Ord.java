@@ -4,6 +4,7 @@ import fj.data.*;
 
 import java.math.*;
 import java.util.Comparator;
+import java.util.Iterator;
 
 import static fj.Function.*;
 import static fj.Semigroup.semigroupDef;
@@ -529,6 +530,35 @@ public final class Ord<A> {
     });
   }
 
+  /**
+   * Return a persistent vector ord using the given value ord.
+   *
+   * @param ord the given value ord
+   * @param <A> the type of the vector value
+   * @return the persistent vector ord
+   */
+  public static <A> Ord<PersistentVector<A>> persistentVectorOrd(final Ord<A> ord) {
+    return ordDef((v1, v2) -> {
+      final Iterator<A> i1 = v1.iterator();
+      final Iterator<A> i2 = v2.iterator();
+
+      while (i1.hasNext() && i2.hasNext()) {
+        final Ordering o = ord.compare(i1.next(), i2.next());
+        if (o == Ordering.LT || o == Ordering.GT) {
+          return o;
+        }
+      }
+
+      if (!i1.hasNext() && !i2.hasNext()) {
+        return Ordering.EQ;
+      } else if (!i1.hasNext()) {
+        return Ordering.LT;
+      } else {
+        return Ordering.GT;
+      }
+    });
+  }
+
   /**
    * Return a seq ord using the given value ord.
    *
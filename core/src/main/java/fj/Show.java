@@ -360,6 +360,16 @@ public final class Show<A> {
     return show(s -> streamShow(sa, "Seq(", ",", ")").show(s.toStream()));
   }
 
+  /**
+   * A show instance for the {@link PersistentVector} type.
+   *
+   * @param sa Show for the elements of the vector.
+   * @return A show instance for the {@link PersistentVector} type.
+   */
+  public static <A> Show<PersistentVector<A>> persistentVectorShow(final Show<A> sa) {
+    return show(v -> streamShow(sa, "PersistentVector(", ",", ")").show(v.toStream()));
+  }
+
   /**
    * A show instance for the {@link Set} type.
    *
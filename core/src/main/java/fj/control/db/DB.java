@@ -2,12 +2,23 @@ package fj.control.db;
 
 import fj.F;
 import fj.Function;
+import fj.P;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
+import fj.data.Stream;
 import fj.function.Try1;
+import fj.function.TryEffect1;
+import fj.function.TryEffect2;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
 
+import static fj.Bottom.errorF;
+import static fj.Function.constant;
+
 /**
  * The DB monad represents a database action, or a value within the context of a database connection.
  */
@@ -121,4 +132,138 @@ public abstract class DB<A> {
   public static <A> DB<A> join(final DB<DB<A>> a) {
     return a.bind(Function.identity());
   }
+
+  /**
+   * Constructs a database action that executes the given statement in JDBC batches, once for each of the given
+   * values, which the given effect binds to the parameters of the statement. A batch is sent to the database for
+   * every given number of values, so that the values need not all be held at once.
+   *
+   * @param sql       The statement to execute for each value.
+   * @param as        The values for which to execute the statement.
+   * @param bind      The effect that sets the parameters of the statement for a value.
+   * @param batchSize The number of values to send to the database at once.
+   * @return A database action that results in the number of rows updated, as reported by the driver.
+   */
+  public static <A> DB<Long> batch(final String sql, final Iterable<A> as,
+                                   final TryEffect2<PreparedStatement, A, SQLException> bind, final int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Illegal batch size: " + batchSize);
+    }
+    return new DB<Long>() {
+      public Long run(final Connection c) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(sql)) {
+          long updated = 0;
+          int n = 0;
+          for (final A a : as) {
+            bind.f(s, a);
+            s.addBatch();
+            if (++n == batchSize) {
+              updated += updated(s.executeBatch());
+              n = 0;
+            }
+          }
+          if (n > 0) {
+            updated += updated(s.executeBatch());
+          }
+          return updated;
+        }
+      }
+    };
+  }
+
+  // The sum of the known update counts of a batch
+  private static long updated(final int[] counts) {
+    long updated = 0;
+    for (final int count : counts) {
+      if (count > 0) {
+        updated += count;
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Constructs a database action that executes the given query and feeds the rows of its result to the given
+   * iteratee, until the rows run out or the iteratee is done. The driver fetches the given number of rows at a
+   * time, so that the rows are streamed rather than all held at once.
+   *
+   * @param sql       The query to execute.
+   * @param params    The effect that sets the parameters of the query.
+   * @param fetchSize The number of rows to fetch from the database at a time.
+   * @param row       The function that reads a row at the current position of the result set.
+   * @param i         The iteratee that is fed with the rows.
+   * @return A database action that results in the iteratee fed with the rows.
+   */
+  public static <A, B> DB<IterV<A, B>> enumQuery(final String sql, final TryEffect1<PreparedStatement, SQLException> params,
+                                                 final int fetchSize, final Try1<ResultSet, A, SQLException> row,
+                                                 final IterV<A, B> i) {
+    return new DB<IterV<A, B>>() {
+      public IterV<A, B> run(final Connection c) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(sql)) {
+          params.f(s);
+          s.setFetchSize(fetchSize);
+          try (ResultSet rs = s.executeQuery()) {
+            IterV<A, B> it = i;
+            while (it.fold(constant(false), constant(true)) && rs.next()) {
+              it = it.fold(errorF("iteratee is done"), Function.apply(Input.el(row.f(rs))));
+            }
+            return it;
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Constructs a database action that executes the given query and applies the given function to the lazy stream
+   * of the rows of its result, which are read as the stream is forced. The driver fetches the given number of rows
+   * at a time. The stream must be consumed by the function, as the result set is closed once it returns.
+   *
+   * @param sql       The query to execute.
+   * @param params    The effect that sets the parameters of the query.
+   * @param fetchSize The number of rows to fetch from the database at a time.
+   * @param row       The function that reads a row at the current position of the result set.
+   * @param f         The function to apply to the stream of rows.
+   * @return A database action that results in the result of the function.
+   */
+  public static <A, B> DB<B> queryStream(final String sql, final TryEffect1<PreparedStatement, SQLException> params,
+                                         final int fetchSize, final Try1<ResultSet, A, SQLException> row,
+                                         final F<Stream<A>, B> f) {
+    return new DB<B>() {
+      public B run(final Connection c) throws SQLException {
+        try (PreparedStatement s = c.prepareStatement(sql)) {
+          params.f(s);
+          s.setFetchSize(fetchSize);
+          try (ResultSet rs = s.executeQuery()) {
+            return f.f(rows(rs, row));
+          } catch (RowException e) {
+            throw e.getCause();
+          }
+        }
+      }
+    };
+  }
+
+  // The tails are memoised, as the rows of a result set can only be read once
+  private static <A> Stream<A> rows(final ResultSet rs, final Try1<ResultSet, A, SQLException> row) {
+    try {
+      return rs.next() ? Stream.cons(row.f(rs), P.hardMemo(() -> rows(rs, row))) : Stream.nil();
+    } catch (SQLException e) {
+      throw new RowException(e);
+    }
+  }
+
+  // Carries an exception of reading a row out of the forcing of a stream
+  private static final class RowException extends RuntimeException {
+    private static final long serialVersionUID = 6493118267314028275L;
+
+    RowException(final SQLException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+      return (SQLException) super.getCause();
+    }
+  }
 }
@@ -1,6 +1,12 @@
 package fj.control.db;
 
+import fj.F;
+import fj.P;
 import fj.Unit;
+import fj.control.parallel.Promise;
+import fj.control.parallel.Strategy;
+import fj.data.Either;
+import fj.data.List;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -111,4 +117,42 @@ public final class DbState {
       return a;
     }
   }
+
+  /**
+   * Runs the database actions that the given function returns for each of the given values concurrently on the
+   * given strategy, each as a transaction of its own on a connection of its own, and collects their results in
+   * order. With a {@link PooledConnector}, the actions share the connections of the pool, and at most as many
+   * run at once as the pool has connections.
+   *
+   * @param as The values for which to run actions.
+   * @param f  The function that returns the action to run for a value.
+   * @param s  The strategy on which to run the actions.
+   * @return The results of the actions, in the order of the values.
+   * @throws SQLException the first exception, in the order of the values, of the actions that fail, which is
+   *                      rethrown as is, as are runtime exceptions. The transactions of the other actions are not
+   *                      undone.
+   */
+  public <A, B> List<B> parTraverse(final List<A> as, final F<A, DB<B>> f, final Strategy<Unit> s)
+      throws SQLException {
+    final List<Promise<Either<Exception, B>>> ps = as.map(a -> Promise.promise(s, P.lazy(() -> {
+      try {
+        return Either.right(run(f.f(a)));
+      } catch (RuntimeException | SQLException e) {
+        return Either.left(e);
+      }
+    })));
+    final List.Buffer<B> bs = new List.Buffer<>();
+    for (final Promise<Either<Exception, B>> p : ps) {
+      final Either<Exception, B> r = p.claim();
+      if (r.isLeft()) {
+        final Exception e = r.left().value();
+        if (e instanceof SQLException) {
+          throw (SQLException) e;
+        }
+        throw (RuntimeException) e;
+      }
+      bs.snoc(r.right().value());
+    }
+    return bs.toList();
+  }
 }
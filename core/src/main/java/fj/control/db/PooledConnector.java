@@ -0,0 +1,392 @@
+package fj.control.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connector that keeps a bounded pool of the connections of another connector, and lends them out rather than
+ * connecting for each transaction. Closing a connection that it lends returns it to the pool, rolled back, with
+ * the auto-commit mode, read-only mode, transaction isolation and catalog that it had when it was connected. A
+ * connection whose state cannot be restored is closed rather than pooled.
+ * <p/>
+ * At most the given number of connections are open at once, and {@link #connect()} waits for one to be returned
+ * when they are all lent, up to a timeout. A connection that has been idle for a while is validated before it is
+ * lent, and is closed once it has been idle for longer than the idle timeout, which is checked whenever a
+ * connection is lent or returned, without a thread of its own.
+ * <p/>
+ * Each pooled connection caches the statements that it prepares with {@link Connection#prepareStatement(String)},
+ * by SQL, and closing such a statement keeps it prepared for the next transaction that prepares the same SQL,
+ * with its parameters, batch, fetch size, maximum rows, maximum field size and query timeout reset.
+ */
+public final class PooledConnector extends Connector implements AutoCloseable {
+
+  private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+  private static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 10;
+  private static final long DEFAULT_ACQUIRE_TIMEOUT_SECONDS = 30;
+
+  // Connections idle for less than this are lent without validation
+  private static final long VALIDATION_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  private final Connector connector;
+  private final int statementCacheSize;
+  private final long idleTimeout;
+  private final long acquireTimeout;
+  private final Semaphore permits;
+
+  // The idle connections, the most recently returned first; guarded by this
+  private final ArrayDeque<Pooled> idle = new ArrayDeque<>();
+  private boolean closed;
+
+  private PooledConnector(final Connector connector, final int maxSize, final int statementCacheSize,
+                          final long idleTimeout, final long acquireTimeout) {
+    this.connector = connector;
+    this.statementCacheSize = statementCacheSize;
+    this.idleTimeout = idleTimeout;
+    this.acquireTimeout = acquireTimeout;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Returns a pool of at most the given number of connections of the given connector, which caches 64 statements
+   * per connection, closes connections idle for 10 minutes, and waits 30 seconds at most for a connection.
+   *
+   * @param connector The connector of the connections to pool.
+   * @param maxSize   The maximum number of connections open at once.
+   * @return A pool of the connections of the given connector.
+   */
+  public static PooledConnector pool(final Connector connector, final int maxSize) {
+    return pool(connector, maxSize, DEFAULT_STATEMENT_CACHE_SIZE, TimeUnit.MINUTES.toMillis(DEFAULT_IDLE_TIMEOUT_MINUTES),
+        TimeUnit.SECONDS.toMillis(DEFAULT_ACQUIRE_TIMEOUT_SECONDS), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns a pool of at most the given number of connections of the given connector.
+   *
+   * @param connector          The connector of the connections to pool.
+   * @param maxSize            The maximum number of connections open at once.
+   * @param statementCacheSize The number of prepared statements to cache per connection, or 0 for none.
+   * @param idleTimeout        The time after which an idle connection is closed.
+   * @param acquireTimeout     The time to wait for a connection when they are all lent.
+   * @param unit               The time unit of the timeouts.
+   * @return A pool of the connections of the given connector.
+   */
+  public static PooledConnector pool(final Connector connector, final int maxSize, final int statementCacheSize,
+                                     final long idleTimeout, final long acquireTimeout, final TimeUnit unit) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Illegal pool size: " + maxSize);
+    }
+    if (statementCacheSize < 0) {
+      throw new IllegalArgumentException("Illegal statement cache size: " + statementCacheSize);
+    }
+    return new PooledConnector(connector, maxSize, statementCacheSize, unit.toNanos(idleTimeout),
+        unit.toNanos(acquireTimeout));
+  }
+
+  /**
+   * Lends a connection of the pool, or connects if none is idle, and waits for a connection to be returned if
+   * they are all lent.
+   *
+   * @return A connection of the pool, which is returned to the pool when it is closed.
+   * @throws SQLException if connecting fails, or no connection is returned in time.
+   */
+  @Override
+  public Connection connect() throws SQLException {
+    try {
+      if (!permits.tryAcquire(acquireTimeout, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException("Timed out waiting for a pooled connection");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a pooled connection", e);
+    }
+    try {
+      Pooled p;
+      while ((p = borrow()) != null) {
+        if (System.nanoTime() - p.returnedAt < VALIDATION_INTERVAL || isValid(p.connection)) {
+          return p.lend();
+        }
+        closeQuietly(p.connection);
+      }
+      final Connection c = connector.connect();
+      try {
+        return new Pooled(c).lend();
+      } catch (RuntimeException | SQLException e) {
+        closeQuietly(c);
+        throw e;
+      }
+    } catch (RuntimeException | SQLException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of idle connections of the pool.
+   *
+   * @return The number of idle connections of the pool.
+   */
+  public synchronized int idle() {
+    return idle.size();
+  }
+
+  /**
+   * Closes the idle connections of the pool, and the lent connections as they are returned. The pool lends no
+   * connection after it is closed.
+   */
+  @Override
+  public void close() {
+    final ArrayList<Pooled> ps;
+    synchronized (this) {
+      closed = true;
+      ps = new ArrayList<>(idle);
+      idle.clear();
+    }
+    ps.forEach(p -> closeQuietly(p.connection));
+  }
+
+  // Takes the most recently returned idle connection, if any, after closing those idle for too long
+  private Pooled borrow() throws SQLException {
+    final Pooled p;
+    synchronized (this) {
+      if (closed) {
+        throw new SQLException("The connection pool is closed");
+      }
+      p = idle.pollFirst();
+    }
+    evict();
+    return p;
+  }
+
+  private void evict() {
+    final long now = System.nanoTime();
+    final ArrayList<Pooled> expired = new ArrayList<>();
+    synchronized (this) {
+      // the least recently returned connections are last
+      while (!idle.isEmpty() && now - idle.peekLast().returnedAt > idleTimeout) {
+        expired.add(idle.pollLast());
+      }
+    }
+    expired.forEach(p -> closeQuietly(p.connection));
+  }
+
+  private void release(final Pooled p) {
+    try {
+      boolean reusable;
+      try {
+        reusable = !p.connection.isClosed();
+        if (reusable) {
+          p.reset();
+        }
+      } catch (SQLException e) {
+        reusable = false;
+      }
+      final boolean pooled;
+      synchronized (this) {
+        pooled = reusable && !closed;
+        if (pooled) {
+          p.returnedAt = System.nanoTime();
+          idle.addFirst(p);
+        }
+      }
+      if (!pooled) {
+        closeQuietly(p.connection);
+      }
+    } finally {
+      permits.release();
+    }
+    evict();
+  }
+
+  private static boolean isValid(final Connection c) {
+    try {
+      return c.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static void closeQuietly(final AutoCloseable c) {
+    try {
+      c.close();
+    } catch (Exception ignored) {
+      // the resource is discarded anyway
+    }
+  }
+
+  // Invokes the given method on the given target, and throws what the method throws
+  private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * A pooled connection, with its cache of prepared statements, which only the holder of the connection uses.
+   */
+  private final class Pooled {
+    final Connection connection;
+    final LinkedHashMap<String, PreparedStatement> statements;
+    long returnedAt;
+
+    // The state of the connection when it was connected, restored when it is returned
+    final boolean autoCommit;
+    final boolean readOnly;
+    final int isolation;
+    final String catalog;
+
+    Pooled(final Connection connection) throws SQLException {
+      this.connection = connection;
+      this.autoCommit = connection.getAutoCommit();
+      this.readOnly = connection.isReadOnly();
+      this.isolation = connection.getTransactionIsolation();
+      this.catalog = connection.getCatalog();
+      this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+          if (size() > statementCacheSize) {
+            closeQuietly(eldest.getValue());
+            return true;
+          }
+          return false;
+        }
+      };
+    }
+
+    // Rolls back the transaction in progress, if any, and restores the state of the connection as it was connected
+    void reset() throws SQLException {
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+        if (autoCommit) {
+          connection.setAutoCommit(true);
+        }
+      } else if (!autoCommit) {
+        connection.setAutoCommit(false);
+      }
+      if (connection.isReadOnly() != readOnly) {
+        connection.setReadOnly(readOnly);
+      }
+      if (connection.getTransactionIsolation() != isolation) {
+        connection.setTransactionIsolation(isolation);
+      }
+      if (catalog != null && !catalog.equals(connection.getCatalog())) {
+        connection.setCatalog(catalog);
+      }
+      connection.clearWarnings();
+    }
+
+    // A view of this connection, whose close returns this connection to the pool
+    Connection lend() {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+          new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+              switch (method.getName()) {
+                case "close":
+                  if (!returned) {
+                    returned = true;
+                    release(Pooled.this);
+                  }
+                  return null;
+                case "isClosed":
+                  return returned || connection.isClosed();
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return "Pooled " + connection;
+                default:
+                  if (returned) {
+                    throw new SQLException("The connection is closed");
+                  }
+                  if (method.getName().equals("prepareStatement") && args.length == 1 && statementCacheSize > 0) {
+                    return prepare((String) args[0], (Connection) proxy);
+                  }
+                  return PooledConnector.invoke(connection, method, args);
+              }
+            }
+          });
+    }
+
+    // A view of the cached statement of the given SQL, whose close puts it back in the cache. While it is in use,
+    // it is not in the cache, so that preparing the same SQL again prepares another statement.
+    PreparedStatement prepare(final String sql, final Connection proxyConnection) throws SQLException {
+      final PreparedStatement cached = statements.remove(sql);
+      final PreparedStatement s = cached == null || cached.isClosed() ? connection.prepareStatement(sql) : cached;
+      return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[]{PreparedStatement.class}, new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+              switch (method.getName()) {
+                case "close":
+                  if (!closed) {
+                    closed = true;
+                    recycle(sql, s);
+                  }
+                  return null;
+                case "isClosed":
+                  return closed || s.isClosed();
+                case "getConnection":
+                  return proxyConnection;
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return "Cached " + s;
+                default:
+                  if (closed) {
+                    throw new SQLException("The statement is closed");
+                  }
+                  return PooledConnector.invoke(s, method, args);
+              }
+            }
+          });
+    }
+
+    private void recycle(final String sql, final PreparedStatement s) {
+      try {
+        final ResultSet rs = s.getResultSet();
+        if (rs != null) {
+          rs.close();
+        }
+        s.clearParameters();
+        s.clearBatch();
+        s.clearWarnings();
+        // the defaults of JDBC, so that the settings of a transaction do not apply to the next
+        s.setFetchSize(0);
+        s.setMaxRows(0);
+        s.setMaxFieldSize(0);
+        s.setQueryTimeout(0);
+      } catch (SQLException e) {
+        closeQuietly(s);
+        return;
+      }
+      if (statements.containsKey(sql)) {
+        closeQuietly(s);
+      } else {
+        statements.put(sql, s);
+      }
+    }
+  }
+}
@@ -1,12 +1,18 @@
 package fj.control.parallel;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 import fj.Effect;
 import fj.F;
 import fj.Unit;
 import fj.P1;
+import fj.data.List;
 import fj.function.Effect1;
 
 /**
@@ -20,7 +26,8 @@ import fj.function.Effect1;
  * An actor is not thread-safe unless either its Effect imposes an order on incoming messages or its Strategy is
  * single-threaded.
  *
- * A queue actor which imposes an order on its messages is provided by the {@link #queueActor} static method.
+ * A queue actor which imposes an order on its messages is provided by the {@link #queueActor} static method,
+ * and one with a bounded mailbox by the {@link #boundedActor} and {@link #batchActor} static methods.
  */
 public final class Actor<A> {
 
@@ -77,6 +84,251 @@ public final class Actor<A> {
     });
   }
   
+  /**
+   * What a bounded actor does with a message sent to it while its mailbox is full.
+   */
+  public enum Overflow {
+    /**
+     * The sender waits until there is room in the mailbox. An actor must not send messages to itself under this
+     * policy, as it would wait for itself once its mailbox is full.
+     */
+    BLOCK,
+    /**
+     * The message is discarded.
+     */
+    DROP,
+    /**
+     * Sending the message throws an <code>IllegalStateException</code>.
+     */
+    FAIL
+  }
+
+  /**
+   * An Actor equipped with a bounded queue and which is guaranteed to process one message at a time, in the same
+   * order as they are sent with respect to an enqueueing actor or thread. Each time the actor is run by its strategy,
+   * it processes up to the given number of messages before yielding to the strategy.
+   *
+   * @param s          The parallelization strategy to use for the new Actor.
+   * @param capacity   The number of messages that the mailbox holds, rounded up to a power of two, and at least 2.
+   * @param overflow   What to do with a message sent while the mailbox is full.
+   * @param throughput The maximum number of messages to process each time the actor is run by its strategy.
+   * @param ea         The side-effect to apply to messages passed to the Actor.
+   * @return A new actor with a bounded mailbox.
+   */
+  public static <T> Actor<T> boundedActor(final Strategy<Unit> s, final int capacity, final Overflow overflow,
+                                          final int throughput, final Effect1<T> ea) {
+    return actor(Strategy.seqStrategy(), new BoundedMailbox<>(s, capacity, overflow, throughput, ea, null));
+  }
+
+  /**
+   * An Actor equipped with a bounded queue, which processes its messages in batches, one batch at a time. Each time
+   * the actor is run by its strategy, it takes up to the given number of messages from the mailbox and applies the
+   * given side-effect to them as a list, in the same order as they are sent with respect to an enqueueing actor or
+   * thread.
+   *
+   * @param s          The parallelization strategy to use for the new Actor.
+   * @param capacity   The number of messages that the mailbox holds, rounded up to a power of two, and at least 2.
+   * @param overflow   What to do with a message sent while the mailbox is full.
+   * @param throughput The maximum number of messages in a batch.
+   * @param ea         The side-effect to apply to batches of messages passed to the Actor.
+   * @return A new actor with a bounded mailbox, that processes its messages in batches.
+   */
+  public static <T> Actor<T> batchActor(final Strategy<Unit> s, final int capacity, final Overflow overflow,
+                                        final int throughput, final Effect1<List<T>> ea) {
+    return actor(Strategy.seqStrategy(), new BoundedMailbox<>(s, capacity, overflow, throughput, null, ea));
+  }
+
+  /**
+   * The mailbox of a bounded actor: a ring buffer with many producers and a single consumer, which is whoever holds
+   * the lock of the actor.
+   */
+  private static final class BoundedMailbox<T> implements Effect1<T> {
+    private final Strategy<Unit> s;
+    private final Overflow overflow;
+    private final int throughput;
+    private final Effect1<T> single;
+    private final Effect1<List<T>> batch;
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    // The slot at index i is ready for the message at position p when its sequence is p, and holds it when p + 1.
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    // Lock to ensure the actor only acts on one batch of messages at a time
+    private final AtomicBoolean suspended = new AtomicBoolean(true);
+
+    // The senders parked until there is room in the mailbox, under the BLOCK policy, the longest waiting first
+    private final ConcurrentLinkedQueue<Thread> blocked = new ConcurrentLinkedQueue<>();
+
+    private final P1<Unit> processor = new P1<Unit>() {
+      @Override public Unit _1() {
+        try {
+          drain();
+        } catch (RuntimeException | Error e) {
+          suspended.set(true);
+          throw e;
+        } finally {
+          // the batch made room in the mailbox
+          signal();
+        }
+        if (ready()) {
+          // there are more messages, yield to the strategy before the next batch
+          s.par(this);
+        } else {
+          suspended.set(true);
+          // work again, in case someone else queued up a message while we were holding the lock
+          work();
+        }
+        return Unit.unit();
+      }
+    };
+
+    BoundedMailbox(final Strategy<Unit> s, final int capacity, final Overflow overflow, final int throughput,
+                   final Effect1<T> single, final Effect1<List<T>> batch) {
+      if (capacity < 1 || capacity > 1 << 30) {
+        throw new IllegalArgumentException("Illegal capacity: " + capacity);
+      }
+      if (throughput < 1) {
+        throw new IllegalArgumentException("Illegal throughput: " + throughput);
+      }
+      this.s = s;
+      this.overflow = overflow;
+      this.throughput = throughput;
+      this.single = single;
+      this.batch = batch;
+      // a single slot cannot tell the message at a position from room for the next one
+      final int n = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+      mask = n - 1;
+      slots = new AtomicReferenceArray<>(n);
+      sequences = new AtomicLongArray(n);
+      for (int i = 0; i < n; i++) {
+        sequences.set(i, i);
+      }
+    }
+
+    @Override public void f(final T a) {
+      if (!offer(a)) {
+        switch (overflow) {
+          case DROP:
+            return;
+          case FAIL:
+            throw new IllegalStateException("Mailbox full");
+          default:
+            await(a);
+        }
+      }
+      work();
+    }
+
+    // If there are pending messages, use the strategy to run the processor
+    private void work() {
+      if (ready() && suspended.compareAndSet(true, false)) {
+        s.par(processor);
+      }
+    }
+
+    private boolean offer(final T a) {
+      long pos = tail.get();
+      for (;;) {
+        final int i = (int) pos & mask;
+        final long d = sequences.get(i) - pos;
+        if (d == 0) {
+          if (tail.compareAndSet(pos, pos + 1)) {
+            slots.lazySet(i, a);
+            sequences.set(i, pos + 1);
+            return true;
+          }
+          pos = tail.get();
+        } else if (d < 0) {
+          return false;
+        } else {
+          pos = tail.get();
+        }
+      }
+    }
+
+    private boolean ready() {
+      final long h = head;
+      return sequences.get((int) h & mask) == h + 1;
+    }
+
+    private T poll() {
+      final long h = head;
+      final int i = (int) h & mask;
+      if (sequences.get(i) != h + 1) {
+        return null;
+      }
+      final T a = slots.get(i);
+      slots.lazySet(i, null);
+      sequences.set(i, h + mask + 1);
+      head = h + 1;
+      return a;
+    }
+
+    private void drain() {
+      if (single != null) {
+        T a;
+        for (int n = 0; n < throughput && (a = poll()) != null; n++) {
+          single.f(a);
+        }
+      } else {
+        final List.Buffer<T> as = new List.Buffer<>();
+        T a;
+        for (int n = 0; n < throughput && (a = poll()) != null; n++) {
+          as.snoc(a);
+        }
+        final List<T> l = as.toList();
+        if (l.isNotEmpty()) {
+          batch.f(l);
+        }
+      }
+    }
+
+    // Unparks the sender that has waited longest for room in the mailbox, if any
+    private void signal() {
+      final Thread t = blocked.peek();
+      if (t != null) {
+        LockSupport.unpark(t);
+      }
+    }
+
+    // Parks until there is room in the mailbox, making sure that the actor runs meanwhile. The sender is queued
+    // before it tries to send again, so that the actor cannot make room unseen between the two. Once it leaves,
+    // it passes the signal on to the next sender, which may have been signalled in its place.
+    private void await(final T a) {
+      final Thread t = Thread.currentThread();
+      blocked.offer(t);
+      try {
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+          private boolean sent;
+
+          public boolean block() throws InterruptedException {
+            while (!isReleasable()) {
+              work();
+              LockSupport.park(this);
+              if (Thread.interrupted()) {
+                throw new InterruptedException();
+              }
+            }
+            return true;
+          }
+
+          public boolean isReleasable() {
+            return sent || (sent = offer(a));
+          }
+        });
+      } catch (InterruptedException e) {
+        t.interrupt();
+        throw new Error(e);
+      } finally {
+        blocked.remove(t);
+        signal();
+      }
+    }
+  }
+
   private Actor(final Strategy<Unit> s, final F<A, P1<Unit>> e) {
     this.s = s;
     f = a -> s.par(e.f(a));
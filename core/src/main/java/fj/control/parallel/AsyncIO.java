@@ -0,0 +1,412 @@
+package fj.control.parallel;
+
+import fj.F;
+import fj.F0;
+import fj.P;
+import fj.Unit;
+import fj.data.Either;
+import fj.data.IO;
+import fj.data.List;
+import fj.data.Seq;
+import fj.function.Effect1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An asynchronous effect, which runs on a strategy and completes with a value or an exception. Unlike
+ * {@link IO#run()}, running an asynchronous effect does not block the calling thread: it returns a
+ * {@link Promise} of the result right away. Effects made by {@link #async(Effect1)} register a callback with an
+ * asynchronous API, such as a non-blocking channel or an HTTP client, and hold no thread while they are in
+ * flight; the effects that follow them run on the strategy once the callback is called.
+ * <p/>
+ * An asynchronous effect describes a computation, and does nothing until it is run with
+ * {@link #toPromise(Strategy)}, {@link #toCompletableFuture(Strategy)} or {@link #toIO(Strategy)}. It runs again
+ * each time it is run.
+ */
+public final class AsyncIO<A> {
+
+  private final F<Strategy<Unit>, Promise<A>> run;
+
+  private AsyncIO(final F<Strategy<Unit>, Promise<A>> run) {
+    this.run = run;
+  }
+
+  /**
+   * Returns an effect that completes with the given value.
+   *
+   * @param a The value of the effect.
+   * @return An effect that completes with the given value.
+   */
+  public static <A> AsyncIO<A> pure(final A a) {
+    return new AsyncIO<>(s -> {
+      final Promise<A> p = Promise.pending(s);
+      p.succeed(a);
+      return p;
+    });
+  }
+
+  /**
+   * Returns an effect that fails with the given exception.
+   *
+   * @param t The exception of the effect.
+   * @return An effect that fails with the given exception.
+   */
+  public static <A> AsyncIO<A> fail(final Throwable t) {
+    return new AsyncIO<>(s -> {
+      final Promise<A> p = Promise.pending(s);
+      p.fail(t);
+      return p;
+    });
+  }
+
+  /**
+   * Returns an effect that is completed through a callback. When the effect is run, the given function is applied
+   * to a callback, in the running thread, and should register it with an asynchronous API, which calls it once
+   * with the exception or the value of the effect. Only the first call of the callback counts.
+   *
+   * @param register The function that registers the callback of the effect.
+   * @return An effect that completes when its callback is called.
+   */
+  public static <A> AsyncIO<A> async(final Effect1<Effect1<Either<Throwable, A>>> register) {
+    return new AsyncIO<>(s -> {
+      final Promise<A> p = Promise.pending(s);
+      try {
+        register.f(complete(p));
+      } catch (Throwable t) {
+        p.fail(t);
+      }
+      return p;
+    });
+  }
+
+  /**
+   * Returns an effect that runs the given blocking IO on the strategy. A thread of the strategy is held while the
+   * IO runs, and is interrupted if the effect is cancelled. The IO exceptions that it throws fail the effect with
+   * an {@link UncheckedIOException}.
+   *
+   * @param io The IO to run.
+   * @return An effect that runs the given IO.
+   */
+  public static <A> AsyncIO<A> io(final IO<A> io) {
+    return new AsyncIO<>(s -> Promise.promise(s, null, P.lazy(() -> {
+      try {
+        return io.run();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    })));
+  }
+
+  /**
+   * Returns an effect of the given promise. The promise is made when the effect is run.
+   *
+   * @param p The function that makes the promise.
+   * @return An effect that completes with the promise that the given function makes.
+   */
+  public static <A> AsyncIO<A> fromPromise(final F0<Promise<A>> p) {
+    return async(k -> p.f().onResult(k));
+  }
+
+  /**
+   * Returns an effect of the given completable future. The future is made when the effect is run, and is
+   * cancelled if the effect is.
+   *
+   * @param f The function that makes the future.
+   * @return An effect that completes with the future that the given function makes.
+   */
+  public static <A> AsyncIO<A> fromCompletableFuture(final F0<? extends CompletableFuture<A>> f) {
+    return new AsyncIO<>(s -> {
+      final Promise<A> p = Promise.pending(s);
+      final CompletableFuture<A> cf = f.f();
+      cf.whenComplete((a, t) -> {
+        if (t == null) {
+          p.succeed(a);
+        } else {
+          p.fail(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+        }
+      });
+      p.onResult(r -> cf.cancel(true));
+      return p;
+    });
+  }
+
+  /**
+   * Maps the given function across the value of this effect, on the strategy. Cancelling the resulting effect
+   * cancels this one.
+   *
+   * @param f The function to map.
+   * @return An effect of the result of applying the given function to the value of this effect.
+   */
+  public <B> AsyncIO<B> map(final F<A, B> f) {
+    return new AsyncIO<>(s -> {
+      final Promise<B> p = Promise.pending(s);
+      final Promise<A> pa = run.f(s);
+      pa.onResult(r -> {
+        if (r.isLeft()) {
+          p.fail(r.left().value());
+        } else {
+          s.par(P.lazy(() -> {
+            try {
+              p.succeed(f.f(r.right().value()));
+            } catch (Throwable t) {
+              p.fail(t);
+            }
+            return Unit.unit();
+          }));
+        }
+      });
+      p.onResult(r -> pa.cancel());
+      return p;
+    });
+  }
+
+  /**
+   * Runs the effect that the given function returns for the value of this effect. The function is applied on the
+   * strategy, and cancelling the resulting effect cancels whichever of the two effects is running.
+   *
+   * @param f The function that returns the effect to run next.
+   * @return An effect of the value of the effect that the given function returns.
+   */
+  public <B> AsyncIO<B> bind(final F<A, AsyncIO<B>> f) {
+    return new AsyncIO<>(s -> {
+      final Promise<B> p = Promise.pending(s);
+      final Promise<A> pa = run.f(s);
+      pa.onResult(r -> {
+        if (r.isLeft()) {
+          p.fail(r.left().value());
+        } else {
+          s.par(P.lazy(() -> {
+            try {
+              final Promise<B> pb = f.f(r.right().value()).run.f(s);
+              pb.onResult(complete(p));
+              p.onResult(rb -> pb.cancel());
+            } catch (Throwable t) {
+              p.fail(t);
+            }
+            return Unit.unit();
+          }));
+        }
+      });
+      p.onResult(r -> pa.cancel());
+      return p;
+    });
+  }
+
+  /**
+   * Runs the given effect after this one, and keeps its value.
+   *
+   * @param b The effect to run after this one.
+   * @return An effect of the value of the given effect.
+   */
+  public <B> AsyncIO<B> append(final AsyncIO<B> b) {
+    return bind(a -> b);
+  }
+
+  /**
+   * Returns an effect of the exception or the value of this effect, which does not fail unless it is cancelled.
+   *
+   * @return An effect of the exception or the value of this effect.
+   */
+  public AsyncIO<Either<Throwable, A>> attempt() {
+    return new AsyncIO<>(s -> {
+      final Promise<Either<Throwable, A>> p = Promise.pending(s);
+      final Promise<A> pa = run.f(s);
+      pa.onResult(p::succeed);
+      p.onResult(r -> pa.cancel());
+      return p;
+    });
+  }
+
+  /**
+   * Runs this effect, and fails it with a {@link TimeoutException} if it does not complete within the given
+   * time, in which case it is cancelled.
+   *
+   * @param timeout The time to wait for this effect.
+   * @param unit    The time unit of the timeout argument.
+   * @return An effect of the value of this effect, which fails if it is too late.
+   */
+  public AsyncIO<A> timeout(final long timeout, final TimeUnit unit) {
+    return new AsyncIO<>(s -> {
+      final Promise<A> p = Promise.pending(s);
+      final Promise<A> pa = run.f(s);
+      final ScheduledFuture<?> f = Scope.schedule(() -> p.fail(new TimeoutException()), timeout, unit);
+      pa.onResult(complete(p));
+      p.onResult(r -> {
+        f.cancel(false);
+        pa.cancel();
+      });
+      return p;
+    });
+  }
+
+  /**
+   * Runs both effects concurrently, and completes with the value of whichever completes first, then cancels the
+   * other. The resulting effect fails only if both do.
+   *
+   * @param a An effect to race.
+   * @param b An effect to race.
+   * @return An effect of the first value of the given effects.
+   */
+  public static <A> AsyncIO<A> race(final AsyncIO<A> a, final AsyncIO<A> b) {
+    return new AsyncIO<>(s -> Promise.firstOf(s, List.list(a.run.f(s), b.run.f(s))));
+  }
+
+  /**
+   * Runs the effects that the given function returns for each element of the given list concurrently, and
+   * collects their values in order. The resulting effect fails as soon as one of them fails, and then cancels
+   * the others.
+   *
+   * @param as The elements for which to run effects.
+   * @param f  The function that returns the effect for an element.
+   * @return An effect of the values of the effects, in the order of the elements.
+   */
+  public static <A, B> AsyncIO<List<B>> parTraverse(final List<A> as, final F<A, AsyncIO<B>> f) {
+    return new AsyncIO<>(s -> {
+      final Promise<List<B>> p = Promise.pending(s);
+      final List<Promise<B>> ps = as.map(a -> f.f(a).run.f(s));
+      final Object[] values = new Object[ps.length()];
+      final AtomicInteger pending = new AtomicInteger(values.length);
+      int i = 0;
+      for (final Promise<B> pb : ps) {
+        final int index = i++;
+        pb.onResult(r -> {
+          if (r.isLeft()) {
+            p.fail(r.left().value());
+          } else {
+            values[index] = r.right().value();
+            if (pending.decrementAndGet() == 0) {
+              p.succeed(list(values));
+            }
+          }
+        });
+      }
+      if (values.length == 0) {
+        p.succeed(List.nil());
+      }
+      p.onResult(r -> ps.foreachDoEffect(Promise::cancel));
+      return p;
+    });
+  }
+
+  /**
+   * Runs the effects that the given function returns for each element of the given sequence concurrently, and
+   * collects their values in order.
+   *
+   * @param as The elements for which to run effects.
+   * @param f  The function that returns the effect for an element.
+   * @return An effect of the values of the effects, in the order of the elements.
+   * @see #parTraverse(List, F)
+   */
+  public static <A, B> AsyncIO<Seq<B>> parTraverse(final Seq<A> as, final F<A, AsyncIO<B>> f) {
+    return parTraverse(as.toList(), f).map(Seq::iterableSeq);
+  }
+
+  /**
+   * Runs the given effects concurrently, and collects their values in order.
+   *
+   * @param as The effects to run.
+   * @return An effect of the values of the given effects, in order.
+   * @see #parTraverse(List, F)
+   */
+  public static <A> AsyncIO<List<A>> parSequence(final List<AsyncIO<A>> as) {
+    return parTraverse(as, a -> a);
+  }
+
+  /**
+   * Runs the given effects concurrently, and collects their values in order.
+   *
+   * @param as The effects to run.
+   * @return An effect of the values of the given effects, in order.
+   * @see #parTraverse(List, F)
+   */
+  public static <A> AsyncIO<Seq<A>> parSequence(final Seq<AsyncIO<A>> as) {
+    return parTraverse(as, a -> a);
+  }
+
+  /**
+   * Runs this effect on the given strategy, and returns the promise of its result right away. Cancelling the
+   * promise cancels the effect.
+   *
+   * @param s The strategy on which to run this effect.
+   * @return A promise of the value of this effect.
+   */
+  public Promise<A> toPromise(final Strategy<Unit> s) {
+    return run.f(s);
+  }
+
+  /**
+   * Runs this effect on the given strategy, and returns a future of its result right away. Cancelling the
+   * future cancels the effect.
+   *
+   * @param s The strategy on which to run this effect.
+   * @return A future of the value of this effect.
+   */
+  public CompletableFuture<A> toCompletableFuture(final Strategy<Unit> s) {
+    final CompletableFuture<A> cf = new CompletableFuture<>();
+    final Promise<A> p = run.f(s);
+    p.onResult(r -> {
+      if (r.isLeft()) {
+        cf.completeExceptionally(r.left().value());
+      } else {
+        cf.complete(r.right().value());
+      }
+    });
+    cf.whenComplete((a, t) -> {
+      if (cf.isCancelled()) {
+        p.cancel();
+      }
+    });
+    return cf;
+  }
+
+  /**
+   * Returns an IO which runs this effect on the given strategy, and blocks until it completes.
+   *
+   * @param s The strategy on which to run this effect.
+   * @return An IO of the value of this effect, which throws the IO exceptions that fail it.
+   */
+  public IO<A> toIO(final Strategy<Unit> s) {
+    return () -> {
+      final Either<Throwable, A> r = attempt().run.f(s).claim();
+      if (r.isRight()) {
+        return r.right().value();
+      }
+      final Throwable t = r.left().value();
+      if (t instanceof IOException) {
+        throw (IOException) t;
+      } else if (t instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) t).getCause();
+      } else if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      }
+      throw t instanceof Error ? (Error) t : new Error(t);
+    };
+  }
+
+  // Completes the given promise with the result that the returned callback is called with
+  private static <A> Effect1<Either<Throwable, A>> complete(final Promise<A> p) {
+    return r -> {
+      if (r.isLeft()) {
+        p.fail(r.left().value());
+      } else {
+        p.succeed(r.right().value());
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <B> List<B> list(final Object[] values) {
+    final List.Buffer<B> b = new List.Buffer<>();
+    for (final Object value : values) {
+      b.snoc((B) value);
+    }
+    return b.toList();
+  }
+}
@@ -11,6 +11,7 @@ import fj.data.IterableW;
 import fj.data.List;
 import fj.data.NonEmptyList;
 import fj.data.Option;
+import fj.data.Seq;
 import fj.data.Stream;
 import fj.data.Tree;
 import fj.data.TreeZipper;
@@ -20,14 +21,20 @@ import fj.function.Effect1;
 import static fj.data.Option.some;
 import static fj.data.Stream.iterableStream;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 /**
  * A module of higher-order concurrency features.
  */
 public final class ParModule {
   private final Strategy<Unit> strategy;
 
-  private ParModule(final Strategy<Unit> strategy) {
+  private final Scope scope;
+
+  private ParModule(final Strategy<Unit> strategy, final Scope scope) {
     this.strategy = strategy;
+    this.scope = scope;
   }
 
   /**
@@ -37,7 +44,18 @@ public final class ParModule {
    * @return A ParModule that uses the given strategy for parallelism.
    */
   public static ParModule parModule(final Strategy<Unit> u) {
-    return new ParModule(u);
+    return new ParModule(u, null);
+  }
+
+  /**
+   * Binds this module to the given scope, so that the promises it makes are cancelled with the scope. This includes
+   * the promises made by nested calls to the returned module, from within its concurrent computations.
+   *
+   * @param scope The scope of the promises of the new module.
+   * @return A ParModule that uses the strategy of this module, and makes its promises in the given scope.
+   */
+  public ParModule in(final Scope scope) {
+    return new ParModule(strategy, scope);
   }
 
   /**
@@ -47,7 +65,7 @@ public final class ParModule {
    * @return A Promise of the value of the given product, that can be claimed in the future.
    */
   public <A> Promise<A> promise(final P1<A> p) {
-    return Promise.promise(strategy, p);
+    return Promise.promise(strategy, scope, p);
   }
 
   /**
@@ -67,7 +85,7 @@ public final class ParModule {
    *         that can be claimed in the future.
    */
   public <A, B> F<A, Promise<B>> promise(final F<A, B> f) {
-    return f.promiseK(strategy);
+    return a -> promise(P.lazy(() -> f.f(a)));
   }
 
   /**
@@ -88,7 +106,7 @@ public final class ParModule {
    *         that can be claimed in the future.
    */
   public <A, B, C> F2<A, B, Promise<C>> promise(final F2<A, B, C> f) {
-    return P2.untuple(f.tuple().promiseK(strategy));
+    return (a, b) -> promise(P.lazy(() -> f.f(a, b)));
   }
 
 
@@ -533,6 +551,172 @@ public final class ParModule {
     return parFoldMap(iterableStream(as), map, reduce);
   }
 
+  /**
+   * Maps with the given function across the given array in parallel, while folding with the given monoid.
+   * The array is split in halves recursively, down to chunks sized according to the number of available
+   * processors, which are mapped and summed sequentially and concurrently with each other. The sums of the
+   * chunks are then summed pairwise in a balanced tree.
+   *
+   * @param as     An array to map over and reduce.
+   * @param map    The function to map over the given array.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <A, B> Promise<B> parFoldMap(final Array<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    return parFoldMap(0, as.length(), reduce, (lo, hi) -> {
+      B b = reduce.zero();
+      for (int i = lo; i < hi; i++) {
+        b = reduce.sum(b, map.f(as.get(i)));
+      }
+      return b;
+    });
+  }
+
+  /**
+   * Maps with the given function across the given list in parallel, while folding with the given monoid.
+   * The list is copied to an array, which is then split and summed as by
+   * {@link #parFoldMap(Array, F, Monoid)}.
+   *
+   * @param as     A list to map over and reduce.
+   * @param map    The function to map over the given list.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <A, B> Promise<B> parFoldMap(final List<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    return parFoldMap(as.toArray(), map, reduce);
+  }
+
+  /**
+   * Maps with the given function across the given sequence in parallel, while folding with the given monoid.
+   * The sequence is split in halves recursively, down to chunks sized according to the number of available
+   * processors, which are mapped and summed sequentially and concurrently with each other. The sums of the
+   * chunks are then summed pairwise in a balanced tree.
+   *
+   * @param as     A sequence to map over and reduce.
+   * @param map    The function to map over the given sequence.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <A, B> Promise<B> parFoldMap(final Seq<A> as, final F<A, B> map, final Monoid<B> reduce) {
+    return parFoldMap(0, as.length(), reduce,
+        (lo, hi) -> as.split(hi)._1().drop(lo).foldLeft((b, a) -> reduce.sum(b, map.f(a)), reduce.zero()));
+  }
+
+  /**
+   * Maps with the given function across the integers from <code>from</code> (inclusive) to <code>to</code>
+   * (exclusive) in parallel, while folding with the given monoid. The range is split in halves recursively, down to
+   * chunks sized according to the number of available processors, which are mapped and summed sequentially and
+   * concurrently with each other. The sums of the chunks are then summed pairwise in a balanced tree.
+   *
+   * @param from   The first integer of the range.
+   * @param to     The integer after the last one of the range.
+   * @param map    The function to map over the given range.
+   * @param reduce The monoid with which to sum the results.
+   * @return A promise of a result of mapping and folding in parallel.
+   */
+  public <B> Promise<B> parFoldMap(final int from, final int to, final F<Integer, B> map, final Monoid<B> reduce) {
+    return parFoldMap(from, to, reduce, (lo, hi) -> {
+      B b = reduce.zero();
+      for (int i = lo; i < hi; i++) {
+        b = reduce.sum(b, map.f(i));
+      }
+      return b;
+    });
+  }
+
+  private <B> Promise<B> parFoldMap(final int from, final int to, final Monoid<B> reduce, final F2<Integer, Integer, B> chunk) {
+    if (from >= to) {
+      return promise(p(reduce.zero()));
+    }
+    final long chunks = 4L * Runtime.getRuntime().availableProcessors();
+    final int threshold = (int) Math.max(1L, ((long) to - from + chunks - 1) / chunks);
+    return parFoldMap(from, to, threshold, liftM2(reduce.sum()), chunk);
+  }
+
+  private <B> Promise<B> parFoldMap(final int lo, final int hi, final int threshold,
+                                    final F<Promise<B>, F<Promise<B>, Promise<B>>> sum,
+                                    final F2<Integer, Integer, B> chunk) {
+    if (hi - lo <= threshold) {
+      return promise(P.lazy(() -> chunk.f(lo, hi)));
+    }
+    final int mid = (int) (((long) lo + hi) >>> 1);
+    return sum.f(parFoldMap(lo, mid, threshold, sum, chunk)).f(parFoldMap(mid, hi, threshold, sum, chunk));
+  }
+
+
+  /**
+   * Sorts the given array in parallel, with a merge sort whose halves are sorted concurrently, down to chunks sized
+   * according to the number of available processors. The sort is stable.
+   *
+   * @param as The array to sort.
+   * @param o  The order over the elements of the given array.
+   * @return A promise of a sorted copy of the given array.
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Promise<Array<A>> parSort(final Array<A> as, final Ord<A> o) {
+    return parSort(as.array(), o).fmap(a -> Array.array((A[]) a));
+  }
+
+  /**
+   * Sorts the given list in parallel, as an array, see {@link #parSort(Array, Ord)}. The sorted list is then built
+   * in a single pass over the array.
+   *
+   * @param as The list to sort.
+   * @param o  The order over the elements of the given list.
+   * @return A promise of the sorted list.
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Promise<List<A>> parSort(final List<A> as, final Ord<A> o) {
+    return parSort(as.toArrayObject(), o).fmap(a -> List.arrayList((A[]) a));
+  }
+
+  /**
+   * Sorts the given sequence in parallel, as an array, see {@link #parSort(Array, Ord)}. The sorted sequence is
+   * then built in a single pass over the array.
+   *
+   * @param as The sequence to sort.
+   * @param o  The order over the elements of the given sequence.
+   * @return A promise of the sorted sequence.
+   */
+  @SuppressWarnings("unchecked")
+  public <A> Promise<Seq<A>> parSort(final Seq<A> as, final Ord<A> o) {
+    final Object[] a = new Object[as.length()];
+    int i = 0;
+    for (final A x : as) {
+      a[i++] = x;
+    }
+    return parSort(a, o).fmap(sorted -> Seq.arraySeq((A[]) sorted));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <A> Promise<Object[]> parSort(final Object[] a, final Ord<A> o) {
+    final Comparator<Object> c = (Comparator<Object>) o.toComparator();
+    final int threshold = Math.max(1 << 13, a.length / (4 * Runtime.getRuntime().availableProcessors()));
+    return parSort(a, new Object[a.length], 0, a.length, c, threshold).fmap(u -> a);
+  }
+
+  // Sorts a[lo, hi), merging the sorted halves through tmp. Nothing blocks, so that any strategy will do.
+  private Promise<Unit> parSort(final Object[] a, final Object[] tmp, final int lo, final int hi,
+                                final Comparator<Object> c, final int threshold) {
+    if (hi - lo <= threshold) {
+      return promise(P.lazy(() -> {
+        Arrays.sort(a, lo, hi, c);
+        return Unit.unit();
+      }));
+    }
+    final int mid = (lo + hi) >>> 1;
+    return parSort(a, tmp, lo, mid, c, threshold).bind(parSort(a, tmp, mid, hi, c, threshold), u -> v -> {
+      if (c.compare(a[mid - 1], a[mid]) > 0) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+          tmp[k++] = c.compare(a[j], a[i]) < 0 ? a[j++] : a[i++];
+        }
+        System.arraycopy(a, i, tmp, k, mid - i);
+        System.arraycopy(tmp, lo, a, lo, j - lo);
+      }
+      return Unit.unit();
+    });
+  }
 
   /**
    * Maps the given function across all positions of the given zipper in parallel.
@@ -5,9 +5,9 @@ import fj.*;
 import static fj.P.p;
 import static fj.Function.curry;
 import static fj.Function.identity;
-import static fj.control.parallel.Actor.actor;
+import static fj.Bottom.error;
+import static fj.Unit.unit;
 import static fj.control.parallel.Callables.normalise;
-import static fj.control.parallel.Actor.queueActor;
 import fj.data.Either;
 import fj.data.List;
 import fj.data.Option;
@@ -16,53 +16,305 @@ import static fj.data.Option.some;
 import fj.data.Stream;
 import fj.function.Effect1;
 
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Represents a non-blocking future value. Products, functions, and actors, given to the methods on this class,
  * are executed concurrently, and the Promise serves as a handle on the result of the computation. Provides monadic
  * operations so that future computations can be combined
  * <p/>
+ * The whole state of a promise is a single field, updated by compare-and-set in the style of
+ * {@link java.util.concurrent.CompletableFuture}: either a stack of the callbacks and parked threads waiting for
+ * the value, or the value itself once the promise is fulfilled, or the exception that the promised computation
+ * threw, or the cancellation of the promise.
+ * <p/>
+ * A promise may be cancelled, see {@link #cancel()}. Cancellation is cooperative: a promised computation that has
+ * not started yet is skipped, and the thread running one that has is interrupted.
+ * <p/>
  * Author: Runar
  */
 public final class Promise<A> {
 
-  private final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> actor;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Promise, Object> STATE =
+      AtomicReferenceFieldUpdater.newUpdater(Promise.class, Object.class, "state");
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Promise, Object> RUNNER =
+      AtomicReferenceFieldUpdater.newUpdater(Promise.class, Object.class, "runner");
+
+  // Stands for a null value, as a null state means that the promise is pending with nothing waiting for it.
+  private static final Object NULL = new Object();
+
+  // The runner of a promise while the thread that runs its computation is being interrupted.
+  private static final Object INTERRUPTING = new Object();
+
+  /**
+   * A node of the stack of waiters on a pending promise, whose callback is either an effect to apply to the final
+   * state or a thread to unpark. The callback of a thread that gave up waiting is cleared, and its node is unlinked.
+   */
+  private static final class Waiter {
+    volatile Object callback;
+    volatile Waiter next;
+
+    Waiter(final Object callback) {
+      this.callback = callback;
+    }
+  }
+
+  /**
+   * The final state of a promise whose computation threw, or which was cancelled.
+   */
+  private static final class Failure {
+    final Throwable cause;
+
+    Failure(final Throwable cause) {
+      this.cause = cause;
+    }
+  }
 
   private final Strategy<Unit> s;
 
-  private final CountDownLatch l = new CountDownLatch(1);
-  private volatile Option<A> v = none();
-  private final Queue<Actor<A>> waiting = new LinkedList<>();
+  private final Scope scope;
+
+  private volatile Object state;
 
-  private Promise(final Strategy<Unit> s, final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> qa) {
+  // The thread that runs the computation of this promise, if any.
+  private volatile Object runner;
+
+  private Promise(final Strategy<Unit> s, final Scope scope) {
     this.s = s;
-    actor = qa;
-  }
-
-  private static <A> Promise<A> mkPromise(final Strategy<Unit> s) {
-    final Actor<P2<Either<P1<A>, Actor<A>>, Promise<A>>> q =
-        queueActor(s, new Effect1<P2<Either<P1<A>, Actor<A>>, Promise<A>>>() {
-          public void f(final P2<Either<P1<A>, Actor<A>>, Promise<A>> p) {
-            final Promise<A> snd = p._2();
-            final Queue<Actor<A>> as = snd.waiting;
-            if (p._1().isLeft()) {
-              final A a = p._1().left().value()._1();
-              snd.v = some(a);
-              snd.l.countDown();
-              while (!as.isEmpty())
-                as.remove().act(a);
-            } else if (snd.v.isNone())
-              as.add(p._1().right().value());
-            else
-              p._1().right().value().act(snd.v.some());
+    this.scope = scope;
+    if (scope != null) {
+      scope.register(this);
+    }
+  }
+
+  private static boolean isDone(final Object state) {
+    return state != null && !(state instanceof Waiter);
+  }
+
+  private static boolean isFulfilled(final Object state) {
+    return isDone(state) && !(state instanceof Failure);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A value(final Object state) {
+    if (state instanceof Failure) {
+      final Throwable t = ((Failure) state).cause;
+      if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      }
+      throw t instanceof Error ? (Error) t : new Error(t);
+    }
+    return state == NULL ? null : (A) state;
+  }
+
+  /**
+   * Sets the final state of this promise, unless it is already set, then runs everything waiting for it in the
+   * order it started waiting. A callback that throws does not keep the others from running: the first exception
+   * thrown is rethrown once they all have, with the others suppressed.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean complete(final Object result) {
+    Object st;
+    do {
+      st = state;
+      if (isDone(st)) {
+        return false;
+      }
+    } while (!STATE.compareAndSet(this, st, result));
+    // the stack is reversed into a copy, as waiters that gave up may still be unlinking themselves from it
+    Waiter w = null;
+    for (Waiter n = (Waiter) st; n != null; n = n.next) {
+      final Object callback = n.callback;
+      if (callback != null) {
+        final Waiter copy = new Waiter(callback);
+        copy.next = w;
+        w = copy;
+      }
+    }
+    Throwable thrown = null;
+    try {
+      for (; w != null; w = w.next) {
+        try {
+          if (w.callback instanceof Thread) {
+            LockSupport.unpark((Thread) w.callback);
+          } else {
+            ((Effect1<Object>) w.callback).f(result);
+          }
+        } catch (Throwable t) {
+          if (thrown == null) {
+            thrown = t;
+          } else {
+            thrown.addSuppressed(t);
           }
-        });
-    return new Promise<>(s, q);
+        }
+      }
+    } finally {
+      if (scope != null) {
+        scope.done(this, result instanceof Failure ? ((Failure) result).cause : null);
+      }
+    }
+    if (thrown instanceof RuntimeException) {
+      throw (RuntimeException) thrown;
+    } else if (thrown != null) {
+      throw thrown instanceof Error ? (Error) thrown : new Error(thrown);
+    }
+    return true;
+  }
+
+  private boolean fulfil(final A a) {
+    return complete(a == null ? NULL : a);
+  }
+
+  /**
+   * Pushes the given callback onto the stack of waiters, or returns false if this promise is already done.
+   */
+  private boolean push(final Object callback) {
+    return push(new Waiter(callback));
+  }
+
+  private boolean push(final Waiter w) {
+    Object st;
+    do {
+      st = state;
+      if (isDone(st)) {
+        return false;
+      }
+      w.next = (Waiter) st;
+    } while (!STATE.compareAndSet(this, st, w));
+    return true;
+  }
+
+  /**
+   * Clears the callback of the given waiter, which gave up waiting, and unlinks it and any other such waiter from
+   * the stack, in the manner of {@link java.util.concurrent.FutureTask}.
+   */
+  private void remove(final Waiter node) {
+    node.callback = null;
+    retry:
+    for (;;) {
+      final Object st = state;
+      if (!(st instanceof Waiter)) {
+        return;
+      }
+      for (Waiter pred = null, q = (Waiter) st, next; q != null; q = next) {
+        next = q.next;
+        if (q.callback != null) {
+          pred = q;
+        } else if (pred != null) {
+          pred.next = next;
+          if (pred.callback == null) {
+            continue retry;
+          }
+        } else if (!STATE.compareAndSet(this, q, next)) {
+          continue retry;
+        }
+      }
+      return;
+    }
+  }
+
+  /**
+   * Applies the given effect to the final state of this promise once it is set, in the thread that sets it, or
+   * right away if it already is.
+   */
+  private void onComplete(final Effect1<Object> e) {
+    if (!push(e)) {
+      e.f(state);
+    }
+  }
+
+  /**
+   * Fulfils the given promise with the result of the given computation, applied to the value of this promise with
+   * the strategy of the given promise, or fails it as this promise fails.
+   */
+  private <B, C> void then(final Promise<B> r, final F<A, C> f, final Effect1<C> k) {
+    onComplete(st -> {
+      if (st instanceof Failure) {
+        r.complete(st);
+      } else {
+        r.execute(P.lazy(() -> f.f(value(st))), k);
+      }
+    });
+  }
+
+  /**
+   * Runs the given computation with the strategy of this promise, unless this promise is done by then, and applies
+   * the given effect to its result, or fails this promise with what it throws. Cancelling this promise meanwhile
+   * interrupts the running thread.
+   */
+  private <B> void execute(final P1<B> p, final Effect1<B> k) {
+    s.par(P.lazy(() -> {
+      if (isDone()) {
+        return unit();
+      }
+      final Thread t = Thread.currentThread();
+      runner = t;
+      try {
+        if (!isDone()) {
+          k.f(p._1());
+        }
+      } catch (Throwable e) {
+        complete(new Failure(e));
+      } finally {
+        if (!RUNNER.compareAndSet(this, t, null)) {
+          // this promise was cancelled, wait for the interrupt and clear it before the thread moves on
+          while (runner == INTERRUPTING) {
+            Thread.yield();
+          }
+          Thread.interrupted();
+        }
+      }
+      return unit();
+    }));
+  }
+
+  /**
+   * Returns a pending promise, which is completed from the outside by {@link #succeed(Object)} or
+   * {@link #fail(Throwable)}.
+   */
+  static <A> Promise<A> pending(final Strategy<Unit> s) {
+    return new Promise<>(s, null);
+  }
+
+  /**
+   * Fulfils this promise with the given value, unless it is already done.
+   */
+  boolean succeed(final A a) {
+    return fulfil(a);
+  }
+
+  /**
+   * Fails this promise with the given exception, unless it is already done.
+   */
+  boolean fail(final Throwable t) {
+    return complete(new Failure(t));
+  }
+
+  /**
+   * Applies the given effect to the exception or the value of this promise once it is done, in the thread that
+   * completes it, or right away if it already is.
+   */
+  void onResult(final Effect1<Either<Throwable, A>> k) {
+    onComplete(st -> k.f(st instanceof Failure ? Either.left(((Failure) st).cause) : Either.right(value(st))));
+  }
+
+  /**
+   * Promises to provide the value of the given 1-product within the given scope, which may be null.
+   */
+  static <A> Promise<A> promise(final Strategy<Unit> s, final Scope scope, final P1<A> a) {
+    final Promise<A> p = new Promise<>(s, scope);
+    p.execute(a, p::fulfil);
+    return p;
   }
 
   /**
@@ -74,9 +326,7 @@ public final class Promise<A> {
    * @return A promise representing the future result of evaluating the given 1-product.
    */
   public static <A> Promise<A> promise(final Strategy<Unit> s, final P1<A> a) {
-    final Promise<A> p = mkPromise(s);
-    p.actor.act(p(Either.left(a), p));
-    return p;
+    return promise(s, null, a);
   }
 
   /**
@@ -118,7 +368,11 @@ public final class Promise<A> {
    * @param a An actor that will receive this Promise's value in the future.
    */
   public void to(final Actor<A> a) {
-    actor.act(p(Either.right(a), this));
+    onComplete(st -> {
+      if (!(st instanceof Failure)) {
+        a.act(value(st));
+      }
+    });
   }
 
   /**
@@ -128,7 +382,9 @@ public final class Promise<A> {
    * @return A promise representing the future result of applying the given function to this promised value.
    */
   public <B> Promise<B> fmap(final F<A, B> f) {
-    return bind(promise(s, f));
+    final Promise<B> r = new Promise<>(s, scope);
+    then(r, f, r::fulfil);
+    return r;
   }
 
   /**
@@ -173,13 +429,8 @@ public final class Promise<A> {
    * @return The result of applying the given function to this promised value.
    */
   public <B> Promise<B> bind(final F<A, Promise<B>> f) {
-    final Promise<B> r = mkPromise(s);
-    final Actor<B> ab = actor(s, new Effect1<B>() {
-      public void f(final B b) {
-        r.actor.act(p(Either.left(p(b)), r));
-      }
-    });
-    to(ab.promise().contramap(f));
+    final Promise<B> r = new Promise<>(s, scope);
+    then(r, f, pb -> pb.onComplete(r::complete));
     return r;
   }
 
@@ -315,33 +566,82 @@ public final class Promise<A> {
 
   /**
    * Waits if necessary for the computation to complete, and then retrieves its result.
+   * The waiting thread is parked, and when it is a fork/join worker thread the pool may start a spare thread
+   * meanwhile.
    *
    * @return The promised value.
+   * @throws java.util.concurrent.CancellationException if this promise was cancelled, or whatever the promised
+   *         computation threw.
    */
   public A claim() {
-    try {
-      l.await();
-    } catch (InterruptedException e) {
-      throw new Error(e);
+    if (!isDone()) {
+      await(0L);
     }
-    return v.some();
+    return value(state);
   }
 
   /**
    * Waits if necessary for the computation to complete, and then retrieves its result.
+   * The waiting thread is parked, and when it is a fork/join worker thread the pool may start a spare thread
+   * meanwhile.
    *
    * @param timeout the maximum time to wait
    * @param unit    the time unit of the timeout argument
    * @return The promised value, or none if the timeout was reached.
+   * @throws java.util.concurrent.CancellationException if this promise was cancelled, or whatever the promised
+   *         computation threw.
    */
   public Option<A> claim(final long timeout, final TimeUnit unit) {
+    if (!isDone()) {
+      await(System.nanoTime() + Math.max(unit.toNanos(timeout), 1L));
+    }
+    final Object st = state;
+    return isDone(st) ? some(value(st)) : none();
+  }
+
+  /**
+   * Parks the current thread until this promise is done, or until the given deadline if it is not zero. A thread
+   * that times out or is interrupted unlinks itself from the waiters.
+   */
+  private void await(final long deadline) {
+    final Thread t = Thread.currentThread();
+    final Waiter w = new Waiter(t);
     try {
-      if (l.await(timeout, unit))
-        return v;
+      ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+        private boolean pushed;
+
+        public boolean block() throws InterruptedException {
+          if (!pushed) {
+            pushed = true;
+            if (!push(w)) {
+              return true;
+            }
+          }
+          while (!isReleasable()) {
+            if (deadline == 0L) {
+              LockSupport.park(Promise.this);
+            } else {
+              LockSupport.parkNanos(Promise.this, deadline - System.nanoTime());
+            }
+            if (Thread.interrupted()) {
+              throw new InterruptedException();
+            }
+          }
+          return true;
+        }
+
+        public boolean isReleasable() {
+          return isDone() || deadline != 0L && deadline - System.nanoTime() <= 0;
+        }
+      });
     } catch (InterruptedException e) {
+      t.interrupt();
       throw new Error(e);
+    } finally {
+      if (!isDone()) {
+        remove(w);
+      }
     }
-    return none();
   }
 
   /**
@@ -350,7 +650,105 @@ public final class Promise<A> {
    * @return true if this promise has been fulfilled.
    */
   public boolean isFulfilled() {
-    return v.isSome();
+    return isFulfilled(state);
+  }
+
+  /**
+   * Returns true if this promise has been fulfilled, or its computation threw, or it was cancelled.
+   *
+   * @return true if this promise will not change anymore.
+   */
+  public boolean isDone() {
+    return isDone(state);
+  }
+
+  /**
+   * Returns true if this promise was cancelled.
+   *
+   * @return true if this promise was cancelled.
+   */
+  public boolean isCancelled() {
+    final Object st = state;
+    return st instanceof Failure && ((Failure) st).cause instanceof CancellationException;
+  }
+
+  /**
+   * Cancels this promise, unless it is already done. The promised computation is skipped if it has not started
+   * yet, and the thread running it is interrupted if it has. Promises that depend on this one, through
+   * {@link #fmap(F)} or {@link #bind(F)} for example, are cancelled as well, and claiming any of them throws a
+   * {@link CancellationException}.
+   *
+   * @return true if this promise was cancelled by this call.
+   */
+  public boolean cancel() {
+    final Failure cancelled = new Failure(new CancellationException());
+    try {
+      return complete(cancelled);
+    } finally {
+      if (state == cancelled) {
+        final Object t = runner;
+        if (t instanceof Thread && RUNNER.compareAndSet(this, t, INTERRUPTING)) {
+          try {
+            ((Thread) t).interrupt();
+          } finally {
+            runner = null;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels this promise if it is not done after the given time.
+   *
+   * @param timeout the time after which to cancel this promise
+   * @param unit    the time unit of the timeout argument
+   * @return This promise.
+   */
+  public Promise<A> cancelAfter(final long timeout, final TimeUnit unit) {
+    if (!isDone()) {
+      final ScheduledFuture<?> f = Scope.schedule(this::cancel, timeout, unit);
+      onComplete(st -> f.cancel(false));
+    }
+    return this;
+  }
+
+  /**
+   * Promises the value of whichever of the given promises is fulfilled first, then cancels the others.
+   * The resulting promise fails as the last of the given promises if none is fulfilled, and cancelling it cancels
+   * them all.
+   *
+   * @param s  The strategy of the resulting promise.
+   * @param ps The promises to race. Must not be empty.
+   * @return A promise of the first value of the given promises.
+   */
+  public static <A> Promise<A> firstOf(final Strategy<Unit> s, final List<Promise<A>> ps) {
+    if (ps.isEmpty()) {
+      throw error("No promise to race");
+    }
+    final Promise<A> r = new Promise<>(s, null);
+    final AtomicInteger pending = new AtomicInteger(ps.length());
+    for (final Promise<A> p : ps) {
+      p.onComplete(st -> {
+        if (!(st instanceof Failure) || pending.decrementAndGet() == 0) {
+          r.complete(st);
+        }
+      });
+    }
+    r.onComplete(st -> ps.foreachDoEffect(Promise::cancel));
+    return r;
+  }
+
+  /**
+   * Promises the value of whichever of the given promises is fulfilled first, then cancels the other.
+   *
+   * @param a A promise to race.
+   * @param b A promise to race.
+   * @return A promise of the first value of the given promises.
+   * @see #firstOf(Strategy, List)
+   */
+  public static <A> Promise<A> race(final Promise<A> a, final Promise<A> b) {
+    return firstOf(a.s, List.list(a, b));
   }
 
   /**
@@ -0,0 +1,142 @@
+package fj.control.parallel;
+
+import fj.data.Option;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static fj.data.Option.fromNull;
+
+/**
+ * A scope of concurrent computations, which are cancelled together. The promises made by a {@link ParModule} bound
+ * to a scope with {@link ParModule#in(Scope)}, and the promises that depend on them, belong to that scope. Those
+ * that are not done yet are cancelled (see {@link Promise#cancel()}) when the scope is cancelled, closed, or reaches
+ * its deadline, or as soon as one of them fails.
+ * <p/>
+ * A scope is meant to be used in a try-with-resources statement, so that nothing that was started within it
+ * outlives it:
+ * <pre>
+ * try (Scope scope = Scope.scope(100, TimeUnit.MILLISECONDS)) {
+ *   return parModule(strategy).in(scope).parMap(requests, handler).claim();
+ * }
+ * </pre>
+ */
+public final class Scope implements AutoCloseable {
+
+  private final Set<Promise<?>> promises = ConcurrentHashMap.newKeySet();
+
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  private volatile boolean cancelled;
+
+  private volatile ScheduledFuture<?> deadline;
+
+  private Scope() {
+  }
+
+  /**
+   * Creates a new scope without a deadline.
+   *
+   * @return A new scope, which is cancelled when closed.
+   */
+  public static Scope scope() {
+    return new Scope();
+  }
+
+  /**
+   * Creates a new scope which is cancelled after the given time.
+   *
+   * @param timeout the time after which to cancel the scope
+   * @param unit    the time unit of the timeout argument
+   * @return A new scope, which is cancelled when closed or after the given time.
+   */
+  public static Scope scope(final long timeout, final TimeUnit unit) {
+    final Scope scope = new Scope();
+    scope.deadline = schedule(scope::cancel, timeout, unit);
+    return scope;
+  }
+
+  void register(final Promise<?> p) {
+    if (!cancelled) {
+      promises.add(p);
+      if (!cancelled) {
+        return;
+      }
+    }
+    p.cancel();
+  }
+
+  void done(final Promise<?> p, final Throwable t) {
+    promises.remove(p);
+    if (t != null && !(t instanceof CancellationException) && failure.compareAndSet(null, t)) {
+      cancel();
+    }
+  }
+
+  /**
+   * Cancels all the promises of this scope that are not done yet, and those that are made in this scope from now
+   * on.
+   */
+  public void cancel() {
+    cancelled = true;
+    for (final Promise<?> p : promises) {
+      p.cancel();
+    }
+  }
+
+  /**
+   * Returns true if this scope was cancelled, closed, or reached its deadline, or if one of its promises failed.
+   *
+   * @return true if this scope was cancelled.
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Returns the first exception that a computation of this scope threw, if any, which is what made it cancel the
+   * rest.
+   *
+   * @return The first exception that a computation of this scope threw, if any.
+   */
+  public Option<Throwable> failure() {
+    return fromNull(failure.get());
+  }
+
+  /**
+   * Cancels this scope, see {@link #cancel()}.
+   */
+  @Override
+  public void close() {
+    final ScheduledFuture<?> d = deadline;
+    if (d != null) {
+      d.cancel(false);
+    }
+    cancel();
+  }
+
+  static ScheduledFuture<?> schedule(final Runnable r, final long delay, final TimeUnit unit) {
+    return Timer.EXECUTOR.schedule(r, delay, unit);
+  }
+
+  // Holds the timer thread, which is only started when a deadline is first needed
+  private static final class Timer {
+    static final ScheduledExecutorService EXECUTOR;
+
+    static {
+      final ScheduledThreadPoolExecutor e = new ScheduledThreadPoolExecutor(1, r -> {
+        final Thread t = new Thread(r, "fj-scope-timer");
+        t.setDaemon(true);
+        return t;
+      });
+      e.setRemoveOnCancelPolicy(true);
+      EXECUTOR = e;
+    }
+  }
+}
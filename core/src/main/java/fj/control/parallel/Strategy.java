@@ -10,14 +10,22 @@ import static fj.Function.curry;
 import fj.data.Java;
 import fj.data.List;
 import fj.data.Array;
+import fj.data.Option;
 import fj.function.Effect1;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import static fj.data.Option.none;
+import static fj.data.Option.some;
 
 /**
  * Functional-style parallel evaluation strategies.
@@ -316,6 +324,9 @@ public final class Strategy<A> {
 
   /**
    * Provides a product-1 that waits for the given future to obtain a value.
+   * A fork/join task is joined, so that a waiting worker thread runs other tasks meanwhile. Any other future is
+   * waited for as a {@link ForkJoinPool.ManagedBlocker}, so that a pool whose worker is waiting can compensate
+   * for it with a spare thread.
    *
    * @param t A Future for which to wait.
    * @return A product-1 that waits for the given future to obtain a value.
@@ -323,6 +334,22 @@ public final class Strategy<A> {
   public static <A> P1<A> obtain(final Future<A> t) {
     return P.lazy(() -> {
         try {
+          if (!(t instanceof ForkJoinTask)) {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+              public boolean block() throws InterruptedException {
+                try {
+                  t.get();
+                } catch (ExecutionException e) {
+                  // Rethrown by the get below.
+                }
+                return true;
+              }
+
+              public boolean isReleasable() {
+                return t.isDone();
+              }
+            });
+          }
           return t.get();
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
@@ -357,6 +384,89 @@ public final class Strategy<A> {
     });
   }
 
+  /**
+   * Provides a parallelization strategy that creates, and discards, a new thread from the given factory for
+   * every evaluation.
+   *
+   * @param tf The factory of the threads that evaluate product-1s.
+   * @return A parallelization strategy that creates a new thread from the given factory for every evaluation.
+   */
+  public static <A> Strategy<A> threadFactoryStrategy(final ThreadFactory tf) {
+    return strategy(p -> {
+      final FutureTask<A> t = new FutureTask<>(Java.<A>P1_Callable().f(p));
+      tf.newThread(t).start();
+      return obtain(t);
+    });
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates every product-1 in a new virtual thread, on a JDK that
+   * has them (21 or later). On older JDKs it falls back to {@link #forkJoinStrategy()}.
+   *
+   * @return A parallelization strategy that evaluates every product-1 in a new virtual thread.
+   */
+  public static <A> Strategy<A> virtualThreadStrategy() {
+    final Option<ThreadFactory> tf = VirtualThreads.FACTORY;
+    return tf.isSome() ? threadFactoryStrategy(tf.some()) : forkJoinStrategy();
+  }
+
+  /**
+   * Returns true if this JDK has virtual threads, and {@link #virtualThreadStrategy()} uses them.
+   *
+   * @return true if this JDK has virtual threads.
+   */
+  public static boolean virtualThreadsAvailable() {
+    return VirtualThreads.FACTORY.isSome();
+  }
+
+  /**
+   * Looks up the factory of virtual threads reflectively, as it only exists on JDK 21 and later.
+   */
+  private static final class VirtualThreads {
+    static final Option<ThreadFactory> FACTORY = factory();
+
+    private static Option<ThreadFactory> factory() {
+      try {
+        final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+        return some((ThreadFactory) factory.invoke(builder));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        return none();
+      }
+    }
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s as tasks of the given fork/join pool.
+   * A product-1 evaluated from within one of the pool's tasks is forked onto the current worker's queue, from
+   * which idle workers steal it, and waiting for its value runs other tasks rather than blocking the worker.
+   * Nested parallel maps therefore neither deadlock nor need an oversized pool.
+   *
+   * @param pool The fork/join pool to evaluate product-1s in.
+   * @return A parallelization strategy that evaluates product-1s as tasks of the given fork/join pool.
+   */
+  public static <A> Strategy<A> forkJoinStrategy(final ForkJoinPool pool) {
+    return strategy(p -> {
+      final ForkJoinTask<A> t = ForkJoinTask.adapt(Java.<A>P1_Callable().f(p));
+      if (ForkJoinTask.getPool() == pool) {
+        t.fork();
+      } else {
+        pool.execute(t);
+      }
+      return obtain(t);
+    });
+  }
+
+  /**
+   * Provides a parallelization strategy that evaluates product-1s as tasks of the common fork/join pool.
+   *
+   * @return A parallelization strategy that evaluates product-1s as tasks of the common fork/join pool.
+   * @see #forkJoinStrategy(ForkJoinPool)
+   */
+  public static <A> Strategy<A> forkJoinStrategy() {
+    return forkJoinStrategy(ForkJoinPool.commonPool());
+  }
+
   /**
    * Provides a parallelization strategy that uses an ExecutorService to control the method and
    * degree of parallelism.
@@ -5,10 +5,13 @@ import fj.F;
 import fj.F0;
 import fj.F2;
 import fj.Hash;
+import fj.Ord;
 import fj.P;
 import fj.P2;
 import fj.Show;
 import fj.Unit;
+import fj.control.parallel.ParModule;
+import fj.control.parallel.Strategy;
 import fj.function.Effect1;
 
 import java.util.AbstractCollection;
@@ -18,6 +21,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import static fj.Function.constant;
 import static fj.Function.curry;
@@ -52,6 +57,17 @@ public final class Array<A> implements Iterable<A> {
     return toCollection().iterator();
   }
 
+  /**
+   * Returns a spliterator over this array, which splits by index.
+   *
+   * @return A sized spliterator over this array.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public Spliterator<A> spliterator() {
+    return (Spliterator<A>) Spliterators.spliterator(a, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+  }
+
   /**
    * Returns the element at the given index if it exists, fails otherwise.
    *
@@ -182,6 +198,15 @@ public final class Array<A> implements Iterable<A> {
     return x;
   }
 
+  /**
+   * Returns a lazy view of this array, through which chained transformations run as a single loop.
+   *
+   * @return A view of the elements of this array.
+   */
+  public View<A> view() {
+    return View.arrayView(this);
+  }
+
   /**
    * Returns a stream projection of this array.
    *
@@ -548,6 +573,19 @@ public final class Array<A> implements Iterable<A> {
     return new Array<>(x);
   }
 
+  /**
+   * Sorts this array using the given order over elements, with a parallel merge sort that uses the given
+   * parallelisation strategy. The sort is stable.
+   *
+   * @param o The order over the elements of this array.
+   * @param s A strategy for parallelising the algorithm.
+   * @return A new array with the elements of this array sorted according to the given order.
+   * @see ParModule#parSort(Array, Ord)
+   */
+  public Array<A> sort(final Ord<A> o, final Strategy<Unit> s) {
+    return ParModule.parModule(s).parSort(this, o).claim();
+  }
+
   /**
    * Appends the given array to this array.
    *
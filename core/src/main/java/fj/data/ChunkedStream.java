@@ -0,0 +1,554 @@
+package fj.data;
+
+import fj.F;
+import fj.F0;
+import fj.F2;
+import fj.P;
+import fj.P1;
+import fj.P2;
+import fj.function.Effect1;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static fj.Bottom.error;
+import static fj.P.p;
+
+/**
+ * A lazy, immutable sequence whose elements are evaluated a chunk at a time, each chunk being an array.
+ * <p/>
+ * Where a {@link Stream} allocates a memoised thunk for every element, a chunked stream allocates one array and
+ * one thunk per chunk, so that traversing it costs about as much as traversing an array. Once evaluated, a chunk
+ * and the reference to the next one are kept as long as the stream is reachable, rather than being recomputed
+ * after a garbage collection.
+ * <p/>
+ * The operations on a chunked stream work a chunk at a time: {@link #map(F)} evaluates the given function over a
+ * whole chunk as soon as that chunk is reached, and keeps the chunk boundaries, while {@link #filter(F)} keeps them
+ * but skips the chunks that end up empty. Streams from iterables and ranges are split into chunks of
+ * {@link #DEFAULT_CHUNK_SIZE} elements unless told otherwise.
+ */
+public abstract class ChunkedStream<A> implements Iterable<A> {
+
+  /**
+   * The number of elements that are evaluated at a time by the constructors that are not given a chunk size.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 256;
+
+  private ChunkedStream() {
+  }
+
+  private static final class Nil<A> extends ChunkedStream<A> {
+    private static final ChunkedStream<Object> INSTANCE = new Nil<>();
+  }
+
+  /**
+   * The non-empty slice from index <code>from</code> (inclusive) to <code>to</code> (exclusive) of an array that
+   * is never written to, followed by the rest of the stream.
+   */
+  private static final class Chunk<A> extends ChunkedStream<A> {
+    private final Object[] as;
+    private final int from;
+    private final int to;
+    private final P1<ChunkedStream<A>> rest;
+
+    Chunk(final Object[] as, final int from, final int to, final P1<ChunkedStream<A>> rest) {
+      this.as = as;
+      this.from = from;
+      this.to = to;
+      this.rest = rest;
+    }
+
+    @SuppressWarnings("unchecked")
+    A get(final int i) {
+      return (A) as[i];
+    }
+  }
+
+  private static <A> P1<ChunkedStream<A>> lazyNil() {
+    return p(nil());
+  }
+
+  /**
+   * Returns <code>true</code> if this stream is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this stream is empty, <code>false</code> otherwise.
+   */
+  public final boolean isEmpty() {
+    return this instanceof Nil;
+  }
+
+  /**
+   * The first element of this stream, or fails for the empty stream.
+   *
+   * @return The first element of this stream.
+   */
+  public final A head() {
+    if (isEmpty()) {
+      throw error("head on empty chunked stream");
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    return c.get(c.from);
+  }
+
+  /**
+   * Returns the first element of this stream, if any.
+   *
+   * @return The first element of this stream, or none for the empty stream.
+   */
+  public final Option<A> headOption() {
+    return isEmpty() ? Option.none() : Option.some(head());
+  }
+
+  /**
+   * This stream without its first element, or fails for the empty stream.
+   *
+   * @return This stream without its first element.
+   */
+  public final ChunkedStream<A> tail() {
+    if (isEmpty()) {
+      throw error("tail on empty chunked stream");
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    return c.from + 1 == c.to ? c.rest._1() : new Chunk<>(c.as, c.from + 1, c.to, c.rest);
+  }
+
+  /**
+   * Returns the chunks of this stream, as a stream of arrays.
+   *
+   * @return The chunks of this stream.
+   */
+  public final Stream<Array<A>> chunks() {
+    if (isEmpty()) {
+      return Stream.nil();
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    final Object[] a = new Object[c.to - c.from];
+    System.arraycopy(c.as, c.from, a, 0, a.length);
+    return Stream.cons(Array.mkArray(a), () -> c.rest._1().chunks());
+  }
+
+  /**
+   * Maps the given function across this stream, a chunk at a time. The resulting stream has the same chunks as
+   * this one.
+   *
+   * @param f The function to map across this stream.
+   * @return A new stream after the given function has been applied to each element.
+   */
+  public final <B> ChunkedStream<B> map(final F<A, B> f) {
+    if (isEmpty()) {
+      return nil();
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    final Object[] bs = new Object[c.to - c.from];
+    for (int i = c.from; i < c.to; i++) {
+      bs[i - c.from] = f.f(c.get(i));
+    }
+    return new Chunk<>(bs, 0, bs.length, P.hardMemo(() -> c.rest._1().map(f)));
+  }
+
+  /**
+   * Filters elements from this stream by returning only elements which produce <code>true</code> when the given
+   * function is applied to them, a chunk at a time. Chunks with no such element are skipped.
+   *
+   * @param f The predicate function to filter on.
+   * @return A new stream whose elements all match the given predicate.
+   */
+  public final ChunkedStream<A> filter(final F<A, Boolean> f) {
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      Object[] bs = null;
+      int n = 0;
+      for (int i = c.from; i < c.to; i++) {
+        final A a = c.get(i);
+        if (f.f(a)) {
+          if (bs == null) {
+            bs = new Object[c.to - i];
+          }
+          bs[n++] = a;
+        }
+      }
+      if (n > 0) {
+        return new Chunk<>(bs, 0, n, P.hardMemo(() -> c.rest._1().filter(f)));
+      }
+      s = c.rest._1();
+    }
+    return nil();
+  }
+
+  /**
+   * Appends the given stream to this stream.
+   *
+   * @param as The stream to append to this one.
+   * @return A new stream that has appended the given stream.
+   */
+  public final ChunkedStream<A> append(final ChunkedStream<A> as) {
+    return append(p(as));
+  }
+
+  /**
+   * Appends the given stream to this stream, without evaluating it until it is reached.
+   *
+   * @param as The stream to append to this one.
+   * @return A new stream that has appended the given stream.
+   */
+  public final ChunkedStream<A> append(final F0<ChunkedStream<A>> as) {
+    if (isEmpty()) {
+      return as.f();
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    return new Chunk<>(c.as, c.from, c.to, P.hardMemo(() -> c.rest._1().append(as)));
+  }
+
+  /**
+   * Binds the given function across each element of this stream, with a final join. The resulting stream has the
+   * chunks of the streams that the given function returns.
+   *
+   * @param f The function to apply to each element of this stream.
+   * @return A new stream after performing the map, then final join.
+   */
+  public final <B> ChunkedStream<B> bind(final F<A, ChunkedStream<B>> f) {
+    return join(map(f));
+  }
+
+  /**
+   * Joins the given stream of streams by concatenation.
+   *
+   * @param ss The stream of streams to join.
+   * @return A new stream that is the join of the given streams.
+   */
+  public static <A> ChunkedStream<A> join(final ChunkedStream<ChunkedStream<A>> ss) {
+    for (ChunkedStream<ChunkedStream<A>> s = ss; !s.isEmpty(); s = s.tail()) {
+      final ChunkedStream<A> h = s.head();
+      if (!h.isEmpty()) {
+        final ChunkedStream<ChunkedStream<A>> t = s.tail();
+        return h.append(() -> join(t));
+      }
+    }
+    return nil();
+  }
+
+  /**
+   * Zips this stream with the given stream to produce a stream of pairs. The resulting stream is as long as the
+   * shorter of the two, and its chunks are where the chunks of either stream begin.
+   *
+   * @param bs The stream to zip this stream with.
+   * @return A new stream of pairs of the elements of this stream and the given stream.
+   */
+  public final <B> ChunkedStream<P2<A, B>> zip(final ChunkedStream<B> bs) {
+    return zipWith(bs, P::p);
+  }
+
+  /**
+   * Zips this stream with the given stream using the given function. The resulting stream is as long as the
+   * shorter of the two, and its chunks are where the chunks of either stream begin.
+   *
+   * @param bs The stream to zip this stream with.
+   * @param f  The function to zip this stream and the given stream with.
+   * @return A new stream of the results of applying the given function to pairs of elements.
+   */
+  public final <B, C> ChunkedStream<C> zipWith(final ChunkedStream<B> bs, final F2<A, B, C> f) {
+    if (isEmpty() || bs.isEmpty()) {
+      return nil();
+    }
+    final Chunk<A> ca = (Chunk<A>) this;
+    final Chunk<B> cb = (Chunk<B>) bs;
+    final int n = Math.min(ca.to - ca.from, cb.to - cb.from);
+    final Object[] cs = new Object[n];
+    for (int i = 0; i < n; i++) {
+      cs[i] = f.f(ca.get(ca.from + i), cb.get(cb.from + i));
+    }
+    return new Chunk<>(cs, 0, n, P.hardMemo(() -> ca.drop(n).zipWith(cb.drop(n), f)));
+  }
+
+  /**
+   * Performs a left-fold reduction across this stream, in constant stack space.
+   *
+   * @param f The function to apply on each element of this stream.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public final <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    B x = b;
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++) {
+        x = f.f(x, c.get(i));
+      }
+      s = c.rest._1();
+    }
+    return x;
+  }
+
+  /**
+   * Performs the given side-effect on each element of this stream, in order.
+   *
+   * @param f The side-effect to perform on each element.
+   */
+  public final void foreachDoEffect(final Effect1<A> f) {
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      for (int i = c.from; i < c.to; i++) {
+        f.f(c.get(i));
+      }
+      s = c.rest._1();
+    }
+  }
+
+  /**
+   * Returns the first <code>n</code> elements of this stream. Only the chunks that hold them are evaluated.
+   *
+   * @param n The number of elements to take from this stream.
+   * @return The first <code>n</code> elements of this stream, or all of them if it has fewer.
+   */
+  public final ChunkedStream<A> take(final int n) {
+    if (n <= 0 || isEmpty()) {
+      return nil();
+    }
+    final Chunk<A> c = (Chunk<A>) this;
+    final int len = c.to - c.from;
+    return n <= len
+        ? new Chunk<>(c.as, c.from, c.from + n, lazyNil())
+        : new Chunk<>(c.as, c.from, c.to, P.hardMemo(() -> c.rest._1().take(n - len)));
+  }
+
+  /**
+   * Drops the first <code>n</code> elements of this stream, in constant stack space.
+   *
+   * @param n The number of elements to drop from this stream.
+   * @return This stream without its first <code>n</code> elements, or the empty stream if it has fewer.
+   */
+  public final ChunkedStream<A> drop(final int n) {
+    int m = n;
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      final int len = c.to - c.from;
+      if (m < len) {
+        return m <= 0 ? c : new Chunk<>(c.as, c.from + m, c.to, c.rest);
+      }
+      m -= len;
+      s = c.rest._1();
+    }
+    return nil();
+  }
+
+  /**
+   * The number of elements in this stream, which evaluates all of it.
+   *
+   * @return The number of elements in this stream.
+   */
+  public final int length() {
+    int n = 0;
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      n += c.to - c.from;
+      s = c.rest._1();
+    }
+    return n;
+  }
+
+  /**
+   * Returns an iterator over this stream, which evaluates it a chunk at a time.
+   *
+   * @return An iterator over this stream.
+   */
+  public final Iterator<A> iterator() {
+    return new Iterator<A>() {
+      private ChunkedStream<A> s = ChunkedStream.this;
+      private int i = s.isEmpty() ? 0 : ((Chunk<A>) s).from;
+
+      public boolean hasNext() {
+        return !s.isEmpty();
+      }
+
+      public A next() {
+        if (s.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        final Chunk<A> c = (Chunk<A>) s;
+        final A a = c.get(i++);
+        if (i == c.to) {
+          s = c.rest._1();
+          i = s.isEmpty() ? 0 : ((Chunk<A>) s).from;
+        }
+        return a;
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Returns a list of the elements of this stream, which evaluates all of it.
+   *
+   * @return A list of the elements of this stream.
+   */
+  public final List<A> toList() {
+    final List.Buffer<A> b = new List.Buffer<>();
+    foreachDoEffect(b::snoc);
+    return b.toList();
+  }
+
+  /**
+   * Returns an array of the elements of this stream, which evaluates all of it.
+   *
+   * @return An array of the elements of this stream.
+   */
+  public final Array<A> toArray() {
+    final Object[] a = new Object[length()];
+    int n = 0;
+    for (ChunkedStream<A> s = this; !s.isEmpty(); ) {
+      final Chunk<A> c = (Chunk<A>) s;
+      System.arraycopy(c.as, c.from, a, n, c.to - c.from);
+      n += c.to - c.from;
+      s = c.rest._1();
+    }
+    return Array.mkArray(a);
+  }
+
+  /**
+   * Returns a stream of the elements of this stream, which is evaluated a chunk at a time.
+   *
+   * @return A stream of the elements of this stream.
+   */
+  public final Stream<A> toStream() {
+    return isEmpty() ? Stream.nil() : toStream((Chunk<A>) this, ((Chunk<A>) this).from);
+  }
+
+  private static <A> Stream<A> toStream(final Chunk<A> c, final int i) {
+    return Stream.cons(c.get(i), () -> i + 1 < c.to ? toStream(c, i + 1) : c.rest._1().toStream());
+  }
+
+  /**
+   * Returns the empty stream.
+   *
+   * @return The empty stream.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> ChunkedStream<A> nil() {
+    return (ChunkedStream<A>) Nil.INSTANCE;
+  }
+
+  /**
+   * Returns a stream of the given elements, as a single chunk.
+   *
+   * @param as The elements of the stream.
+   * @return A stream of the given elements.
+   */
+  @SafeVarargs
+  public static <A> ChunkedStream<A> arrayChunkedStream(final A... as) {
+    return as.length == 0 ? nil() : new Chunk<>(as.clone(), 0, as.length, lazyNil());
+  }
+
+  /**
+   * Returns a stream of the elements of the given iterable, in chunks of {@link #DEFAULT_CHUNK_SIZE} elements.
+   * The iterable is iterated over once, as the chunks are evaluated.
+   *
+   * @param as The elements of the stream.
+   * @return A stream of the elements of the given iterable.
+   */
+  public static <A> ChunkedStream<A> iterableChunkedStream(final Iterable<A> as) {
+    return iteratorChunkedStream(as.iterator(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Returns a stream of the elements of the given iterable, in chunks of the given size.
+   * The iterable is iterated over once, as the chunks are evaluated.
+   *
+   * @param as        The elements of the stream.
+   * @param chunkSize The number of elements of the chunks.
+   * @return A stream of the elements of the given iterable.
+   */
+  public static <A> ChunkedStream<A> iterableChunkedStream(final Iterable<A> as, final int chunkSize) {
+    return iteratorChunkedStream(as.iterator(), chunkSize);
+  }
+
+  /**
+   * Returns a stream of the remaining elements of the given iterator, in chunks of the given size.
+   * The iterator is advanced as the chunks are evaluated.
+   *
+   * @param it        The iterator over the elements of the stream.
+   * @param chunkSize The number of elements of the chunks.
+   * @return A stream of the remaining elements of the given iterator.
+   */
+  public static <A> ChunkedStream<A> iteratorChunkedStream(final Iterator<A> it, final int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+    }
+    if (!it.hasNext()) {
+      return nil();
+    }
+    final Object[] as = new Object[chunkSize];
+    int n = 0;
+    while (n < chunkSize && it.hasNext()) {
+      as[n++] = it.next();
+    }
+    return new Chunk<>(as, 0, n, P.hardMemo(() -> iteratorChunkedStream(it, chunkSize)));
+  }
+
+  /**
+   * Returns a stream of the elements of the given stream, in chunks of {@link #DEFAULT_CHUNK_SIZE} elements.
+   *
+   * @param as The elements of the stream.
+   * @return A stream of the elements of the given stream.
+   */
+  public static <A> ChunkedStream<A> fromStream(final Stream<A> as) {
+    return iterableChunkedStream(as);
+  }
+
+  /**
+   * Returns a stream of the integers from <code>from</code> (inclusive) to <code>to</code> (exclusive), in chunks
+   * of {@link #DEFAULT_CHUNK_SIZE} elements.
+   *
+   * @param from The first integer of the stream.
+   * @param to   The integer after the last one of the stream.
+   * @return A stream of the integers in the given range.
+   */
+  public static ChunkedStream<Integer> range(final int from, final long to) {
+    if (from >= to) {
+      return nil();
+    }
+    final int n = (int) Math.min(DEFAULT_CHUNK_SIZE, to - from);
+    final Object[] as = new Object[n];
+    for (int i = 0; i < n; i++) {
+      as[i] = from + i;
+    }
+    return new Chunk<>(as, 0, n, P.hardMemo(() -> range(from + n, to)));
+  }
+
+  /**
+   * Returns an infinite stream of the integers from <code>from</code>, in chunks of {@link #DEFAULT_CHUNK_SIZE}
+   * elements.
+   *
+   * @param from The first integer of the stream.
+   * @return An infinite stream of integers.
+   */
+  public static ChunkedStream<Integer> range(final int from) {
+    final Object[] as = new Object[DEFAULT_CHUNK_SIZE];
+    for (int i = 0; i < as.length; i++) {
+      as[i] = from + i;
+    }
+    return new Chunk<>(as, 0, as.length, P.hardMemo(() -> range(from + DEFAULT_CHUNK_SIZE)));
+  }
+
+  /**
+   * Returns an infinite stream of the given value followed by the repeated application of the given function to
+   * it, in chunks of {@link #DEFAULT_CHUNK_SIZE} elements.
+   *
+   * @param f The function to apply repeatedly.
+   * @param a The first element of the stream.
+   * @return An infinite stream of repeated applications of the given function.
+   */
+  public static <A> ChunkedStream<A> iterate(final F<A, A> f, final A a) {
+    final Object[] as = new Object[DEFAULT_CHUNK_SIZE];
+    A x = a;
+    as[0] = x;
+    for (int i = 1; i < as.length; i++) {
+      x = f.f(x);
+      as[i] = x;
+    }
+    final A last = x;
+    return new Chunk<>(as, 0, as.length, P.hardMemo(() -> iterate(f, f.f(last))));
+  }
+}
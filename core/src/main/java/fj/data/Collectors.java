@@ -1,5 +1,7 @@
 package fj.data;
 
+import fj.Ord;
+
 import java.util.stream.Collector;
 
 public final class Collectors {
@@ -33,4 +35,51 @@ public final class Collectors {
         (buf) -> buf.toList().toStream()
     );
   }
+
+  /**
+   * Collects into a sequence. The parts of a parallel stream are appended in O(log n), where n is the length of
+   * the shorter one.
+   */
+  public static <A> Collector<A, ?, Seq<A>> toSeq() {
+    return Collector.<A, Seq.Transient<A>, Seq<A>>of(
+        () -> Seq.<A>empty().asTransient(),
+        Seq.Transient::snoc,
+        (acc1, acc2) -> acc1.persistent().append(acc2.persistent()).asTransient(),
+        Seq.Transient::persistent
+    );
+  }
+
+  /**
+   * Collects into a vector. The parts of a parallel stream are appended in O(log n).
+   */
+  public static <A> Collector<A, ?, PersistentVector<A>> toPersistentVector() {
+    return Collector.<A, Box<PersistentVector<A>>, PersistentVector<A>>of(
+        () -> new Box<>(PersistentVector.empty()),
+        (box, a) -> box.value = box.value.snoc(a),
+        (box1, box2) -> new Box<>(box1.value.append(box2.value)),
+        box -> box.value
+    );
+  }
+
+  /**
+   * Collects into a set with the given order. The parts of a parallel stream are merged by union, in
+   * O(m log(n/m + 1)), which shares the subtrees where the parts do not interleave.
+   */
+  public static <A> Collector<A, ?, Set<A>> toSet(final Ord<A> o) {
+    return Collector.<A, Set.Transient<A>, Set<A>>of(
+        () -> Set.empty(o).asTransient(),
+        Set.Transient::insert,
+        (acc1, acc2) -> acc1.persistent().union(acc2.persistent()).asTransient(),
+        Set.Transient::persistent,
+        Collector.Characteristics.UNORDERED
+    );
+  }
+
+  private static final class Box<A> {
+    A value;
+
+    Box(final A value) {
+      this.value = value;
+    }
+  }
 }
@@ -0,0 +1,294 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+/**
+ * An immutable array of unboxed <code>double</code> values.
+ *
+ * {@link #array(double...)} and {@link #stream()} share the underlying Java array rather than copying it, so the
+ * array passed to {@link #array(double...)} must not be modified afterwards.
+ *
+ * @see Array
+ */
+public final class DoubleArray implements Iterable<Double> {
+  private static final DoubleArray EMPTY = new DoubleArray(new double[0]);
+
+  private final double[] a;
+
+  private DoubleArray(final double[] a) {
+    this.a = a;
+  }
+
+  /**
+   * Returns the empty array.
+   *
+   * @return The empty array.
+   */
+  public static DoubleArray empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns an array of the given elements, without copying them.
+   *
+   * @param as The elements of the array, which must not be modified afterwards.
+   * @return An array of the given elements.
+   */
+  public static DoubleArray array(final double... as) {
+    return new DoubleArray(as);
+  }
+
+  /**
+   * Returns an array of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return An array of the elements of the given stream.
+   */
+  public static DoubleArray fromStream(final DoubleStream s) {
+    return new DoubleArray(s.toArray());
+  }
+
+  /**
+   * Returns the element at the given index.
+   *
+   * @param index The index of the element to return.
+   * @return The element at the given index.
+   */
+  public double get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> if this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public DoubleArray map(final DoubleUnaryOperator f) {
+    final double[] bs = new double[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.applyAsDouble(a[i]);
+    }
+    return new DoubleArray(bs);
+  }
+
+  /**
+   * Maps the given function across this array, boxing the results into an {@link Array}.
+   *
+   * @param f The function to map across this array.
+   * @return An array of the results of applying the given function to each element.
+   */
+  public <A> Array<A> mapToObj(final DoubleFunction<A> f) {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.apply(a[i]);
+    }
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new array whose elements all satisfy the given predicate.
+   */
+  public DoubleArray filter(final DoublePredicate f) {
+    final double[] bs = new double[a.length];
+    int n = 0;
+    for (final double x : a) {
+      if (f.test(x)) {
+        bs[n++] = x;
+      }
+    }
+    return new DoubleArray(n == a.length ? bs : Arrays.copyOf(bs, n));
+  }
+
+  /**
+   * Performs a left-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public double foldLeft(final DoubleBinaryOperator f, final double b) {
+    double acc = b;
+    for (final double x : a) {
+      acc = f.applyAsDouble(acc, x);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public double foldRight(final DoubleBinaryOperator f, final double b) {
+    double acc = b;
+    for (int i = a.length - 1; i >= 0; i--) {
+      acc = f.applyAsDouble(a[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public double sum() {
+    double acc = 0.0;
+    for (final double x : a) {
+      acc += x;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns a copy of this array sorted in ascending order, as by {@link Arrays#sort(double[])}.
+   *
+   * @return A copy of this array sorted in ascending order.
+   */
+  public DoubleArray sort() {
+    final double[] bs = a.clone();
+    Arrays.sort(bs);
+    return new DoubleArray(bs);
+  }
+
+  /**
+   * Reverses this array.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public DoubleArray reverse() {
+    final double[] bs = new double[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[a.length - 1 - i] = a[i];
+    }
+    return new DoubleArray(bs);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param as The array to append to this one.
+   * @return A new array that has the given array appended.
+   */
+  public DoubleArray append(final DoubleArray as) {
+    final double[] bs = Arrays.copyOf(a, a.length + as.a.length);
+    System.arraycopy(as.a, 0, bs, a.length, as.a.length);
+    return new DoubleArray(bs);
+  }
+
+  /**
+   * Returns a copy of the elements of this array as a Java array.
+   *
+   * @return A copy of the elements of this array.
+   */
+  public double[] toJavaArray() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a list of the elements of this array.
+   *
+   * @return A list of the elements of this array.
+   */
+  public DoubleList toDoubleList() {
+    return DoubleList.list(a);
+  }
+
+  /**
+   * Returns a sequential stream over the elements of this array, without copying them.
+   *
+   * @return A sequential stream over the elements of this array.
+   */
+  public DoubleStream stream() {
+    return Arrays.stream(a);
+  }
+
+  /**
+   * Returns an array of the boxed elements of this array.
+   *
+   * @return An array of the boxed elements of this array.
+   */
+  public Array<Double> toArray() {
+    return mapToObj(x -> x);
+  }
+
+  /**
+   * Returns an iterator over the elements of this array, which does not box them when used through
+   * {@link PrimitiveIterator.OfDouble#nextDouble()}.
+   *
+   * @return An iterator over the elements of this array.
+   */
+  @Override
+  public PrimitiveIterator.OfDouble iterator() {
+    return new PrimitiveIterator.OfDouble() {
+      private int i;
+
+      @Override
+      public boolean hasNext() {
+        return i < a.length;
+      }
+
+      @Override
+      public double nextDouble() {
+        if (i == a.length) {
+          throw new NoSuchElementException();
+        }
+        return a[i++];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return this == o || o instanceof DoubleArray && Arrays.equals(a, ((DoubleArray) o).a);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(a);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("DoubleArray(");
+    for (int i = 0; i < a.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(a[i]);
+    }
+    return sb.append(')').toString();
+  }
+}
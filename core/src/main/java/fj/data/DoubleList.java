@@ -0,0 +1,376 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+import static fj.Bottom.error;
+
+/**
+ * An in-memory, immutable, singly linked list of unboxed <code>double</code> values. Each cell holds its head as a
+ * primitive, so building, traversing and folding the list neither boxes nor unboxes.
+ *
+ * @see List
+ */
+public final class DoubleList implements Iterable<Double> {
+  private static final DoubleList NIL = new DoubleList(0.0, null);
+
+  private final double head;
+  private final DoubleList tail;
+
+  private DoubleList(final double head, final DoubleList tail) {
+    this.head = head;
+    this.tail = tail;
+  }
+
+  /**
+   * Returns the empty list.
+   *
+   * @return The empty list.
+   */
+  public static DoubleList nil() {
+    return NIL;
+  }
+
+  /**
+   * Returns a list of the given elements.
+   *
+   * @param as The elements of the list.
+   * @return A list of the given elements.
+   */
+  public static DoubleList list(final double... as) {
+    return fromArray(as, 0, as.length);
+  }
+
+  /**
+   * Returns a list of the given range of the given array.
+   *
+   * @param as   The array of elements.
+   * @param from The index of the first element of the list.
+   * @param to   The index after the last element of the list.
+   * @return A list of the elements of the given array from <code>from</code> (inclusive) to <code>to</code>
+   *         (exclusive).
+   */
+  public static DoubleList fromArray(final double[] as, final int from, final int to) {
+    DoubleList xs = NIL;
+    for (int i = to - 1; i >= from; i--) {
+      xs = new DoubleList(as[i], xs);
+    }
+    return xs;
+  }
+
+  /**
+   * Returns a list of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return A list of the elements of the given stream.
+   */
+  public static DoubleList fromStream(final DoubleStream s) {
+    return list(s.toArray());
+  }
+
+  /**
+   * Prepends the given element to this list.
+   *
+   * @param a The element to prepend.
+   * @return A list with the given element followed by this list.
+   */
+  public DoubleList cons(final double a) {
+    return new DoubleList(a, this);
+  }
+
+  /**
+   * Returns <code>true</code> if this list is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this list is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return this == NIL;
+  }
+
+  /**
+   * The first element of the list or fails for the empty list.
+   *
+   * @return The first element of the list or fails for the empty list.
+   */
+  public double head() {
+    if (isEmpty()) {
+      throw error("head on empty list");
+    }
+    return head;
+  }
+
+  /**
+   * The list without the first element or fails for the empty list.
+   *
+   * @return The list without the first element or fails for the empty list.
+   */
+  public DoubleList tail() {
+    if (isEmpty()) {
+      throw error("tail on empty list");
+    }
+    return tail;
+  }
+
+  /**
+   * The length of this list, in O(n).
+   *
+   * @return The length of this list.
+   */
+  public int length() {
+    int n = 0;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Maps the given function across this list.
+   *
+   * @param f The function to map across this list.
+   * @return A new list after the given function has been applied to each element.
+   */
+  public DoubleList map(final DoubleUnaryOperator f) {
+    final double[] as = toJavaArray();
+    for (int i = 0; i < as.length; i++) {
+      as[i] = f.applyAsDouble(as[i]);
+    }
+    return list(as);
+  }
+
+  /**
+   * Maps the given function across this list, boxing the results into a {@link List}.
+   *
+   * @param f The function to map across this list.
+   * @return A list of the results of applying the given function to each element.
+   */
+  public <A> List<A> mapToObj(final DoubleFunction<A> f) {
+    final List.Buffer<A> b = new List.Buffer<>();
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      b.snoc(f.apply(xs.head));
+    }
+    return b.toList();
+  }
+
+  /**
+   * Filters elements from this list by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new list whose elements all satisfy the given predicate.
+   */
+  public DoubleList filter(final DoublePredicate f) {
+    final double[] as = toJavaArray();
+    int n = 0;
+    for (final double a : as) {
+      if (f.test(a)) {
+        as[n++] = a;
+      }
+    }
+    return fromArray(as, 0, n);
+  }
+
+  /**
+   * Performs a left-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public double foldLeft(final DoubleBinaryOperator f, final double b) {
+    double acc = b;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      acc = f.applyAsDouble(acc, xs.head);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public double foldRight(final DoubleBinaryOperator f, final double b) {
+    final double[] as = toJavaArray();
+    double acc = b;
+    for (int i = as.length - 1; i >= 0; i--) {
+      acc = f.applyAsDouble(as[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this list.
+   *
+   * @return The sum of the elements of this list.
+   */
+  public double sum() {
+    double acc = 0.0;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      acc += xs.head;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns this list sorted in ascending order, as by {@link Arrays#sort(double[])}.
+   *
+   * @return This list sorted in ascending order.
+   */
+  public DoubleList sort() {
+    final double[] as = toJavaArray();
+    Arrays.sort(as);
+    return list(as);
+  }
+
+  /**
+   * Reverses this list.
+   *
+   * @return A new list that is the reverse of this one.
+   */
+  public DoubleList reverse() {
+    DoubleList ys = NIL;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      ys = new DoubleList(xs.head, ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Appends the given list to this list.
+   *
+   * @param as The list to append to this one.
+   * @return A new list that has the given list appended.
+   */
+  public DoubleList append(final DoubleList as) {
+    if (as.isEmpty()) {
+      return this;
+    }
+    final double[] xs = toJavaArray();
+    DoubleList ys = as;
+    for (int i = xs.length - 1; i >= 0; i--) {
+      ys = new DoubleList(xs[i], ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Returns a new Java array of the elements of this list.
+   *
+   * @return A new Java array of the elements of this list.
+   */
+  public double[] toJavaArray() {
+    final double[] as = new double[length()];
+    int i = 0;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      as[i++] = xs.head;
+    }
+    return as;
+  }
+
+  /**
+   * Returns an array of the elements of this list.
+   *
+   * @return An array of the elements of this list.
+   */
+  public DoubleArray toDoubleArray() {
+    return DoubleArray.array(toJavaArray());
+  }
+
+  /**
+   * Returns a sequential stream of the elements of this list.
+   *
+   * @return A sequential stream of the elements of this list.
+   */
+  public DoubleStream stream() {
+    final DoubleStream.Builder b = DoubleStream.builder();
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      b.accept(xs.head);
+    }
+    return b.build();
+  }
+
+  /**
+   * Returns a list of the boxed elements of this list.
+   *
+   * @return A list of the boxed elements of this list.
+   */
+  public List<Double> toList() {
+    return mapToObj(a -> a);
+  }
+
+  /**
+   * Returns an iterator over the elements of this list, which does not box them when used through
+   * {@link PrimitiveIterator.OfDouble#nextDouble()}.
+   *
+   * @return An iterator over the elements of this list.
+   */
+  @Override
+  public PrimitiveIterator.OfDouble iterator() {
+    return new PrimitiveIterator.OfDouble() {
+      private DoubleList xs = DoubleList.this;
+
+      @Override
+      public boolean hasNext() {
+        return xs != NIL;
+      }
+
+      @Override
+      public double nextDouble() {
+        if (xs == NIL) {
+          throw new NoSuchElementException();
+        }
+        final double a = xs.head;
+        xs = xs.tail;
+        return a;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DoubleList)) {
+      return false;
+    }
+    DoubleList xs = this;
+    DoubleList ys = (DoubleList) o;
+    for (; xs != NIL && ys != NIL; xs = xs.tail, ys = ys.tail) {
+      if (Double.doubleToLongBits(xs.head) != Double.doubleToLongBits(ys.head)) {
+        return false;
+      }
+    }
+    return xs == ys;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 1;
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      h = 31 * h + Double.hashCode(xs.head);
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("DoubleList(");
+    for (DoubleList xs = this; xs != NIL; xs = xs.tail) {
+      sb.append(xs.head);
+      if (xs.tail != NIL) {
+        sb.append(',');
+      }
+    }
+    return sb.append(')').toString();
+  }
+}
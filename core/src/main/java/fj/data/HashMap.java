@@ -3,37 +3,29 @@ package fj.data;
 import fj.*;
 import fj.function.Effect1;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 
 import static fj.P.p;
-import static fj.data.List.iterableList;
-import static fj.data.Option.fromNull;
+import static fj.data.Option.none;
+import static fj.data.Option.some;
 
 /**
  * A mutable hash map providing O(1) lookup.
  *
+ * The entries are kept in an open addressing table with linear probing, using parallel arrays of keys, values and
+ * key hashes, so that lookups go straight through the equality and hashing strategies without allocating.
+ * Deletion shifts the following entries of the probe sequence back rather than leaving tombstones.
+ *
  * @version %build.number%
  * @see java.util.HashMap
  */
 public final class HashMap<K, V> implements Iterable<K> {
-  private final class Key {
-    final K k;
-
-    Key(final K k) {
-      this.k = k;
-    }
-
-    @SuppressWarnings("unchecked")
-    public boolean equals(final Object o) {
-      return o instanceof HashMap.Key && e.eq(k, ((Key) o).k);
-    }
-
-    public int hashCode() {
-      return h.hash(k);
-    }
-  }
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
 
   /**
    * Returns an iterator for this map's keys. This method exists to permit the use in a <code>for</code>-each loop.
@@ -44,10 +36,16 @@ public final class HashMap<K, V> implements Iterable<K> {
     return keys().iterator();
   }
 
-  private final java.util.HashMap<Key, V> m;
-
   private final Equal<K> e;
   private final Hash<K> h;
+  private final float loadFactor;
+
+  // A slot is occupied when its value is not null, as null values are never stored.
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashes;
+  private int size;
+  private int threshold;
 
   /**
    * Construct a hash map with the given equality and hashing strategy.
@@ -56,9 +54,7 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param h The hashing strategy.
    */
   public HashMap(final Equal<K> e, final Hash<K> h) {
-    m = new java.util.HashMap<>();
-    this.e = e;
-    this.h = h;
+    this(e, h, DEFAULT_CAPACITY);
   }
 
   public HashMap(java.util.Map<K, V> map, final Equal<K> e, final Hash<K> h) {
@@ -76,9 +72,7 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param initialCapacity The initial capacity.
    */
   public HashMap(final Equal<K> e, final Hash<K> h, final int initialCapacity) {
-    m = new java.util.HashMap<>(initialCapacity);
-    this.e = e;
-    this.h = h;
+    this(e, h, initialCapacity, DEFAULT_LOAD_FACTOR);
   }
 
     public HashMap(java.util.Map<K, V> map) {
@@ -94,9 +88,97 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param loadFactor      The load factor.
    */
   public HashMap(final Equal<K> e, final Hash<K> h, final int initialCapacity, final float loadFactor) {
-    m = new java.util.HashMap<>(initialCapacity, loadFactor);
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+    }
+    if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+      throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+    }
     this.e = e;
     this.h = h;
+    this.loadFactor = loadFactor;
+    allocate(tableSizeFor((long) Math.ceil(initialCapacity / (double) loadFactor)));
+  }
+
+  private static int tableSizeFor(final long n) {
+    int c = 2;
+    while (c < n && c < MAXIMUM_CAPACITY) {
+      c <<= 1;
+    }
+    return c;
+  }
+
+  private void allocate(final int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    // Always leave at least one empty slot so that probing terminates.
+    threshold = (int) Math.min(capacity * (double) loadFactor, capacity - 1);
+  }
+
+  /**
+   * Spreads the bits of the given hash, so that keys with hashes differing only in their high bits, or forming an
+   * arithmetic sequence, do not cluster in the table.
+   */
+  private static int spread(final int hash) {
+    final int x = hash * 0x9E3779B9;
+    return x ^ (x >>> 16);
+  }
+
+  /**
+   * Returns the slot holding the given key, or -1 if the key is not in this map.
+   */
+  @SuppressWarnings("unchecked")
+  private int slot(final K k) {
+    final int hash = spread(h.hash(k));
+    final int mask = values.length - 1;
+    for (int i = hash & mask; values[i] != null; i = (i + 1) & mask) {
+      if (hashes[i] == hash && e.eq(k, (K) keys[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void resize() {
+    final Object[] oldKeys = keys;
+    final Object[] oldValues = values;
+    final int[] oldHashes = hashes;
+    allocate(oldValues.length * 2);
+    final int mask = values.length - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] != null) {
+        int i = oldHashes[j] & mask;
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+        hashes[i] = oldHashes[j];
+      }
+    }
+  }
+
+  /**
+   * Removes the entry in the given slot, moving back any later entries of the same probe sequence that could
+   * otherwise no longer be found.
+   */
+  private void removeSlot(final int slot) {
+    final int mask = values.length - 1;
+    int i = slot;
+    for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+      final int home = hashes[j] & mask;
+      // The entry at j can fill the hole at i unless its home slot lies cyclically in (i, j].
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        keys[i] = keys[j];
+        values[i] = values[j];
+        hashes[i] = hashes[j];
+        i = j;
+      }
+    }
+    keys[i] = null;
+    values[i] = null;
+    size--;
   }
 
   /**
@@ -144,8 +226,10 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param k The key to look up in the hash map.
    * @return A potential value for the given key.
    */
+  @SuppressWarnings("unchecked")
   public Option<V> get(final K k) {
-    return fromNull(m.get(new Key(k)));
+    final int i = slot(k);
+    return i < 0 ? none() : some((V) values[i]);
   }
 
   /**
@@ -161,7 +245,9 @@ public final class HashMap<K, V> implements Iterable<K> {
    * Clear all entries from this hash map.
    */
   public void clear() {
-    m.clear();
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    size = 0;
   }
 
   /**
@@ -171,7 +257,7 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @return <code>true</code> if this hash map contains the given key, <code>false</code> otherwise.
    */
   public boolean contains(final K k) {
-    return m.containsKey(new Key(k));
+    return slot(k) >= 0;
   }
 
   /**
@@ -179,11 +265,14 @@ public final class HashMap<K, V> implements Iterable<K> {
    *
    * @return All key entries in this hash map.
    */
+  @SuppressWarnings("unchecked")
   public List<K> keys() {
     final List.Buffer<K> b = new List.Buffer<>();
 
-    for (final Key k : m.keySet()) {
-      b.snoc(k.k);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        b.snoc((K) keys[i]);
+      }
     }
 
     return b.toList();
@@ -194,8 +283,17 @@ public final class HashMap<K, V> implements Iterable<K> {
    *
    * @return All values in this hash map.
    */
+  @SuppressWarnings("unchecked")
   public List<V> values() {
-    return iterableList(m.values());
+    final List.Buffer<V> b = new List.Buffer<>();
+
+    for (final Object v : values) {
+      if (v != null) {
+        b.snoc((V) v);
+      }
+    }
+
+    return b.toList();
   }
 
   /**
@@ -204,7 +302,7 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @return <code>true</code> if this hash map has no entries, <code>false</code> otherwise.
    */
   public boolean isEmpty() {
-    return m.isEmpty();
+    return size == 0;
   }
 
   /**
@@ -213,7 +311,7 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @return The number of entries in this hash map.
    */
   public int size() {
-    return m.size();
+    return size;
   }
 
   /**
@@ -222,9 +320,24 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param k The key to insert.
    * @param v The value to insert.
    */
+  @SuppressWarnings("unchecked")
   public void set(final K k, final V v) {
     if (v != null) {
-        m.put(new Key(k), v);
+      final int hash = spread(h.hash(k));
+      final int mask = values.length - 1;
+      int i = hash & mask;
+      for (; values[i] != null; i = (i + 1) & mask) {
+        if (hashes[i] == hash && e.eq(k, (K) keys[i])) {
+          values[i] = v;
+          return;
+        }
+      }
+      keys[i] = k;
+      values[i] = v;
+      hashes[i] = hash;
+      if (++size > threshold && values.length < MAXIMUM_CAPACITY) {
+        resize();
+      }
     }
   }
 
@@ -234,7 +347,10 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param k The key to delete from this hash map.
    */
   public void delete(final K k) {
-    m.remove(new Key(k));
+    final int i = slot(k);
+    if (i >= 0) {
+      removeSlot(i);
+    }
   }
 
   /**
@@ -243,8 +359,15 @@ public final class HashMap<K, V> implements Iterable<K> {
    * @param k The key to delete from this hash map.
    * @return The value that was associated with the given key, if there was one.
    */
+  @SuppressWarnings("unchecked")
   public Option<V> getDelete(final K k) {
-    return fromNull(m.remove(new Key(k)));
+    final int i = slot(k);
+    if (i < 0) {
+      return none();
+    }
+    final V v = (V) values[i];
+    removeSlot(i);
+    return some(v);
   }
 
   public <A, B> HashMap<A, B> map(F<K, A> keyFunction,
@@ -292,8 +415,17 @@ public final class HashMap<K, V> implements Iterable<K> {
     toStream().foreach(function);
   }
 
+  @SuppressWarnings("unchecked")
   public List<P2<K, V>> toList() {
-    return keys().map(k -> p(k, get(k).some()));
+    final List.Buffer<P2<K, V>> b = new List.Buffer<>();
+
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        b.snoc(p((K) keys[i], (V) values[i]));
+      }
+    }
+
+    return b.toList();
   }
 
   /**
@@ -317,10 +449,13 @@ public final class HashMap<K, V> implements Iterable<K> {
     return toList().toArray();
   }
 
+  @SuppressWarnings("unchecked")
   public java.util.Map<K, V> toMap() {
     final java.util.HashMap<K,V> result = new java.util.HashMap<>();
-    for (K key : keys()) {
-      result.put(key, get(key).some());
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        result.put((K) keys[i], (V) values[i]);
+      }
     }
     return result;
   }
@@ -21,7 +21,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import static fj.Bottom.errorF;
@@ -40,6 +47,13 @@ public final class IOFunctions {
 
     private static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
 
+    /**
+     * The size of the byte chunks with which files are enumerated through a {@link FileChannel}.
+     */
+    public static final int CHUNK_SIZE = 1024 * 64;
+
+    private static final long MAPPED_SEGMENT_SIZE = 1L << 30;
+
     private IOFunctions() {
     }
 
@@ -61,6 +75,8 @@ public final class IOFunctions {
 
     public static final F<Reader, IO<Unit>> closeReader = IOFunctions::closeReader;
 
+    public static final F<Channel, IO<Unit>> closeChannel = IOFunctions::closeChannel;
+
     /**
      * Convert io to a SafeIO, throwing any IOException wrapped inside a RuntimeException
      * @param io
@@ -83,6 +99,13 @@ public final class IOFunctions {
         return toSafe(io).run();
     }
 
+    public static IO<Unit> closeChannel(final Channel c) {
+        return () -> {
+            c.close();
+            return Unit.unit();
+        };
+    }
+
     public static IO<Unit> closeReader(final Reader r) {
         return () -> {
             r.close();
@@ -132,6 +155,137 @@ public final class IOFunctions {
                 , partialApply2(IOFunctions.charChunkReader2(), i));
     }
 
+    /**
+     * An IO monad that reads byte chunks from the given file, through a {@link FileChannel}, and passes them
+     * to the given iteratee. Each chunk is a new buffer, of up to {@link #CHUNK_SIZE} bytes, which the iteratee
+     * may keep.
+     *
+     * @param f the file to read, must not be <code>null</code>
+     * @param i the iteratee that is fed with byte chunks read from the file
+     */
+    public static <A> IO<IterV<ByteBuffer, A>> enumFileByteChunks(final File f, final IterV<ByteBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> {
+                    IterV<ByteBuffer, A> it = i;
+                    while (!Iteratee.isDone(it)) {
+                        final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+                        if (c.read(buffer) == -1) {
+                            return it;
+                        }
+                        buffer.flip();
+                        it = Iteratee.feed(it, buffer);
+                    }
+                    return it;
+                });
+    }
+
+    /**
+     * An IO monad that maps the given file into memory and passes it to the given iteratee in read-only byte
+     * chunks of up to {@link #CHUNK_SIZE} bytes. The chunks are slices of the mapping, so no byte is copied, and
+     * the pages of the file are only read when the iteratee reads the chunks.
+     *
+     * @param f the file to read, must not be <code>null</code>
+     * @param i the iteratee that is fed with byte chunks of the file
+     */
+    public static <A> IO<IterV<ByteBuffer, A>> enumMappedFileChunks(final File f, final IterV<ByteBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> {
+                    IterV<ByteBuffer, A> it = i;
+                    final long size = c.size();
+                    for (long start = 0; start < size && !Iteratee.isDone(it); start += MAPPED_SEGMENT_SIZE) {
+                        final ByteBuffer segment = c.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAPPED_SEGMENT_SIZE, size - start));
+                        final int limit = segment.limit();
+                        for (int from = 0; from < limit && !Iteratee.isDone(it); from += CHUNK_SIZE) {
+                            it = Iteratee.feed(it, Iteratee.slice(segment, from, Math.min(from + CHUNK_SIZE, limit)));
+                        }
+                    }
+                    return it;
+                });
+    }
+
+    /**
+     * An IO monad that maps the given file into memory and passes its lines to the given iteratee, as byte
+     * buffers without the line terminators ("\n" or "\r\n"). The lines are found by scanning the bytes of the
+     * file, without decoding them, and each line is a read-only slice of the mapping, except for a line that
+     * crosses the boundary of a mapped segment of a gigabyte, which is copied.
+     *
+     * @param f the file to read, must not be <code>null</code>
+     * @param i the iteratee that is fed with the lines of the file
+     */
+    public static <A> IO<IterV<ByteBuffer, A>> enumFileByteLines(final File f, final IterV<ByteBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> {
+                    IterV<ByteBuffer, A> it = i;
+                    // the start of a line that crosses the boundary of the segments
+                    ByteBuffer carry = null;
+                    final long size = c.size();
+                    for (long start = 0; start < size && !Iteratee.isDone(it); start += MAPPED_SEGMENT_SIZE) {
+                        final ByteBuffer segment = c.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAPPED_SEGMENT_SIZE, size - start));
+                        final int limit = segment.limit();
+                        int from = 0;
+                        for (int j = 0; j < limit && !Iteratee.isDone(it); j++) {
+                            if (segment.get(j) == '\n') {
+                                final ByteBuffer line = Iteratee.slice(segment, from, j);
+                                it = Iteratee.feed(it, withoutCarriageReturn(carry == null ? line : Iteratee.concat(List.list(carry, line))));
+                                carry = null;
+                                from = j + 1;
+                            }
+                        }
+                        if (from < limit && !Iteratee.isDone(it)) {
+                            final ByteBuffer rest = Iteratee.slice(segment, from, limit);
+                            carry = carry == null ? rest : Iteratee.concat(List.list(carry, rest));
+                        }
+                    }
+                    return carry == null || Iteratee.isDone(it) ? it : Iteratee.feed(it, withoutCarriageReturn(carry));
+                });
+    }
+
+    /**
+     * An IO monad that reads byte chunks from the given file, through a {@link FileChannel}, decodes them, and
+     * passes the char chunks to the given iteratee. A character whose bytes are split between byte chunks is
+     * decoded in the next char chunk, and malformed input is replaced, as an {@link InputStreamReader} does.
+     *
+     * @param f        the file to read, must not be <code>null</code>
+     * @param encoding the encoding to use, {@link Option#none()} means platform default
+     * @param i        the iteratee that is fed with char chunks decoded from the file
+     */
+    public static <A> IO<IterV<CharBuffer, A>> enumFileCharBuffers(final File f, final Option<Charset> encoding, final IterV<CharBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> {
+                    final CharsetDecoder decoder = encoding.orSome(Charset::defaultCharset).newDecoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                    final ByteBuffer in = ByteBuffer.allocate(CHUNK_SIZE);
+                    IterV<CharBuffer, A> it = i;
+                    while (!Iteratee.isDone(it)) {
+                        final boolean eof = c.read(in) == -1;
+                        in.flip();
+                        final CharBuffer out = CharBuffer.allocate((int) Math.ceil(in.remaining() * (double) decoder.maxCharsPerByte()) + 1);
+                        decoder.decode(in, out, eof);
+                        if (eof) {
+                            decoder.flush(out);
+                        }
+                        in.compact();
+                        out.flip();
+                        if (out.hasRemaining()) {
+                            it = Iteratee.feed(it, out);
+                        }
+                        if (eof) {
+                            return it;
+                        }
+                    }
+                    return it;
+                });
+    }
+
+    public static IO<FileChannel> fileChannel(final File f) {
+        return () -> FileChannel.open(f.toPath(), StandardOpenOption.READ);
+    }
+
     public static IO<BufferedReader> bufferedReader(final File f, final Option<Charset> encoding) {
         return map(fileReader(f, encoding), BufferedReader::new);
     }
@@ -303,8 +457,16 @@ public final class IOFunctions {
         }
     }
 
+    private static ByteBuffer withoutCarriageReturn(final ByteBuffer line) {
+        final int limit = line.limit();
+        if (limit > line.position() && line.get(limit - 1) == '\r') {
+            line.limit(limit - 1);
+        }
+        return line;
+    }
+
     public static <A, B> IO<B> map(final IO<A> io, final F<A, B> f) {
-        return () -> f.f(io.run());
+        return TrampolineIO.io(io).map(f);
     }
 
     public static <A, B> IO<B> as(final IO<A> io, final B b) {
@@ -316,7 +478,7 @@ public final class IOFunctions {
     }
 
     public static <A, B> IO<B> bind(final IO<A> io, final F<A, IO<B>> f) {
-        return () -> f.f(io.run()).run();
+        return TrampolineIO.io(io).bind(f);
     }
 
     public static IO<Unit> when(final Boolean b, final IO<Unit> io) {
@@ -331,9 +493,7 @@ public final class IOFunctions {
      * Evaluate each action in the sequence from left to right, and collect the results.
      */
     public static <A> IO<List<A>> sequence(List<IO<A>> list) {
-        F2<IO<A>, IO<List<A>>, IO<List<A>>> f2 = (io, ioList) ->
-                bind(ioList, (xs) -> map(io, x -> List.cons(x, xs)));
-        return list.foldRight(f2, unit(List.nil()));
+        return TrampolineIO.sequence(list);
     }
 
 
@@ -353,10 +513,7 @@ public final class IOFunctions {
     }
 
     public static <A, B> IO<B> append(final IO<A> io1, final IO<B> io2) {
-        return () -> {
-            io1.run();
-            return io2.run();
-        };
+        return TrampolineIO.io(io1).append(io2);
     }
 
     public static <A, B> IO<A> left(final IO<A> io1, final IO<B> io2) {
@@ -432,7 +589,7 @@ public final class IOFunctions {
     }
 
     public static <A> IO<List<A>> replicateM(IO<A> ioa, int n) {
-        return sequence(List.replicate(n, ioa));
+        return TrampolineIO.replicateM(ioa, n);
     }
 
     public static <A> IO<State<BufferedReader, Validation<IOException, String>>> readerState() {
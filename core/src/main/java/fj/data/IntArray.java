@@ -0,0 +1,312 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable array of unboxed <code>int</code> values.
+ *
+ * {@link #array(int...)} and {@link #stream()} share the underlying Java array rather than copying it, so the
+ * array passed to {@link #array(int...)} must not be modified afterwards.
+ *
+ * @see Array
+ */
+public final class IntArray implements Iterable<Integer> {
+  private static final IntArray EMPTY = new IntArray(new int[0]);
+
+  private final int[] a;
+
+  private IntArray(final int[] a) {
+    this.a = a;
+  }
+
+  /**
+   * Returns the empty array.
+   *
+   * @return The empty array.
+   */
+  public static IntArray empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns an array of the given elements, without copying them.
+   *
+   * @param as The elements of the array, which must not be modified afterwards.
+   * @return An array of the given elements.
+   */
+  public static IntArray array(final int... as) {
+    return new IntArray(as);
+  }
+
+  /**
+   * Returns an array of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return An array of the elements of the given stream.
+   */
+  public static IntArray fromStream(final IntStream s) {
+    return new IntArray(s.toArray());
+  }
+
+  /**
+   * Returns an array of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   *
+   * @param from The first value of the array.
+   * @param to   The value after the last value of the array.
+   * @return An array of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   */
+  public static IntArray range(final int from, final int to) {
+    if (to <= from) {
+      return EMPTY;
+    }
+    final int[] as = new int[to - from];
+    for (int i = 0; i < as.length; i++) {
+      as[i] = from + i;
+    }
+    return new IntArray(as);
+  }
+
+  /**
+   * Returns the element at the given index.
+   *
+   * @param index The index of the element to return.
+   * @return The element at the given index.
+   */
+  public int get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> if this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public IntArray map(final IntUnaryOperator f) {
+    final int[] bs = new int[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.applyAsInt(a[i]);
+    }
+    return new IntArray(bs);
+  }
+
+  /**
+   * Maps the given function across this array, boxing the results into an {@link Array}.
+   *
+   * @param f The function to map across this array.
+   * @return An array of the results of applying the given function to each element.
+   */
+  public <A> Array<A> mapToObj(final IntFunction<A> f) {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.apply(a[i]);
+    }
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new array whose elements all satisfy the given predicate.
+   */
+  public IntArray filter(final IntPredicate f) {
+    final int[] bs = new int[a.length];
+    int n = 0;
+    for (final int x : a) {
+      if (f.test(x)) {
+        bs[n++] = x;
+      }
+    }
+    return new IntArray(n == a.length ? bs : Arrays.copyOf(bs, n));
+  }
+
+  /**
+   * Performs a left-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public int foldLeft(final IntBinaryOperator f, final int b) {
+    int acc = b;
+    for (final int x : a) {
+      acc = f.applyAsInt(acc, x);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public int foldRight(final IntBinaryOperator f, final int b) {
+    int acc = b;
+    for (int i = a.length - 1; i >= 0; i--) {
+      acc = f.applyAsInt(a[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public int sum() {
+    int acc = 0;
+    for (final int x : a) {
+      acc += x;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns a copy of this array sorted in ascending order.
+   *
+   * @return A copy of this array sorted in ascending order.
+   */
+  public IntArray sort() {
+    final int[] bs = a.clone();
+    Arrays.sort(bs);
+    return new IntArray(bs);
+  }
+
+  /**
+   * Reverses this array.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public IntArray reverse() {
+    final int[] bs = new int[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[a.length - 1 - i] = a[i];
+    }
+    return new IntArray(bs);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param as The array to append to this one.
+   * @return A new array that has the given array appended.
+   */
+  public IntArray append(final IntArray as) {
+    final int[] bs = Arrays.copyOf(a, a.length + as.a.length);
+    System.arraycopy(as.a, 0, bs, a.length, as.a.length);
+    return new IntArray(bs);
+  }
+
+  /**
+   * Returns a copy of the elements of this array as a Java array.
+   *
+   * @return A copy of the elements of this array.
+   */
+  public int[] toJavaArray() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a list of the elements of this array.
+   *
+   * @return A list of the elements of this array.
+   */
+  public IntList toIntList() {
+    return IntList.list(a);
+  }
+
+  /**
+   * Returns a sequential stream over the elements of this array, without copying them.
+   *
+   * @return A sequential stream over the elements of this array.
+   */
+  public IntStream stream() {
+    return Arrays.stream(a);
+  }
+
+  /**
+   * Returns an array of the boxed elements of this array.
+   *
+   * @return An array of the boxed elements of this array.
+   */
+  public Array<Integer> toArray() {
+    return mapToObj(x -> x);
+  }
+
+  /**
+   * Returns an iterator over the elements of this array, which does not box them when used through
+   * {@link PrimitiveIterator.OfInt#nextInt()}.
+   *
+   * @return An iterator over the elements of this array.
+   */
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private int i;
+
+      @Override
+      public boolean hasNext() {
+        return i < a.length;
+      }
+
+      @Override
+      public int nextInt() {
+        if (i == a.length) {
+          throw new NoSuchElementException();
+        }
+        return a[i++];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return this == o || o instanceof IntArray && Arrays.equals(a, ((IntArray) o).a);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(a);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("IntArray(");
+    for (int i = 0; i < a.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(a[i]);
+    }
+    return sb.append(')').toString();
+  }
+}
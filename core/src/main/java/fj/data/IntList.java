@@ -0,0 +1,391 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import static fj.Bottom.error;
+
+/**
+ * An in-memory, immutable, singly linked list of unboxed <code>int</code> values. Each cell holds its head as a
+ * primitive, so building, traversing and folding the list neither boxes nor unboxes.
+ *
+ * @see List
+ */
+public final class IntList implements Iterable<Integer> {
+  private static final IntList NIL = new IntList(0, null);
+
+  private final int head;
+  private final IntList tail;
+
+  private IntList(final int head, final IntList tail) {
+    this.head = head;
+    this.tail = tail;
+  }
+
+  /**
+   * Returns the empty list.
+   *
+   * @return The empty list.
+   */
+  public static IntList nil() {
+    return NIL;
+  }
+
+  /**
+   * Returns a list of the given elements.
+   *
+   * @param as The elements of the list.
+   * @return A list of the given elements.
+   */
+  public static IntList list(final int... as) {
+    return fromArray(as, 0, as.length);
+  }
+
+  /**
+   * Returns a list of the given range of the given array.
+   *
+   * @param as   The array of elements.
+   * @param from The index of the first element of the list.
+   * @param to   The index after the last element of the list.
+   * @return A list of the elements of the given array from <code>from</code> (inclusive) to <code>to</code>
+   *         (exclusive).
+   */
+  public static IntList fromArray(final int[] as, final int from, final int to) {
+    IntList xs = NIL;
+    for (int i = to - 1; i >= from; i--) {
+      xs = new IntList(as[i], xs);
+    }
+    return xs;
+  }
+
+  /**
+   * Returns a list of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return A list of the elements of the given stream.
+   */
+  public static IntList fromStream(final IntStream s) {
+    return list(s.toArray());
+  }
+
+  /**
+   * Returns a list of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   *
+   * @param from The first value of the list.
+   * @param to   The value after the last value of the list.
+   * @return A list of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   */
+  public static IntList range(final int from, final int to) {
+    IntList xs = NIL;
+    for (int i = to; i > from; ) {
+      xs = new IntList(--i, xs);
+    }
+    return xs;
+  }
+
+  /**
+   * Prepends the given element to this list.
+   *
+   * @param a The element to prepend.
+   * @return A list with the given element followed by this list.
+   */
+  public IntList cons(final int a) {
+    return new IntList(a, this);
+  }
+
+  /**
+   * Returns <code>true</code> if this list is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this list is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return this == NIL;
+  }
+
+  /**
+   * The first element of the list or fails for the empty list.
+   *
+   * @return The first element of the list or fails for the empty list.
+   */
+  public int head() {
+    if (isEmpty()) {
+      throw error("head on empty list");
+    }
+    return head;
+  }
+
+  /**
+   * The list without the first element or fails for the empty list.
+   *
+   * @return The list without the first element or fails for the empty list.
+   */
+  public IntList tail() {
+    if (isEmpty()) {
+      throw error("tail on empty list");
+    }
+    return tail;
+  }
+
+  /**
+   * The length of this list, in O(n).
+   *
+   * @return The length of this list.
+   */
+  public int length() {
+    int n = 0;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Maps the given function across this list.
+   *
+   * @param f The function to map across this list.
+   * @return A new list after the given function has been applied to each element.
+   */
+  public IntList map(final IntUnaryOperator f) {
+    final int[] as = toJavaArray();
+    for (int i = 0; i < as.length; i++) {
+      as[i] = f.applyAsInt(as[i]);
+    }
+    return list(as);
+  }
+
+  /**
+   * Maps the given function across this list, boxing the results into a {@link List}.
+   *
+   * @param f The function to map across this list.
+   * @return A list of the results of applying the given function to each element.
+   */
+  public <A> List<A> mapToObj(final IntFunction<A> f) {
+    final List.Buffer<A> b = new List.Buffer<>();
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      b.snoc(f.apply(xs.head));
+    }
+    return b.toList();
+  }
+
+  /**
+   * Filters elements from this list by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new list whose elements all satisfy the given predicate.
+   */
+  public IntList filter(final IntPredicate f) {
+    final int[] as = toJavaArray();
+    int n = 0;
+    for (final int a : as) {
+      if (f.test(a)) {
+        as[n++] = a;
+      }
+    }
+    return fromArray(as, 0, n);
+  }
+
+  /**
+   * Performs a left-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public int foldLeft(final IntBinaryOperator f, final int b) {
+    int acc = b;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      acc = f.applyAsInt(acc, xs.head);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public int foldRight(final IntBinaryOperator f, final int b) {
+    final int[] as = toJavaArray();
+    int acc = b;
+    for (int i = as.length - 1; i >= 0; i--) {
+      acc = f.applyAsInt(as[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this list.
+   *
+   * @return The sum of the elements of this list.
+   */
+  public int sum() {
+    int acc = 0;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      acc += xs.head;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns this list sorted in ascending order.
+   *
+   * @return This list sorted in ascending order.
+   */
+  public IntList sort() {
+    final int[] as = toJavaArray();
+    Arrays.sort(as);
+    return list(as);
+  }
+
+  /**
+   * Reverses this list.
+   *
+   * @return A new list that is the reverse of this one.
+   */
+  public IntList reverse() {
+    IntList ys = NIL;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      ys = new IntList(xs.head, ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Appends the given list to this list.
+   *
+   * @param as The list to append to this one.
+   * @return A new list that has the given list appended.
+   */
+  public IntList append(final IntList as) {
+    if (as.isEmpty()) {
+      return this;
+    }
+    final int[] xs = toJavaArray();
+    IntList ys = as;
+    for (int i = xs.length - 1; i >= 0; i--) {
+      ys = new IntList(xs[i], ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Returns a new Java array of the elements of this list.
+   *
+   * @return A new Java array of the elements of this list.
+   */
+  public int[] toJavaArray() {
+    final int[] as = new int[length()];
+    int i = 0;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      as[i++] = xs.head;
+    }
+    return as;
+  }
+
+  /**
+   * Returns an array of the elements of this list.
+   *
+   * @return An array of the elements of this list.
+   */
+  public IntArray toIntArray() {
+    return IntArray.array(toJavaArray());
+  }
+
+  /**
+   * Returns a sequential stream of the elements of this list.
+   *
+   * @return A sequential stream of the elements of this list.
+   */
+  public IntStream stream() {
+    final IntStream.Builder b = IntStream.builder();
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      b.accept(xs.head);
+    }
+    return b.build();
+  }
+
+  /**
+   * Returns a list of the boxed elements of this list.
+   *
+   * @return A list of the boxed elements of this list.
+   */
+  public List<Integer> toList() {
+    return mapToObj(a -> a);
+  }
+
+  /**
+   * Returns an iterator over the elements of this list, which does not box them when used through
+   * {@link PrimitiveIterator.OfInt#nextInt()}.
+   *
+   * @return An iterator over the elements of this list.
+   */
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private IntList xs = IntList.this;
+
+      @Override
+      public boolean hasNext() {
+        return xs != NIL;
+      }
+
+      @Override
+      public int nextInt() {
+        if (xs == NIL) {
+          throw new NoSuchElementException();
+        }
+        final int a = xs.head;
+        xs = xs.tail;
+        return a;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof IntList)) {
+      return false;
+    }
+    IntList xs = this;
+    IntList ys = (IntList) o;
+    for (; xs != NIL && ys != NIL; xs = xs.tail, ys = ys.tail) {
+      if (xs.head != ys.head) {
+        return false;
+      }
+    }
+    return xs == ys;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 1;
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      h = 31 * h + Integer.hashCode(xs.head);
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("IntList(");
+    for (IntList xs = this; xs != NIL; xs = xs.tail) {
+      sb.append(xs.head);
+      if (xs.tail != NIL) {
+        sb.append(',');
+      }
+    }
+    return sb.append(')').toString();
+  }
+}
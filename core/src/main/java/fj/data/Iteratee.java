@@ -1,12 +1,21 @@
 package fj.data;
 
+import fj.Bottom;
 import fj.F;
 import fj.F0;
+import fj.F2;
 import fj.Function;
 import fj.P;
 import fj.P2;
 import fj.Unit;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 
  */
@@ -197,6 +206,131 @@ public final class Iteratee {
       return cont(step);
     }
 
+    /** An iteratee that folds the elements of the input, from left to right, with the given function */
+    public static <E, A> IterV<E, A> fold(final F2<A, E, A> f, final A z) {
+      final F<A, F<Input<E>, IterV<E, A>>> step =
+        new F<A, F<Input<E>, IterV<E, A>>>() {
+          final F<A, F<Input<E>, IterV<E, A>>> step = this;
+
+          @Override
+          public F<Input<E>, IterV<E, A>> f(final A acc) {
+            final F0<IterV<E, A>> empty = () -> cont(step.f(acc));
+
+            final F0<F<E, IterV<E, A>>> el = () -> e -> cont(step.f(f.f(acc, e)));
+
+            final F0<IterV<E, A>> eof = () -> done(acc, Input.<E>eof());
+
+            return s -> s.apply(empty, el, eof);
+          }
+        };
+      return cont(step.f(z));
+    }
+
+    /** An iteratee that consumes the elements of the input while they satisfy the given predicate, and returns
+     * them as a list in order. The first element that does not satisfy it is left in the input. */
+    public static <E> IterV<E, List<E>> takeWhile(final F<E, Boolean> p) {
+      final F<List<E>, F<Input<E>, IterV<E, List<E>>>> step =
+        new F<List<E>, F<Input<E>, IterV<E, List<E>>>>() {
+          final F<List<E>, F<Input<E>, IterV<E, List<E>>>> step = this;
+
+          @Override
+          public F<Input<E>, IterV<E, List<E>>> f(final List<E> acc) {
+            final F0<IterV<E, List<E>>> empty = () -> cont(step.f(acc));
+
+            final F0<F<E, IterV<E, List<E>>>> el =
+                () -> e -> p.f(e) ? cont(step.f(acc.cons(e))) : done(acc.reverse(), Input.el(e));
+
+            final F0<IterV<E, List<E>>> eof = () -> done(acc.reverse(), Input.<E>eof());
+
+            return s -> s.apply(empty, el, eof);
+          }
+        };
+      return cont(step.f(List.nil()));
+    }
+
+    /** An iteratee that counts the remaining elements of the buffers of the input, such as the bytes of byte
+     * buffer chunks, without reading them */
+    public static <E extends Buffer> IterV<E, Long> bufferLength() {
+      return fold((n, b) -> n + b.remaining(), 0L);
+    }
+
+    /** An iteratee that counts the lines of byte buffer chunks, by scanning their bytes for line feeds. A last
+     * line without a line feed is counted. */
+    public static IterV<ByteBuffer, Long> lineCount() {
+      final IterV<ByteBuffer, P2<Long, Boolean>> count = fold((acc, b) -> {
+        final int limit = b.limit();
+        if (b.position() == limit) {
+          return acc;
+        }
+        long n = acc._1();
+        for (int i = b.position(); i < limit; i++) {
+          if (b.get(i) == '\n') {
+            n++;
+          }
+        }
+        return P.p(n, b.get(limit - 1) == '\n');
+      }, P.p(0L, true));
+      return count.bind(p -> done(p._2() ? p._1() : p._1() + 1, Input.<ByteBuffer>empty()));
+    }
+
+    /** An iteratee that consumes the bytes of byte buffer chunks while they satisfy the given predicate, and
+     * returns them in a buffer. The rest of the chunk where it stops is left in the input as a slice of it, and a
+     * prefix of a single chunk is returned as a slice as well, without copying it. */
+    public static IterV<ByteBuffer, ByteBuffer> takeWhileBytes(final F<Byte, Boolean> p) {
+      final F<List<ByteBuffer>, F<Input<ByteBuffer>, IterV<ByteBuffer, ByteBuffer>>> step =
+        new F<List<ByteBuffer>, F<Input<ByteBuffer>, IterV<ByteBuffer, ByteBuffer>>>() {
+          final F<List<ByteBuffer>, F<Input<ByteBuffer>, IterV<ByteBuffer, ByteBuffer>>> step = this;
+
+          @Override
+          public F<Input<ByteBuffer>, IterV<ByteBuffer, ByteBuffer>> f(final List<ByteBuffer> acc) {
+            final F0<IterV<ByteBuffer, ByteBuffer>> empty = () -> cont(step.f(acc));
+
+            final F0<F<ByteBuffer, IterV<ByteBuffer, ByteBuffer>>> el = () -> b -> {
+              int i = b.position();
+              while (i < b.limit() && p.f(b.get(i))) {
+                i++;
+              }
+              final List<ByteBuffer> taken = acc.cons(slice(b, b.position(), i));
+              return i == b.limit()
+                  ? cont(step.f(taken))
+                  : done(concat(taken.reverse()), Input.el(slice(b, i, b.limit())));
+            };
+
+            final F0<IterV<ByteBuffer, ByteBuffer>> eof = () -> done(concat(acc.reverse()), Input.<ByteBuffer>eof());
+
+            return s -> s.apply(empty, el, eof);
+          }
+        };
+      return cont(step.f(List.nil()));
+    }
+
+    /** An iteratee that folds the elements of the input with the given function while the accumulated value
+     * satisfies the given predicate, and is done as soon as it does not, without consuming the rest of the input */
+    public static <E, A> IterV<E, A> foldWhile(final F2<A, E, A> f, final A z, final F<A, Boolean> p) {
+      if (!p.f(z)) {
+        return done(z, Input.empty());
+      }
+      final F0<IterV<E, A>> empty = () -> foldWhile(f, z, p);
+
+      final F0<F<E, IterV<E, A>>> el = () -> e -> foldWhile(f, f.f(z, e), p);
+
+      final F0<IterV<E, A>> eof = () -> done(z, Input.<E>eof());
+
+      return cont(s -> s.apply(empty, el, eof));
+    }
+
+    /** An iteratee that feeds each element of the input to both given iteratees, and is done with both of their
+     * results when both are done. The input left is that of the iteratee that is done last. */
+    public static <E, A, B> IterV<E, P2<A, B>> zip(final IterV<E, A> a, final IterV<E, B> b) {
+      return a.fold(
+          da -> b.fold(
+              db -> done(P.p(da._1(), db._1()), db._2()),
+              kb -> cont(s -> kb.f(s).bind(y -> done(P.p(da._1(), y), Input.<E>empty())))),
+          ka -> b.fold(
+              db -> cont(s -> ka.f(s).bind(x -> done(P.p(x, db._1()), Input.<E>empty()))),
+              kb -> cont(s -> zip(ka.f(s), kb.f(s)))));
+    }
+
     /** An iteratee that consumes the input elements and returns them as a list in reverse order,
      * so that the last line is the first element. This allows to build a list from 2 iteratees. */
     public static <E> IterV<E, List<E>> list() {
@@ -219,6 +353,375 @@ public final class Iteratee {
     }
   }
 
+  /**
+   * A stream transformer between an enumerator of elements of type <code>O</code> and an iteratee of elements of
+   * type <code>I</code>, which maps, filters, groups, splits or decodes the elements on the way, one at a time.
+   * Applying an enumeratee to an iteratee returns an iteratee of the outer elements, which is done with the inner
+   * iteratee when the outer input ends or the inner iteratee is done. The inner iteratee is not fed the end of the
+   * input, so that it can be fed more, or run with {@link #transform(IterV)}.
+   * <p/>
+   * The stages of an enumeratee composed with {@link #andThen(Enumeratee)} are fused: a run builds them once, as a
+   * chain of sinks, and each stage pushes the elements it makes into the next one with a single call, without
+   * intermediate iteratees or lists. The stages hold the state of the run, such as a partial line or the bytes of a
+   * split character, so each step of the iteratee of the outer elements is to be fed once. Each run from the
+   * iteratee that {@link #apply(IterV)} returns gets stages of its own.
+   */
+  public abstract static class Enumeratee<O, I> {
+
+    Enumeratee() {} // sealed
+
+    // Returns the stages of a run, which push the elements they make into the given sink
+    abstract Sink<O> sink(final Sink<I> down);
+
+    /** Returns an iteratee of the outer elements that feeds the given iteratee, and is done with it */
+    public final <A> IterV<O, IterV<I, A>> apply(final IterV<I, A> i) {
+      if (sink(new Into<>(i)).done()) {
+        return IterV.done(i, Input.<O>empty());
+      }
+      return IterV.cont(s -> {
+        final Into<I, A> into = new Into<>(i);
+        return input(sink(into), into, s);
+      });
+    }
+
+    /** Returns an iteratee of the outer elements that feeds the given iteratee, and is done with its result,
+     * which it runs at the end of the input */
+    public final <A> IterV<O, A> transform(final IterV<I, A> i) {
+      return apply(i).bind(inner -> IterV.done(inner.run(), Input.<O>empty()));
+    }
+
+    /** Returns an enumeratee that feeds the elements of this one to the given one */
+    public final <J> Enumeratee<O, J> andThen(final Enumeratee<I, J> that) {
+      final Enumeratee<O, I> self = this;
+      return new Enumeratee<O, J>() {
+        @Override
+        Sink<O> sink(final Sink<J> down) {
+          return self.sink(that.sink(down));
+        }
+      };
+    }
+
+    /** An enumeratee that maps the given function across the elements */
+    public static <O, I> Enumeratee<O, I> map(final F<O, I> f) {
+      return new Enumeratee<O, I>() {
+        @Override
+        Sink<O> sink(final Sink<I> down) {
+          return new Stage<O, I>(down) {
+            @Override
+            void push(final O o) {
+              down.push(f.f(o));
+            }
+          };
+        }
+      };
+    }
+
+    /** An enumeratee that passes on the elements that satisfy the given predicate */
+    public static <E> Enumeratee<E, E> filter(final F<E, Boolean> p) {
+      return new Enumeratee<E, E>() {
+        @Override
+        Sink<E> sink(final Sink<E> down) {
+          return new Stage<E, E>(down) {
+            @Override
+            void push(final E e) {
+              if (p.f(e)) {
+                down.push(e);
+              }
+            }
+          };
+        }
+      };
+    }
+
+    /** An enumeratee that passes on the first n elements, and is done without consuming the rest */
+    public static <E> Enumeratee<E, E> take(final int n) {
+      return new Enumeratee<E, E>() {
+        @Override
+        Sink<E> sink(final Sink<E> down) {
+          return new Stage<E, E>(down) {
+            // The number of elements passed on so far
+            int m = 0;
+
+            @Override
+            void push(final E e) {
+              down.push(e);
+              if (++m == n) {
+                // the outer input ends here for the next stages
+                down.end();
+              }
+            }
+
+            @Override
+            boolean done() {
+              return m >= n || down.done();
+            }
+
+            @Override
+            void end() {
+              if (m < n) {
+                down.end();
+              }
+            }
+          };
+        }
+      };
+    }
+
+    /** An enumeratee that groups the elements into lists of n elements, the last of which may be shorter */
+    public static <E> Enumeratee<E, List<E>> grouped(final int n) {
+      if (n < 1) {
+        throw Bottom.error("Can't group elements in groups shorter than 1 element long.");
+      }
+      return new Enumeratee<E, List<E>>() {
+        @Override
+        Sink<E> sink(final Sink<List<E>> down) {
+          return new Stage<E, List<E>>(down) {
+            // The group of the elements so far, in reverse order, of size m
+            List<E> acc = List.nil();
+            int m = 0;
+
+            @Override
+            void push(final E e) {
+              acc = acc.cons(e);
+              if (++m == n) {
+                down.push(acc.reverse());
+                acc = List.nil();
+                m = 0;
+              }
+            }
+
+            @Override
+            void end() {
+              if (m > 0) {
+                pass(acc.reverse());
+              }
+              down.end();
+            }
+          };
+        }
+      };
+    }
+
+    /** An enumeratee that splits chunks of characters into lines, without their line terminators ("\n" or
+     * "\r\n"), whether lines span chunks or chunks hold many lines */
+    public static <C extends CharSequence> Enumeratee<C, String> splitLines() {
+      return new Enumeratee<C, String>() {
+        @Override
+        Sink<C> sink(final Sink<String> down) {
+          return new Stage<C, String>(down) {
+            // The characters of the current line in the chunks so far
+            final StringBuilder carry = new StringBuilder();
+
+            @Override
+            void push(final C cs) {
+              int from = 0;
+              for (int j = 0; j < cs.length() && !down.done(); j++) {
+                if (cs.charAt(j) == '\n') {
+                  down.push(withoutCarriageReturn(line(cs, from, j)));
+                  from = j + 1;
+                }
+              }
+              carry.append(cs, from, cs.length());
+            }
+
+            // The line that ends with the given characters
+            private String line(final C cs, final int from, final int to) {
+              if (carry.length() == 0) {
+                return cs.subSequence(from, to).toString();
+              }
+              final String line = carry.append(cs, from, to).toString();
+              carry.setLength(0);
+              return line;
+            }
+
+            @Override
+            void end() {
+              if (carry.length() > 0) {
+                pass(withoutCarriageReturn(carry.toString()));
+              }
+              down.end();
+            }
+          };
+        }
+      };
+    }
+
+    /** An enumeratee that decodes chunks of UTF-8 bytes into chunks of characters. A character whose bytes are
+     * split between chunks is decoded in the next chunk, and malformed input is replaced. */
+    public static Enumeratee<ByteBuffer, CharBuffer> utf8Decode() {
+      return new Enumeratee<ByteBuffer, CharBuffer>() {
+        @Override
+        Sink<ByteBuffer> sink(final Sink<CharBuffer> down) {
+          return new Stage<ByteBuffer, CharBuffer>(down) {
+            final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+            // The bytes of a character split from the previous chunk, of which there are at most 3, and the byte
+            // of the current chunk that is added to them
+            final ByteBuffer carry = ByteBuffer.allocate(4);
+
+            @Override
+            void push(final ByteBuffer b) {
+              final ByteBuffer in = b.duplicate();
+              // UTF-8 decodes to at most one char per byte, and one replacement char per malformed byte
+              final CharBuffer out = CharBuffer.allocate(carry.position() + in.remaining());
+              // the split character is decoded on its own, with the first bytes of the chunk added one at a time
+              while (carry.position() > 0 && in.hasRemaining()) {
+                carry.put(in.get()).flip();
+                decoder.decode(carry, out, false);
+                carry.compact();
+              }
+              decoder.decode(in, out, false);
+              carry.put(in);
+              passDecoded(out);
+            }
+
+            @Override
+            void end() {
+              if (carry.position() > 0) {
+                final CharBuffer out = CharBuffer.allocate(carry.position());
+                carry.flip();
+                decoder.decode(carry, out, true);
+                decoder.flush(out);
+                carry.clear();
+                passDecoded(out);
+              }
+              down.end();
+            }
+
+            // Passes on the chars decoded into the given buffer, if any
+            private void passDecoded(final CharBuffer out) {
+              out.flip();
+              if (out.hasRemaining()) {
+                pass(out);
+              }
+            }
+          };
+        }
+      };
+    }
+
+    // Handles the given outer input with the given stages of a run, which feed the inner iteratee of the given sink
+    private static <O, I, A> IterV<O, IterV<I, A>> input(final Sink<O> sink, final Into<I, A> into,
+                                                         final Input<O> s) {
+      final F0<IterV<O, IterV<I, A>>> empty = () -> step(sink, into);
+
+      final F0<F<O, IterV<O, IterV<I, A>>>> el = () -> o -> {
+        sink.push(o);
+        return step(sink, into);
+      };
+
+      final F0<IterV<O, IterV<I, A>>> eof = () -> {
+        sink.end();
+        return IterV.done(into.it, Input.<O>eof());
+      };
+
+      return s.apply(empty, el, eof);
+    }
+
+    // An iteratee of the outer elements that is done with the inner iteratee if the stages of the run are, or
+    // pushes the next element into them
+    private static <O, I, A> IterV<O, IterV<I, A>> step(final Sink<O> sink, final Into<I, A> into) {
+      return sink.done() ? IterV.done(into.it, Input.<O>empty()) : IterV.cont(s -> input(sink, into, s));
+    }
+
+    private static String withoutCarriageReturn(final String line) {
+      return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    // A stage of a run, which is pushed elements only while it is not done
+    abstract static class Sink<E> {
+      abstract void push(final E e);
+
+      // Whether the stage takes no more elements
+      abstract boolean done();
+
+      // Passes on what the stage holds at the end of the outer input
+      abstract void end();
+    }
+
+    // A stage that pushes into the next one, and is done when it is
+    abstract static class Stage<E, D> extends Sink<E> {
+      final Sink<D> down;
+
+      Stage(final Sink<D> down) {
+        this.down = down;
+      }
+
+      // Pushes the given element into the next stage, unless it is done
+      final void pass(final D d) {
+        if (!down.done()) {
+          down.push(d);
+        }
+      }
+
+      @Override
+      boolean done() {
+        return down.done();
+      }
+
+      @Override
+      void end() {
+        down.end();
+      }
+    }
+
+    // The last stage of a run, which feeds the inner iteratee
+    private static final class Into<I, A> extends Sink<I> {
+      IterV<I, A> it;
+      boolean done;
+
+      Into(final IterV<I, A> i) {
+        it = i;
+        done = isDone(i);
+      }
+
+      @Override
+      void push(final I e) {
+        it = feed(it, e);
+        done = isDone(it);
+      }
+
+      @Override
+      boolean done() {
+        return done;
+      }
+
+      @Override
+      void end() {}
+    }
+  }
+
+  // Whether the given iteratee is done
+  static <E, A> boolean isDone(final IterV<E, A> i) {
+    return i.fold(Function.constant(true), Function.constant(false));
+  }
+
+  // Feeds the given element to the given iteratee, or returns the iteratee as is if it is done
+  static <E, A> IterV<E, A> feed(final IterV<E, A> i, final E e) {
+    return i.fold(Function.constant(i), k -> k.f(Input.el(e)));
+  }
+
+  // The bytes of the given buffer from the given index (inclusive) to the given index (exclusive), sharing them
+  static ByteBuffer slice(final ByteBuffer b, final int from, final int to) {
+    final ByteBuffer d = b.duplicate();
+    d.limit(to);
+    d.position(from);
+    return d.slice();
+  }
+
+  // The bytes of the given buffers, in a new buffer unless there is only one
+  static ByteBuffer concat(final List<ByteBuffer> bs) {
+    if (bs.isSingle()) {
+      return bs.head();
+    }
+    final ByteBuffer r = ByteBuffer.allocate(bs.foldLeft((n, b) -> n + b.remaining(), 0));
+    bs.foreachDoEffect(b -> r.put(b.duplicate()));
+    r.flip();
+    return r;
+  }
+
   private Iteratee() {
     throw new UnsupportedOperationException();
   }
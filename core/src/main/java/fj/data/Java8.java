@@ -142,6 +142,14 @@ public final class Java8 {
         return StreamSupport.stream(it.spliterator(), false);
     }
 
+    /**
+     * Returns a parallel stream over the given iterable, which the spliterators of the fj collections split
+     * along their structure.
+     */
+    public static <A> java.util.stream.Stream<A> Iterable_JavaParallelStream(final Iterable<A> it) {
+        return StreamSupport.stream(it.spliterator(), true);
+    }
+
     public static <A> java.util.stream.Stream<A> Iterator_JavaStream(final Iterator<A> it) {
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, 0), false);
     }
@@ -45,6 +45,17 @@ public abstract class List<A> implements Iterable<A> {
     return toCollection().iterator();
   }
 
+  /**
+   * Returns a spliterator over this list, which knows the size of this list and splits it into batches of
+   * elements.
+   *
+   * @return A sized spliterator over this list.
+   */
+  @Override
+  public final Spliterator<A> spliterator() {
+    return Spliterators.spliterator(iterator(), length(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+  }
+
   /**
    * The first element of the linked list or fails for the empty list.
    *
@@ -155,6 +166,15 @@ public abstract class List<A> implements Iterable<A> {
     return isEmpty() ? Either.left(x.f()) : Either.right(head());
   }
 
+  /**
+   * Returns a lazy view of this list, through which chained transformations run as a single loop.
+   *
+   * @return A view of the elements of this list.
+   */
+  public final View<A> view() {
+    return View.listView(this);
+  }
+
   /**
    * Returns a stream projection of this list.
    *
@@ -1209,6 +1229,19 @@ public abstract class List<A> implements Iterable<A> {
     }
   }
 
+  /**
+   * Sorts this list using the given order over elements, with a parallel merge sort of an array of its elements
+   * that uses the given parallelisation strategy. The sort is stable.
+   *
+   * @param o The order over the elements of this list.
+   * @param s A strategy for parallelising the algorithm.
+   * @return A sorted list according to the given order.
+   * @see ParModule#parSort(List, Ord)
+   */
+  public final List<A> sort(final Ord<A> o, final Strategy<Unit> s) {
+    return ParModule.parModule(s).parSort(this, o).claim();
+  }
+
   /**
    * Zips this list with the given list using the given function to produce a new list. If this list
    * and the given list have different lengths, then the longer list is normalised so this function
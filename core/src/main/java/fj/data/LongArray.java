@@ -0,0 +1,312 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+/**
+ * An immutable array of unboxed <code>long</code> values.
+ *
+ * {@link #array(long...)} and {@link #stream()} share the underlying Java array rather than copying it, so the
+ * array passed to {@link #array(long...)} must not be modified afterwards.
+ *
+ * @see Array
+ */
+public final class LongArray implements Iterable<Long> {
+  private static final LongArray EMPTY = new LongArray(new long[0]);
+
+  private final long[] a;
+
+  private LongArray(final long[] a) {
+    this.a = a;
+  }
+
+  /**
+   * Returns the empty array.
+   *
+   * @return The empty array.
+   */
+  public static LongArray empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns an array of the given elements, without copying them.
+   *
+   * @param as The elements of the array, which must not be modified afterwards.
+   * @return An array of the given elements.
+   */
+  public static LongArray array(final long... as) {
+    return new LongArray(as);
+  }
+
+  /**
+   * Returns an array of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return An array of the elements of the given stream.
+   */
+  public static LongArray fromStream(final LongStream s) {
+    return new LongArray(s.toArray());
+  }
+
+  /**
+   * Returns an array of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   *
+   * @param from The first value of the array.
+   * @param to   The value after the last value of the array.
+   * @return An array of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   */
+  public static LongArray range(final long from, final long to) {
+    if (to <= from) {
+      return EMPTY;
+    }
+    final long[] as = new long[Math.toIntExact(to - from)];
+    for (int i = 0; i < as.length; i++) {
+      as[i] = from + i;
+    }
+    return new LongArray(as);
+  }
+
+  /**
+   * Returns the element at the given index.
+   *
+   * @param index The index of the element to return.
+   * @return The element at the given index.
+   */
+  public long get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> if this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public LongArray map(final LongUnaryOperator f) {
+    final long[] bs = new long[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.applyAsLong(a[i]);
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Maps the given function across this array, boxing the results into an {@link Array}.
+   *
+   * @param f The function to map across this array.
+   * @return An array of the results of applying the given function to each element.
+   */
+  public <A> Array<A> mapToObj(final LongFunction<A> f) {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[i] = f.apply(a[i]);
+    }
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new array whose elements all satisfy the given predicate.
+   */
+  public LongArray filter(final LongPredicate f) {
+    final long[] bs = new long[a.length];
+    int n = 0;
+    for (final long x : a) {
+      if (f.test(x)) {
+        bs[n++] = x;
+      }
+    }
+    return new LongArray(n == a.length ? bs : Arrays.copyOf(bs, n));
+  }
+
+  /**
+   * Performs a left-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public long foldLeft(final LongBinaryOperator f, final long b) {
+    long acc = b;
+    for (final long x : a) {
+      acc = f.applyAsLong(acc, x);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public long foldRight(final LongBinaryOperator f, final long b) {
+    long acc = b;
+    for (int i = a.length - 1; i >= 0; i--) {
+      acc = f.applyAsLong(a[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public long sum() {
+    long acc = 0L;
+    for (final long x : a) {
+      acc += x;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns a copy of this array sorted in ascending order.
+   *
+   * @return A copy of this array sorted in ascending order.
+   */
+  public LongArray sort() {
+    final long[] bs = a.clone();
+    Arrays.sort(bs);
+    return new LongArray(bs);
+  }
+
+  /**
+   * Reverses this array.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public LongArray reverse() {
+    final long[] bs = new long[a.length];
+    for (int i = 0; i < a.length; i++) {
+      bs[a.length - 1 - i] = a[i];
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param as The array to append to this one.
+   * @return A new array that has the given array appended.
+   */
+  public LongArray append(final LongArray as) {
+    final long[] bs = Arrays.copyOf(a, a.length + as.a.length);
+    System.arraycopy(as.a, 0, bs, a.length, as.a.length);
+    return new LongArray(bs);
+  }
+
+  /**
+   * Returns a copy of the elements of this array as a Java array.
+   *
+   * @return A copy of the elements of this array.
+   */
+  public long[] toJavaArray() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a list of the elements of this array.
+   *
+   * @return A list of the elements of this array.
+   */
+  public LongList toLongList() {
+    return LongList.list(a);
+  }
+
+  /**
+   * Returns a sequential stream over the elements of this array, without copying them.
+   *
+   * @return A sequential stream over the elements of this array.
+   */
+  public LongStream stream() {
+    return Arrays.stream(a);
+  }
+
+  /**
+   * Returns an array of the boxed elements of this array.
+   *
+   * @return An array of the boxed elements of this array.
+   */
+  public Array<Long> toArray() {
+    return mapToObj(x -> x);
+  }
+
+  /**
+   * Returns an iterator over the elements of this array, which does not box them when used through
+   * {@link PrimitiveIterator.OfLong#nextLong()}.
+   *
+   * @return An iterator over the elements of this array.
+   */
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      private int i;
+
+      @Override
+      public boolean hasNext() {
+        return i < a.length;
+      }
+
+      @Override
+      public long nextLong() {
+        if (i == a.length) {
+          throw new NoSuchElementException();
+        }
+        return a[i++];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return this == o || o instanceof LongArray && Arrays.equals(a, ((LongArray) o).a);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(a);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("LongArray(");
+    for (int i = 0; i < a.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(a[i]);
+    }
+    return sb.append(')').toString();
+  }
+}
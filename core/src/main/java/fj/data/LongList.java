@@ -0,0 +1,391 @@
+package fj.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+import static fj.Bottom.error;
+
+/**
+ * An in-memory, immutable, singly linked list of unboxed <code>long</code> values. Each cell holds its head as a
+ * primitive, so building, traversing and folding the list neither boxes nor unboxes.
+ *
+ * @see List
+ */
+public final class LongList implements Iterable<Long> {
+  private static final LongList NIL = new LongList(0L, null);
+
+  private final long head;
+  private final LongList tail;
+
+  private LongList(final long head, final LongList tail) {
+    this.head = head;
+    this.tail = tail;
+  }
+
+  /**
+   * Returns the empty list.
+   *
+   * @return The empty list.
+   */
+  public static LongList nil() {
+    return NIL;
+  }
+
+  /**
+   * Returns a list of the given elements.
+   *
+   * @param as The elements of the list.
+   * @return A list of the given elements.
+   */
+  public static LongList list(final long... as) {
+    return fromArray(as, 0, as.length);
+  }
+
+  /**
+   * Returns a list of the given range of the given array.
+   *
+   * @param as   The array of elements.
+   * @param from The index of the first element of the list.
+   * @param to   The index after the last element of the list.
+   * @return A list of the elements of the given array from <code>from</code> (inclusive) to <code>to</code>
+   *         (exclusive).
+   */
+  public static LongList fromArray(final long[] as, final int from, final int to) {
+    LongList xs = NIL;
+    for (int i = to - 1; i >= from; i--) {
+      xs = new LongList(as[i], xs);
+    }
+    return xs;
+  }
+
+  /**
+   * Returns a list of the elements of the given stream.
+   *
+   * @param s The stream of elements.
+   * @return A list of the elements of the given stream.
+   */
+  public static LongList fromStream(final LongStream s) {
+    return list(s.toArray());
+  }
+
+  /**
+   * Returns a list of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   *
+   * @param from The first value of the list.
+   * @param to   The value after the last value of the list.
+   * @return A list of the values from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   */
+  public static LongList range(final long from, final long to) {
+    LongList xs = NIL;
+    for (long i = to; i > from; ) {
+      xs = new LongList(--i, xs);
+    }
+    return xs;
+  }
+
+  /**
+   * Prepends the given element to this list.
+   *
+   * @param a The element to prepend.
+   * @return A list with the given element followed by this list.
+   */
+  public LongList cons(final long a) {
+    return new LongList(a, this);
+  }
+
+  /**
+   * Returns <code>true</code> if this list is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this list is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return this == NIL;
+  }
+
+  /**
+   * The first element of the list or fails for the empty list.
+   *
+   * @return The first element of the list or fails for the empty list.
+   */
+  public long head() {
+    if (isEmpty()) {
+      throw error("head on empty list");
+    }
+    return head;
+  }
+
+  /**
+   * The list without the first element or fails for the empty list.
+   *
+   * @return The list without the first element or fails for the empty list.
+   */
+  public LongList tail() {
+    if (isEmpty()) {
+      throw error("tail on empty list");
+    }
+    return tail;
+  }
+
+  /**
+   * The length of this list, in O(n).
+   *
+   * @return The length of this list.
+   */
+  public int length() {
+    int n = 0;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * Maps the given function across this list.
+   *
+   * @param f The function to map across this list.
+   * @return A new list after the given function has been applied to each element.
+   */
+  public LongList map(final LongUnaryOperator f) {
+    final long[] as = toJavaArray();
+    for (int i = 0; i < as.length; i++) {
+      as[i] = f.applyAsLong(as[i]);
+    }
+    return list(as);
+  }
+
+  /**
+   * Maps the given function across this list, boxing the results into a {@link List}.
+   *
+   * @param f The function to map across this list.
+   * @return A list of the results of applying the given function to each element.
+   */
+  public <A> List<A> mapToObj(final LongFunction<A> f) {
+    final List.Buffer<A> b = new List.Buffer<>();
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      b.snoc(f.apply(xs.head));
+    }
+    return b.toList();
+  }
+
+  /**
+   * Filters elements from this list by returning only elements which produce <code>true</code> when the given
+   * predicate is applied to them.
+   *
+   * @param f The predicate to test the elements with.
+   * @return A new list whose elements all satisfy the given predicate.
+   */
+  public LongList filter(final LongPredicate f) {
+    final long[] as = toJavaArray();
+    int n = 0;
+    for (final long a : as) {
+      if (f.test(a)) {
+        as[n++] = a;
+      }
+    }
+    return fromArray(as, 0, n);
+  }
+
+  /**
+   * Performs a left-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public long foldLeft(final LongBinaryOperator f, final long b) {
+    long acc = b;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      acc = f.applyAsLong(acc, xs.head);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this list, in constant stack space.
+   *
+   * @param f The function to apply on each element of the list.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public long foldRight(final LongBinaryOperator f, final long b) {
+    final long[] as = toJavaArray();
+    long acc = b;
+    for (int i = as.length - 1; i >= 0; i--) {
+      acc = f.applyAsLong(as[i], acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Returns the sum of the elements of this list.
+   *
+   * @return The sum of the elements of this list.
+   */
+  public long sum() {
+    long acc = 0L;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      acc += xs.head;
+    }
+    return acc;
+  }
+
+  /**
+   * Returns this list sorted in ascending order.
+   *
+   * @return This list sorted in ascending order.
+   */
+  public LongList sort() {
+    final long[] as = toJavaArray();
+    Arrays.sort(as);
+    return list(as);
+  }
+
+  /**
+   * Reverses this list.
+   *
+   * @return A new list that is the reverse of this one.
+   */
+  public LongList reverse() {
+    LongList ys = NIL;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      ys = new LongList(xs.head, ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Appends the given list to this list.
+   *
+   * @param as The list to append to this one.
+   * @return A new list that has the given list appended.
+   */
+  public LongList append(final LongList as) {
+    if (as.isEmpty()) {
+      return this;
+    }
+    final long[] xs = toJavaArray();
+    LongList ys = as;
+    for (int i = xs.length - 1; i >= 0; i--) {
+      ys = new LongList(xs[i], ys);
+    }
+    return ys;
+  }
+
+  /**
+   * Returns a new Java array of the elements of this list.
+   *
+   * @return A new Java array of the elements of this list.
+   */
+  public long[] toJavaArray() {
+    final long[] as = new long[length()];
+    int i = 0;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      as[i++] = xs.head;
+    }
+    return as;
+  }
+
+  /**
+   * Returns an array of the elements of this list.
+   *
+   * @return An array of the elements of this list.
+   */
+  public LongArray toLongArray() {
+    return LongArray.array(toJavaArray());
+  }
+
+  /**
+   * Returns a sequential stream of the elements of this list.
+   *
+   * @return A sequential stream of the elements of this list.
+   */
+  public LongStream stream() {
+    final LongStream.Builder b = LongStream.builder();
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      b.accept(xs.head);
+    }
+    return b.build();
+  }
+
+  /**
+   * Returns a list of the boxed elements of this list.
+   *
+   * @return A list of the boxed elements of this list.
+   */
+  public List<Long> toList() {
+    return mapToObj(a -> a);
+  }
+
+  /**
+   * Returns an iterator over the elements of this list, which does not box them when used through
+   * {@link PrimitiveIterator.OfLong#nextLong()}.
+   *
+   * @return An iterator over the elements of this list.
+   */
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      private LongList xs = LongList.this;
+
+      @Override
+      public boolean hasNext() {
+        return xs != NIL;
+      }
+
+      @Override
+      public long nextLong() {
+        if (xs == NIL) {
+          throw new NoSuchElementException();
+        }
+        final long a = xs.head;
+        xs = xs.tail;
+        return a;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LongList)) {
+      return false;
+    }
+    LongList xs = this;
+    LongList ys = (LongList) o;
+    for (; xs != NIL && ys != NIL; xs = xs.tail, ys = ys.tail) {
+      if (xs.head != ys.head) {
+        return false;
+      }
+    }
+    return xs == ys;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = 1;
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      h = 31 * h + Long.hashCode(xs.head);
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("LongList(");
+    for (LongList xs = this; xs != NIL; xs = xs.tail) {
+      sb.append(xs.head);
+      if (xs.tail != NIL) {
+        sb.append(',');
+      }
+    }
+    return sb.append(')').toString();
+  }
+}
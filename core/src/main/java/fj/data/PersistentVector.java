@@ -0,0 +1,804 @@
+package fj.data;
+
+import fj.Equal;
+import fj.F;
+import fj.F2;
+import fj.Hash;
+import fj.P;
+import fj.P2;
+import fj.Show;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static fj.Bottom.error;
+import static fj.data.Option.none;
+import static fj.data.Option.some;
+
+/**
+ * An immutable finite sequence with fast random access, implemented as a relaxed radix balanced (RRB) tree with
+ * 32-way branching and a tail buffer.
+ *
+ * Indexed access and update take O(log32(n)) time, appending an element at the end takes amortised O(1) time,
+ * and concatenation and slicing take O(log(n)) time.
+ *
+ * @see Seq
+ */
+public final class PersistentVector<A> implements Iterable<A> {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  // The number of slots by which a rebalanced node may exceed the optimal, as in the RRB search step invariant.
+  private static final int EXTRAS = 2;
+  private static final Object[] EMPTY_ARRAY = new Object[0];
+  private static final PersistentVector<Object> EMPTY = new PersistentVector<>(EMPTY_ARRAY, 0, 0, EMPTY_ARRAY);
+
+  /**
+   * An interior node of the tree. The leaves are arrays of elements, at shift 0, and a node at shift s has
+   * children at shift s - 5 holding at most 2^s elements each. A node is balanced when all of its children but
+   * the last are full, in which case the child holding an index is found by radix arithmetic. Otherwise the node
+   * is relaxed and keeps the cumulative sizes of its children.
+   */
+  private static final class Node {
+    final Object[] children;
+    final int[] sizes;
+    final int size;
+
+    Node(final Object[] children, final int[] sizes, final int size) {
+      this.children = children;
+      this.sizes = sizes;
+      this.size = size;
+    }
+  }
+
+  private final Object root;
+  private final int shift;
+  private final int rootSize;
+  private final Object[] tail;
+
+  private PersistentVector(final Object root, final int shift, final int rootSize, final Object[] tail) {
+    this.root = root;
+    this.shift = shift;
+    this.rootSize = rootSize;
+    this.tail = tail;
+  }
+
+  /**
+   * The empty vector.
+   *
+   * @return A vector with no elements.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> PersistentVector<A> empty() {
+    return (PersistentVector<A>) EMPTY;
+  }
+
+  /**
+   * A singleton vector.
+   *
+   * @param a The single element in the vector.
+   * @return A new vector with the given element in it.
+   */
+  public static <A> PersistentVector<A> single(final A a) {
+    return new PersistentVector<>(EMPTY_ARRAY, 0, 0, new Object[]{a});
+  }
+
+  /**
+   * Constructs a vector from the given elements.
+   *
+   * @param as The elements to create the vector from.
+   * @return A vector with the given elements.
+   */
+  @SafeVarargs
+  public static <A> PersistentVector<A> vector(final A... as) {
+    return arrayVector(as);
+  }
+
+  /**
+   * Constructs a vector from the array.
+   *
+   * @param as The elements to create the vector from.
+   * @return A vector with the given elements.
+   */
+  @SafeVarargs
+  public static <A> PersistentVector<A> arrayVector(final A... as) {
+    return iterableVector(Arrays.asList(as));
+  }
+
+  /**
+   * Constructs a vector from the iterable, such as a {@link List}, {@link Array}, {@link Seq} or {@link Stream}.
+   * The tree is filled a leaf at a time, in O(n).
+   *
+   * @param as The iterable to create the vector from.
+   * @return A vector with the elements of the iterable.
+   */
+  public static <A> PersistentVector<A> iterableVector(final Iterable<A> as) {
+    PersistentVector<A> v = empty();
+    Object[] leaf = new Object[WIDTH];
+    int n = 0;
+    for (final A a : as) {
+      if (n == WIDTH) {
+        v = v.pushLeaf(leaf, EMPTY_ARRAY);
+        leaf = new Object[WIDTH];
+        n = 0;
+      }
+      leaf[n++] = a;
+    }
+    return new PersistentVector<>(v.root, v.shift, v.rootSize, n == WIDTH ? leaf : Arrays.copyOf(leaf, n));
+  }
+
+  /**
+   * Constructs a vector from the iterator.
+   *
+   * @param as The iterator to create the vector from.
+   * @return A vector with the elements of the iterator.
+   */
+  public static <A> PersistentVector<A> iteratorVector(final Iterator<A> as) {
+    return iterableVector(() -> as);
+  }
+
+  /**
+   * Constructs a vector from the given list.
+   *
+   * @param list The list to create the vector from.
+   * @return A vector with the elements of the list.
+   */
+  public static <A> PersistentVector<A> fromJavaList(final java.util.List<A> list) {
+    return iterableVector(list);
+  }
+
+  /**
+   * Returns the number of elements in this vector. This is an O(1) operation.
+   *
+   * @return The number of elements in this vector.
+   */
+  public int length() {
+    return rootSize + tail.length;
+  }
+
+  /**
+   * Checks if this is the empty vector.
+   *
+   * @return True if this vector is empty, otherwise false.
+   */
+  public boolean isEmpty() {
+    return length() == 0;
+  }
+
+  /**
+   * Checks if this vector is not empty.
+   *
+   * @return True if this vector is not empty, otherwise false.
+   */
+  public boolean isNotEmpty() {
+    return length() != 0;
+  }
+
+  /**
+   * Returns the element at the given index. This is an O(log32(n)) operation.
+   *
+   * @param i The index of the element to return.
+   * @return The element at the given index, or throws an error if the index is out of bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public A index(final int i) {
+    checkBounds(i);
+    if (i >= rootSize) {
+      return (A) tail[i - rootSize];
+    }
+    Object node = root;
+    int j = i;
+    for (int s = shift; s > 0; s -= BITS) {
+      final Node n = (Node) node;
+      final int c = childIndex(n, s, j);
+      j -= childOffset(n, s, c);
+      node = n.children[c];
+    }
+    return (A) ((Object[]) node)[j];
+  }
+
+  /**
+   * Replace the element at the given index with the supplied value. This is an O(log32(n)) operation.
+   *
+   * @param i The index of the element to update.
+   * @param a The new value.
+   * @return The updated vector, or throws an error if the index is out of bounds.
+   */
+  public PersistentVector<A> update(final int i, final A a) {
+    checkBounds(i);
+    if (i >= rootSize) {
+      final Object[] t = tail.clone();
+      t[i - rootSize] = a;
+      return new PersistentVector<>(root, shift, rootSize, t);
+    }
+    return new PersistentVector<>(update(root, shift, i, a), shift, rootSize, tail);
+  }
+
+  private static Object update(final Object node, final int shift, final int i, final Object a) {
+    if (shift == 0) {
+      final Object[] leaf = ((Object[]) node).clone();
+      leaf[i] = a;
+      return leaf;
+    }
+    final Node n = (Node) node;
+    final int c = childIndex(n, shift, i);
+    final Object[] children = n.children.clone();
+    children[c] = update(children[c], shift - BITS, i - childOffset(n, shift, c), a);
+    return new Node(children, n.sizes, n.size);
+  }
+
+  /**
+   * Inserts the given element at the end of this vector. This is an amortised O(1) operation.
+   *
+   * @param a An element to insert at the end of this vector.
+   * @return A new vector with the given element at the end.
+   */
+  public PersistentVector<A> snoc(final A a) {
+    if (tail.length < WIDTH) {
+      final Object[] t = Arrays.copyOf(tail, tail.length + 1);
+      t[tail.length] = a;
+      return new PersistentVector<>(root, shift, rootSize, t);
+    }
+    return pushLeaf(tail, new Object[]{a});
+  }
+
+  /**
+   * Inserts the given element at the front of this vector. This is an O(log(n)) operation.
+   *
+   * @param a An element to insert at the front of this vector.
+   * @return A new vector with the given element at the front.
+   */
+  public PersistentVector<A> cons(final A a) {
+    return single(a).append(this);
+  }
+
+  /**
+   * The first element of this vector.
+   *
+   * @return The first element if this vector is nonempty, otherwise throws an error.
+   */
+  public A head() {
+    if (isEmpty()) {
+      throw error("head on empty vector");
+    }
+    return index(0);
+  }
+
+  /**
+   * The first element of this vector, if there is one.
+   *
+   * @return The first element of this vector, if there is one.
+   */
+  public Option<A> headOption() {
+    return isEmpty() ? none() : some(index(0));
+  }
+
+  /**
+   * The last element of this vector.
+   *
+   * @return The last element if this vector is nonempty, otherwise throws an error.
+   */
+  public A last() {
+    if (isEmpty()) {
+      throw error("last on empty vector");
+    }
+    return index(length() - 1);
+  }
+
+  /**
+   * The vector without the first element.
+   *
+   * @return The vector without the first element if this vector is nonempty, otherwise throws an error.
+   */
+  public PersistentVector<A> tail() {
+    if (isEmpty()) {
+      throw error("tail on empty vector");
+    }
+    return drop(1);
+  }
+
+  /**
+   * The vector without the last element.
+   *
+   * @return The vector without the last element if this vector is nonempty, otherwise throws an error.
+   */
+  public PersistentVector<A> init() {
+    if (isEmpty()) {
+      throw error("init on empty vector");
+    }
+    return take(length() - 1);
+  }
+
+  /**
+   * Appends the given vector to this vector. This is an O(log(n)) operation, which merges the two trees along
+   * their seam and rebalances only the nodes on it.
+   *
+   * @param as A vector to append to this one.
+   * @return A new vector with the given vector appended to this one.
+   */
+  public PersistentVector<A> append(final PersistentVector<A> as) {
+    if (as.isEmpty()) {
+      return this;
+    } else if (isEmpty()) {
+      return as;
+    } else if (as.rootSize == 0) {
+      PersistentVector<A> v = this;
+      for (final Object a : as.tail) {
+        v = v.snoc(unchecked(a));
+      }
+      return v;
+    }
+    final PersistentVector<A> l = tail.length == 0 ? this : pushLeaf(tail, EMPTY_ARRAY);
+    final int s = Math.max(l.shift, as.shift);
+    final Node n = concat(l.root, l.shift, as.root, as.shift);
+    return collapse(n, s + BITS, l.rootSize + as.rootSize, as.tail);
+  }
+
+  /**
+   * Takes the given number of elements from the head of this vector if they are available. This is an
+   * O(log(n)) operation.
+   *
+   * @param n The maximum number of elements to take from this vector.
+   * @return A vector consisting only of the first n elements of this vector, or else the whole vector,
+   *   if it has less than n elements.
+   */
+  public PersistentVector<A> take(final int n) {
+    if (n >= length()) {
+      return this;
+    } else if (n <= 0) {
+      return empty();
+    } else if (n >= rootSize) {
+      return new PersistentVector<>(root, shift, rootSize, Arrays.copyOf(tail, n - rootSize));
+    }
+    return collapse(take(root, shift, n), shift, n, EMPTY_ARRAY);
+  }
+
+  private static Object take(final Object node, final int shift, final int n) {
+    if (shift == 0) {
+      return Arrays.copyOf((Object[]) node, n);
+    }
+    final Node nd = (Node) node;
+    final int c = childIndex(nd, shift, n - 1);
+    final Object[] children = Arrays.copyOf(nd.children, c + 1);
+    children[c] = take(children[c], shift - BITS, n - childOffset(nd, shift, c));
+    return node(children, shift);
+  }
+
+  /**
+   * Drops the given number of elements from the head of this vector if they are available. This is an
+   * O(log(n)) operation.
+   *
+   * @param n The number of elements to drop from this vector.
+   * @return A vector consisting of all elements of this vector except the first n ones, or else the empty vector,
+   *   if this vector has less than n elements.
+   */
+  public PersistentVector<A> drop(final int n) {
+    if (n <= 0) {
+      return this;
+    } else if (n >= length()) {
+      return empty();
+    } else if (n >= rootSize) {
+      return new PersistentVector<>(EMPTY_ARRAY, 0, 0, Arrays.copyOfRange(tail, n - rootSize, tail.length));
+    }
+    return collapse(drop(root, shift, n), shift, rootSize - n, tail);
+  }
+
+  private static Object drop(final Object node, final int shift, final int n) {
+    if (shift == 0) {
+      final Object[] leaf = (Object[]) node;
+      return Arrays.copyOfRange(leaf, n, leaf.length);
+    }
+    final Node nd = (Node) node;
+    final int c = childIndex(nd, shift, n);
+    final Object[] children = Arrays.copyOfRange(nd.children, c, nd.children.length);
+    children[0] = drop(children[0], shift - BITS, n - childOffset(nd, shift, c));
+    return node(children, shift);
+  }
+
+  /**
+   * Splits this vector into a pair of vectors at the given position. This is an O(log(n)) operation.
+   *
+   * @param i The position to split this vector at.
+   * @return Pair: the subvector containing elements with indices less than <code>i</code>
+   *   and the subvector containing elements with indices greater than or equal to <code>i</code>.
+   */
+  public P2<PersistentVector<A>, PersistentVector<A>> split(final int i) {
+    return P.p(take(i), drop(i));
+  }
+
+  /**
+   * Delete the element at the given index. This is an O(log(n)) operation.
+   *
+   * @param i The index of the element to delete.
+   * @return The updated vector, or throws an error if the index is out of bounds.
+   */
+  public PersistentVector<A> delete(final int i) {
+    checkBounds(i);
+    return take(i).append(drop(i + 1));
+  }
+
+  /**
+   * Maps the given function across this vector, keeping the shape of the tree.
+   *
+   * @param f The function to map across this vector.
+   * @return A new vector after the given function has been applied to each element.
+   */
+  public <B> PersistentVector<B> map(final F<A, B> f) {
+    return new PersistentVector<>(map(root, shift, f), shift, rootSize, mapLeaf(tail, f));
+  }
+
+  private static <A, B> Object map(final Object node, final int shift, final F<A, B> f) {
+    if (shift == 0) {
+      return mapLeaf((Object[]) node, f);
+    }
+    final Node n = (Node) node;
+    final Object[] children = new Object[n.children.length];
+    for (int i = 0; i < children.length; i++) {
+      children[i] = map(n.children[i], shift - BITS, f);
+    }
+    return new Node(children, n.sizes, n.size);
+  }
+
+  private static <A, B> Object[] mapLeaf(final Object[] leaf, final F<A, B> f) {
+    if (leaf.length == 0) {
+      return EMPTY_ARRAY;
+    }
+    final Object[] bs = new Object[leaf.length];
+    for (int i = 0; i < leaf.length; i++) {
+      bs[i] = f.f(unchecked(leaf[i]));
+    }
+    return bs;
+  }
+
+  /**
+   * Filters elements from this vector by returning only elements which produce <code>true</code> when the given
+   * function is applied to them.
+   *
+   * @param f The predicate function to filter on.
+   * @return A new vector whose elements all match the given predicate.
+   */
+  public PersistentVector<A> filter(final F<A, Boolean> f) {
+    final Array<A> as = Array.iterableArray(this);
+    return iterableVector(as.filter(f));
+  }
+
+  /**
+   * Performs a left-fold reduction across this vector.
+   *
+   * @param f The function to apply on each element of the vector.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    B acc = b;
+    for (final A a : this) {
+      acc = f.f(acc, a);
+    }
+    return acc;
+  }
+
+  /**
+   * Performs a right-fold reduction across this vector.
+   *
+   * @param f The function to apply on each element of the vector.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public <B> B foldRight(final F2<A, B, B> f, final B b) {
+    B acc = b;
+    for (int i = length() - 1; i >= 0; i--) {
+      acc = f.f(index(i), acc);
+    }
+    return acc;
+  }
+
+  /**
+   * Converts this vector to a List.
+   *
+   * @return A list with the elements of this vector.
+   */
+  public List<A> toList() {
+    final List.Buffer<A> buf = List.Buffer.empty();
+    for (final A a : this) {
+      buf.snoc(a);
+    }
+    return buf.toList();
+  }
+
+  /**
+   * Converts this vector to a Stream.
+   *
+   * @return A stream with the elements of this vector.
+   */
+  public Stream<A> toStream() {
+    return Stream.iterableStream(this);
+  }
+
+  /**
+   * Converts this vector to an Array.
+   *
+   * @return An array with the elements of this vector.
+   */
+  public Array<A> toArray() {
+    return Array.iterableArray(this);
+  }
+
+  /**
+   * Converts this vector to a Seq.
+   *
+   * @return A sequence with the elements of this vector.
+   */
+  public Seq<A> toSeq() {
+    return Seq.iterableSeq(this);
+  }
+
+  /**
+   * Converts this vector to a java.util.List, which is a view of this vector.
+   *
+   * @return A java.util.List view of this vector.
+   */
+  public java.util.List<A> toJavaList() {
+    return new AbstractList<A>() {
+      @Override public A get(final int i) { return index(i); }
+      @Override public Iterator<A> iterator() { return PersistentVector.this.iterator(); }
+      @Override public int size() { return length(); }
+    };
+  }
+
+  /**
+   * Returns an iterator for this vector, which walks the tree a leaf at a time. This method exists to permit the
+   * use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this vector.
+   */
+  public Iterator<A> iterator() {
+    return new Iterator<A>() {
+      private int i;
+      private Object[] leaf = EMPTY_ARRAY;
+      private int j;
+
+      public boolean hasNext() {
+        return i < length();
+      }
+
+      public A next() {
+        if (i >= length()) {
+          throw new NoSuchElementException();
+        }
+        if (j == leaf.length) {
+          if (i >= rootSize) {
+            leaf = tail;
+            j = i - rootSize;
+          } else {
+            leaf = leafAt(i);
+            j = 0;
+          }
+        }
+        i++;
+        return unchecked(leaf[j++]);
+      }
+    };
+  }
+
+  /**
+   * Returns the leaf of the tree that starts at the given index.
+   */
+  private Object[] leafAt(final int i) {
+    Object node = root;
+    int j = i;
+    for (int s = shift; s > 0; s -= BITS) {
+      final Node n = (Node) node;
+      final int c = childIndex(n, s, j);
+      j -= childOffset(n, s, c);
+      node = n.children[c];
+    }
+    return (Object[]) node;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return Equal.equals0(PersistentVector.class, this, other,
+        () -> Equal.persistentVectorEqual(Equal.anyEqual()));
+  }
+
+  @Override
+  public int hashCode() {
+    return Hash.persistentVectorHash(Hash.<A>anyHash()).hash(this);
+  }
+
+  @Override
+  public String toString() {
+    return Show.persistentVectorShow(Show.<A>anyShow()).showS(this);
+  }
+
+  private void checkBounds(final int i) {
+    if (i < 0 || i >= length()) {
+      throw error("Index " + i + " is out of bounds.");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A unchecked(final Object a) {
+    return (A) a;
+  }
+
+  private static int size(final Object node) {
+    return node instanceof Node ? ((Node) node).size : ((Object[]) node).length;
+  }
+
+  private static int slots(final Object node) {
+    return node instanceof Node ? ((Node) node).children.length : ((Object[]) node).length;
+  }
+
+  /**
+   * Returns the child of the given node at the given shift that holds the given index. As no child holds more
+   * than 2^shift elements, the search in a relaxed node starts at the child a balanced node would use.
+   */
+  private static int childIndex(final Node n, final int shift, final int i) {
+    int c = i >>> shift;
+    if (n.sizes != null) {
+      while (n.sizes[c] <= i) {
+        c++;
+      }
+    }
+    return c;
+  }
+
+  private static int childOffset(final Node n, final int shift, final int c) {
+    return c == 0 ? 0 : n.sizes == null ? c << shift : n.sizes[c - 1];
+  }
+
+  /**
+   * Creates a node at the given shift, keeping the sizes of its children only if it is not balanced.
+   */
+  private static Node node(final Object[] children, final int shift) {
+    final int[] sizes = new int[children.length];
+    final int full = 1 << shift;
+    boolean balanced = true;
+    int total = 0;
+    for (int i = 0; i < children.length; i++) {
+      final int size = size(children[i]);
+      balanced &= size == full || i == children.length - 1;
+      total += size;
+      sizes[i] = total;
+    }
+    return new Node(children, balanced ? null : sizes, total);
+  }
+
+  /**
+   * Returns the given tree with root at the given shift, after removing any root nodes with a single child.
+   */
+  private static <A> PersistentVector<A> collapse(final Object root, final int shift, final int rootSize,
+                                                  final Object[] tail) {
+    Object r = root;
+    int s = shift;
+    while (s > 0 && ((Node) r).children.length == 1) {
+      r = ((Node) r).children[0];
+      s -= BITS;
+    }
+    return new PersistentVector<>(r, s, rootSize, tail);
+  }
+
+  /**
+   * Adds the given leaf at the end of the tree, and replaces the tail with the given one.
+   */
+  private PersistentVector<A> pushLeaf(final Object[] leaf, final Object[] newTail) {
+    if (rootSize == 0) {
+      return new PersistentVector<>(leaf, 0, leaf.length, newTail);
+    } else if (shift == 0) {
+      return new PersistentVector<>(node(new Object[]{root, leaf}, BITS), BITS, rootSize + leaf.length, newTail);
+    }
+    final Node r = pushLeaf((Node) root, shift, leaf);
+    return r != null ? new PersistentVector<>(r, shift, r.size, newTail) :
+        new PersistentVector<>(node(new Object[]{root, path(shift, leaf)}, shift + BITS), shift + BITS,
+            rootSize + leaf.length, newTail);
+  }
+
+  /**
+   * Adds the given leaf at the end of the given node, or returns null if the node has no room for it.
+   */
+  private static Node pushLeaf(final Node n, final int shift, final Object[] leaf) {
+    final int len = n.children.length;
+    if (shift > BITS) {
+      final Node last = pushLeaf((Node) n.children[len - 1], shift - BITS, leaf);
+      if (last != null) {
+        final Object[] children = n.children.clone();
+        children[len - 1] = last;
+        return node(children, shift);
+      }
+    }
+    if (len == WIDTH) {
+      return null;
+    }
+    final Object[] children = Arrays.copyOf(n.children, len + 1);
+    children[len] = path(shift - BITS, leaf);
+    return node(children, shift);
+  }
+
+  private static Object path(final int shift, final Object[] leaf) {
+    return shift == 0 ? leaf : node(new Object[]{path(shift - BITS, leaf)}, shift);
+  }
+
+  /**
+   * Concatenates the trees with the given roots, returning a node one level above the higher of them that has
+   * one or two children.
+   */
+  private static Node concat(final Object l, final int ls, final Object r, final int rs) {
+    if (ls > rs) {
+      final Node ln = (Node) l;
+      final Node m = concat(ln.children[ln.children.length - 1], ls - BITS, r, rs);
+      return rebalance(init(ln.children), m.children, EMPTY_ARRAY, ls);
+    } else if (ls < rs) {
+      final Node rn = (Node) r;
+      final Node m = concat(l, ls, rn.children[0], rs - BITS);
+      return rebalance(EMPTY_ARRAY, m.children, tail(rn.children), rs);
+    } else if (ls == 0) {
+      final Object[] la = (Object[]) l;
+      final Object[] ra = (Object[]) r;
+      if (la.length + ra.length <= WIDTH) {
+        final Object[] leaf = Arrays.copyOf(la, la.length + ra.length);
+        System.arraycopy(ra, 0, leaf, la.length, ra.length);
+        return node(new Object[]{leaf}, BITS);
+      }
+      return node(new Object[]{la, ra}, BITS);
+    } else {
+      final Node ln = (Node) l;
+      final Node rn = (Node) r;
+      final Node m = concat(ln.children[ln.children.length - 1], ls - BITS, rn.children[0], rs - BITS);
+      return rebalance(init(ln.children), m.children, tail(rn.children), ls);
+    }
+  }
+
+  /**
+   * Joins the given children of nodes at the given shift into one or two such nodes, which are returned as the
+   * children of a node one level up. When the children hold more slots than the RRB search step invariant allows,
+   * their contents are packed into as few children as possible first.
+   */
+  private static Node rebalance(final Object[] left, final Object[] center, final Object[] right, final int shift) {
+    final Object[] items = new Object[left.length + center.length + right.length];
+    System.arraycopy(left, 0, items, 0, left.length);
+    System.arraycopy(center, 0, items, left.length, center.length);
+    System.arraycopy(right, 0, items, left.length + center.length, right.length);
+    int total = 0;
+    for (final Object item : items) {
+      total += slots(item);
+    }
+    final int optimal = (total + WIDTH - 1) / WIDTH;
+    final Object[] packed = items.length <= optimal + EXTRAS ? items : pack(items, total, optimal, shift - BITS);
+    if (packed.length <= WIDTH) {
+      return node(new Object[]{node(packed, shift)}, shift + BITS);
+    }
+    return node(new Object[]{
+        node(Arrays.copyOf(packed, WIDTH), shift),
+        node(Arrays.copyOfRange(packed, WIDTH, packed.length), shift)
+    }, shift + BITS);
+  }
+
+  /**
+   * Moves the slots of the given nodes at the given shift into the given number of full nodes.
+   */
+  private static Object[] pack(final Object[] items, final int total, final int count, final int shift) {
+    final Object[] slots = new Object[total];
+    int k = 0;
+    for (final Object item : items) {
+      final Object[] as = item instanceof Node ? ((Node) item).children : (Object[]) item;
+      System.arraycopy(as, 0, slots, k, as.length);
+      k += as.length;
+    }
+    final Object[] packed = new Object[count];
+    for (int i = 0; i < count; i++) {
+      final Object[] as = Arrays.copyOfRange(slots, i * WIDTH, Math.min(total, (i + 1) * WIDTH));
+      packed[i] = shift == 0 ? as : node(as, shift);
+    }
+    return packed;
+  }
+
+  private static Object[] init(final Object[] as) {
+    return Arrays.copyOf(as, as.length - 1);
+  }
+
+  private static Object[] tail(final Object[] as) {
+    return Arrays.copyOfRange(as, 1, as.length);
+  }
+}
@@ -2,6 +2,8 @@ package fj.data;
 
 import fj.*;
 import fj.control.Trampoline;
+import fj.control.parallel.ParModule;
+import fj.control.parallel.Strategy;
 import fj.data.List.Buffer;
 import fj.data.fingertrees.*;
 
@@ -107,11 +109,11 @@ public final class Seq<A> implements Iterable<A> {
    * @return A sequence with the elements of the iterable.
    */
   public static <A>Seq<A> iterableSeq(final Iterable<A> i) {
-    Seq<A> s = empty();
+    final ArrayList<A> as = new ArrayList<>();
     for (final A a: i) {
-      s = s.snoc(a);
+      as.add(a);
     }
-    return s;
+    return fromArray(as.toArray(), as.size());
   }
 
   /**
@@ -128,7 +130,7 @@ public final class Seq<A> implements Iterable<A> {
    */
   @SafeVarargs
   public static <A>Seq<A> arraySeq(A... as) {
-    return iterableSeq(Array.array(as));
+    return fromArray(as, as.length);
   }
 
   /**
@@ -137,7 +139,142 @@ public final class Seq<A> implements Iterable<A> {
    * @return A sequence with the elements of the list.
    */
   public static <A>Seq<A> fromJavaList(final java.util.List<A> list) {
-    return iterableSeq(list);
+    return fromArray(list.toArray(), list.size());
+  }
+
+  /**
+   * Constructs a sequence of the first n elements of the given array in O(n), rather than by repeated snoc.
+   */
+  private static <A> Seq<A> fromArray(final Object[] as, final int n) {
+    return n == 0 ? empty() : new Seq<>(fingerTree(Seq.<A>mkTree(), elemMeasured(), as, 0, n));
+  }
+
+  /**
+   * Builds a finger tree of the elements of the given array from index lo (inclusive) to hi (exclusive).
+   * All but three elements at each end are grouped into 2-3 nodes, which are the elements of the middle tree.
+   */
+  @SuppressWarnings("unchecked")
+  private static <A> FingerTree<Integer, A> fingerTree(final MakeTree<Integer, A> mk, final Measured<Integer, A> m,
+                                                       final Object[] as, final int lo, final int hi) {
+    final int n = hi - lo;
+    if (n == 0) {
+      return mk.empty();
+    } else if (n == 1) {
+      return mk.single((A) as[lo]);
+    }
+    final Measured<Integer, Node<Integer, A>> nm = m.nodeMeasured();
+    final MakeTree<Integer, Node<Integer, A>> nmk = FingerTree.mkTree(nm);
+    if (n <= 8) {
+      return mk.deep(digit(mk, as, lo, lo + n / 2), nmk.empty(), digit(mk, as, lo + n / 2, hi));
+    }
+    final Object[] nodes = new Object[(n - 4) / 3];
+    int j = 0;
+    for (int i = lo + 3; i < hi - 3; ) {
+      final int left = hi - 3 - i;
+      if (left == 2 || left == 4) {
+        nodes[j++] = mk.node2((A) as[i], (A) as[i + 1]);
+        i += 2;
+      } else {
+        nodes[j++] = mk.node3((A) as[i], (A) as[i + 1], (A) as[i + 2]);
+        i += 3;
+      }
+    }
+    return mk.deep(digit(mk, as, lo, lo + 3), fingerTree(nmk, nm, nodes, 0, j), digit(mk, as, hi - 3, hi));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> fj.data.fingertrees.Digit<Integer, A> digit(final MakeTree<Integer, A> mk, final Object[] as, final int lo, final int hi) {
+    switch (hi - lo) {
+      case 1: return mk.one((A) as[lo]);
+      case 2: return mk.two((A) as[lo], (A) as[lo + 1]);
+      case 3: return mk.three((A) as[lo], (A) as[lo + 1], (A) as[lo + 2]);
+      default: return mk.four((A) as[lo], (A) as[lo + 1], (A) as[lo + 2], (A) as[lo + 3]);
+    }
+  }
+
+  /**
+   * Returns a transient view of this sequence, which buffers the elements that are appended to it until
+   * {@link Transient#persistent()} is called. This sequence is not modified.
+   *
+   * @return A transient view of this sequence.
+   */
+  public Transient<A> asTransient() {
+    return new Transient<>(this);
+  }
+
+  /**
+   * A transient view of a sequence, for building a sequence with many snocs. Appended elements are collected
+   * in an array rather than each creating new finger tree nodes, and {@link #persistent()} builds the finger
+   * tree from them in one O(n) pass. A transient must only be used by a single thread, and can no longer be
+   * used after {@link #persistent()} is called.
+   */
+  public static final class Transient<A> {
+    private final Seq<A> seq;
+    private Object[] buffer = new Object[16];
+    private int size;
+    private boolean frozen;
+
+    private Transient(final Seq<A> seq) {
+      this.seq = seq;
+    }
+
+    private void check() {
+      if (frozen) {
+        throw new IllegalStateException("Transient used after persistent() was called");
+      }
+    }
+
+    /**
+     * Appends the given element to the end of the sequence.
+     *
+     * @param a The element to append.
+     * @return This transient.
+     */
+    public Transient<A> snoc(final A a) {
+      check();
+      if (size == buffer.length) {
+        buffer = Arrays.copyOf(buffer, size * 2);
+      }
+      buffer[size++] = a;
+      return this;
+    }
+
+    /**
+     * Appends the given elements to the end of the sequence.
+     *
+     * @param as The elements to append.
+     * @return This transient.
+     */
+    public Transient<A> append(final Iterable<A> as) {
+      for (final A a : as) {
+        snoc(a);
+      }
+      return this;
+    }
+
+    /**
+     * Returns the length of the sequence.
+     *
+     * @return The length of the sequence.
+     */
+    public int length() {
+      check();
+      return seq.length() + size;
+    }
+
+    /**
+     * Returns the persistent sequence with the elements appended to this transient. The transient cannot be
+     * used afterwards.
+     *
+     * @return The persistent sequence.
+     */
+    public Seq<A> persistent() {
+      check();
+      frozen = true;
+      final Seq<A> s = fromArray(buffer, size);
+      buffer = null;
+      return seq.append(s);
+    }
   }
 
   /**
@@ -196,6 +333,15 @@ public final class Seq<A> implements Iterable<A> {
     return (length() == 1) ? empty() : new Seq<>(ftree.init());
   }
 
+  /**
+   * Returns a lazy view of this sequence, through which chained transformations run as a single loop.
+   *
+   * @return A view of the elements of this sequence.
+   */
+  public View<A> view() {
+    return View.iterableView(this);
+  }
+
   /**
    * Converts this sequence to a Stream
    */
@@ -223,6 +369,62 @@ public final class Seq<A> implements Iterable<A> {
     };
   }
 
+  /**
+   * Returns a spliterator over this seq, which splits it in halves through its finger tree.
+   *
+   * @return A sized spliterator over this seq.
+   */
+  @Override
+  public Spliterator<A> spliterator() {
+    return new SeqSpliterator<>(this);
+  }
+
+  private static final class SeqSpliterator<A> implements Spliterator<A> {
+    private Seq<A> seq;
+    private Iterator<A> it;
+    private long size;
+
+    SeqSpliterator(final Seq<A> seq) {
+      this.seq = seq;
+      this.size = seq.length();
+    }
+
+    @Override
+    public boolean tryAdvance(final java.util.function.Consumer<? super A> action) {
+      if (it == null) {
+        it = seq.iterator();
+        seq = null;
+      }
+      if (!it.hasNext()) {
+        return false;
+      }
+      size--;
+      action.accept(it.next());
+      return true;
+    }
+
+    @Override
+    public Spliterator<A> trySplit() {
+      if (it != null || size < 2) {
+        return null;
+      }
+      final P2<Seq<A>, Seq<A>> p = seq.split((int) (size / 2));
+      seq = p._2();
+      size = seq.length();
+      return new SeqSpliterator<>(p._1());
+    }
+
+    @Override
+    public long estimateSize() {
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+  }
+
   /**
    * Returns an iterator for this seq. This method exists to permit the use in a <code>for</code>-each loop.
    *
@@ -257,6 +459,19 @@ public final class Seq<A> implements Iterable<A> {
     return Show.seqShow(Show.<A>anyShow()).showS(this);
   }
 
+  /**
+   * Sorts this sequence using the given order over elements, with a parallel merge sort of an array of its elements
+   * that uses the given parallelisation strategy. The sort is stable.
+   *
+   * @param o The order over the elements of this sequence.
+   * @param s A strategy for parallelising the algorithm.
+   * @return A new sequence with the elements of this sequence sorted according to the given order.
+   * @see ParModule#parSort(Seq, Ord)
+   */
+  public Seq<A> sort(final Ord<A> o, final Strategy<Unit> s) {
+    return ParModule.parModule(s).parSort(this, o).claim();
+  }
+
   /**
    * Appends the given sequence to this sequence.
    *
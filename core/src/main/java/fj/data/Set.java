@@ -2,16 +2,22 @@ package fj.data;
 
 import fj.*;
 
+import static fj.Bottom.error;
 import static fj.Function.*;
 import static fj.data.Either.right;
 import static fj.data.Option.none;
 import static fj.data.Option.some;
-import static fj.function.Booleans.not;
 
+import static fj.Ordering.EQ;
 import static fj.Ordering.GT;
 import static fj.Ordering.LT;
 
+import java.util.ArrayDeque;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Provides an in-memory, immutable set, implemented as a red/black tree.
@@ -40,6 +46,8 @@ public abstract class Set<A> implements Iterable<A> {
 
   abstract Set<A> r();
 
+  abstract int blackHeight();
+
   /**
    * Returns the order of this Set.
    *
@@ -69,6 +77,14 @@ public abstract class Set<A> implements Iterable<A> {
     public A head() {
       throw new Error("Head on empty set.");
     }
+
+    public int size() {
+      return 0;
+    }
+
+    int blackHeight() {
+      return 0;
+    }
   }
 
   private static final class Tree<A> extends Set<A> {
@@ -76,6 +92,8 @@ public abstract class Set<A> implements Iterable<A> {
     private final Set<A> a;
     private final A x;
     private final Set<A> b;
+    private final int size;
+    private final int blackHeight;
 
     private Tree(final Ord<A> ord, final Color c, final Set<A> a, final A x, final Set<A> b) {
       super(ord);
@@ -83,6 +101,8 @@ public abstract class Set<A> implements Iterable<A> {
       this.a = a;
       this.x = x;
       this.b = b;
+      this.size = a.size() + 1 + b.size();
+      this.blackHeight = a.blackHeight() + (c == Color.B ? 1 : 0);
     }
 
     public Color color() {
@@ -100,6 +120,14 @@ public abstract class Set<A> implements Iterable<A> {
     public Set<A> r() {
       return b;
     }
+
+    public int size() {
+      return size;
+    }
+
+    int blackHeight() {
+      return blackHeight;
+    }
   }
 
   /**
@@ -225,6 +253,16 @@ public abstract class Set<A> implements Iterable<A> {
     return !isEmpty() && color() == Color.R;
   }
 
+  /**
+   * Returns a lazy view of the elements of this set in order, through which chained transformations run as a
+   * single loop.
+   *
+   * @return A view of the elements of this set.
+   */
+  public final View<A> view() {
+    return View.iterableView(this);
+  }
+
   /**
    * Returns an iterator over this set.
    *
@@ -234,6 +272,129 @@ public abstract class Set<A> implements Iterable<A> {
     return toStream().iterator();
   }
 
+  /**
+   * Returns a spliterator over this set, in order, which splits it along its subtrees.
+   *
+   * @return A sized and sorted spliterator over this set.
+   */
+  @Override
+  public final Spliterator<A> spliterator() {
+    return new SetSpliterator<>(this, identity(), Spliterator.SORTED | Spliterator.DISTINCT);
+  }
+
+  /**
+   * Returns a spliterator over the images of the elements of this set by the given function, in the order of the
+   * elements, which splits this set along its subtrees.
+   */
+  final <B> Spliterator<B> spliterator(final F<A, B> f, final int characteristics) {
+    return new SetSpliterator<>(this, f, characteristics);
+  }
+
+  private static final class SetSpliterator<A, B> implements Spliterator<B> {
+    // An element to visit, followed by a whole subtree
+    private static final class Entry<A> {
+      final A head;
+      final Set<A> right;
+
+      Entry(final A head, final Set<A> right) {
+        this.head = head;
+        this.right = right;
+      }
+    }
+
+    private final F<A, B> f;
+    private final int characteristics;
+    private final Ord<A> ord;
+    // The elements left to visit are those of the pending subtree, then those of the entries from the top of the stack
+    private Set<A> pending;
+    private final ArrayDeque<Entry<A>> stack;
+    private long size;
+
+    SetSpliterator(final Set<A> s, final F<A, B> f, final int characteristics) {
+      this(s, new ArrayDeque<>(), s.size(), f, characteristics, s.ord());
+    }
+
+    private SetSpliterator(final Set<A> pending, final ArrayDeque<Entry<A>> stack, final long size,
+                           final F<A, B> f, final int characteristics, final Ord<A> ord) {
+      this.pending = pending;
+      this.stack = stack;
+      this.size = size;
+      this.f = f;
+      this.characteristics = characteristics;
+      this.ord = ord;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super B> action) {
+      for (Set<A> s = pending; !s.isEmpty(); s = s.l()) {
+        stack.push(new Entry<>(s.head(), s.r()));
+      }
+      final Entry<A> e = stack.poll();
+      if (e == null) {
+        pending = Set.empty(ord);
+        return false;
+      }
+      pending = e.right;
+      size--;
+      action.accept(f.f(e.head));
+      return true;
+    }
+
+    @Override
+    public Spliterator<B> trySplit() {
+      final SetSpliterator<A, B> prefix;
+      if (stack.isEmpty()) {
+        // Split the pending subtree around its root
+        if (pending.size() < 2) {
+          return null;
+        }
+        prefix = new SetSpliterator<>(pending.l(), new ArrayDeque<>(), pending.l().size(), f, characteristics, ord);
+        stack.push(new Entry<>(pending.head(), pending.r()));
+        pending = Set.empty(ord);
+      } else if (stack.size() == 1 && pending.isEmpty()) {
+        // Split the subtree of the single entry around its root
+        final Entry<A> e = stack.peek();
+        if (e.right.isEmpty()) {
+          return null;
+        }
+        final ArrayDeque<Entry<A>> s = new ArrayDeque<>();
+        s.push(new Entry<>(e.head, e.right.l()));
+        prefix = new SetSpliterator<>(Set.empty(ord), s, 1 + e.right.l().size(), f, characteristics, ord);
+        stack.pop();
+        stack.push(new Entry<>(e.right.head(), e.right.r()));
+      } else {
+        // Keep the last entry, which holds the largest subtree, and give away the rest
+        final Entry<A> last = stack.pollLast();
+        prefix = new SetSpliterator<>(pending, new ArrayDeque<>(stack), size - 1 - last.right.size(), f, characteristics, ord);
+        stack.clear();
+        stack.push(last);
+        pending = Set.empty(ord);
+      }
+      size -= prefix.size;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      return characteristics | ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+
+    // Only the identity spliterator reports SORTED, so that B is A there
+    @SuppressWarnings("unchecked")
+    @Override
+    public Comparator<? super B> getComparator() {
+      if ((characteristics & SORTED) == 0) {
+        throw new IllegalStateException();
+      }
+      return (Comparator<? super B>) ord.toComparator();
+    }
+  }
+
   /**
    * Returns a set with a single element.
    *
@@ -378,13 +539,34 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Add all the elements of the given set to this set.
+   * Add all the elements of the given set to this set. Where both sets contain equal elements, the element
+   * of this set is kept. This is an O(m log(n/m + 1)) operation, where m is the size of the smaller set,
+   * and shares the subtrees that are unaffected.
    *
    * @param s A set to add to this set.
    * @return A new set containing all elements of both sets.
    */
   public final Set<A> union(final Set<A> s) {
-    return iterableSet(ord, s.toStream().append(toStream()));
+    return unionWith(s, (a, b) -> a);
+  }
+
+  /**
+   * Add all the elements of the given set to this set, combining equal elements with the given function.
+   *
+   * @param s A set to add to this set.
+   * @param f A function to combine an element of this set with an equal element of the given set.
+   * @return A new set containing all elements of both sets.
+   */
+  final Set<A> unionWith(final Set<A> s, final F2<A, A, A> f) {
+    if (isEmpty())
+      return s;
+    else if (s.isEmpty())
+      return this;
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> lr = s.split(head());
+      final A x = lr._2().isSome() ? f.f(head(), lr._2().some()) : head();
+      return join(l().unionWith(lr._1(), f), x, r().unionWith(lr._3(), f));
+    }
   }
   
   /**
@@ -415,7 +597,8 @@ public abstract class Set<A> implements Iterable<A> {
    * @return A new set containing all the elements of this set, except the given element.
    */
   public final Set<A> delete(final A a) {
-    return minus(single(ord, a));
+    final P3<Set<A>, Option<A>, Set<A>> lr = split(a);
+    return lr._2().isSome() ? join(lr._1(), lr._3()) : this;
   }
 
   /**
@@ -429,12 +612,20 @@ public abstract class Set<A> implements Iterable<A> {
 
   /**
    * Remove all elements from this set that do not occur in the given set.
+   * This is an O(m log(n/m + 1)) operation, where m is the size of the smaller set.
    *
    * @param s A set of elements to retain.
    * @return A new set which is the intersection of this set and the given set.
    */
   public final Set<A> intersect(final Set<A> s) {
-    return filter(Set.<A>member().f(s));
+    if (isEmpty() || s.isEmpty())
+      return empty(ord);
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> lr = s.split(head());
+      final Set<A> l = l().intersect(lr._1());
+      final Set<A> r = r().intersect(lr._3());
+      return lr._2().isSome() ? join(l, head(), r) : join(l, r);
+    }
   }
   
   /**
@@ -449,12 +640,18 @@ public abstract class Set<A> implements Iterable<A> {
 
   /**
    * Remove all elements from this set that occur in the given set.
+   * This is an O(m log(n/m + 1)) operation, where m is the size of the smaller set.
    *
    * @param s A set of elements to delete.
    * @return A new set which contains only the elements of this set that do not occur in the given set.
    */
   public final Set<A> minus(final Set<A> s) {
-    return filter(compose(not, Set.<A>member().f(s)));
+    if (isEmpty() || s.isEmpty())
+      return this;
+    else {
+      final P3<Set<A>, Option<A>, Set<A>> lr = split(s.head());
+      return join(lr._1().minus(s.l()), lr._3().minus(s.r()));
+    }
   }
   
   /**
@@ -476,17 +673,174 @@ public abstract class Set<A> implements Iterable<A> {
     }
 
   /**
-   * Returns the size of this set.
+   * Returns the size of this set. This is an O(1) operation.
    *
    * @return The number of elements in this set.
    */
-  public final int size() {
-    final F<A, Integer> one = constant(1);
-    return foldMap(one, Monoid.intAdditionMonoid);
+  public abstract int size();
+
+  /**
+   * Returns the element at the given index in the order of this set. This is an O(log(n)) operation.
+   *
+   * @param i The index of the element to return.
+   * @return The element at the given index, or throws an error if the index is out of bounds.
+   */
+  public final A index(final int i) {
+    if (i < 0 || i >= size())
+      throw error("index " + i + " out of range on set with size " + size());
+    Set<A> s = this;
+    int j = i;
+    while (true) {
+      final int n = s.l().size();
+      if (j < n)
+        s = s.l();
+      else if (j == n)
+        return s.head();
+      else {
+        j -= n + 1;
+        s = s.r();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of elements in this set that are less than the given element. If the element is a
+   * member of this set, this is its index. This is an O(log(n)) operation.
+   *
+   * @param a An element to compare with.
+   * @return The number of elements in this set that are less than the given element.
+   */
+  public final int rank(final A a) {
+    Set<A> s = this;
+    int r = 0;
+    while (!s.isEmpty()) {
+      final Ordering i = ord.compare(a, s.head());
+      if (i == LT)
+        s = s.l();
+      else if (i == GT) {
+        r += s.l().size() + 1;
+        s = s.r();
+      } else
+        return r + s.l().size();
+    }
+    return r;
+  }
+
+  /**
+   * Returns a set of the given number of smallest elements of this set. This is an O(log(n)) operation.
+   *
+   * @param n The number of elements to take.
+   * @return A set of the smallest <code>n</code> elements of this set.
+   */
+  public final Set<A> take(final int n) {
+    return splitAt(n)._1();
   }
 
   /**
-   * Splits this set at the given element. Returns a product-3 of:
+   * Returns this set without the given number of smallest elements. This is an O(log(n)) operation.
+   *
+   * @param n The number of elements to drop.
+   * @return A set of the elements of this set, except the smallest <code>n</code> elements.
+   */
+  public final Set<A> drop(final int n) {
+    return splitAt(n)._2();
+  }
+
+  /**
+   * Splits this set at the given index. This is an O(log(n)) operation.
+   *
+   * @param i The index at which to split this set.
+   * @return A pair of the set of the elements before the given index and the set of the remaining elements.
+   */
+  public final P2<Set<A>, Set<A>> splitAt(final int i) {
+    if (i <= 0)
+      return P.p(empty(ord), this);
+    else if (i >= size())
+      return P.p(this, empty(ord));
+    else {
+      final int n = l().size();
+      if (i < n) {
+        final P2<Set<A>, Set<A>> lr = l().splitAt(i);
+        return P.p(lr._1(), join(lr._2(), head(), r()));
+      } else if (i == n)
+        return P.p(l(), join(empty(ord), head(), r()));
+      else {
+        final P2<Set<A>, Set<A>> lr = r().splitAt(i - n - 1);
+        return P.p(join(l(), head(), lr._1()), lr._2());
+      }
+    }
+  }
+
+  /**
+   * Joins the given sets and element into a balanced tree. All the elements of the first set must be less than
+   * the given element, which must be less than all the elements of the second set.
+   * This is an O(|h(l) - h(r)|) operation, where h is the black height of a tree.
+   */
+  private static <A> Set<A> join(final Set<A> l, final A x, final Set<A> r) {
+    final Set<A> bl = l.blacken();
+    final Set<A> br = r.blacken();
+    final int hl = bl.blackHeight();
+    final int hr = br.blackHeight();
+    if (hl > hr)
+      return joinRight(bl, hl, x, br, hr).blacken();
+    else if (hl < hr)
+      return joinLeft(bl, hl, x, br, hr).blacken();
+    else
+      return new Tree<>(l.ord, Color.R, bl, x, br);
+  }
+
+  private static <A> Set<A> joinRight(final Set<A> l, final int hl, final A x, final Set<A> r, final int hr) {
+    if (hl == hr && !l.isTR())
+      return new Tree<>(l.ord, Color.R, l, x, r);
+    else {
+      final Color c = l.color();
+      final Set<A> t = new Tree<>(l.ord, c, l.l(), l.head(), joinRight(l.r(), c == Color.B ? hl - 1 : hl, x, r, hr));
+      return c == Color.B && t.r().isTR() && t.r().r().isTR() ?
+             new Tree<>(l.ord, Color.R, new Tree<>(l.ord, Color.B, t.l(), t.head(), t.r().l()), t.r().head(), t.r().r().blacken()) :
+             t;
+    }
+  }
+
+  private static <A> Set<A> joinLeft(final Set<A> l, final int hl, final A x, final Set<A> r, final int hr) {
+    if (hl == hr && !r.isTR())
+      return new Tree<>(r.ord, Color.R, l, x, r);
+    else {
+      final Color c = r.color();
+      final Set<A> t = new Tree<>(r.ord, c, joinLeft(l, hl, x, r.l(), c == Color.B ? hr - 1 : hr), r.head(), r.r());
+      return c == Color.B && t.l().isTR() && t.l().l().isTR() ?
+             new Tree<>(r.ord, Color.R, t.l().l().blacken(), t.l().head(), new Tree<>(r.ord, Color.B, t.l().r(), t.head(), t.r())) :
+             t;
+    }
+  }
+
+  /**
+   * Joins the given sets into a balanced tree. All the elements of the first set must be less than
+   * all the elements of the second set.
+   */
+  private static <A> Set<A> join(final Set<A> l, final Set<A> r) {
+    if (l.isEmpty())
+      return r;
+    else {
+      final P2<Set<A>, A> im = l.splitMax();
+      return join(im._1(), im._2(), r);
+    }
+  }
+
+  private P2<Set<A>, A> splitMax() {
+    if (r().isEmpty())
+      return P.p(l(), head());
+    else {
+      final P2<Set<A>, A> im = r().splitMax();
+      return P.p(join(l(), head(), im._1()), im._2());
+    }
+  }
+
+  private Set<A> blacken() {
+    return isTR() ? makeBlack() : this;
+  }
+
+  /**
+   * Splits this set at the given element. This is an O(log(n)) operation. Returns a product-3 of:
    * <ul>
    * <li>A set containing all the elements of this set which are less than the given value.</li>
    * <li>An option of a value equal to the given value, if one was found in this set, otherwise None.
@@ -506,10 +860,10 @@ public abstract class Set<A> implements Iterable<A> {
       final Ordering i = ord.compare(a, h);
       if (i == LT) {
         final P3<Set<A>, Option<A>, Set<A>> lg = l().split(a);
-        return P.p(lg._1(), lg._2(), lg._3().insert(h).union(r()));
+        return P.p(lg._1(), lg._2(), join(lg._3(), h, r()));
       } else if (i == GT) {
         final P3<Set<A>, Option<A>, Set<A>> lg = r().split(a);
-        return P.p(lg._1().insert(h).union(l()), lg._2(), lg._3());
+        return P.p(join(l(), h, lg._1()), lg._2(), lg._3());
       } else
         return P.p(l(), some(h), r());
     }
@@ -638,6 +992,148 @@ public abstract class Set<A> implements Iterable<A> {
       }
   }
 
+  /**
+   * Returns an iterator over the elements of this set that are in the given range, in ascending order. Finding the
+   * first element is an O(log(n)) operation, and the iterator then walks the tree without rebuilding any of it.
+   *
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is in the range.
+   * @return An iterator over the elements of this set in the given range.
+   */
+  public final Iterator<A> rangeIterator(final A from, final boolean fromInclusive, final A to,
+                                         final boolean toInclusive) {
+    return new RangeIterator<>(this, above(from, fromInclusive), below(to, toInclusive), false);
+  }
+
+  /**
+   * Returns a view of the elements of this set that are in the given range, in ascending order, through which
+   * they may be folded or collected in O(log(n) + k), where k is the number of elements in the range.
+   *
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is in the range.
+   * @return A view of the elements of this set in the given range.
+   */
+  public final View<A> range(final A from, final boolean fromInclusive, final A to, final boolean toInclusive) {
+    return View.iterableView(() -> rangeIterator(from, fromInclusive, to, toInclusive));
+  }
+
+  /**
+   * Returns a view of the elements of this set that are less than the given one, in ascending order.
+   *
+   * @param to        The upper bound of the view.
+   * @param inclusive Whether the upper bound is in the view.
+   * @return A view of the elements of this set below the given one.
+   */
+  public final View<A> headSet(final A to, final boolean inclusive) {
+    return View.iterableView(() -> new RangeIterator<>(this, a -> true, below(to, inclusive), false));
+  }
+
+  /**
+   * Returns a view of the elements of this set that are greater than the given one, in ascending order.
+   *
+   * @param from      The lower bound of the view.
+   * @param inclusive Whether the lower bound is in the view.
+   * @return A view of the elements of this set above the given one.
+   */
+  public final View<A> tailSet(final A from, final boolean inclusive) {
+    return View.iterableView(() -> new RangeIterator<>(this, above(from, inclusive), a -> true, false));
+  }
+
+  /**
+   * Returns a view of the elements of this set that are less than or equal to the given one, in descending
+   * order, starting from the given one or the greatest element less than it.
+   *
+   * @param a The element to start from.
+   * @return A view of the elements of this set from the given one down.
+   */
+  public final View<A> descendingFrom(final A a) {
+    return View.iterableView(() -> new RangeIterator<>(this, below(a, true), x -> true, true));
+  }
+
+  /**
+   * Returns the number of elements of this set in the given range. This is an O(log(n)) operation.
+   *
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is in the range.
+   * @return The number of elements of this set in the given range.
+   */
+  public final int countInRange(final A from, final boolean fromInclusive, final A to, final boolean toInclusive) {
+    final F<A, Boolean> above = above(from, fromInclusive);
+    return Math.max(0, countWhile(below(to, toInclusive)) - countWhile(a -> !above.f(a)));
+  }
+
+  // The number of elements that satisfy the given predicate, which holds for a prefix of the elements
+  private int countWhile(final F<A, Boolean> p) {
+    Set<A> s = this;
+    int r = 0;
+    while (!s.isEmpty()) {
+      if (p.f(s.head())) {
+        r += s.l().size() + 1;
+        s = s.r();
+      } else
+        s = s.l();
+    }
+    return r;
+  }
+
+  private F<A, Boolean> above(final A from, final boolean inclusive) {
+    return a -> {
+      final Ordering i = ord.compare(a, from);
+      return i == GT || (inclusive && i == EQ);
+    };
+  }
+
+  private F<A, Boolean> below(final A to, final boolean inclusive) {
+    return a -> {
+      final Ordering i = ord.compare(a, to);
+      return i == LT || (inclusive && i == EQ);
+    };
+  }
+
+  /**
+   * Walks the elements of a tree from the first one that satisfies the near bound, as long as they satisfy the
+   * far bound, keeping a stack of the nodes whose element and far subtree are left to visit.
+   */
+  private static final class RangeIterator<A> implements Iterator<A> {
+    private final ArrayDeque<Set<A>> stack = new ArrayDeque<>();
+    private final F<A, Boolean> far;
+    private final boolean descending;
+
+    RangeIterator(final Set<A> s, final F<A, Boolean> near, final F<A, Boolean> far, final boolean descending) {
+      this.far = far;
+      this.descending = descending;
+      Set<A> t = s;
+      while (!t.isEmpty()) {
+        if (near.f(t.head())) {
+          stack.push(t);
+          t = descending ? t.r() : t.l();
+        } else
+          t = descending ? t.l() : t.r();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty() && far.f(stack.peek().head());
+    }
+
+    @Override
+    public A next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+      final Set<A> s = stack.pop();
+      for (Set<A> t = descending ? s.l() : s.r(); !t.isEmpty(); t = descending ? t.r() : t.l())
+        stack.push(t);
+      return s.head();
+    }
+  }
+
   /**
    * Returns true if this set is a subset of the given set.
    *
@@ -666,28 +1162,191 @@ public abstract class Set<A> implements Iterable<A> {
   }
 
   /**
-   * Return the elements of the given iterable as a set.
+   * Return the elements of the given iterable as a set. If the elements are in ascending order, the set is
+   * built in O(n), otherwise the elements are sorted first.
    *
    * @param o  An order for the elements of the new set.
    * @param as An iterable of elements to add to a set.
    * @return A new set containing the elements of the given iterable.
    */
   public static <A> Set<A> iterableSet(final Ord<A> o, final Iterable<A> as) {
-    Set<A> s = empty(o);
-    for (final A a : as)
-      s = s.insert(a);
-    return s;
+    return iteratorSet(o, as.iterator());
   }
 
   /**
-   * Return the elements of the given iterator as a set.
+   * Return the elements of the given iterator as a set. If the elements are in ascending order, the set is
+   * built in O(n), otherwise the elements are sorted first.
    *
    * @param o  An order for the elements of the new set.
    * @param as An iterator of elements to add to a set.
    * @return A new set containing the elements of the given iterator.
    */
   public static <A> Set<A> iteratorSet(final Ord<A> o, final Iterator<A> as) {
-    return iterableSet(o, () -> as);
+    return fromIterator(o, as, false);
+  }
+
+  /**
+   * Return the elements of the given iterable, which must be in ascending order, as a set.
+   * This is an O(n) operation. Of consecutive equal elements, the last one is kept.
+   *
+   * @param o  An order for the elements of the new set.
+   * @param as An iterable of elements in ascending order.
+   * @return A new set containing the elements of the given iterable, or throws an error if the elements are
+   *         not in ascending order.
+   */
+  public static <A> Set<A> fromSortedIterable(final Ord<A> o, final Iterable<A> as) {
+    return fromIterator(o, as.iterator(), true);
+  }
+
+  /**
+   * Return the elements of the given array, which must be in ascending order, as a set.
+   * This is an O(n) operation. Of consecutive equal elements, the last one is kept.
+   *
+   * @param o  An order for the elements of the new set.
+   * @param as An array of elements in ascending order.
+   * @return A new set containing the elements of the given array, or throws an error if the elements are
+   *         not in ascending order.
+   */
+  @SafeVarargs
+  public static <A> Set<A> fromSortedArray(final Ord<A> o, final A...as) {
+    for (int i = 1; i < as.length; i++)
+      if (!o.isLessThan(as[i - 1], as[i]))
+        return fromSortedIterable(o, java.util.Arrays.asList(as));
+    return fromSorted(o, as, as.length);
+  }
+
+  private static <A> Set<A> fromIterator(final Ord<A> o, final Iterator<A> as, final boolean sorted) {
+    final java.util.ArrayList<A> xs = new java.util.ArrayList<>();
+    boolean ascending = true;
+    while (as.hasNext()) {
+      final A a = as.next();
+      final int n = xs.size();
+      if (ascending && n > 0 && o.isGreaterThan(xs.get(n - 1), a)) {
+        if (sorted)
+          throw error("Elements are not in ascending order.");
+        ascending = false;
+      }
+      xs.add(a);
+    }
+    return fromArray(o, xs.toArray(), xs.size(), ascending);
+  }
+
+  /**
+   * Builds a set from the first n elements of the given array, which is modified. Unless the elements are
+   * ascending, they are stably sorted first. Of consecutive equal elements, the last one is kept.
+   */
+  @SuppressWarnings("unchecked")
+  private static <A> Set<A> fromArray(final Ord<A> o, final Object[] as, final int n, final boolean ascending) {
+    if (!ascending)
+      java.util.Arrays.sort(as, 0, n, (java.util.Comparator<Object>) (java.util.Comparator<?>) o.toComparator());
+    int m = 0;
+    for (int i = 0; i < n; i++) {
+      if (m > 0 && o.eq((A) as[m - 1], (A) as[i]))
+        as[m - 1] = as[i];
+      else
+        as[m++] = as[i];
+    }
+    return fromSorted(o, as, m);
+  }
+
+  /**
+   * Returns a transient view of this set, which buffers the elements that are inserted into it until
+   * {@link Transient#persistent()} is called. This set is not modified.
+   *
+   * @return A transient view of this set.
+   */
+  public final Transient<A> asTransient() {
+    return new Transient<>(this);
+  }
+
+  /**
+   * A transient view of a set, for building a set with many insertions. Inserted elements are collected in an
+   * array rather than each creating a new path in the tree, and {@link #persistent()} builds the set from them
+   * in one pass, sorting them if they were not inserted in ascending order. A transient must only be used by
+   * a single thread, and can no longer be used after {@link #persistent()} is called.
+   */
+  public static final class Transient<A> {
+    private final Set<A> set;
+    private Object[] buffer = new Object[16];
+    private int size;
+    private boolean ascending = true;
+    private boolean frozen;
+
+    private Transient(final Set<A> set) {
+      this.set = set;
+    }
+
+    private void check() {
+      if (frozen)
+        throw new IllegalStateException("Transient used after persistent() was called");
+    }
+
+    /**
+     * Inserts the given element into the set.
+     *
+     * @param a An element to insert.
+     * @return This transient.
+     */
+    @SuppressWarnings("unchecked")
+    public Transient<A> insert(final A a) {
+      check();
+      if (size == buffer.length)
+        buffer = java.util.Arrays.copyOf(buffer, size * 2);
+      if (ascending && size > 0 && set.ord.isGreaterThan((A) buffer[size - 1], a))
+        ascending = false;
+      buffer[size++] = a;
+      return this;
+    }
+
+    /**
+     * Inserts the given elements into the set.
+     *
+     * @param as The elements to insert.
+     * @return This transient.
+     */
+    public Transient<A> insertAll(final Iterable<A> as) {
+      for (final A a : as)
+        insert(a);
+      return this;
+    }
+
+    /**
+     * Returns the persistent set with the elements inserted into this transient. Where an inserted element is
+     * equal to an element of the original set, the inserted element is kept. The transient cannot be used
+     * afterwards.
+     *
+     * @return The persistent set.
+     */
+    public Set<A> persistent() {
+      check();
+      frozen = true;
+      final Set<A> s = fromArray(set.ord, buffer, size, ascending);
+      buffer = null;
+      return s.union(set);
+    }
+  }
+
+  /**
+   * Builds a balanced tree from the first n elements of the given array, which must be strictly ascending.
+   * All nodes are black, except those on the bottom level of a tree that is not perfectly balanced.
+   */
+  private static <A> Set<A> fromSorted(final Ord<A> o, final Object[] as, final int n) {
+    int redLevel = 0;
+    for (int m = n - 1; m >= 0; m = m / 2 - 1)
+      redLevel++;
+    return fromSorted(empty(o), as, 0, n - 1, 0, redLevel);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> Set<A> fromSorted(final Set<A> e, final Object[] as, final int lo, final int hi,
+                                       final int level, final int redLevel) {
+    if (lo > hi)
+      return e;
+    else {
+      final int mid = (lo + hi) >>> 1;
+      return new Tree<>(e.ord, level == redLevel ? Color.R : Color.B,
+          fromSorted(e, as, lo, mid - 1, level + 1, redLevel), (A) as[mid], fromSorted(e, as, mid + 1, hi, level + 1, redLevel));
+    }
   }
 
   /**
@@ -48,6 +48,16 @@ public abstract class Stream<A> implements Iterable<A> {
 
   }
 
+  /**
+   * Returns a lazy view of this stream, through which chained transformations run as a single loop. Consuming the
+   * view only evaluates as much of this stream as it needs.
+   *
+   * @return A view of the elements of this stream.
+   */
+  public final View<A> view() {
+    return View.streamView(this);
+  }
+
   /**
    * Returns an iterator for this stream. This method exists to permit the use in a <code>for</code>-each loop.
    *
@@ -57,6 +67,16 @@ public abstract class Stream<A> implements Iterable<A> {
     return toCollection().iterator();
   }
 
+  /**
+   * Returns a spliterator over this stream, which may be infinite, so its size is unknown.
+   *
+   * @return A spliterator over this stream.
+   */
+  @Override
+  public final Spliterator<A> spliterator() {
+    return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+  }
+
   /**
    * The first element of the stream or fails for the empty stream.
    *
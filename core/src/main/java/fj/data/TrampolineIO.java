@@ -0,0 +1,207 @@
+package fj.data;
+
+import fj.F;
+import fj.F0;
+import fj.Function;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * An IO action represented as a data structure of pure values, suspended actions, and the maps and binds
+ * between them, which {@link #run()} interprets in a loop. Binding or mapping an action only builds a node, and
+ * the loop keeps the continuations on a heap stack rather than on the Java stack, so that chains of any depth
+ * run in constant stack space, whether they are nested to the left or to the right. Consecutive maps are fused
+ * into one node.
+ * <p/>
+ * A trampolined action is an {@link IO}, so it can be used wherever one is, and any IO or {@link SafeIO} is
+ * lifted into a trampolined action by {@link #io(IO)}.
+ *
+ * @param <A> the type of the result produced by the IO
+ */
+public abstract class TrampolineIO<A> implements IO<A> {
+
+  // Beyond this number of fused functions, a map starts a new node, so that applying the fused function does
+  // not nest too deeply on the stack
+  private static final int MAX_FUSION = 64;
+
+  private TrampolineIO() {
+  }
+
+  private static final class Pure<A> extends TrampolineIO<A> {
+    final A a;
+
+    Pure(final A a) {
+      this.a = a;
+    }
+  }
+
+  private static final class Suspend<A> extends TrampolineIO<A> {
+    final IO<A> io;
+
+    Suspend(final IO<A> io) {
+      this.io = io;
+    }
+  }
+
+  private static final class Map<A, B> extends TrampolineIO<B> {
+    final TrampolineIO<A> source;
+    final F<A, B> f;
+    final int fused;
+
+    Map(final TrampolineIO<A> source, final F<A, B> f, final int fused) {
+      this.source = source;
+      this.f = f;
+      this.fused = fused;
+    }
+  }
+
+  private static final class Bind<A, B> extends TrampolineIO<B> {
+    final TrampolineIO<A> source;
+    final F<A, ? extends IO<B>> f;
+
+    Bind(final TrampolineIO<A> source, final F<A, ? extends IO<B>> f) {
+      this.source = source;
+      this.f = f;
+    }
+  }
+
+  /**
+   * Returns an action that produces the given value.
+   *
+   * @param a The value to produce.
+   * @return An action that produces the given value.
+   */
+  public static <A> TrampolineIO<A> pure(final A a) {
+    return new Pure<>(a);
+  }
+
+  /**
+   * Lifts the given action into a trampolined action, or returns it if it is one already.
+   *
+   * @param io The action to lift.
+   * @return A trampolined action that runs the given one.
+   */
+  @SuppressWarnings("unchecked")
+  public static <A> TrampolineIO<A> io(final IO<A> io) {
+    return io instanceof TrampolineIO ? (TrampolineIO<A>) io : new Suspend<>(io);
+  }
+
+  /**
+   * Returns an action that produces the value of the given function each time it is run.
+   *
+   * @param f The function that produces the value.
+   * @return An action that produces the value of the given function.
+   */
+  public static <A> TrampolineIO<A> lazy(final F0<A> f) {
+    return new Suspend<>(f::f);
+  }
+
+  /**
+   * Returns an action that runs the action that the given function returns each time it is run, which defers
+   * building a recursive action until it is needed.
+   *
+   * @param f The function that returns the action to run.
+   * @return An action that runs the action that the given function returns.
+   */
+  public static <A> TrampolineIO<A> defer(final F0<? extends IO<A>> f) {
+    return new Bind<>(pure(null), ignored -> f.f());
+  }
+
+  /**
+   * Returns an action that runs the given actions from left to right, and collects their results. The actions
+   * are run in a loop, without building a chain of binds.
+   *
+   * @param ios The actions to run.
+   * @return An action that runs the given actions and collects their results.
+   */
+  public static <A> TrampolineIO<List<A>> sequence(final List<? extends IO<A>> ios) {
+    return new Suspend<>(() -> {
+      final List.Buffer<A> b = new List.Buffer<>();
+      for (List<? extends IO<A>> xs = ios; xs.isNotEmpty(); xs = xs.tail()) {
+        b.snoc(xs.head().run());
+      }
+      return b.toList();
+    });
+  }
+
+  /**
+   * Returns an action that runs the given action the given number of times, and collects its results.
+   *
+   * @param io The action to run.
+   * @param n  The number of times to run the action.
+   * @return An action that runs the given action the given number of times and collects its results.
+   */
+  public static <A> TrampolineIO<List<A>> replicateM(final IO<A> io, final int n) {
+    return new Suspend<>(() -> {
+      final List.Buffer<A> b = new List.Buffer<>();
+      for (int i = 0; i < n; i++) {
+        b.snoc(io.run());
+      }
+      return b.toList();
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final <B> TrampolineIO<B> map(final F<A, B> f) {
+    if (this instanceof Map) {
+      final Map<Object, A> m = (Map<Object, A>) this;
+      if (m.fused < MAX_FUSION) {
+        return new Map<>(m.source, Function.compose(f, m.f), m.fused + 1);
+      }
+    }
+    return new Map<>(this, f, 1);
+  }
+
+  @Override
+  public final <B> TrampolineIO<B> bind(final F<A, IO<B>> f) {
+    return new Bind<>(this, f);
+  }
+
+  @Override
+  public final <B> TrampolineIO<B> append(final IO<B> iob) {
+    return new Bind<>(this, ignored -> iob);
+  }
+
+  /**
+   * Runs this action in a loop, which descends into the sources of maps and binds while stacking them, and
+   * applies the stacked maps and binds to the values produced.
+   *
+   * @return The result of this action.
+   * @throws IOException If an action throws it.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public final A run() throws IOException {
+    TrampolineIO<Object> current = (TrampolineIO<Object>) this;
+    ArrayDeque<TrampolineIO<Object>> stack = null;
+    while (true) {
+      Object value;
+      if (current instanceof Pure) {
+        value = ((Pure<Object>) current).a;
+      } else if (current instanceof Suspend) {
+        value = ((Suspend<Object>) current).io.run();
+      } else {
+        if (stack == null) {
+          stack = new ArrayDeque<>();
+        }
+        stack.push(current);
+        current = current instanceof Map ? ((Map<Object, Object>) current).source : ((Bind<Object, Object>) current).source;
+        continue;
+      }
+      current = null;
+      while (current == null && stack != null && !stack.isEmpty()) {
+        final TrampolineIO<Object> k = stack.pop();
+        if (k instanceof Map) {
+          value = ((Map<Object, Object>) k).f.f(value);
+        } else {
+          current = io(((Bind<Object, Object>) k).f.f(value));
+        }
+      }
+      if (current == null) {
+        return (A) value;
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package fj.data;
 
 import fj.Equal;
 import fj.F;
+import fj.F2;
 import fj.Hash;
 import fj.Ord;
 import fj.P;
@@ -12,6 +13,7 @@ import fj.Show;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
 
 import static fj.Function.compose;
 import static fj.Function.flip;
@@ -84,29 +86,65 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
   }
 
   /**
-   * Constructs a tree map from the given elements.
+   * Constructs a tree map from the given elements. If the keys are in ascending order, the tree map is
+   * built in O(n).
    *
    * @param keyOrd An order for the keys of the tree map.
    * @param it The elements to construct the tree map with.
    * @return A TreeMap with the given elements.
    */
   public static <K, V> TreeMap<K, V> iterableTreeMap(final Ord<K> keyOrd, final Iterable<P2<K, V>> it) {
-    TreeMap<K, V> tm = empty(keyOrd);
-    for (final P2<K, V> p2 : it) {
-      tm = tm.set(p2._1(), p2._2());
-    }
-    return tm;
+    return iteratorTreeMap(keyOrd, it.iterator());
   }
 
   /**
-   * Constructs a tree map from the given elements.
+   * Constructs a tree map from the given elements. If the keys are in ascending order, the tree map is
+   * built in O(n).
    *
    * @param keyOrd An order for the keys of the tree map.
    * @param it The elements to construct the tree map with.
    * @return A TreeMap with the given elements.
    */
   public static <K, V> TreeMap<K, V> iteratorTreeMap(final Ord<K> keyOrd, final Iterator<P2<K, V>> it) {
-    return iterableTreeMap(keyOrd, () -> it);
+    return new TreeMap<>(Set.iteratorSet(TreeMap.ord(keyOrd), entries(it)));
+  }
+
+  /**
+   * Constructs a tree map from the given elements, which must be in ascending key order.
+   * This is an O(n) operation. Of consecutive equal keys, the last one is kept.
+   *
+   * @param keyOrd An order for the keys of the tree map.
+   * @param it The elements to construct the tree map with, in ascending key order.
+   * @return A TreeMap with the given elements, or throws an error if the keys are not in ascending order.
+   */
+  public static <K, V> TreeMap<K, V> fromSortedIterable(final Ord<K> keyOrd, final Iterable<P2<K, V>> it) {
+    return new TreeMap<>(Set.fromSortedIterable(TreeMap.ord(keyOrd), () -> entries(it.iterator())));
+  }
+
+  /**
+   * Constructs a tree map from the given elements, which must be in ascending key order.
+   * This is an O(n) operation. Of consecutive equal keys, the last one is kept.
+   *
+   * @param keyOrd An order for the keys of the tree map.
+   * @param ps The elements to construct the tree map with, in ascending key order.
+   * @return A TreeMap with the given elements, or throws an error if the keys are not in ascending order.
+   */
+  @SafeVarargs
+  public static <K, V> TreeMap<K, V> fromSortedArray(final Ord<K> keyOrd, final P2<K, V>...ps) {
+    return fromSortedIterable(keyOrd, Array.array(ps));
+  }
+
+  private static <K, V> Iterator<P2<K, Option<V>>> entries(final Iterator<P2<K, V>> it) {
+    return new Iterator<P2<K, Option<V>>>() {
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      public P2<K, Option<V>> next() {
+        final P2<K, V> e = it.next();
+        return p(e._1(), Option.some(e._2()));
+      }
+    };
   }
 
   /**
@@ -154,7 +192,7 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
   }
 
   /**
-   * Returns the number of entries in this tree map.
+   * Returns the number of entries in this tree map. This is an O(1) operation.
    *
    * @return The number of entries in this tree map.
    */
@@ -162,6 +200,60 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
     return tree.size();
   }
 
+  /**
+   * Returns the key-value pair at the given index in the key order of this tree map.
+   * This is an O(log(n)) operation.
+   *
+   * @param i The index of the key-value pair to return.
+   * @return The key-value pair at the given index, or throws an error if the index is out of bounds.
+   */
+  public P2<K, V> index(final int i) {
+    return tree.index(i).map2(o -> o.some());
+  }
+
+  /**
+   * Returns the number of keys in this tree map that are less than the given key. If the key is
+   * present, this is its index. This is an O(log(n)) operation.
+   *
+   * @param k The key to compare with.
+   * @return The number of keys in this tree map that are less than the given key.
+   */
+  public int rank(final K k) {
+    return tree.rank(p(k, Option.none()));
+  }
+
+  /**
+   * Returns a tree map of the entries with the given number of smallest keys. This is an O(log(n)) operation.
+   *
+   * @param n The number of entries to take.
+   * @return A tree map of the entries with the smallest <code>n</code> keys of this tree map.
+   */
+  public TreeMap<K, V> take(final int n) {
+    return new TreeMap<>(tree.take(n));
+  }
+
+  /**
+   * Returns this tree map without the entries with the given number of smallest keys.
+   * This is an O(log(n)) operation.
+   *
+   * @param n The number of entries to drop.
+   * @return A tree map of the entries of this tree map, except those with the smallest <code>n</code> keys.
+   */
+  public TreeMap<K, V> drop(final int n) {
+    return new TreeMap<>(tree.drop(n));
+  }
+
+  /**
+   * Splits this tree map at the given index in key order. This is an O(log(n)) operation.
+   *
+   * @param i The index at which to split this tree map.
+   * @return A pair of the tree map of the entries before the given index and the tree map of the remaining entries.
+   */
+  public P2<TreeMap<K, V>, TreeMap<K, V>> splitAt(final int i) {
+    final P2<Set<P2<K, Option<V>>>, Set<P2<K, Option<V>>>> lr = tree.splitAt(i);
+    return p(new TreeMap<>(lr._1()), new TreeMap<>(lr._2()));
+  }
+
   /**
    * Determines if this tree map has any entries.
    *
@@ -210,6 +302,17 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
     ).map(P2.tuple(compose(IterableW.map(), P.p2())))).iterator();
   }
 
+  /**
+   * Returns a spliterator over this map's key-value pairs, ordered by key, which splits the map along the subtrees
+   * of its tree.
+   *
+   * @return A sized spliterator over this map's key-value pairs.
+   */
+  @Override
+  public Spliterator<P2<K, V>> spliterator() {
+    return tree.spliterator(kv -> p(kv._1(), kv._2().some()), Spliterator.DISTINCT);
+  }
+
   /**
    * A mutable map projection of this tree map.
    *
@@ -242,18 +345,25 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
     }
 
   /**
-   * An immutable projection of the given mutable map.
+   * An immutable projection of the given mutable map. If the map iterates its keys in ascending order,
+   * for instance a sorted map with the same order, the tree map is built in O(n).
    *
    * @param ord An order for the map's keys.
    * @param m   A mutable map to project to an immutable one.
    * @return A new immutable tree map isomorphic to the given mutable map.
    */
   public static <K, V> TreeMap<K, V> fromMutableMap(final Ord<K> ord, final Map<K, V> m) {
-    TreeMap<K, V> t = empty(ord);
-    for (final Map.Entry<K, V> e : m.entrySet()) {
-      t = t.set(e.getKey(), e.getValue());
-    }
-    return t;
+    final Iterator<Map.Entry<K, V>> it = m.entrySet().iterator();
+    return new TreeMap<>(Set.iteratorSet(TreeMap.ord(ord), new Iterator<P2<K, Option<V>>>() {
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      public P2<K, Option<V>> next() {
+        final Map.Entry<K, V> e = it.next();
+        return p(e.getKey(), Option.some(e.getValue()));
+      }
+    }));
   }
 
   /**
@@ -312,24 +422,6 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
         .map2(Option.<V>join().o(P2.<K, Option<V>>__2().mapOption()));
   }
 
-  /**
-   * Internal construction of a TreeMap from the given set.
-   * @param ord An order for the keys of the tree map.
-   * @param s The elements to construct the tree map with.
-   * @return a TreeMap with the given elements.
-   */
-  private static <K, V> TreeMap<K, V> treeMap(Ord<K> ord, Set<P2<K, Option<V>>> s) {
-    TreeMap<K, V> empty = TreeMap.empty(ord);
-    TreeMap<K, V> tree = s.toList().foldLeft((tm, p2) -> {
-      Option<V> opt = p2._2();
-      if (opt.isSome()) {
-        return tm.set(p2._1(), opt.some());
-      }
-      return tm;
-    }, empty);
-    return tree;
-  }
-
   /**
    * Splits this TreeMap at the given key. Returns a triple of:
    * <ul>
@@ -345,9 +437,73 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
    * given key if present, otherwise None.
    */
   public P3<TreeMap<K, V>, Option<V>, TreeMap<K, V>> splitLookup(final K k) {
-    P3<Set<P2<K, Option<V>>>, Option<P2<K, Option<V>>>, Set<P2<K, Option<V>>>> p3 = tree.split(p(k, get(k)));
-    Ord<K> o = tree.ord().contramap(k2 -> p(k2, Option.none()));
-    return p(treeMap(o, p3._1()), get(k), treeMap(o, p3._3()));
+    final P3<Set<P2<K, Option<V>>>, Option<P2<K, Option<V>>>, Set<P2<K, Option<V>>>> p3 = tree.split(p(k, Option.none()));
+    return p(new TreeMap<>(p3._1()), p3._2().bind(P2::_2), new TreeMap<>(p3._3()));
+  }
+
+  /**
+   * Returns a view of the entries of this map whose keys are in the given range, in key order, through which
+   * they may be folded or collected in O(log(n) + k), where k is the number of entries in the range, without
+   * building any intermediate tree.
+   *
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is in the range.
+   * @return A view of the entries of this map whose keys are in the given range.
+   */
+  public View<P2<K, V>> range(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+    return tree.range(p(from, Option.none()), fromInclusive, p(to, Option.none()), toInclusive).map(TreeMap::entry);
+  }
+
+  /**
+   * Returns a view of the entries of this map whose keys are less than the given key, in key order.
+   *
+   * @param to        The upper bound of the keys.
+   * @param inclusive Whether the upper bound is in the view.
+   * @return A view of the entries of this map below the given key.
+   */
+  public View<P2<K, V>> headMap(final K to, final boolean inclusive) {
+    return tree.headSet(p(to, Option.none()), inclusive).map(TreeMap::entry);
+  }
+
+  /**
+   * Returns a view of the entries of this map whose keys are greater than the given key, in key order.
+   *
+   * @param from      The lower bound of the keys.
+   * @param inclusive Whether the lower bound is in the view.
+   * @return A view of the entries of this map above the given key.
+   */
+  public View<P2<K, V>> tailMap(final K from, final boolean inclusive) {
+    return tree.tailSet(p(from, Option.none()), inclusive).map(TreeMap::entry);
+  }
+
+  /**
+   * Returns a view of the entries of this map whose keys are less than or equal to the given key, in descending
+   * key order.
+   *
+   * @param k The key to start from.
+   * @return A view of the entries of this map from the given key down.
+   */
+  public View<P2<K, V>> descendingFrom(final K k) {
+    return tree.descendingFrom(p(k, Option.none())).map(TreeMap::entry);
+  }
+
+  /**
+   * Returns the number of keys of this map in the given range. This is an O(log(n)) operation.
+   *
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is in the range.
+   * @return The number of keys of this map in the given range.
+   */
+  public int countInRange(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+    return tree.countInRange(p(from, Option.none()), fromInclusive, p(to, Option.none()), toInclusive);
+  }
+
+  private static <K, V> P2<K, V> entry(final P2<K, Option<V>> kv) {
+    return p(kv._1(), kv._2().some());
   }
 
   /**
@@ -395,17 +551,26 @@ public final class TreeMap<K, V> implements Iterable<P2<K, V>> {
   	/**
 	 * The expression <code>t1.union(t2)</code> takes the left-biased union of <code>t1</code>
 	 * and <code>t2</code>. It prefers <code>t1</code> when duplicate keys are encountered.
+	 * This is an O(m log(n/m + 1)) operation, where m is the size of the smaller map.
 	 *
 	 * @param t2 The other tree we wish to combine with this one
 	 * @return The combined TreeMap
 	 */
 	public TreeMap<K, V> union(TreeMap<K, V> t2) {
-		// TODO This could be implemented more efficiently using "hedge union"
-		TreeMap<K, V> result = t2;
-		for(P2<K,V> p : this) {
-			result = result.set(p._1(), p._2());
-		}
-		return result;
+		return new TreeMap<>(tree.union(t2.tree));
+	}
+
+  	/**
+	 * The expression <code>t1.union(t2, f)</code> takes the union of <code>t1</code> and <code>t2</code>,
+	 * combining the values of duplicate keys with <code>f</code>, where the value from <code>t1</code> is
+	 * the first argument. This is an O(m log(n/m + 1)) operation, where m is the size of the smaller map.
+	 *
+	 * @param t2 The other tree we wish to combine with this one
+	 * @param f A function to combine the values of keys that are present in both trees
+	 * @return The combined TreeMap
+	 */
+	public TreeMap<K, V> union(TreeMap<K, V> t2, F2<V, V, V> f) {
+		return new TreeMap<>(tree.unionWith(t2.tree, (p1, p2) -> p(p1._1(), Option.some(f.f(p1._2().some(), p2._2().some())))));
 	}
 
   	/**
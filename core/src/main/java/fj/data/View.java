@@ -0,0 +1,433 @@
+package fj.data;
+
+import fj.F;
+import fj.F2;
+import fj.Monoid;
+import fj.Ord;
+import fj.function.Effect1;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+import static fj.data.Option.none;
+import static fj.data.Option.some;
+
+/**
+ * A lazy view of the elements of a collection, through which chained transformations are fused. Mapping,
+ * filtering, binding, taking or dropping elements of a view only composes a pipeline, which runs as a single
+ * loop over the source collection when the view is consumed by a fold or a collector, without any intermediate
+ * collection. A view is obtained from the <code>view()</code> method of {@link List}, {@link Array}, {@link Seq},
+ * {@link Set} and {@link Stream}, or from any iterable with {@link #iterableView(Iterable)}.
+ * <p/>
+ * A view is run again each time it is consumed, and consuming it only evaluates as much of a {@link Stream} as its
+ * pipeline needs, so that infinite streams may be viewed through {@link #take(int)} or {@link #takeWhile(F)}.
+ */
+public final class View<A> {
+
+  /**
+   * Receives the elements of a view, one at a time, and returns false to stop receiving them.
+   */
+  private interface Sink<A> {
+    boolean push(A a);
+  }
+
+  /**
+   * Pushes the elements of a view to a sink until the sink stops, and returns false if it did.
+   */
+  private interface Source<A> {
+    boolean run(Sink<A> sink);
+  }
+
+  private final Source<A> source;
+
+  private View(final Source<A> source) {
+    this.source = source;
+  }
+
+  /**
+   * Returns a view of the elements of the given iterable.
+   *
+   * @param as The iterable to view.
+   * @return A view of the elements of the given iterable.
+   */
+  public static <A> View<A> iterableView(final Iterable<A> as) {
+    return new View<>(k -> {
+      for (final Iterator<A> it = as.iterator(); it.hasNext(); ) {
+        if (!k.push(it.next())) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Returns a view of the integers from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+   *
+   * @param from The first integer of the view.
+   * @param to   The integer after the last one of the view.
+   * @return A view of the integers in the given range.
+   */
+  public static View<Integer> range(final int from, final int to) {
+    return new View<>(k -> {
+      for (int i = from; i < to; i++) {
+        if (!k.push(i)) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  static <A> View<A> listView(final List<A> as) {
+    return new View<>(k -> {
+      for (List<A> xs = as; xs.isNotEmpty(); xs = xs.tail()) {
+        if (!k.push(xs.head())) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  static <A> View<A> streamView(final Stream<A> as) {
+    return new View<>(k -> {
+      for (Stream<A> xs = as; xs.isNotEmpty(); xs = xs.tail()._1()) {
+        if (!k.push(xs.head())) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  static <A> View<A> arrayView(final Array<A> as) {
+    return new View<>(k -> {
+      for (int i = 0, n = as.length(); i < n; i++) {
+        if (!k.push(as.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Maps the given function across this view.
+   *
+   * @param f The function to map across this view.
+   * @return A view of the results of applying the given function to the elements of this view.
+   */
+  public <B> View<B> map(final F<A, B> f) {
+    return new View<>(k -> source.run(a -> k.push(f.f(a))));
+  }
+
+  /**
+   * Keeps the elements of this view that satisfy the given predicate.
+   *
+   * @param f The predicate to filter with.
+   * @return A view of the elements of this view that satisfy the given predicate.
+   */
+  public View<A> filter(final F<A, Boolean> f) {
+    return new View<>(k -> source.run(a -> !f.f(a) || k.push(a)));
+  }
+
+  /**
+   * Binds the given function across this view, viewing the elements of the resulting views in order.
+   *
+   * @param f The function to bind across this view.
+   * @return A view of the elements of the views that the given function returns.
+   */
+  public <B> View<B> bind(final F<A, View<B>> f) {
+    return new View<>(k -> source.run(a -> f.f(a).source.run(k)));
+  }
+
+  /**
+   * Views the elements of the given view after the elements of this one.
+   *
+   * @param as The view to append to this one.
+   * @return A view of the elements of this view, then of the given view.
+   */
+  public View<A> append(final View<A> as) {
+    return new View<>(k -> source.run(k) && as.source.run(k));
+  }
+
+  /**
+   * Keeps the first elements of this view. The rest of the source is not traversed.
+   *
+   * @param n The number of elements to keep.
+   * @return A view of the first <code>n</code> elements of this view.
+   */
+  public View<A> take(final int n) {
+    return new View<>(k -> {
+      if (n <= 0) {
+        return true;
+      }
+      final int[] i = {0};
+      final boolean[] stopped = {false};
+      source.run(a -> {
+        if (!k.push(a)) {
+          stopped[0] = true;
+          return false;
+        }
+        return ++i[0] < n;
+      });
+      return !stopped[0];
+    });
+  }
+
+  /**
+   * Skips the first elements of this view.
+   *
+   * @param n The number of elements to skip.
+   * @return A view of the elements of this view but the first <code>n</code>.
+   */
+  public View<A> drop(final int n) {
+    return new View<>(k -> {
+      final int[] i = {0};
+      return source.run(a -> {
+        if (i[0] < n) {
+          i[0]++;
+          return true;
+        }
+        return k.push(a);
+      });
+    });
+  }
+
+  /**
+   * Keeps the elements of this view up to the first one that does not satisfy the given predicate. The rest of
+   * the source is not traversed.
+   *
+   * @param f The predicate that the elements to keep satisfy.
+   * @return A view of the longest prefix of this view whose elements satisfy the given predicate.
+   */
+  public View<A> takeWhile(final F<A, Boolean> f) {
+    return new View<>(k -> {
+      final boolean[] stopped = {false};
+      source.run(a -> {
+        if (!f.f(a)) {
+          return false;
+        }
+        if (!k.push(a)) {
+          stopped[0] = true;
+          return false;
+        }
+        return true;
+      });
+      return !stopped[0];
+    });
+  }
+
+  /**
+   * Skips the elements of this view up to the first one that does not satisfy the given predicate.
+   *
+   * @param f The predicate that the elements to skip satisfy.
+   * @return A view of the elements of this view from the first one that does not satisfy the given predicate.
+   */
+  public View<A> dropWhile(final F<A, Boolean> f) {
+    return new View<>(k -> {
+      final boolean[] dropping = {true};
+      return source.run(a -> {
+        if (dropping[0] && f.f(a)) {
+          return true;
+        }
+        dropping[0] = false;
+        return k.push(a);
+      });
+    });
+  }
+
+  /**
+   * Performs a left-fold reduction across this view, in a single loop over its source.
+   *
+   * @param f The function to apply on each element of this view.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public <B> B foldLeft(final F2<B, A, B> f, final B b) {
+    final Object[] acc = {b};
+    source.run(a -> {
+      acc[0] = f.f(View.<B>unsafeCast(acc[0]), a);
+      return true;
+    });
+    return unsafeCast(acc[0]);
+  }
+
+  /**
+   * Maps the given function across this view and sums the results with the given monoid.
+   *
+   * @param f The function to map across this view.
+   * @param m The monoid with which to sum the results.
+   * @return The sum of the results of applying the given function to the elements of this view.
+   */
+  public <B> B foldMap(final F<A, B> f, final Monoid<B> m) {
+    return foldLeft((b, a) -> m.sum(b, f.f(a)), m.zero());
+  }
+
+  /**
+   * Performs the given side-effect on each element of this view, in order.
+   *
+   * @param f The side-effect to perform.
+   */
+  public void foreachDoEffect(final Effect1<A> f) {
+    source.run(a -> {
+      f.f(a);
+      return true;
+    });
+  }
+
+  /**
+   * Returns the first element of this view that satisfies the given predicate, if any. The rest of the source is
+   * not traversed.
+   *
+   * @param f The predicate to satisfy.
+   * @return The first element of this view that satisfies the given predicate, or none.
+   */
+  public Option<A> find(final F<A, Boolean> f) {
+    final Object[] found = {null};
+    final boolean none = source.run(a -> {
+      if (f.f(a)) {
+        found[0] = a;
+        return false;
+      }
+      return true;
+    });
+    return none ? none() : some(unsafeCast(found[0]));
+  }
+
+  /**
+   * Returns the first element of this view, if any.
+   *
+   * @return The first element of this view, or none if it is empty.
+   */
+  public Option<A> headOption() {
+    return find(a -> true);
+  }
+
+  /**
+   * Returns true if some element of this view satisfies the given predicate.
+   *
+   * @param f The predicate to satisfy.
+   * @return true if some element of this view satisfies the given predicate.
+   */
+  public boolean exists(final F<A, Boolean> f) {
+    return !source.run(a -> !f.f(a));
+  }
+
+  /**
+   * Returns true if all the elements of this view satisfy the given predicate.
+   *
+   * @param f The predicate to satisfy.
+   * @return true if all the elements of this view satisfy the given predicate.
+   */
+  public boolean forall(final F<A, Boolean> f) {
+    return source.run(f::f);
+  }
+
+  /**
+   * Counts the elements of this view.
+   *
+   * @return The number of elements of this view.
+   */
+  public int length() {
+    final int[] n = {0};
+    source.run(a -> {
+      n[0]++;
+      return true;
+    });
+    return n[0];
+  }
+
+  /**
+   * Runs this view into the given collector, which may build any collection.
+   *
+   * @param c The collector with which to collect the elements of this view.
+   * @return The result of the given collector.
+   */
+  public <R, C> C collect(final Collector<? super A, R, C> c) {
+    final R r = c.supplier().get();
+    final BiConsumer<R, ? super A> acc = c.accumulator();
+    source.run(a -> {
+      acc.accept(r, a);
+      return true;
+    });
+    return c.finisher().apply(r);
+  }
+
+  /**
+   * Collects the elements of this view into a list.
+   *
+   * @return A list of the elements of this view.
+   */
+  public List<A> toList() {
+    final List.Buffer<A> b = new List.Buffer<>();
+    source.run(a -> {
+      b.snoc(a);
+      return true;
+    });
+    return b.toList();
+  }
+
+  /**
+   * Collects the elements of this view into an array.
+   *
+   * @return An array of the elements of this view.
+   */
+  public Array<A> toArray() {
+    final Object[][] buffer = {new Object[16]};
+    final int[] n = {0};
+    source.run(a -> {
+      if (n[0] == buffer[0].length) {
+        buffer[0] = java.util.Arrays.copyOf(buffer[0], n[0] * 2);
+      }
+      buffer[0][n[0]++] = a;
+      return true;
+    });
+    return Array.mkArray(java.util.Arrays.copyOf(buffer[0], n[0]));
+  }
+
+  /**
+   * Collects the elements of this view into a sequence.
+   *
+   * @return A sequence of the elements of this view.
+   */
+  public Seq<A> toSeq() {
+    final Seq.Transient<A> t = Seq.<A>empty().asTransient();
+    source.run(a -> {
+      t.snoc(a);
+      return true;
+    });
+    return t.persistent();
+  }
+
+  /**
+   * Collects the elements of this view into a set.
+   *
+   * @param o An order for the elements of the set.
+   * @return A set of the elements of this view.
+   */
+  public Set<A> toSet(final Ord<A> o) {
+    final Set.Transient<A> t = Set.empty(o).asTransient();
+    source.run(a -> {
+      t.insert(a);
+      return true;
+    });
+    return t.persistent();
+  }
+
+  /**
+   * Collects the elements of this view into a stream.
+   *
+   * @return A stream of the elements of this view.
+   */
+  public Stream<A> toStream() {
+    return toList().toStream();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <B> B unsafeCast(final Object o) {
+    return (B) o;
+  }
+}
@@ -1,6 +1,7 @@
 package fj.data.hamt;
 
 import fj.Equal;
+import fj.F;
 import fj.F2;
 import fj.Hash;
 import fj.Ord;
@@ -11,6 +12,11 @@ import fj.data.Option;
 import fj.data.Seq;
 import fj.data.Stream;
 
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 import static fj.P.p;
 import static fj.data.Option.none;
 import static fj.data.Option.some;
@@ -31,6 +37,7 @@ public final class HashArrayMappedTrie<K, V> {
 
     private final Seq<Node<K, V>> seq;
     private final BitSet bitSet;
+    private final int size;
     private final Hash<K> hash;
     private final Equal<K> equal;
 
@@ -46,19 +53,21 @@ public final class HashArrayMappedTrie<K, V> {
      * @param s - The sequence of HAMT nodes - either a HAMT or a key-value pair.
      * @param e - Equality instance for keys.
      * @param h - Hash instance for keys.
+     * @param n - The number of key-value pairs in the trie.
      */
-    private HashArrayMappedTrie(final BitSet bs, final Seq<Node<K, V>> s, final Equal<K> e, final Hash<K> h) {
+    private HashArrayMappedTrie(final BitSet bs, final Seq<Node<K, V>> s, final Equal<K> e, final Hash<K> h, final int n) {
         bitSet = bs;
         seq = s;
         hash = h;
         equal = e;
+        size = n;
     }
 
     /**
      * Creates an empty trie.
      */
     public static <K, V> HashArrayMappedTrie<K, V> empty(final Equal<K> e, final Hash<K> h) {
-        return new HashArrayMappedTrie<>(BitSet.empty(), Seq.empty(), e, h);
+        return new HashArrayMappedTrie<>(BitSet.empty(), Seq.empty(), e, h, 0);
     }
 
     /**
@@ -78,8 +87,25 @@ public final class HashArrayMappedTrie<K, V> {
     /**
      * Static constructor for a HAMT instance.
      */
-    private static <K, V> HashArrayMappedTrie<K, V> hamt(final BitSet bs, final Seq<Node<K, V>> s, final Equal<K> e, final Hash<K> h) {
-        return new HashArrayMappedTrie<>(bs, s, e, h);
+    private static <K, V> HashArrayMappedTrie<K, V> hamt(final BitSet bs, final Seq<Node<K, V>> s, final Equal<K> e, final Hash<K> h, final int n) {
+        return new HashArrayMappedTrie<>(bs, s, e, h, n);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return Equal.equals0(HashArrayMappedTrie.class, this, other, () -> Equal.hamtEqual(Equal.anyEqual()));
+    }
+
+    @Override
+    public int hashCode() {
+        return Hash.hamtHash(hash, Hash.<V>anyHash()).hash(this);
+    }
+
+    /**
+     * Returns the index of the node for the key k in the bit range lowIndex (inclusive) to highIndex (exclusive).
+     */
+    private int index(final K k, final int lowIndex, final int highIndex) {
+        return (int) longBitSet(hash.hash(k)).range(lowIndex, highIndex).longValue();
     }
 
     /**
@@ -94,17 +120,22 @@ public final class HashArrayMappedTrie<K, V> {
      * lowIndex (inclusive) and highIndex (exclusive).
      */
     public Option<V> find(final K k, final int lowIndex, final int highIndex) {
-        BitSet bs1 = longBitSet(hash.hash(k)).range(lowIndex, highIndex);
-        int i = (int) bs1.longValue();
-        boolean b = bitSet.isSet(i);
-        final int index = bitSet.bitsToRight(i);
-        if (!b) {
+        return lookup(k, lowIndex, highIndex).map(P2::_2);
+    }
+
+    /**
+     * Returns the optional key-value pair for the given key k for those nodes between
+     * lowIndex (inclusive) and highIndex (exclusive).
+     */
+    private Option<P2<K, V>> lookup(final K k, final int lowIndex, final int highIndex) {
+        final int i = index(k, lowIndex, highIndex);
+        if (!bitSet.isSet(i)) {
             return none();
         } else {
-            final Node<K, V> oldNode = seq.index(index);
+            final Node<K, V> oldNode = seq.index(bitSet.bitsToRight(i));
             return oldNode.match(
-                n -> equal.eq(n._1(), k) ? some(n._2()) : none(),
-                hamt -> hamt.find(k, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX)
+                n -> equal.eq(n._1(), k) ? some(n) : none(),
+                hamt -> hamt.lookup(k, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX)
             );
         }
     }
@@ -120,22 +151,33 @@ public final class HashArrayMappedTrie<K, V> {
      * Adds the product of key-value (k, v) pairs to the trie.
      */
     public HashArrayMappedTrie<K, V> set(final List<P2<K, V>> list) {
-        return list.foldLeft(h -> p -> h.set(p._1(), p._2()), this);
+        final Transient<K, V> t = asTransient();
+        for (final P2<K, V> p : list) {
+            t.set(p._1(), p._2());
+        }
+        return t.persistent();
+    }
+
+    /**
+     * Returns a transient view of this trie, whose nodes are copied once and then modified in place, until
+     * {@link Transient#persistent()} is called. This trie is not modified.
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(this);
     }
 
     /**
      * Sets the key-value pair (k, v) for the bit range lowIndex (inclusive) to highIndex (exclusive).
      */
     private HashArrayMappedTrie<K, V> set(final K k, final V v, final int lowIndex, final int highIndex) {
-        final BitSet bs1 = longBitSet(hash.hash(k)).range(lowIndex, highIndex);
-        final int i = (int) bs1.longValue();
+        final int i = index(k, lowIndex, highIndex);
         final boolean b = bitSet.isSet(i);
         final int index = bitSet.bitsToRight(i);
 
         if (!b) {
             // append new node
             final Node<K, V> sn1 = Node.p2Node(p(k, v));
-            return hamt(bitSet.set(i), seq.insert(index, sn1), equal, hash);
+            return hamt(bitSet.set(i), seq.insert(index, sn1), equal, hash, size + 1);
         } else {
             final Node<K, V> oldNode = seq.index(index);
             final Node<K, V> newNode = oldNode.match(n -> {
@@ -149,8 +191,177 @@ public final class HashArrayMappedTrie<K, V> {
                 }
             }, hamt -> Node.hamtNode(hamt.set(k, v, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX))
             );
-            return hamt(bitSet, seq.update(index, newNode), equal, hash);
+            return hamt(bitSet, seq.update(index, newNode), equal, hash, size - oldNode.size() + newNode.size());
+        }
+    }
+
+    /**
+     * Removes the key k, and the value it maps to, from the trie.
+     */
+    public HashArrayMappedTrie<K, V> delete(final K k) {
+        return delete(k, MIN_INDEX, MIN_INDEX + BITS_IN_INDEX);
+    }
+
+    /**
+     * Removes the key k for the bit range lowIndex (inclusive) to highIndex (exclusive). A sub-trie left with a
+     * single key-value pair is replaced by that pair, so that the trie does not keep chains of sparse nodes.
+     */
+    private HashArrayMappedTrie<K, V> delete(final K k, final int lowIndex, final int highIndex) {
+        final int i = index(k, lowIndex, highIndex);
+        if (!bitSet.isSet(i)) {
+            return this;
+        }
+        final int index = bitSet.bitsToRight(i);
+        final Node<K, V> oldNode = seq.index(index);
+        return oldNode.match(
+            n -> equal.eq(n._1(), k) ? hamt(bitSet.clear(i), seq.delete(index), equal, hash, size - 1) : this,
+            hamt -> {
+                final HashArrayMappedTrie<K, V> h = hamt.delete(k, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+                return h == hamt ? this : hamt(bitSet, seq.update(index, compact(h)), equal, hash, size - 1);
+            }
+        );
+    }
+
+    /**
+     * Modifies the value for the key k with the given function, which receives the current optional value
+     * and returns the new optional value. If the function returns none, the key is removed from the trie.
+     */
+    public HashArrayMappedTrie<K, V> update(final K k, final F<Option<V>, Option<V>> f) {
+        final Option<V> o = find(k);
+        final Option<V> n = f.f(o);
+        return n.isSome() ? set(k, n.some()) : o.isSome() ? delete(k) : this;
+    }
+
+    /**
+     * Returns the left-biased union of this trie and the given trie, preferring the values of this trie for the
+     * keys in both. Nodes that occur in only one of the tries are shared with the result. The result compares and
+     * hashes keys with the instances of this trie.
+     */
+    public HashArrayMappedTrie<K, V> union(final HashArrayMappedTrie<K, V> that) {
+        return union(that, (v1, v2) -> v1);
+    }
+
+    /**
+     * Returns the union of this trie and the given trie, combining the values of keys in both with the given
+     * function, where the value of this trie is the first argument. The result compares and hashes keys with the
+     * instances of this trie.
+     */
+    public HashArrayMappedTrie<K, V> union(final HashArrayMappedTrie<K, V> that, final F2<V, V, V> f) {
+        if (!sameInstances(that)) {
+            // the nodes of the given trie are laid out by its own hash, so its pairs are added one at a time
+            return that.foldLeft((acc, p) -> acc.set(p._1(), acc.find(p._1()).map(v -> f.f(v, p._2())).orSome(p._2())), this);
         }
+        return union(that, f, MIN_INDEX, MIN_INDEX + BITS_IN_INDEX);
+    }
+
+    private boolean sameInstances(final HashArrayMappedTrie<K, V> that) {
+        return equal == that.equal && hash == that.hash;
+    }
+
+    private HashArrayMappedTrie<K, V> union(final HashArrayMappedTrie<K, V> that, final F2<V, V, V> f, final int lowIndex, final int highIndex) {
+        if (that.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return that;
+        }
+        final long bits = bitSet.longValue() | that.bitSet.longValue();
+        final Iterator<Node<K, V>> it1 = seq.iterator();
+        final Iterator<Node<K, V>> it2 = that.seq.iterator();
+        Seq<Node<K, V>> s = Seq.empty();
+        int n = 0;
+        for (int i = MIN_INDEX; i <= MAX_INDEX; i++) {
+            final boolean b1 = bitSet.isSet(i);
+            final boolean b2 = that.bitSet.isSet(i);
+            if (b1 || b2) {
+                final Node<K, V> n1 = b1 ? it1.next() : null;
+                final Node<K, V> n2 = b2 ? it2.next() : null;
+                final Node<K, V> node = !b2 ? n1 : !b1 ? n2 : union(n1, n2, f, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+                s = s.snoc(node);
+                n += node.size();
+            }
+        }
+        return hamt(BitSet.longBitSet(bits), s, equal, hash, n);
+    }
+
+    private Node<K, V> union(final Node<K, V> n1, final Node<K, V> n2, final F2<V, V, V> f, final int lowIndex, final int highIndex) {
+        if (n1 == n2) {
+            return n1;
+        }
+        final Option<P2<K, V>> p1 = n1.match(Option::some, h -> none());
+        final Option<P2<K, V>> p2 = n2.match(Option::some, h -> none());
+        if (p1.isSome() && p2.isSome() && equal.eq(p1.some()._1(), p2.some()._1())) {
+            return Node.p2Node(p(p1.some()._1(), f.f(p1.some()._2(), p2.some()._2())));
+        }
+        final HashArrayMappedTrie<K, V> h1 = n1.match(p -> singleton(p, lowIndex, highIndex), h -> h);
+        final HashArrayMappedTrie<K, V> h2 = n2.match(p -> singleton(p, lowIndex, highIndex), h -> h);
+        return Node.hamtNode(h1.union(h2, f, lowIndex, highIndex));
+    }
+
+    /**
+     * Returns the trie of the key-value pairs of this trie whose keys are also in the given trie. Nodes that are
+     * unaffected are shared with the result.
+     */
+    public HashArrayMappedTrie<K, V> intersection(final HashArrayMappedTrie<K, V> that) {
+        if (!sameInstances(that)) {
+            return foldLeft((acc, p) -> that.find(p._1()).isSome() ? acc : acc.delete(p._1()), this);
+        }
+        return intersection(that, MIN_INDEX, MIN_INDEX + BITS_IN_INDEX);
+    }
+
+    private HashArrayMappedTrie<K, V> intersection(final HashArrayMappedTrie<K, V> that, final int lowIndex, final int highIndex) {
+        if (this == that) {
+            return this;
+        }
+        final Iterator<Node<K, V>> it1 = seq.iterator();
+        final Iterator<Node<K, V>> it2 = that.seq.iterator();
+        Seq<Node<K, V>> s = Seq.empty();
+        BitSet bits = BitSet.empty();
+        int n = 0;
+        for (int i = MIN_INDEX; i <= MAX_INDEX; i++) {
+            final boolean b1 = bitSet.isSet(i);
+            final boolean b2 = that.bitSet.isSet(i);
+            final Node<K, V> n1 = b1 ? it1.next() : null;
+            final Node<K, V> n2 = b2 ? it2.next() : null;
+            if (b1 && b2) {
+                final Option<Node<K, V>> node = intersection(n1, n2, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+                if (node.isSome()) {
+                    s = s.snoc(node.some());
+                    bits = bits.set(i);
+                    n += node.some().size();
+                }
+            }
+        }
+        return n == size ? this : hamt(bits, s, equal, hash, n);
+    }
+
+    private Option<Node<K, V>> intersection(final Node<K, V> n1, final Node<K, V> n2, final int lowIndex, final int highIndex) {
+        return n1.match(
+            p1 -> n2.match(
+                p2 -> equal.eq(p1._1(), p2._1()) ? some(n1) : none(),
+                h2 -> h2.lookup(p1._1(), lowIndex, highIndex).map(p2 -> n1)
+            ),
+            h1 -> n2.match(
+                p2 -> h1.lookup(p2._1(), lowIndex, highIndex).map(Node::p2Node),
+                h2 -> {
+                    final HashArrayMappedTrie<K, V> h = h1.intersection(h2, lowIndex, highIndex);
+                    return h.isEmpty() ? none() : some(h == h1 ? n1 : compact(h));
+                }
+            )
+        );
+    }
+
+    /**
+     * Returns a trie with the single key-value pair p for the bit range lowIndex (inclusive) to highIndex (exclusive).
+     */
+    private HashArrayMappedTrie<K, V> singleton(final P2<K, V> p, final int lowIndex, final int highIndex) {
+        return hamt(BitSet.empty().set(index(p._1(), lowIndex, highIndex)), Seq.single(Node.p2Node(p)), equal, hash, 1);
+    }
+
+    /**
+     * Returns the node for the given non-empty sub-trie, replacing a sub-trie with a single key-value pair by the pair.
+     */
+    private static <K, V> Node<K, V> compact(final HashArrayMappedTrie<K, V> h) {
+        return h.size == 1 ? h.seq.head() : Node.hamtNode(h);
     }
 
     /**
@@ -160,6 +371,83 @@ public final class HashArrayMappedTrie<K, V> {
         return seq.toStream().bind(Node::toStream);
     }
 
+    /**
+     * Returns a spliterator over the key-value pairs of this trie, which splits the trie between the nodes of its
+     * bitmap, descending into sub-tries when a trie holds a single one.
+     */
+    public Spliterator<P2<K, V>> spliterator() {
+        return new HamtSpliterator<>(seq, size);
+    }
+
+    private static final class HamtSpliterator<K, V> implements Spliterator<P2<K, V>> {
+        private Seq<Node<K, V>> nodes;
+        private ArrayDeque<Iterator<Node<K, V>>> stack;
+        private long size;
+
+        HamtSpliterator(final Seq<Node<K, V>> nodes, final long size) {
+            this.nodes = nodes;
+            this.size = size;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super P2<K, V>> action) {
+            if (stack == null) {
+                stack = new ArrayDeque<>();
+                stack.push(nodes.iterator());
+                nodes = null;
+            }
+            while (!stack.isEmpty()) {
+                final Iterator<Node<K, V>> it = stack.peek();
+                if (!it.hasNext()) {
+                    stack.pop();
+                } else {
+                    final P2<K, V> p = it.next().match(kv -> kv, h -> {
+                        stack.push(h.seq.iterator());
+                        return null;
+                    });
+                    if (p != null) {
+                        size--;
+                        action.accept(p);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<P2<K, V>> trySplit() {
+            if (stack != null) {
+                return null;
+            }
+            while (nodes.length() == 1) {
+                final Option<Seq<Node<K, V>>> sub = nodes.head().match(kv -> none(), h -> some(h.seq));
+                if (sub.isNone()) {
+                    return null;
+                }
+                nodes = sub.some();
+            }
+            if (nodes.length() < 2) {
+                return null;
+            }
+            final P2<Seq<Node<K, V>>, Seq<Node<K, V>>> p = nodes.split(nodes.length() / 2);
+            final long n = p._1().foldLeft((acc, node) -> acc + node.size(), 0L);
+            nodes = p._2();
+            size -= n;
+            return new HamtSpliterator<>(p._1(), n);
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | DISTINCT | IMMUTABLE | NONNULL;
+        }
+    }
+
     /**
      * Returns the list of key-value pairs, ordered by key.
      */
@@ -209,12 +497,224 @@ public final class HashArrayMappedTrie<K, V> {
     }
 
     /**
-     * Returns the number of elements in the trie.
+     * A mutable node of a transient, only reachable from the transient that created it. A child at a bit index is
+     * either null, a node shared with a persistent trie, or another mutable node.
+     */
+    private static final class TransientNode<K, V> {
+        final Object[] children = new Object[SIZE];
+        int size;
+
+        static <K, V> TransientNode<K, V> of(final HashArrayMappedTrie<K, V> h) {
+            final TransientNode<K, V> t = new TransientNode<>();
+            final Iterator<Node<K, V>> it = h.seq.iterator();
+            for (int i = MIN_INDEX; i <= MAX_INDEX; i++) {
+                if (h.bitSet.isSet(i)) {
+                    t.children[i] = it.next();
+                }
+            }
+            t.size = h.size;
+            return t;
+        }
+    }
+
+    /**
+     * A transient view of a hash array mapped trie, for building a trie with many modifications. A transient
+     * copies each node of the trie that it modifies once, into a mutable node that it owns, and modifies that
+     * node in place afterwards, so a transient must only be used by a single thread. The nodes that it does not
+     * modify are shared. Calling {@link #persistent()} freezes the mutable nodes into a trie, after which the
+     * transient can no longer be used.
+     */
+    public static final class Transient<K, V> {
+        private final Equal<K> equal;
+        private final Hash<K> hash;
+        private TransientNode<K, V> root;
+
+        private Transient(final HashArrayMappedTrie<K, V> h) {
+            equal = h.equal;
+            hash = h.hash;
+            root = TransientNode.of(h);
+        }
+
+        private TransientNode<K, V> root() {
+            if (root == null) {
+                throw new IllegalStateException("Transient used after persistent() was called");
+            }
+            return root;
+        }
+
+        private int index(final K k, final int lowIndex, final int highIndex) {
+            return (int) longBitSet(hash.hash(k)).range(lowIndex, highIndex).longValue();
+        }
+
+        /**
+         * Adds the key-value pair (k, v) to the trie.
+         *
+         * @return This transient.
+         */
+        public Transient<K, V> set(final K k, final V v) {
+            set(root(), k, v, MIN_INDEX, MIN_INDEX + BITS_IN_INDEX);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void set(final TransientNode<K, V> t, final K k, final V v, final int lowIndex, final int highIndex) {
+            final int i = index(k, lowIndex, highIndex);
+            final Object c = t.children[i];
+            if (c == null) {
+                t.children[i] = Node.p2Node(p(k, v));
+                t.size++;
+                return;
+            }
+            final TransientNode<K, V> sub;
+            if (c instanceof TransientNode) {
+                sub = (TransientNode<K, V>) c;
+            } else {
+                final Node<K, V> n = (Node<K, V>) c;
+                final P2<K, V> kv = n.match(pair -> pair, h -> null);
+                if (kv != null && equal.eq(kv._1(), k)) {
+                    t.children[i] = Node.p2Node(p(k, v));
+                    return;
+                }
+                if (kv != null) {
+                    sub = new TransientNode<>();
+                    set(sub, kv._1(), kv._2(), lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+                } else {
+                    sub = TransientNode.of(n.match(pair -> null, h -> h));
+                }
+                t.children[i] = sub;
+            }
+            final int oldSize = sub.size;
+            set(sub, k, v, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+            t.size += sub.size - oldSize;
+        }
+
+        /**
+         * Removes the key k, and the value it maps to, from the trie.
+         *
+         * @return This transient.
+         */
+        public Transient<K, V> delete(final K k) {
+            delete(root(), k, MIN_INDEX, MIN_INDEX + BITS_IN_INDEX);
+            return this;
+        }
+
+        /**
+         * Removes the key k for the bit range lowIndex (inclusive) to highIndex (exclusive), replacing a sub-trie
+         * left with a single key-value pair by the pair, as {@link HashArrayMappedTrie#delete(Object)} does.
+         */
+        @SuppressWarnings("unchecked")
+        private void delete(final TransientNode<K, V> t, final K k, final int lowIndex, final int highIndex) {
+            final int i = index(k, lowIndex, highIndex);
+            final Object c = t.children[i];
+            if (c == null) {
+                return;
+            }
+            final TransientNode<K, V> sub;
+            if (c instanceof TransientNode) {
+                sub = (TransientNode<K, V>) c;
+            } else {
+                final Node<K, V> n = (Node<K, V>) c;
+                final P2<K, V> kv = n.match(pair -> pair, h -> null);
+                if (kv != null) {
+                    if (equal.eq(kv._1(), k)) {
+                        t.children[i] = null;
+                        t.size--;
+                    }
+                    return;
+                }
+                final HashArrayMappedTrie<K, V> h = n.match(pair -> null, hamt -> hamt);
+                if (h.lookup(k, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX).isNone()) {
+                    return;
+                }
+                sub = TransientNode.of(h);
+            }
+            final int oldSize = sub.size;
+            delete(sub, k, lowIndex + BITS_IN_INDEX, highIndex + BITS_IN_INDEX);
+            if (sub.size != oldSize) {
+                t.children[i] = sub.size == 1 ? single(sub) : sub;
+                t.size--;
+            }
+        }
+
+        // Returns the child of a node with a single key-value pair
+        private static Object single(final TransientNode<?, ?> t) {
+            for (final Object c : t.children) {
+                if (c != null) {
+                    return c;
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        /**
+         * Returns an optional value for the given key k.
+         */
+        @SuppressWarnings("unchecked")
+        public Option<V> find(final K k) {
+            TransientNode<K, V> t = root();
+            for (int lowIndex = MIN_INDEX, highIndex = MIN_INDEX + BITS_IN_INDEX; ;
+                 lowIndex += BITS_IN_INDEX, highIndex += BITS_IN_INDEX) {
+                final Object c = t.children[index(k, lowIndex, highIndex)];
+                if (c == null) {
+                    return none();
+                } else if (c instanceof TransientNode) {
+                    t = (TransientNode<K, V>) c;
+                } else {
+                    final Node<K, V> n = (Node<K, V>) c;
+                    final int low = lowIndex + BITS_IN_INDEX;
+                    final int high = highIndex + BITS_IN_INDEX;
+                    return n.match(
+                        pair -> equal.eq(pair._1(), k) ? some(pair._2()) : none(),
+                        h -> h.find(k, low, high)
+                    );
+                }
+            }
+        }
+
+        /**
+         * Returns the number of elements in the trie.
+         */
+        public int size() {
+            return root().size;
+        }
+
+        /**
+         * Returns the persistent trie with the modifications made by this transient. This takes time proportional
+         * to the number of nodes that the transient modified. The transient cannot be used afterwards.
+         */
+        public HashArrayMappedTrie<K, V> persistent() {
+            final HashArrayMappedTrie<K, V> h = freeze(root());
+            root = null;
+            return h;
+        }
+
+        @SuppressWarnings("unchecked")
+        private HashArrayMappedTrie<K, V> freeze(final TransientNode<K, V> t) {
+            BitSet bs = BitSet.empty();
+            Seq<Node<K, V>> s = Seq.empty();
+            for (int i = MIN_INDEX; i <= MAX_INDEX; i++) {
+                final Object c = t.children[i];
+                if (c != null) {
+                    bs = bs.set(i);
+                    s = s.snoc(c instanceof TransientNode ? Node.hamtNode(freeze((TransientNode<K, V>) c)) : (Node<K, V>) c);
+                }
+            }
+            return hamt(bs, s, equal, hash, t.size);
+        }
+    }
+
+    /**
+     * Returns the number of elements in the trie. This is an O(1) operation.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of elements in the trie. This is an O(1) operation.
      */
     public int length() {
-        return seq.foldLeft(
-            (acc, node) -> node.match(p2 -> acc + 1, hamt -> acc + hamt.length()), 0
-        );
+        return size;
     }
 
 }
@@ -44,6 +44,13 @@ public final class Node<K, V> {
         return either.either(f, g);
     }
 
+    /**
+     * Returns the number of key-value pairs in this node.
+     */
+    public int size() {
+        return match(p -> 1, HashArrayMappedTrie::size);
+    }
+
     public Stream<P2<K, V>> toStream() {
         return match(Stream::single, HashArrayMappedTrie::toStream);
     }
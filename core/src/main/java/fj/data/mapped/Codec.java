@@ -0,0 +1,97 @@
+package fj.data.mapped;
+
+import fj.F;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static fj.Function.compose;
+
+/**
+ * Encodes values to bytes and decodes them back, for storing them outside of the heap, as in a
+ * {@link MappedTreeMap}.
+ */
+public final class Codec<A> {
+  private final F<A, byte[]> encode;
+  private final F<ByteBuffer, A> decode;
+
+  private Codec(final F<A, byte[]> encode, final F<ByteBuffer, A> decode) {
+    this.encode = encode;
+    this.decode = decode;
+  }
+
+  /**
+   * Encodes the given value.
+   *
+   * @param a The value to encode.
+   * @return The bytes of the given value.
+   */
+  public byte[] encode(final A a) {
+    return encode.f(a);
+  }
+
+  /**
+   * Decodes a value from the remaining bytes of the given buffer, which are the bytes that encoded it.
+   *
+   * @param b The buffer to decode the value from, which the decoding may consume.
+   * @return The decoded value.
+   */
+  public A decode(final ByteBuffer b) {
+    return decode.f(b);
+  }
+
+  /**
+   * Maps this codec through the given isomorphism.
+   *
+   * @param f The function from the values of this codec to those of the new one.
+   * @param g The function from the values of the new codec to those of this one.
+   * @return A codec which encodes the images of its values by the given function with this codec.
+   */
+  public <B> Codec<B> xmap(final F<A, B> f, final F<B, A> g) {
+    return codec(compose(encode, g), compose(f, decode));
+  }
+
+  /**
+   * Constructs a codec from the given functions.
+   *
+   * @param encode The function that encodes a value.
+   * @param decode The function that decodes a value from the remaining bytes of a buffer.
+   * @return A codec that uses the given functions.
+   */
+  public static <A> Codec<A> codec(final F<A, byte[]> encode, final F<ByteBuffer, A> decode) {
+    return new Codec<>(encode, decode);
+  }
+
+  /**
+   * A codec for the <code>int</code> type, whose encodings are big-endian.
+   */
+  public static final Codec<Integer> intCodec =
+      codec(i -> ByteBuffer.allocate(Integer.BYTES).putInt(0, i).array(), ByteBuffer::getInt);
+
+  /**
+   * A codec for the <code>long</code> type, whose encodings are big-endian.
+   */
+  public static final Codec<Long> longCodec =
+      codec(l -> ByteBuffer.allocate(Long.BYTES).putLong(0, l).array(), ByteBuffer::getLong);
+
+  /**
+   * A codec for the <code>double</code> type.
+   */
+  public static final Codec<Double> doubleCodec =
+      codec(d -> ByteBuffer.allocate(Double.BYTES).putDouble(0, d).array(), ByteBuffer::getDouble);
+
+  /**
+   * A codec for byte arrays, which are stored as they are.
+   */
+  public static final Codec<byte[]> bytesCodec = codec(bs -> bs, b -> {
+    final byte[] bs = new byte[b.remaining()];
+    b.get(bs);
+    return bs;
+  });
+
+  /**
+   * A codec for strings, which are encoded in UTF-8.
+   */
+  public static final Codec<String> stringCodec =
+      bytesCodec.xmap(bs -> new String(bs, StandardCharsets.UTF_8), s -> s.getBytes(StandardCharsets.UTF_8));
+}
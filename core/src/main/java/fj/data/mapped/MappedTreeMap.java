@@ -0,0 +1,541 @@
+package fj.data.mapped;
+
+import fj.F;
+import fj.F2;
+import fj.Monoid;
+import fj.Ord;
+import fj.P2;
+import fj.P3;
+import fj.data.Option;
+import fj.data.Stream;
+import fj.data.TreeMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static fj.P.p;
+import static fj.data.Option.none;
+import static fj.data.Option.some;
+
+/**
+ * An immutable sorted map whose entries live in a memory-mapped file rather than in the heap. The map is written
+ * once from entries sorted by key, with {@link #fromSortedIterable(Path, Ord, Codec, Codec, Iterable)}, and can
+ * then be opened instantly by any number of JVMs with {@link #open(Path, Ord, Codec, Codec)}, which share the
+ * pages of the file through the operating system. Only the entries that are looked up are decoded, with the
+ * codecs of the map, and looking up a key is a binary search of O(log(n)) decodings of keys.
+ * <p/>
+ * Splitting the map, or taking a range of it, returns a view of part of the same file in O(log(n)), without
+ * copying any entry. The file stays mapped until the map and its views are garbage collected.
+ */
+public final class MappedTreeMap<K, V> implements Iterable<P2<K, V>> {
+
+  private static final long MAGIC = 0x666a4d6170706564L;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 32;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int DEFAULT_SEGMENT_BITS = 30;
+
+  /**
+   * The mapped file. It starts with a header of the magic number, the version, the segment size, the number of
+   * entries and the offset of the index. Each entry is a record of the length of its key, the length of its
+   * value, then the bytes of both, and records never cross the boundary of a segment, so that each record can
+   * be read from a single mapped buffer. The index is the offset of each record, in the order of the keys.
+   */
+  private static final class Mapping<K, V> {
+    final MappedByteBuffer[] segments;
+    final int segmentBits;
+    final long indexOffset;
+    final Ord<K> ord;
+    final Codec<K> keyCodec;
+    final Codec<V> valueCodec;
+
+    Mapping(final MappedByteBuffer[] segments, final int segmentBits, final long indexOffset, final Ord<K> ord,
+         final Codec<K> keyCodec, final Codec<V> valueCodec) {
+      this.segments = segments;
+      this.segmentBits = segmentBits;
+      this.indexOffset = indexOffset;
+      this.ord = ord;
+      this.keyCodec = keyCodec;
+      this.valueCodec = valueCodec;
+    }
+
+    ByteBuffer segment(final long offset) {
+      return segments[(int) (offset >>> segmentBits)];
+    }
+
+    int position(final long offset) {
+      return (int) (offset & ((1L << segmentBits) - 1));
+    }
+
+    long record(final long i) {
+      final long offset = indexOffset + i * Long.BYTES;
+      return segment(offset).getLong(position(offset));
+    }
+
+    // The bytes of the key of the record at the given offset
+    ByteBuffer key(final long record) {
+      final ByteBuffer b = segment(record).duplicate();
+      final int pos = position(record);
+      final int keyLength = b.getInt(pos);
+      b.limit(pos + RECORD_HEADER_SIZE + keyLength).position(pos + RECORD_HEADER_SIZE);
+      return b;
+    }
+
+    // The bytes of the value of the record at the given offset
+    ByteBuffer value(final long record) {
+      final ByteBuffer b = segment(record).duplicate();
+      final int pos = position(record);
+      final int start = pos + RECORD_HEADER_SIZE + b.getInt(pos);
+      b.limit(start + b.getInt(pos + Integer.BYTES)).position(start);
+      return b;
+    }
+
+    K keyAt(final long i) {
+      return keyCodec.decode(key(record(i)));
+    }
+
+    V valueAt(final long i) {
+      return valueCodec.decode(value(record(i)));
+    }
+  }
+
+  private final Mapping<K, V> file;
+  // The entries of this map are those from index from (inclusive) to index to (exclusive) of the file
+  private final long from;
+  private final long to;
+
+  private MappedTreeMap(final Mapping<K, V> file, final long from, final long to) {
+    this.file = file;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Opens a map that was written to the given file. The file is mapped into memory, and nothing is read from it
+   * until entries are looked up.
+   *
+   * @param path       The file of the map.
+   * @param ord        The order of the keys, with which the map was written.
+   * @param keyCodec   The codec of the keys, with which the map was written.
+   * @param valueCodec The codec of the values, with which the map was written.
+   * @return The map written to the given file.
+   * @throws IOException If the file cannot be mapped, or is not a map.
+   */
+  public static <K, V> MappedTreeMap<K, V> open(final Path path, final Ord<K> ord, final Codec<K> keyCodec,
+                                                 final Codec<V> valueCodec) throws IOException {
+    try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (ch.read(header, header.position()) < 0) {
+          throw new IOException("Not a mapped tree map: " + path);
+        }
+      }
+      header.flip();
+      if (header.getLong() != MAGIC) {
+        throw new IOException("Not a mapped tree map: " + path);
+      }
+      final int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported mapped tree map version " + version + ": " + path);
+      }
+      final int segmentBits = header.getInt();
+      final long size = header.getLong();
+      final long indexOffset = header.getLong();
+      final long length = ch.size();
+      if (segmentBits < 3 || segmentBits > DEFAULT_SEGMENT_BITS || size < 0 || size > Integer.MAX_VALUE) {
+        throw new IOException("Corrupt mapped tree map header: " + path);
+      }
+      if (indexOffset + size * Long.BYTES > length) {
+        throw new IOException("Truncated mapped tree map: " + path);
+      }
+      final long segmentSize = 1L << segmentBits;
+      final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + segmentSize - 1) >>> segmentBits)];
+      for (int i = 0; i < segments.length; i++) {
+        final long start = (long) i << segmentBits;
+        segments[i] = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, length - start));
+      }
+      return new MappedTreeMap<>(new Mapping<>(segments, segmentBits, indexOffset, ord, keyCodec, valueCodec), 0, size);
+    }
+  }
+
+  /**
+   * Writes the given entries, sorted by key, to the given file, and opens the map of them. The entries are
+   * streamed to the file, so that they need not fit in the heap.
+   *
+   * @param path       The file to write the map to, which is replaced if it exists. The map is written to a
+   *                   temporary file in the same directory, then moved atomically to the given file, so that the
+   *                   processes which have the old file open keep reading it, and a failed write leaves it as is.
+   * @param ord        The order of the keys.
+   * @param keyCodec   The codec with which to encode the keys.
+   * @param valueCodec The codec with which to encode the values.
+   * @param it         The entries of the map, sorted by key, without duplicate keys.
+   * @return The map of the given entries.
+   * @throws IOException              If the file cannot be written.
+   * @throws IllegalArgumentException If the keys are not strictly increasing, or there are more than
+   *                                  {@link Integer#MAX_VALUE} entries.
+   */
+  public static <K, V> MappedTreeMap<K, V> fromSortedIterable(final Path path, final Ord<K> ord,
+                                                               final Codec<K> keyCodec, final Codec<V> valueCodec,
+                                                               final Iterable<P2<K, V>> it) throws IOException {
+    return fromSortedIterable(path, ord, keyCodec, valueCodec, it, DEFAULT_SEGMENT_BITS);
+  }
+
+  static <K, V> MappedTreeMap<K, V> fromSortedIterable(final Path path, final Ord<K> ord, final Codec<K> keyCodec,
+                                                        final Codec<V> valueCodec, final Iterable<P2<K, V>> it,
+                                                        final int segmentBits) throws IOException {
+    final long segmentSize = 1L << segmentBits;
+    final Path dir = path.toAbsolutePath().getParent();
+    final Path data = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+    final Path index = Files.createTempFile(dir, "index", ".tmp");
+    boolean written = false;
+    try (FileChannel ch = FileChannel.open(data, StandardOpenOption.WRITE)) {
+      long size = 0;
+      long offset = HEADER_SIZE;
+      // Not closed, as closing it would close the channel before the header is written
+      final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch)));
+      try (DataOutputStream indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index)))) {
+        out.write(new byte[HEADER_SIZE]);
+        Option<K> last = none();
+        for (final P2<K, V> kv : it) {
+          if (size == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("More than " + Integer.MAX_VALUE + " entries");
+          }
+          if (last.isSome() && !ord.isLessThan(last.some(), kv._1())) {
+            throw new IllegalArgumentException("Keys are not strictly increasing at entry " + size);
+          }
+          last = some(kv._1());
+          final byte[] k = keyCodec.encode(kv._1());
+          final byte[] v = valueCodec.encode(kv._2());
+          final long length = RECORD_HEADER_SIZE + (long) k.length + v.length;
+          if (length > segmentSize) {
+            throw new IllegalArgumentException("Entry " + size + " is larger than a segment");
+          }
+          final long rest = segmentSize - (offset & (segmentSize - 1));
+          if (length > rest) {
+            out.write(new byte[(int) rest]);
+            offset += rest;
+          }
+          indexOut.writeLong(offset);
+          out.writeInt(k.length);
+          out.writeInt(v.length);
+          out.write(k);
+          out.write(v);
+          offset += length;
+          size++;
+        }
+      }
+      final long indexOffset = (offset + Long.BYTES - 1) & -Long.BYTES;
+      out.write(new byte[(int) (indexOffset - offset)]);
+      Files.copy(index, out);
+      out.flush();
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putLong(MAGIC).putInt(VERSION).putInt(segmentBits).putLong(size).putLong(indexOffset).flip();
+      while (header.hasRemaining()) {
+        ch.write(header, header.position());
+      }
+      ch.force(true);
+      written = true;
+    } finally {
+      Files.deleteIfExists(index);
+      if (!written) {
+        Files.deleteIfExists(data);
+      }
+    }
+    try {
+      Files.move(data, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      Files.deleteIfExists(data);
+      throw e;
+    }
+    return open(path, ord, keyCodec, valueCodec);
+  }
+
+  /**
+   * Returns the number of entries of this map. This is an O(1) operation.
+   *
+   * @return The number of entries of this map.
+   */
+  public int size() {
+    return (int) (to - from);
+  }
+
+  /**
+   * Determines if this map has any entries.
+   *
+   * @return <code>true</code> if this map has no entries, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return from == to;
+  }
+
+  // The index of the first key in this map that is not less than the given key, or greater if strict is true
+  private long search(final K k, final boolean strict) {
+    long lo = from;
+    long hi = to;
+    while (lo < hi) {
+      final long mid = (lo + hi) >>> 1;
+      final int c = file.ord.compare(file.keyAt(mid), k).toInt();
+      if (c < 0 || (strict && c == 0)) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  private P2<K, V> entry(final long i) {
+    return p(file.keyAt(i), file.valueAt(i));
+  }
+
+  private Option<P2<K, V>> entryOption(final long i) {
+    return from <= i && i < to ? some(entry(i)) : none();
+  }
+
+  /**
+   * Returns a potential value that the given key maps to. This is an O(log(n)) operation.
+   *
+   * @param k The key to look up.
+   * @return A potential value for the given key.
+   */
+  public Option<V> get(final K k) {
+    final long i = search(k, false);
+    return i < to && file.ord.eq(file.keyAt(i), k) ? some(file.valueAt(i)) : none();
+  }
+
+  /**
+   * Determines if the given key is in this map.
+   *
+   * @param k The key to look for.
+   * @return <code>true</code> if this map contains the given key, <code>false</code> otherwise.
+   */
+  public boolean contains(final K k) {
+    final long i = search(k, false);
+    return i < to && file.ord.eq(file.keyAt(i), k);
+  }
+
+  /**
+   * Returns the key-value pair at the given index in the key order of this map. This is an O(1) operation.
+   *
+   * @param i The index of the key-value pair to return.
+   * @return The key-value pair at the given index, or throws an error if the index is out of bounds.
+   */
+  public P2<K, V> index(final int i) {
+    if (i < 0 || i >= size()) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size());
+    }
+    return entry(from + i);
+  }
+
+  /**
+   * Returns the number of keys in this map that are less than the given key. If the key is present, this is its
+   * index. This is an O(log(n)) operation.
+   *
+   * @param k The key to compare with.
+   * @return The number of keys in this map that are less than the given key.
+   */
+  public int rank(final K k) {
+    return (int) (search(k, false) - from);
+  }
+
+  /**
+   * Returns the entry with the least key of this map, if any.
+   *
+   * @return The entry with the least key of this map, or none if it is empty.
+   */
+  public Option<P2<K, V>> min() {
+    return entryOption(from);
+  }
+
+  /**
+   * Returns the entry with the greatest key of this map, if any.
+   *
+   * @return The entry with the greatest key of this map, or none if it is empty.
+   */
+  public Option<P2<K, V>> max() {
+    return entryOption(to - 1);
+  }
+
+  /**
+   * Returns the entry with the greatest key less than the given key, if any. This is an O(log(n)) operation.
+   *
+   * @param k The key to compare with.
+   * @return The entry with the greatest key less than the given key, or none.
+   */
+  public Option<P2<K, V>> lookupLT(final K k) {
+    return entryOption(search(k, false) - 1);
+  }
+
+  /**
+   * Returns the entry with the greatest key less than or equal to the given key, if any. This is an O(log(n))
+   * operation.
+   *
+   * @param k The key to compare with.
+   * @return The entry with the greatest key less than or equal to the given key, or none.
+   */
+  public Option<P2<K, V>> lookupLE(final K k) {
+    return entryOption(search(k, true) - 1);
+  }
+
+  /**
+   * Returns the entry with the least key greater than the given key, if any. This is an O(log(n)) operation.
+   *
+   * @param k The key to compare with.
+   * @return The entry with the least key greater than the given key, or none.
+   */
+  public Option<P2<K, V>> lookupGT(final K k) {
+    return entryOption(search(k, true));
+  }
+
+  /**
+   * Returns the entry with the least key greater than or equal to the given key, if any. This is an O(log(n))
+   * operation.
+   *
+   * @param k The key to compare with.
+   * @return The entry with the least key greater than or equal to the given key, or none.
+   */
+  public Option<P2<K, V>> lookupGE(final K k) {
+    return entryOption(search(k, false));
+  }
+
+  /**
+   * Splits this map at the given key, into the map of the keys less than it, the value of the key if present,
+   * and the map of the keys greater than it. The maps are views of this one. This is an O(log(n)) operation.
+   *
+   * @param k A key at which to split this map.
+   * @return The map of the keys less than the given key, the value of the given key if present, and the map of
+   * the keys greater than the given key.
+   */
+  public P3<MappedTreeMap<K, V>, Option<V>, MappedTreeMap<K, V>> splitLookup(final K k) {
+    final long lt = search(k, false);
+    final long gt = search(k, true);
+    return p(new MappedTreeMap<>(file, from, lt), lt < gt ? some(file.valueAt(lt)) : none(),
+        new MappedTreeMap<>(file, gt, to));
+  }
+
+  /**
+   * Returns a view of the entries of this map whose keys are greater than or equal to the first given key and
+   * less than the second. This is an O(log(n)) operation.
+   *
+   * @param fromKey The least key of the range.
+   * @param toKey   The key after the range.
+   * @return A view of the entries of this map whose keys are in the given range.
+   */
+  public MappedTreeMap<K, V> range(final K fromKey, final K toKey) {
+    final long lo = search(fromKey, false);
+    return new MappedTreeMap<>(file, lo, Math.max(lo, search(toKey, false)));
+  }
+
+  /**
+   * Returns a view of the entries with the given number of smallest keys. This is an O(1) operation.
+   *
+   * @param n The number of entries to take.
+   * @return A view of the entries with the smallest <code>n</code> keys of this map.
+   */
+  public MappedTreeMap<K, V> take(final int n) {
+    return splitAt(n)._1();
+  }
+
+  /**
+   * Returns a view of this map without the entries with the given number of smallest keys. This is an O(1)
+   * operation.
+   *
+   * @param n The number of entries to drop.
+   * @return A view of the entries of this map, except those with the smallest <code>n</code> keys.
+   */
+  public MappedTreeMap<K, V> drop(final int n) {
+    return splitAt(n)._2();
+  }
+
+  /**
+   * Splits this map at the given index in key order. This is an O(1) operation.
+   *
+   * @param i The index at which to split this map.
+   * @return A pair of the view of the entries before the given index and the view of the remaining entries.
+   */
+  public P2<MappedTreeMap<K, V>, MappedTreeMap<K, V>> splitAt(final int i) {
+    final long mid = from + Math.max(0, Math.min(i, size()));
+    return p(new MappedTreeMap<>(file, from, mid), new MappedTreeMap<>(file, mid, to));
+  }
+
+  /**
+   * Performs a left-fold reduction across the entries of this map, in key order.
+   *
+   * @param f The function to apply on each entry of this map.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public <B> B foldLeft(final F2<B, P2<K, V>, B> f, final B b) {
+    B acc = b;
+    for (long i = from; i < to; i++) {
+      acc = f.f(acc, entry(i));
+    }
+    return acc;
+  }
+
+  /**
+   * Maps the given function across the entries of this map and sums the results with the given monoid.
+   *
+   * @param f The function to map across the entries of this map.
+   * @param m The monoid with which to sum the results.
+   * @return The sum of the results of applying the given function to the entries of this map.
+   */
+  public <B> B foldMap(final F<P2<K, V>, B> f, final Monoid<B> m) {
+    return foldLeft((b, kv) -> m.sum(b, f.f(kv)), m.zero());
+  }
+
+  /**
+   * Returns a lazy stream of the entries of this map, in key order, which are decoded as the stream is forced.
+   *
+   * @return A stream of the entries of this map.
+   */
+  public Stream<P2<K, V>> toStream() {
+    return Stream.iteratorStream(iterator());
+  }
+
+  /**
+   * Copies the entries of this map to a tree map on the heap, which is best done on a small range of this map.
+   *
+   * @return A tree map of the entries of this map.
+   */
+  public TreeMap<K, V> toTreeMap() {
+    return TreeMap.fromSortedIterable(file.ord, this);
+  }
+
+  /**
+   * Returns an iterator for the entries of this map, in key order. This method exists to permit the use in a
+   * <code>for</code>-each loop.
+   *
+   * @return An iterator for the entries of this map.
+   */
+  @Override
+  public Iterator<P2<K, V>> iterator() {
+    return new Iterator<P2<K, V>>() {
+      private long i = from;
+
+      @Override
+      public boolean hasNext() {
+        return i < to;
+      }
+
+      @Override
+      public P2<K, V> next() {
+        if (i >= to) {
+          throw new NoSuchElementException();
+        }
+        return entry(i++);
+      }
+    };
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Immutable data structures stored outside of the heap, in memory-mapped files.
+ *
+ * @version %build.number%
+ */
+package fj.data.mapped;
@@ -1,15 +1,22 @@
 package fj.control.db;
 
 import fj.Unit;
+import fj.control.parallel.Strategy;
+import fj.data.Iteratee.IterV;
+import fj.data.List;
 import fj.data.Option;
 import fj.function.Try1;
 import org.apache.commons.dbutils.DbUtils;
 import org.junit.Test;
 
 import java.sql.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class TestDbState {
     @Test
@@ -51,4 +58,102 @@ public class TestDbState {
         };
         assertThat(writer.run(setup.bind(v -> query)).some(), is(TEN));
     }
+
+    @Test
+    public void testPooledBatchAndQueries() throws SQLException {
+        try (PooledConnector pool = PooledConnector.pool(DbState.driverManager("jdbc:h2:mem:pooled;DB_CLOSE_DELAY=-1"), 2)) {
+            DbState writer = DbState.writer(pool);
+            DbState reader = DbState.reader(pool);
+
+            writer.run(DB.db((Try1<Connection, Unit, SQLException>) c -> {
+                try (Statement s = c.createStatement()) {
+                    s.executeUpdate("CREATE TABLE NUMBERS(ID INT PRIMARY KEY, NAME VARCHAR(255))");
+                }
+                return Unit.unit();
+            }));
+            DB<Long> insert = DB.batch("INSERT INTO NUMBERS (ID, NAME) VALUES (?, ?)", List.range(0, 1000), (s, i) -> {
+                s.setInt(1, i);
+                s.setString(2, "N" + i);
+            }, 128);
+            assertThat(writer.run(insert), is(1000L));
+
+            String select = "SELECT ID FROM NUMBERS WHERE ID < ? ORDER BY ID";
+            assertThat(reader.run(DB.enumQuery(select, s -> s.setInt(1, 500), 64, rs -> rs.getInt(1),
+                IterV.<Integer>length())).run(), is(500));
+            assertThat(reader.run(DB.queryStream(select, s -> s.setInt(1, 1000), 64, rs -> rs.getInt(1),
+                ids -> ids.take(3).toList())), is(List.list(0, 1, 2)));
+
+            ExecutorService es = Executors.newFixedThreadPool(4);
+            List<Integer> counts = reader.parTraverse(List.range(0, 10), n -> DB.enumQuery(select, s -> s.setInt(1, n * 100),
+                64, rs -> rs.getInt(1), IterV.<Integer>length()).map(IterV::run), Strategy.executorStrategy(es));
+            es.shutdown();
+            assertThat(counts, is(List.range(0, 10).map(n -> n * 100)));
+            assertThat(pool.idle() <= 2, is(true));
+
+            // the statement prepared by a transaction is reused by the next one on the same connection
+            PreparedStatement first = reader.run(DB.db((Try1<Connection, PreparedStatement, SQLException>) c -> {
+                try (PreparedStatement s = c.prepareStatement(select)) {
+                    return s.unwrap(PreparedStatement.class);
+                }
+            }));
+            PreparedStatement second = reader.run(DB.db((Try1<Connection, PreparedStatement, SQLException>) c -> {
+                try (PreparedStatement s = c.prepareStatement(select)) {
+                    return s.unwrap(PreparedStatement.class);
+                }
+            }));
+            assertThat(first == second, is(true));
+        }
+    }
+
+    @Test
+    public void testPoolResetsConnectionsAndStatements() throws SQLException {
+        try (PooledConnector pool = PooledConnector.pool(DbState.driverManager("jdbc:h2:mem:"), 1)) {
+            DbState reader = DbState.reader(pool);
+            String select = "SELECT 1";
+            int[] defaults = reader.run(DB.db((Try1<Connection, int[], SQLException>) c -> {
+                int isolation = c.getTransactionIsolation();
+                c.setReadOnly(true);
+                c.setTransactionIsolation(isolation == Connection.TRANSACTION_SERIALIZABLE
+                    ? Connection.TRANSACTION_READ_COMMITTED : Connection.TRANSACTION_SERIALIZABLE);
+                try (PreparedStatement s = c.prepareStatement(select)) {
+                    int fetchSize = s.getFetchSize();
+                    s.setFetchSize(fetchSize + 7);
+                    s.setMaxRows(3);
+                    s.setQueryTimeout(5);
+                    return new int[]{isolation, fetchSize};
+                }
+            }));
+            reader.run(DB.db((Try1<Connection, Unit, SQLException>) c -> {
+                assertThat(c.isReadOnly(), is(false));
+                assertThat(c.getTransactionIsolation(), is(defaults[0]));
+                try (PreparedStatement s = c.prepareStatement(select)) {
+                    assertThat(s.getFetchSize(), is(defaults[1]));
+                    assertThat(s.getMaxRows(), is(0));
+                    assertThat(s.getQueryTimeout(), is(0));
+                }
+                return Unit.unit();
+            }));
+            Connection c = pool.connect();
+            assertThat(c.getAutoCommit(), is(true));
+            c.close();
+        }
+    }
+
+    @Test
+    public void testPoolIsBounded() throws SQLException {
+        try (PooledConnector pool = PooledConnector.pool(DbState.driverManager("jdbc:h2:mem:"), 1, 0, TimeUnit.MINUTES.toMillis(10),
+            50, TimeUnit.MILLISECONDS)) {
+            Connection c = pool.connect();
+            try {
+                pool.connect();
+                fail("SQLTransientConnectionException expected");
+            } catch (SQLTransientConnectionException e) {
+                assertThat(pool.idle(), is(0));
+            }
+            c.close();
+            assertThat(c.isClosed(), is(true));
+            assertThat(pool.idle(), is(1));
+            pool.connect().close();
+        }
+    }
 }
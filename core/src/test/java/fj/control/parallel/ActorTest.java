@@ -0,0 +1,146 @@
+package fj.control.parallel;
+
+import fj.Unit;
+import fj.data.List;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fj.control.parallel.Actor.Overflow.BLOCK;
+import static fj.control.parallel.Actor.Overflow.DROP;
+import static fj.control.parallel.Actor.Overflow.FAIL;
+import static fj.control.parallel.Actor.batchActor;
+import static fj.control.parallel.Actor.boundedActor;
+import static fj.control.parallel.Strategy.executorStrategy;
+import static fj.control.parallel.Strategy.seqStrategy;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ActorTest {
+
+    @Test
+    public void testBoundedActorKeepsOrder() {
+        final List.Buffer<Integer> received = new List.Buffer<>();
+        final Actor<Integer> a = boundedActor(seqStrategy(), 4, FAIL, 2, received::snoc);
+        List.range(0, 100).foreachDoEffect(a::act);
+        assertThat(received.toList(), is(List.range(0, 100)));
+    }
+
+    @Test(timeout = 10000)
+    public void testBoundedActorBlocksProducers() throws InterruptedException {
+        final ExecutorService es = Executors.newFixedThreadPool(2);
+        final Strategy<Unit> s = executorStrategy(es);
+        final AtomicInteger sum = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(4 * 10000);
+        final Actor<Integer> a = boundedActor(s, 16, BLOCK, 8, i -> {
+            sum.addAndGet(i);
+            done.countDown();
+        });
+        final Thread[] ts = new Thread[4];
+        for (int t = 0; t < ts.length; t++) {
+            ts[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    a.act(1);
+                }
+            });
+            ts[t].start();
+        }
+        done.await();
+        assertThat(sum.get(), is(4 * 10000));
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testBlockedProducersAreSignalled() throws InterruptedException {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        final Actor<Integer> a = batchActor(executorStrategy(es), 1, BLOCK, 4, is -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+            count.addAndGet(is.length());
+        });
+        final Thread[] ts = new Thread[3];
+        for (int t = 0; t < ts.length; t++) {
+            ts[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    a.act(i);
+                }
+            });
+            ts[t].start();
+        }
+        // the producers park without a timeout until the actor makes room
+        for (final Thread t : ts) {
+            while (t.getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+        }
+        gate.countDown();
+        for (final Thread t : ts) {
+            t.join();
+        }
+        es.shutdown();
+        es.awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(count.get(), is(300));
+    }
+
+    @Test
+    public void testBoundedActorDrops() throws InterruptedException {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        final Actor<Integer> a = boundedActor(executorStrategy(es), 4, DROP, 1, i -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+            count.incrementAndGet();
+        });
+        for (int i = 0; i < 100; i++) {
+            a.act(i);
+        }
+        gate.countDown();
+        es.shutdown();
+        es.awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(count.get() <= 5, is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBoundedActorFails() {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Actor<Integer> a = boundedActor(executorStrategy(es), 2, FAIL, 1, i -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+        });
+        try {
+            for (int i = 0; i < 100; i++) {
+                a.act(i);
+            }
+        } finally {
+            gate.countDown();
+            es.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchActor() {
+        final List.Buffer<List<Integer>> batches = new List.Buffer<>();
+        final Actor<Integer> a = batchActor(seqStrategy(), 8, FAIL, 3, batches::snoc);
+        List.range(0, 10).foreachDoEffect(a::act);
+        final List<List<Integer>> bs = batches.toList();
+        assertThat(List.join(bs), is(List.range(0, 10)));
+        assertThat(bs.forall(b -> b.length() <= 3), is(true));
+    }
+}
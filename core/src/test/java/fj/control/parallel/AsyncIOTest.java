@@ -0,0 +1,192 @@
+package fj.control.parallel;
+
+import fj.Unit;
+import fj.data.Either;
+import fj.data.List;
+import fj.data.Seq;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fj.control.parallel.Strategy.executorStrategy;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AsyncIOTest {
+
+  private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+    final Thread t = new Thread(r);
+    t.setDaemon(true);
+    return t;
+  });
+
+  // Completes with the given value after the given delay, through a callback, without holding a thread meanwhile
+  private static <A> AsyncIO<A> delayed(final A a, final long millis) {
+    return AsyncIO.async(k -> timer.schedule(() -> k.f(Either.right(a)), millis, TimeUnit.MILLISECONDS));
+  }
+
+  @Test(timeout = 10000)
+  public void testAsyncOnOneThread() {
+    // a hundred concurrent calls of 100ms complete together on a single thread
+    final ExecutorService es = Executors.newSingleThreadExecutor();
+    final Strategy<Unit> s = executorStrategy(es);
+    final long start = System.nanoTime();
+    final List<Integer> r = AsyncIO.parTraverse(List.range(0, 100), i -> delayed(i, 100).map(n -> n * 2))
+        .toPromise(s).claim();
+    assertThat(r, is(List.range(0, 100).map(i -> i * 2)));
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000, is(true));
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testBindAndSequence() throws IOException {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    final AsyncIO<Integer> sum = delayed(1, 10).bind(a -> delayed(2, 10).map(b -> a + b));
+    assertThat(sum.toIO(s).run(), is(3));
+    assertThat(AsyncIO.parSequence(Seq.seq(AsyncIO.pure(1), delayed(2, 20), AsyncIO.io(() -> 3))).toPromise(s).claim(),
+        is(Seq.seq(1, 2, 3)));
+    assertThat(AsyncIO.parSequence(List.<AsyncIO<Integer>>nil()).toPromise(s).claim(), is(List.nil()));
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testFailure() {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    final AsyncIO<Integer> failing = AsyncIO.io(() -> {
+      throw new IOException("boom");
+    });
+    try {
+      failing.toIO(s).run();
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertThat(e.getMessage(), is("boom"));
+    }
+    final Either<Throwable, Integer> r = failing.map(i -> i + 1).attempt().toPromise(s).claim();
+    assertThat(r.left().value().getCause().getMessage(), is("boom"));
+    final AsyncIO<List<Integer>> all = AsyncIO.parSequence(List.list(delayed(1, 5000), AsyncIO.fail(new IllegalStateException())));
+    assertThat(all.attempt().toPromise(s).claim().left().value() instanceof IllegalStateException, is(true));
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testRaceAndTimeout() {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    assertThat(AsyncIO.race(delayed("slow", 2000), delayed("fast", 10)).toPromise(s).claim(), is("fast"));
+    final AtomicBoolean interrupted = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(1);
+    final AsyncIO<String> sleepy = AsyncIO.io(() -> {
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      done.countDown();
+      return "late";
+    });
+    final Either<Throwable, String> r = sleepy.timeout(50, TimeUnit.MILLISECONDS).attempt().toPromise(s).claim();
+    assertThat(r.left().value() instanceof TimeoutException, is(true));
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      throw new Error(e);
+    }
+    assertThat(interrupted.get(), is(true));
+    assertThat(delayed("ok", 10).timeout(5, TimeUnit.SECONDS).toPromise(s).claim(), is("ok"));
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testCancelThroughMap() throws InterruptedException {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    final AtomicBoolean interrupted = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(1);
+    final AsyncIO<String> sleepy = AsyncIO.io(() -> {
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      done.countDown();
+      return "late";
+    });
+    final Either<Throwable, Integer> r = sleepy.map(String::length).timeout(50, TimeUnit.MILLISECONDS).attempt()
+        .toPromise(s).claim();
+    assertThat(r.left().value() instanceof TimeoutException, is(true));
+    done.await();
+    assertThat(interrupted.get(), is(true));
+
+    interrupted.set(false);
+    final CountDownLatch started2 = new CountDownLatch(1);
+    final CountDownLatch done2 = new CountDownLatch(1);
+    final Promise<Integer> p = AsyncIO.io(() -> {
+      started2.countDown();
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      done2.countDown();
+      return 1;
+    }).map(i -> i + 1).toPromise(s);
+    started2.await();
+    p.cancel();
+    done2.await();
+    assertThat(interrupted.get(), is(true));
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testToIOThrowsCheckedIOException() {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    final AsyncIO<Integer> failing = AsyncIO.async(k -> k.f(Either.left(new IOException("closed"))));
+    try {
+      failing.map(i -> i + 1).toIO(s).run();
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertThat(e.getMessage(), is("closed"));
+    }
+    es.shutdown();
+  }
+
+  @Test(timeout = 10000)
+  public void testCompletableFuture() throws Exception {
+    final ExecutorService es = Executors.newFixedThreadPool(2);
+    final Strategy<Unit> s = executorStrategy(es);
+    final AsyncIO<Integer> fromFuture = AsyncIO.fromCompletableFuture(() -> CompletableFuture.supplyAsync(() -> 42, es));
+    assertThat(fromFuture.map(i -> i + 1).toCompletableFuture(s).get(), is(43));
+    final CompletableFuture<Integer> failed = AsyncIO.<Integer>fail(new IllegalArgumentException()).toCompletableFuture(s);
+    try {
+      failed.get();
+      fail("ExecutionException expected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause() instanceof IllegalArgumentException, is(true));
+    }
+    final Promise<String> p = delayed("never", 5000).toPromise(s);
+    final AsyncIO<String> fromPromise = AsyncIO.fromPromise(() -> p);
+    final Promise<String> q = fromPromise.toPromise(s);
+    p.cancel();
+    try {
+      q.claim();
+      fail("CancellationException expected");
+    } catch (CancellationException e) {
+      assertThat(q.isCancelled(), is(true));
+    }
+    es.shutdown();
+  }
+}
@@ -0,0 +1,268 @@
+package fj.control.parallel;
+
+import fj.P;
+import fj.Unit;
+import fj.data.List;
+import fj.data.Option;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fj.control.parallel.Promise.promise;
+import static fj.control.parallel.Strategy.executorStrategy;
+import static fj.control.parallel.Strategy.seqStrategy;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class PromiseTest {
+
+    @Test
+    public void testSeqStrategyIsFulfilledImmediately() {
+        final Promise<Integer> p = promise(seqStrategy(), P.p(1)).fmap(x -> x + 1);
+        assertThat(p.isFulfilled(), is(true));
+        assertThat(p.claim(), is(2));
+    }
+
+    @Test
+    public void testBindAndSequence() {
+        final ExecutorService es = Executors.newFixedThreadPool(4);
+        final Strategy<Unit> s = executorStrategy(es);
+        final List<Promise<Integer>> ps = List.range(0, 1000).map(i -> promise(s, P.p(i)).bind(j -> promise(s, P.p(j * 2))));
+        assertThat(Promise.sequence(s, ps).claim(), is(List.range(0, 1000).map(i -> i * 2)));
+        es.shutdown();
+    }
+
+    @Test
+    public void testNullValue() {
+        final Promise<String> p = promise(seqStrategy(), P.p((String) null));
+        assertThat(p.isFulfilled(), is(true));
+        assertThat(p.claim() == null, is(true));
+        assertThat(p.claim(1, TimeUnit.MILLISECONDS).isSome(), is(true));
+    }
+
+    @Test
+    public void testClaimTimeout() throws InterruptedException {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Promise<Integer> p = promise(executorStrategy(es), P.lazy(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+            return 42;
+        }));
+        assertThat(p.claim(10, TimeUnit.MILLISECONDS), is(Option.<Integer>none()));
+        assertThat(p.isFulfilled(), is(false));
+        gate.countDown();
+        assertThat(p.claim(), is(42));
+        assertThat(p.claim(10, TimeUnit.MILLISECONDS), is(Option.some(42)));
+        es.shutdown();
+    }
+
+    @Test
+    public void testManyWaiters() throws InterruptedException {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Promise<Integer> p = promise(executorStrategy(es), P.lazy(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+            return 7;
+        }));
+        final AtomicInteger sum = new AtomicInteger();
+        final Thread[] ts = new Thread[8];
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = new Thread(() -> sum.addAndGet(p.claim()));
+            ts[i].start();
+        }
+        gate.countDown();
+        for (final Thread t : ts) {
+            t.join();
+        }
+        assertThat(sum.get(), is(7 * ts.length));
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testTimedOutWaitersAreUnlinked() throws Exception {
+        final Promise<Integer> p = Promise.pending(seqStrategy());
+        for (int i = 0; i < 1000; i++) {
+            assertThat(p.claim(1, TimeUnit.MICROSECONDS), is(Option.<Integer>none()));
+        }
+        final Field state = Promise.class.getDeclaredField("state");
+        state.setAccessible(true);
+        assertThat(state.get(p) == null, is(true));
+        p.succeed(1);
+        assertThat(p.claim(), is(1));
+    }
+
+    @Test(timeout = 10000)
+    public void testThrowingCallbackDoesNotStrandWaiters() throws InterruptedException {
+        final Promise<Integer> p = Promise.pending(seqStrategy());
+        final AtomicInteger seen = new AtomicInteger();
+        p.onResult(r -> {
+            throw new IllegalStateException();
+        });
+        p.onResult(r -> seen.incrementAndGet());
+        final Thread waiter = new Thread(() -> seen.addAndGet(p.claim()));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        try {
+            p.succeed(10);
+        } catch (IllegalStateException e) {
+            // rethrown once every waiter has been run
+        }
+        waiter.join();
+        assertThat(seen.get(), is(11));
+    }
+
+    private static <A> A sleep(final long millis, final A a) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new Error(e);
+        }
+        return a;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailure() {
+        final Promise<Integer> p = promise(seqStrategy(), P.lazy(() -> {
+            throw new IllegalStateException();
+        }));
+        assertThat(p.isDone(), is(true));
+        assertThat(p.isFulfilled(), is(false));
+        p.fmap(x -> x + 1).claim();
+    }
+
+    @Test(timeout = 10000)
+    public void testCancelInterruptsAndPropagates() throws InterruptedException {
+        final ExecutorService es = Executors.newFixedThreadPool(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Promise<Integer> p = promise(executorStrategy(es), P.lazy(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return 1;
+        }));
+        final Promise<Integer> q = p.fmap(x -> x + 1);
+        started.await();
+        assertThat(p.cancel(), is(true));
+        assertThat(p.cancel(), is(false));
+        interrupted.await();
+        assertThat(p.isCancelled(), is(true));
+        assertThat(q.isCancelled(), is(true));
+        try {
+            q.claim();
+            assertThat("claim should throw", false, is(true));
+        } catch (CancellationException e) {
+            // expected
+        }
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testCancelSkipsPendingComputation() throws InterruptedException {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final CountDownLatch gate = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+        promise(executorStrategy(es), P.lazy(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+            return 0;
+        }));
+        final Promise<Integer> p = promise(executorStrategy(es), P.lazy(runs::incrementAndGet));
+        p.cancel();
+        gate.countDown();
+        es.shutdown();
+        es.awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(runs.get(), is(0));
+    }
+
+    @Test(timeout = 10000)
+    public void testRace() {
+        final ExecutorService es = Executors.newFixedThreadPool(2);
+        final Strategy<Unit> s = executorStrategy(es);
+        final Promise<String> slow = promise(s, P.lazy(() -> sleep(60000, "slow")));
+        final Promise<String> fast = promise(s, P.lazy(() -> sleep(10, "fast")));
+        assertThat(Promise.race(slow, fast).claim(), is("fast"));
+        assertThat(slow.isCancelled(), is(true));
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testCancelAfter() {
+        final ExecutorService es = Executors.newSingleThreadExecutor();
+        final Promise<String> p = promise(executorStrategy(es), P.lazy(() -> sleep(60000, "slow"))).cancelAfter(10, TimeUnit.MILLISECONDS);
+        try {
+            p.claim();
+            assertThat("claim should throw", false, is(true));
+        } catch (CancellationException e) {
+            // expected
+        }
+        assertThat(p.isCancelled(), is(true));
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testScopeCancelsOnFailure() {
+        final ExecutorService es = Executors.newFixedThreadPool(4);
+        final AtomicInteger finished = new AtomicInteger();
+        try (Scope scope = Scope.scope()) {
+            final ParModule m = ParModule.parModule(executorStrategy(es)).in(scope);
+            final Promise<List<Integer>> p = m.parMap(List.range(0, 4), i -> {
+                if (i == 0) {
+                    throw new IllegalArgumentException();
+                }
+                return sleep(60000, 0) + finished.incrementAndGet();
+            });
+            try {
+                p.claim();
+            } catch (IllegalArgumentException | CancellationException e) {
+                // expected
+            }
+            assertThat(scope.isCancelled(), is(true));
+            assertThat(scope.failure().isSome(), is(true));
+        }
+        assertThat(finished.get(), is(0));
+        es.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testScopeDeadlineCancelsNestedWork() {
+        final ExecutorService es = Executors.newCachedThreadPool();
+        final AtomicInteger finished = new AtomicInteger();
+        try (Scope scope = Scope.scope(20, TimeUnit.MILLISECONDS)) {
+            final ParModule m = ParModule.parModule(executorStrategy(es)).in(scope);
+            final Promise<List<Integer>> p = m.parMap(List.range(0, 4), i ->
+                m.parMap(List.range(0, 4), j -> sleep(60000, 0) + finished.incrementAndGet()).claim().length());
+            try {
+                p.claim();
+                assertThat("claim should throw", false, is(true));
+            } catch (CancellationException e) {
+                // expected
+            }
+            assertThat(scope.isCancelled(), is(true));
+        }
+        assertThat(finished.get(), is(0));
+        es.shutdown();
+    }
+}
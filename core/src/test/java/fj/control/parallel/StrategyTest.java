@@ -1,18 +1,22 @@
 package fj.control.parallel;
 
+import fj.Monoid;
 import fj.Ord;
 import fj.P;
 import fj.P1;
+import fj.P2;
 import fj.Unit;
 import fj.data.Enumerator;
 import fj.data.Java;
 import fj.data.List;
+import fj.data.Seq;
 import fj.data.Stream;
 import org.junit.Test;
 
 import java.util.concurrent.*;
 
 import static fj.control.parallel.Callables.callable;
+import static fj.control.parallel.ParModule.parModule;
 import static fj.control.parallel.Strategy.*;
 import static fj.data.Stream.range;
 import static org.hamcrest.core.Is.is;
@@ -66,4 +70,68 @@ public class StrategyTest {
         final Strategy<Callable<Integer>> cs = callableStrategy(s);
         assertThat(callableStrategy(s).par(P.p(callable(1)))._1().call(), is(1));
     }
+
+    @Test
+    public void testStrategyForkJoin() {
+        final Stream<Integer> s = range(Enumerator.intEnumerator, 99, -99, -1);
+        assertThat(s.sort(Ord.intOrd, forkJoinStrategy()), is(s.sort(Ord.intOrd)));
+    }
+
+    @Test
+    public void testStrategyVirtualThread() {
+        final Stream<Integer> s = range(Enumerator.intEnumerator, 99, -99, -1);
+        assertThat(s.sort(Ord.intOrd, virtualThreadStrategy()), is(s.sort(Ord.intOrd)));
+    }
+
+    @Test(timeout = 10000)
+    public void testNestedParMapForkJoin() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final Strategy<Integer> s = forkJoinStrategy(pool);
+        final List<Integer> sums = s.parMap1(i -> s.parMap1(j -> i * j, List.range(0, 20)).foldLeft1(Integer::sum), List.range(0, 20));
+        assertThat(sums, is(List.range(0, 20).map(i -> i * 190)));
+        pool.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testNestedParModuleForkJoin() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final ParModule m = parModule(forkJoinStrategy(pool));
+        final List<Integer> sums = m.parMap(List.range(0, 20), i -> m.parMap(List.range(0, 20), j -> i * j).claim().foldLeft1(Integer::sum)).claim();
+        assertThat(sums, is(List.range(0, 20).map(i -> i * 190)));
+        pool.shutdown();
+    }
+
+    @Test
+    public void testParFoldMapSplittable() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final ParModule m = parModule(forkJoinStrategy(pool));
+        final List<Integer> l = List.range(0, 10000);
+        final long expected = 10000L * 9999L;
+        assertThat(m.parFoldMap(l, i -> 2L * i, Monoid.longAdditionMonoid).claim(), is(expected));
+        assertThat(m.parFoldMap(l.toArray(), i -> 2L * i, Monoid.longAdditionMonoid).claim(), is(expected));
+        assertThat(m.parFoldMap(Seq.fromJavaList(l.toJavaList()), i -> 2L * i, Monoid.longAdditionMonoid).claim(), is(expected));
+        assertThat(m.parFoldMap(0, 10000, i -> 2L * i, Monoid.longAdditionMonoid).claim(), is(expected));
+        assertThat(m.parFoldMap(5, 5, i -> 2L * i, Monoid.longAdditionMonoid).claim(), is(0L));
+        assertThat(m.parFoldMap(l.map(String::valueOf), s -> s, Monoid.stringMonoid).claim(),
+            is(l.foldLeft((acc, i) -> acc + i, "")));
+        pool.shutdown();
+    }
+
+    @Test
+    public void testParSort() {
+        final ExecutorService es = Executors.newFixedThreadPool(3);
+        final Strategy<Unit> s = executorStrategy(es);
+        final java.util.Random r = new java.util.Random(42);
+        final List<Integer> l = List.range(0, 100000).map(i -> r.nextInt(1000));
+        final List<Integer> sorted = l.sort(Ord.intOrd);
+        assertThat(l.sort(Ord.intOrd, s), is(sorted));
+        assertThat(l.toArray().sort(Ord.intOrd, s).toList(), is(sorted));
+        assertThat(Seq.fromJavaList(l.toJavaList()).sort(Ord.intOrd, s).toList(), is(sorted));
+        assertThat(List.<Integer>nil().sort(Ord.intOrd, s), is(List.nil()));
+        // stable: equal keys keep their order
+        final List<P2<Integer, Integer>> pairs = l.zipIndex();
+        final Ord<P2<Integer, Integer>> byKey = Ord.intOrd.contramap(P2.__1());
+        assertThat(pairs.sort(byKey, s), is(pairs.sort(byKey)));
+        es.shutdown();
+    }
 }
@@ -0,0 +1,70 @@
+package fj.data;
+
+import fj.P;
+import org.junit.Test;
+
+import static fj.data.ChunkedStream.arrayChunkedStream;
+import static fj.data.ChunkedStream.iterableChunkedStream;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChunkedStreamTest {
+
+  @Test
+  public void rangeAndFold() {
+    assertThat(ChunkedStream.range(0, 10000).foldLeft((acc, i) -> acc + i, 0L), equalTo(49995000L));
+    assertThat(ChunkedStream.range(0, 1000).toList(), equalTo(List.range(0, 1000)));
+    assertThat(ChunkedStream.range(5, 5).isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void mapKeepsChunks() {
+    final ChunkedStream<Integer> s = iterableChunkedStream(List.range(0, 100), 32);
+    assertThat(s.map(i -> i * 2).chunks().map(Array::length).toList(), equalTo(List.list(32, 32, 32, 4)));
+    assertThat(s.map(i -> i * 2).toList(), equalTo(List.range(0, 100).map(i -> i * 2)));
+  }
+
+  @Test
+  public void filterSkipsEmptyChunks() {
+    final ChunkedStream<Integer> s = iterableChunkedStream(List.range(0, 100), 10).filter(i -> i >= 50 && i % 2 == 0);
+    assertThat(s.toList(), equalTo(List.range(0, 100).filter(i -> i >= 50 && i % 2 == 0)));
+    assertThat(s.chunks().map(Array::length).toList(), equalTo(List.list(5, 5, 5, 5, 5)));
+  }
+
+  @Test
+  public void infiniteStreams() {
+    assertThat(ChunkedStream.range(0).filter(i -> i % 1000 == 0).take(3).toList(), equalTo(List.list(0, 1000, 2000)));
+    assertThat(ChunkedStream.iterate(i -> i * 2, 1).drop(10).head(), equalTo(1024));
+  }
+
+  @Test
+  public void takeDropTail() {
+    final ChunkedStream<Integer> s = iterableChunkedStream(List.range(0, 100), 7);
+    assertThat(s.take(20).toList(), equalTo(List.range(0, 20)));
+    assertThat(s.drop(20).toList(), equalTo(List.range(20, 100)));
+    assertThat(s.drop(200).isEmpty(), equalTo(true));
+    assertThat(s.tail().tail().head(), equalTo(2));
+    assertThat(s.length(), equalTo(100));
+  }
+
+  @Test
+  public void bindZipAppend() {
+    final ChunkedStream<Integer> s = arrayChunkedStream(1, 2, 3);
+    assertThat(s.bind(i -> ChunkedStream.range(0, i)).toList(), equalTo(List.list(0, 0, 1, 0, 1, 2)));
+    assertThat(s.bind(i -> ChunkedStream.<Integer>nil()).isEmpty(), equalTo(true));
+    final ChunkedStream<Integer> t = iterableChunkedStream(List.range(10, 20), 4);
+    assertThat(t.zip(iterableChunkedStream(List.range(0, 8), 3)).toList(),
+        equalTo(List.range(10, 18).zip(List.range(0, 8))));
+    assertThat(s.append(t).toList(), equalTo(List.list(1, 2, 3).append(List.range(10, 20))));
+    assertThat(List.iterableList(s.append(t)), equalTo(s.append(t).toList()));
+    assertThat(s.toStream().toList(), equalTo(List.list(1, 2, 3)));
+    assertThat(ChunkedStream.fromStream(Stream.range(0, 600)).toArray().toList(), equalTo(List.range(0, 600)));
+    assertThat(s.zip(s).head(), equalTo(P.p(1, 1)));
+  }
+
+  @Test
+  public void memoisesIterator() {
+    final ChunkedStream<Integer> s = iterableChunkedStream(List.range(0, 50), 8);
+    assertThat(s.toList(), equalTo(s.toList()));
+  }
+}
@@ -0,0 +1,67 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.DoubleStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DoubleArrayTest {
+
+  @Test
+  public void operations() {
+    DoubleArray as = DoubleArray.array(0.5, 1.5, 2.5);
+    assertThat(as.length(), equalTo(3));
+    assertThat(as.get(1), equalTo(1.5));
+    assertThat(as.sum(), equalTo(4.5));
+    assertThat(as.map(x -> x * 2.0), equalTo(DoubleArray.array(1.0, 3.0, 5.0)));
+    assertThat(as.mapToObj(Math::round), equalTo(Array.array(1L, 2L, 3L)));
+    assertThat(as.filter(x -> x > 1.0), equalTo(DoubleArray.array(1.5, 2.5)));
+    assertThat(as.foldLeft(Math::max, Double.NEGATIVE_INFINITY), equalTo(2.5));
+    assertThat(as.foldLeft((acc, x) -> acc - x, 0.0), equalTo(-4.5));
+    assertThat(DoubleArray.array(1.0, 2.0, 3.0).foldRight((x, acc) -> x - acc, 0.0), equalTo(2.0));
+    assertThat(DoubleArray.array(2.0, 0.0, 1.0).sort(), equalTo(DoubleArray.array(0.0, 1.0, 2.0)));
+    assertThat(as.reverse().append(DoubleArray.array(9.0)), equalTo(DoubleArray.array(2.5, 1.5, 0.5, 9.0)));
+    assertThat(as.toArray(), equalTo(Array.array(0.5, 1.5, 2.5)));
+    assertThat(as.toDoubleList(), equalTo(DoubleList.list(0.5, 1.5, 2.5)));
+  }
+
+  @Test
+  public void boundaries() {
+    assertThat(DoubleArray.empty().isEmpty(), equalTo(true));
+    assertThat(DoubleArray.empty().sum(), equalTo(0.0));
+    assertThat(DoubleArray.empty().foldRight((x, acc) -> x + acc, 7.0), equalTo(7.0));
+    assertThat(DoubleArray.empty().reverse().isEmpty(), equalTo(true));
+    // elements are compared by their bits, as Double.equals does
+    assertThat(DoubleArray.array(Double.NaN), equalTo(DoubleArray.array(Double.NaN)));
+    assertThat(DoubleArray.array(0.0).equals(DoubleArray.array(-0.0)), equalTo(false));
+    assertThat(DoubleArray.array(Double.NaN, 1.0, Double.NEGATIVE_INFINITY, -0.0, 0.0).sort(),
+        equalTo(DoubleArray.array(Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.0, Double.NaN)));
+    assertThat(DoubleArray.array(Double.MAX_VALUE, Double.MAX_VALUE).sum(), equalTo(Double.POSITIVE_INFINITY));
+    DoubleArray as = DoubleArray.array(1.0, 2.0);
+    assertThat(as.get(as.length() - 1), equalTo(2.0));
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void getOutOfBounds() {
+    DoubleArray.array(1.0, 2.0).get(-1);
+  }
+
+  @Test
+  public void conversions() {
+    double[] xs = {1.0, 2.0, 3.0};
+    DoubleArray as = DoubleArray.array(xs);
+    double[] copy = as.toJavaArray();
+    copy[0] = 7.0;
+    assertThat(as.get(0), equalTo(1.0));
+    assertThat(as.stream().sum(), equalTo(6.0));
+    assertThat(DoubleArray.fromStream(DoubleStream.of(1.0, 2.0, 3.0)), equalTo(as));
+    double sum = 0.0;
+    for (final double x : as) {
+      sum += x;
+    }
+    assertThat(sum, equalTo(6.0));
+  }
+
+}
@@ -0,0 +1,74 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.DoubleStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DoubleListTest {
+
+  @Test
+  public void construction() {
+    assertThat(DoubleList.nil().cons(2.0).cons(1.0), equalTo(DoubleList.list(1.0, 2.0)));
+    assertThat(DoubleList.fromArray(new double[]{1.0, 2.0, 3.0, 4.0}, 1, 3), equalTo(DoubleList.list(2.0, 3.0)));
+    assertThat(DoubleList.fromStream(DoubleStream.of(0.5, 1.5)), equalTo(DoubleList.list(0.5, 1.5)));
+    assertThat(DoubleList.list(1.0, 2.5).toString(), equalTo("DoubleList(1.0,2.5)"));
+    assertThat(DoubleList.list().isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void operations() {
+    DoubleList xs = DoubleList.list(0.5, 1.5, 2.5, 3.5);
+    assertThat(xs.length(), equalTo(4));
+    assertThat(xs.sum(), equalTo(8.0));
+    assertThat(xs.map(x -> x * 2.0), equalTo(DoubleList.list(1.0, 3.0, 5.0, 7.0)));
+    assertThat(xs.mapToObj(Math::round), equalTo(List.list(1L, 2L, 3L, 4L)));
+    assertThat(xs.filter(x -> x > 2.0), equalTo(DoubleList.list(2.5, 3.5)));
+    assertThat(xs.foldLeft((acc, x) -> acc - x, 0.0), equalTo(-8.0));
+    assertThat(DoubleList.list(1.0, 2.0, 3.0).foldRight((x, acc) -> x - acc, 0.0), equalTo(2.0));
+    assertThat(DoubleList.list(2.5, 0.5, 1.5).sort(), equalTo(DoubleList.list(0.5, 1.5, 2.5)));
+    assertThat(DoubleList.list(1.0, 2.0).reverse(), equalTo(DoubleList.list(2.0, 1.0)));
+    assertThat(DoubleList.list(1.0).append(DoubleList.list(2.0)), equalTo(DoubleList.list(1.0, 2.0)));
+    assertThat(xs.head(), equalTo(0.5));
+    assertThat(xs.tail().head(), equalTo(1.5));
+    assertThat(xs.toList(), equalTo(List.list(0.5, 1.5, 2.5, 3.5)));
+    assertThat(xs.stream().sum(), equalTo(8.0));
+    assertThat(xs.toDoubleArray(), equalTo(DoubleArray.array(0.5, 1.5, 2.5, 3.5)));
+  }
+
+  @Test
+  public void boundaries() {
+    // elements are compared by their bits, as Double.equals does
+    assertThat(DoubleList.list(Double.NaN), equalTo(DoubleList.list(Double.NaN)));
+    assertThat(DoubleList.list(0.0).equals(DoubleList.list(-0.0)), equalTo(false));
+    assertThat(DoubleList.list(Double.NaN).hashCode(), equalTo(DoubleList.list(Double.NaN).hashCode()));
+    assertThat(DoubleList.list(Double.NaN, 1.0, Double.NEGATIVE_INFINITY, -0.0, 0.0).sort(),
+        equalTo(DoubleList.list(Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.0, Double.NaN)));
+    assertThat(DoubleList.list(Double.MAX_VALUE, Double.MAX_VALUE).sum(), equalTo(Double.POSITIVE_INFINITY));
+    assertThat(DoubleList.nil().sum(), equalTo(0.0));
+    assertThat(DoubleList.nil().foldRight((x, acc) -> x + acc, 7.0), equalTo(7.0));
+    assertThat(DoubleList.list(1.0).equals(DoubleList.list(1.0, 2.0)), equalTo(false));
+  }
+
+  @Test
+  public void largeListsUseConstantStack() {
+    DoubleList xs = DoubleList.fromStream(DoubleStream.iterate(0.0, x -> x + 1.0).limit(1000000));
+    assertThat(xs.map(x -> 1.0).sum(), equalTo(1000000.0));
+    assertThat(xs.reverse().head(), equalTo(999999.0));
+    assertThat(xs.foldRight((x, acc) -> acc + 1.0, 0.0), equalTo(1000000.0));
+    assertThat(xs.equals(xs.toDoubleArray().toDoubleList()), equalTo(true));
+  }
+
+  @Test(expected = Error.class)
+  public void headOnEmptyList() {
+    DoubleList.nil().head();
+  }
+
+  @Test(expected = Error.class)
+  public void tailOnEmptyList() {
+    DoubleList.nil().tail();
+  }
+
+}
@@ -0,0 +1,72 @@
+package fj.data;
+
+import fj.Equal;
+import fj.Hash;
+import fj.Ord;
+import org.junit.Test;
+
+import static fj.P.p;
+import static fj.data.Option.none;
+import static fj.data.Option.some;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class HashMapTest {
+
+  // Every key collides, so each lookup walks the probe sequence.
+  private static final Hash<Integer> constantHash = Hash.hash(i -> 7);
+
+  @Test
+  public void setGetDelete() {
+    HashMap<Integer, String> m = HashMap.hashMap(Equal.intEqual, Hash.intHash);
+    for (int i = 0; i < 1000; i++) {
+      m.set(i, Integer.toString(i));
+    }
+    assertThat(m.size(), equalTo(1000));
+    assertThat(m.get(500), equalTo(some("500")));
+    assertThat(m.getDelete(500), equalTo(some("500")));
+    assertThat(m.getDelete(500), equalTo(none()));
+    assertThat(m.contains(500), equalTo(false));
+    assertThat(m.size(), equalTo(999));
+    m.set(1, "one");
+    assertThat(m.get(1), equalTo(some("one")));
+    assertThat(m.size(), equalTo(999));
+  }
+
+  @Test
+  public void deleteWithCollisions() {
+    HashMap<Integer, Integer> m = new HashMap<>(Equal.intEqual, constantHash, 4);
+    for (int i = 0; i < 20; i++) {
+      m.set(i, i);
+    }
+    for (int i = 0; i < 20; i += 2) {
+      m.delete(i);
+    }
+    assertThat(m.keys().sort(Ord.intOrd), equalTo(List.range(0, 10).map(i -> 2 * i + 1)));
+    for (int i = 1; i < 20; i += 2) {
+      assertThat(m.get(i), equalTo(some(i)));
+    }
+  }
+
+  @Test
+  public void nullValuesAreIgnored() {
+    HashMap<Integer, String> m = HashMap.hashMap();
+    m.set(1, null);
+    assertThat(m.isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void toListAndClear() {
+    HashMap<Integer, Integer> m = HashMap.arrayHashMap(p(1, 10), p(2, 20));
+    assertThat(m.toList().sort(Ord.p2Ord1(Ord.intOrd)), equalTo(List.list(p(1, 10), p(2, 20))));
+    m.clear();
+    assertThat(m.size(), equalTo(0));
+    assertThat(m.get(1), equalTo(none()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void illegalLoadFactor() {
+    new HashMap<Integer, Integer>(Equal.intEqual, Hash.intHash, 16, 0f);
+  }
+
+}
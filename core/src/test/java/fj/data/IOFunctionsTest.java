@@ -6,6 +6,10 @@ import org.junit.Test;
 
 import java.io.*;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static fj.data.IOFunctions.*;
@@ -113,6 +117,115 @@ public class IOFunctionsTest {
     assertThat(readAndPrintUpperCasedName.run(), is("FOO"));
   }
 
+  @Test
+  public void testDeepBindIsStackSafe() throws IOException {
+    IO<Integer> left = unit(0);
+    for (int i = 0; i < 100000; i++) {
+      left = bind(left, n -> unit(n + 1));
+    }
+    assertThat(left.run(), is(100000));
+    IO<Integer> maps = unit(0);
+    for (int i = 0; i < 100000; i++) {
+      maps = maps.map(n -> n + 1);
+    }
+    assertThat(maps.run(), is(100000));
+    assertThat(countDown(100000).run(), is(0));
+    assertThat(sequence(List.replicate(100000, unit(1))).run().length(), is(100000));
+  }
+
+  @Test
+  public void testSequenceRunsLeftToRight() throws IOException {
+    final StringBuilder effects = new StringBuilder();
+    final List<IO<Integer>> ios = List.range(0, 5).map(i -> () -> {
+      effects.append(i);
+      return i;
+    });
+    assertThat(sequence(ios).run(), is(List.range(0, 5)));
+    assertThat(effects.toString(), is("01234"));
+  }
+
+  // Recurses to the right, through the function of each bind
+  private static IO<Integer> countDown(final int n) {
+    return n == 0 ? unit(0) : TrampolineIO.defer(() -> bind(unit(n - 1), IOFunctionsTest::countDown));
+  }
+
+  @Test
+  public void testTrampolineIOThrows() {
+    final IO<Integer> io = TrampolineIO.pure(1).map(n -> n + 1).bind(n -> () -> {
+      throw new IOException("failed at " + n);
+    });
+    assertThat(io.safe().run().fail().getMessage(), is("failed at 2"));
+  }
+
+  private static File tempFile(final String content) throws IOException {
+    final File f = File.createTempFile("enum", ".txt");
+    f.deleteOnExit();
+    Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return f;
+  }
+
+  private static String string(final ByteBuffer b) {
+    return StandardCharsets.UTF_8.decode(b.duplicate()).toString();
+  }
+
+  private static <E, A> Iteratee.IterV<E, A> enumList(final List<E> es, final Iteratee.IterV<E, A> i) {
+    return es.foldLeft((it, e) -> it.fold(d -> it, k -> k.f(Iteratee.Input.el(e))), i);
+  }
+
+  @Test
+  public void testEnumFileByteLines() throws IOException {
+    final File f = tempFile("a\r\nbb\n\nccc");
+    final List<ByteBuffer> lines = enumFileByteLines(f, Iteratee.IterV.<ByteBuffer>list()).run().run();
+    assertThat(lines.reverse().map(IOFunctionsTest::string), is(List.list("a", "bb", "", "ccc")));
+    assertThat(enumFileByteLines(f, Iteratee.IterV.<ByteBuffer>head()).run().run().map(IOFunctionsTest::string),
+        is(Option.some("a")));
+  }
+
+  @Test
+  public void testChunkIteratees() throws IOException {
+    // several chunks, with a line of 99 bytes and a line feed every 100 bytes
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      sb.append(String.format("%099d\n", i));
+    }
+    final File f = tempFile(sb.append("last").toString());
+    final long length = sb.length();
+    assertThat(enumMappedFileChunks(f, Iteratee.IterV.<ByteBuffer>bufferLength()).run().run(), is(length));
+    assertThat(enumFileByteChunks(f, Iteratee.IterV.<ByteBuffer>bufferLength()).run().run(), is(length));
+    assertThat(enumMappedFileChunks(f, Iteratee.IterV.lineCount()).run().run(), is(2001L));
+    assertThat(enumFileByteChunks(f, Iteratee.IterV.lineCount()).run().run(), is(2001L));
+    assertThat(enumMappedFileChunks(tempFile(""), Iteratee.IterV.lineCount()).run().run(), is(0L));
+    assertThat(enumMappedFileChunks(tempFile("a\n"), Iteratee.IterV.lineCount()).run().run(), is(1L));
+
+    final Iteratee.IterV<ByteBuffer, P2<ByteBuffer, Long>> untilLast = Iteratee.IterV.takeWhileBytes(b -> b != 'l')
+        .bind(prefix -> Iteratee.IterV.<ByteBuffer>bufferLength().bind(rest -> Iteratee.IterV.done(P.p(prefix, rest),
+            Iteratee.Input.<ByteBuffer>empty())));
+    final P2<ByteBuffer, Long> r = enumMappedFileChunks(f, untilLast).run().run();
+    assertThat(r._1().remaining(), is(200000));
+    assertThat(r._2(), is(4L));
+
+    final Iteratee.IterV<ByteBuffer, Integer> chunks = Iteratee.IterV.fold((n, b) -> n + 1, 0);
+    assertThat(enumMappedFileChunks(f, chunks).run().run(), is((int) (length + CHUNK_SIZE - 1) / CHUNK_SIZE));
+  }
+
+  @Test
+  public void testEnumFileCharBuffers() throws IOException {
+    // two-byte characters after one byte, so that chunks split characters
+    final StringBuilder sb = new StringBuilder("x");
+    for (int i = 0; i < 100000; i++) {
+      sb.append('\u00e9');
+    }
+    final File f = tempFile(sb.toString());
+    final Iteratee.IterV<CharBuffer, StringBuilder> concat =
+        Iteratee.IterV.fold((acc, c) -> acc.append(c), new StringBuilder());
+    assertThat(enumFileCharBuffers(f, Option.some(StandardCharsets.UTF_8), concat).run().run().toString(),
+        is(sb.toString()));
+    final Iteratee.IterV<Integer, P2<List<Integer>, List<Integer>>> split = Iteratee.IterV.takeWhile((Integer i) -> i < 3)
+        .bind(xs -> Iteratee.IterV.<Integer>list().bind(ys -> Iteratee.IterV.done(P.p(xs, ys.reverse()),
+            Iteratee.Input.<Integer>empty())));
+    assertThat(enumList(List.list(1, 2, 3, 1), split).run(), is(P.p(List.list(1, 2), List.list(3, 1))));
+  }
+
   private IO<String> println(final String s) {
     return () -> {
       return s;
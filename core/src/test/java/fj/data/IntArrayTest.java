@@ -0,0 +1,44 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IntArrayTest {
+
+  @Test
+  public void operations() {
+    IntArray as = IntArray.range(0, 5);
+    assertThat(as.length(), equalTo(5));
+    assertThat(as.get(3), equalTo(3));
+    assertThat(as.sum(), equalTo(10));
+    assertThat(as.map(x -> x + 1), equalTo(IntArray.array(1, 2, 3, 4, 5)));
+    assertThat(as.filter(x -> x > 2), equalTo(IntArray.array(3, 4)));
+    assertThat(as.foldLeft(Math::max, Integer.MIN_VALUE), equalTo(4));
+    assertThat(IntArray.array(2, 0, 1).sort(), equalTo(IntArray.array(0, 1, 2)));
+    assertThat(as.reverse().append(IntArray.array(9)), equalTo(IntArray.array(4, 3, 2, 1, 0, 9)));
+    assertThat(as.toArray(), equalTo(Array.range(0, 5)));
+    assertThat(as.toIntList(), equalTo(IntList.range(0, 5)));
+    assertThat(IntArray.range(2, 1).isEmpty(), equalTo(true));
+  }
+
+  @Test
+  public void conversions() {
+    int[] xs = {1, 2, 3};
+    IntArray as = IntArray.array(xs);
+    int[] copy = as.toJavaArray();
+    copy[0] = 7;
+    assertThat(as.get(0), equalTo(1));
+    assertThat(as.stream().sum(), equalTo(6));
+    assertThat(IntArray.fromStream(IntStream.of(1, 2, 3)), equalTo(as));
+    int sum = 0;
+    for (final int x : as) {
+      sum += x;
+    }
+    assertThat(sum, equalTo(6));
+  }
+
+}
@@ -0,0 +1,58 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IntListTest {
+
+  @Test
+  public void construction() {
+    assertThat(IntList.range(0, 5), equalTo(IntList.list(0, 1, 2, 3, 4)));
+    assertThat(IntList.range(3, 3).isEmpty(), equalTo(true));
+    assertThat(IntList.nil().cons(2).cons(1), equalTo(IntList.list(1, 2)));
+    assertThat(IntList.fromStream(IntStream.range(0, 3)), equalTo(IntList.range(0, 3)));
+    assertThat(IntList.list(1, 2, 3).toString(), equalTo("IntList(1,2,3)"));
+  }
+
+  @Test
+  public void operations() {
+    IntList xs = IntList.range(1, 11);
+    assertThat(xs.length(), equalTo(10));
+    assertThat(xs.sum(), equalTo(55));
+    assertThat(xs.map(x -> x * 2).sum(), equalTo(110));
+    assertThat(xs.filter(x -> x % 2 == 0), equalTo(IntList.list(2, 4, 6, 8, 10)));
+    assertThat(xs.foldLeft((acc, x) -> acc - x, 0), equalTo(-55));
+    assertThat(IntList.list(1, 2, 3).foldRight((x, acc) -> x - acc, 0), equalTo(2));
+    assertThat(IntList.list(3, 1, 2).sort(), equalTo(IntList.list(1, 2, 3)));
+    assertThat(IntList.list(1, 2).reverse(), equalTo(IntList.list(2, 1)));
+    assertThat(IntList.list(1).append(IntList.list(2, 3)), equalTo(IntList.list(1, 2, 3)));
+    assertThat(xs.toList(), equalTo(List.range(1, 11)));
+    assertThat(xs.stream().sum(), equalTo(55));
+    assertThat(xs.toIntArray(), equalTo(IntArray.range(1, 11)));
+  }
+
+  @Test
+  public void largeListsUseConstantStack() {
+    IntList xs = IntList.range(0, 1000000);
+    assertThat(xs.map(x -> 1).sum(), equalTo(1000000));
+    assertThat(xs.reverse().head(), equalTo(999999));
+    assertThat(xs.equals(IntList.range(0, 1000000)), equalTo(true));
+  }
+
+  @Test
+  public void primitiveSpecializations() {
+    assertThat(LongList.range(0L, 4L).sum(), equalTo(6L));
+    assertThat(DoubleList.list(2.5, 0.5).sort(), equalTo(DoubleList.list(0.5, 2.5)));
+    assertThat(DoubleList.list(Double.NaN), equalTo(DoubleList.list(Double.NaN)));
+  }
+
+  @Test(expected = Error.class)
+  public void headOnEmptyList() {
+    IntList.nil().head();
+  }
+
+}
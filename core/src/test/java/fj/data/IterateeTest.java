@@ -0,0 +1,105 @@
+package fj.data;
+
+import fj.P;
+import fj.P2;
+import fj.data.Iteratee.Enumeratee;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class IterateeTest {
+
+  // Feeds the given elements to the given iteratee, as long as it is not done
+  private static <E, A> IterV<E, A> enumerate(final Iterable<E> es, final IterV<E, A> i) {
+    IterV<E, A> it = i;
+    for (final E e : es) {
+      final Option<IterV<E, A>> next = it.fold(d -> Option.none(), k -> Option.some(k.f(Input.el(e))));
+      if (next.isNone()) {
+        return it;
+      }
+      it = next.some();
+    }
+    return it;
+  }
+
+  @Test
+  public void testStages() {
+    final Enumeratee<Integer, List<Integer>> stages = Enumeratee.<Integer>filter(i -> i % 2 == 0)
+        .andThen(Enumeratee.filter(i -> i > 0))
+        .andThen(Enumeratee.map(i -> i * 10))
+        .andThen(Enumeratee.map(i -> i + 1))
+        .andThen(Enumeratee.grouped(3));
+    assertThat(enumerate(List.range(0, 16), stages.transform(IterV.list())).run().reverse(),
+        is(List.list(List.list(21, 41, 61), List.list(81, 101, 121), List.list(141))));
+    assertThat(enumerate(List.range(0, 100000), stages.transform(IterV.length())).run(), is(16667));
+
+    final IterV<Integer, P2<List<Integer>, List<Integer>>> split = Enumeratee.<Integer>take(3)
+        .transform(IterV.<Integer>list())
+        .bind(xs -> IterV.<Integer>list().bind(ys -> IterV.done(P.p(xs.reverse(), ys.reverse()), Input.empty())));
+    assertThat(enumerate(List.range(1, 6), split).run(), is(P.p(List.list(1, 2, 3), List.list(4, 5))));
+    // the end of a take flushes the stages after it
+    assertThat(enumerate(List.range(1, 10), Enumeratee.<Integer>take(4).andThen(Enumeratee.grouped(3))
+        .transform(IterV.list())).run().reverse(), is(List.list(List.list(1, 2, 3), List.list(4))));
+  }
+
+  @Test
+  public void testEarlyExit() {
+    final IterV<Integer, P2<Integer, List<Integer>>> sumThenRest = IterV.foldWhile((Integer acc, Integer i) -> acc + i, 0,
+        acc -> acc < 10)
+        .bind(sum -> IterV.<Integer>list().bind(rest -> IterV.done(P.p(sum, rest.reverse()), Input.empty())));
+    assertThat(enumerate(List.range(1, 8), sumThenRest).run(), is(P.p(10, List.list(5, 6, 7))));
+
+    // the source is not consumed beyond what the inner iteratee needs
+    final Stream<Integer> naturals = Stream.iterate(i -> i + 1, 0);
+    assertThat(enumerate(naturals, Enumeratee.<Integer>filter(i -> i % 3 == 0).transform(IterV.head())).run(),
+        is(Option.some(0)));
+    assertThat(enumerate(naturals, Enumeratee.<Integer, Integer>map(i -> i * i).andThen(Enumeratee.take(4))
+        .transform(IterV.fold((Integer acc, Integer i) -> acc + i, 0))).run(), is(14));
+  }
+
+  @Test
+  public void testZip() {
+    final IterV<Integer, P2<Integer, Integer>> lengthAndSum =
+        IterV.zip(IterV.length(), IterV.fold((Integer acc, Integer i) -> acc + i, 0));
+    assertThat(enumerate(List.range(1, 101), lengthAndSum).run(), is(P.p(100, 5050)));
+    final IterV<Integer, P2<Option<Integer>, List<Integer>>> headAndAll = IterV.zip(IterV.head(), IterV.list());
+    assertThat(enumerate(List.range(1, 4), headAndAll).run(), is(P.p(Option.some(1), List.list(3, 2, 1))));
+  }
+
+  @Test
+  public void testSplitLines() {
+    final List<String> chunks = List.list("ab\r", "\ncd\n\ne", "f", "\n", "g");
+    final IterV<String, List<String>> lines = Enumeratee.<String>splitLines().transform(IterV.list());
+    assertThat(enumerate(chunks, lines).run().reverse(), is(List.list("ab", "cd", "", "ef", "g")));
+    assertThat(enumerate(List.list("a\n"), lines).run(), is(List.list("a")));
+    // a line that spans many chunks
+    final List<String> parts = List.replicate(100000, "x").snoc("\ny");
+    assertThat(enumerate(parts, lines).run().map(String::length), is(List.list(1, 100000)));
+  }
+
+  @Test
+  public void testUtf8Decode() {
+    final String text = "h\u00e9llo \u20ac\nw\u00f6rld\n\ud83d\ude00!";
+    final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    // chunks of one byte, which split every multi-byte character
+    final List<ByteBuffer> chunks = List.range(0, bytes.length).map(i -> ByteBuffer.wrap(bytes, i, 1));
+    final IterV<CharBuffer, StringBuilder> concat = IterV.fold((StringBuilder acc, CharBuffer c) -> acc.append(c),
+        new StringBuilder());
+    assertThat(enumerate(chunks, Enumeratee.utf8Decode().transform(concat)).run().toString(), is(text));
+    final IterV<ByteBuffer, List<String>> lines = Enumeratee.utf8Decode()
+        .andThen(Enumeratee.<CharBuffer>splitLines()).transform(IterV.list());
+    assertThat(enumerate(chunks, lines).run().reverse(), is(List.list("h\u00e9llo \u20ac", "w\u00f6rld", "\ud83d\ude00!")));
+    // a truncated character is replaced at the end of the input
+    final IterV<ByteBuffer, StringBuilder> truncated = enumerate(List.single(ByteBuffer.wrap(bytes, 0, 2)),
+        Enumeratee.utf8Decode().transform(IterV.fold((StringBuilder acc, CharBuffer c) -> acc.append(c),
+            new StringBuilder())));
+    assertThat(truncated.run().toString(), is("h\ufffd"));
+  }
+}
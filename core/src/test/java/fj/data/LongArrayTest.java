@@ -0,0 +1,69 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LongArrayTest {
+
+  @Test
+  public void operations() {
+    LongArray as = LongArray.range(0L, 5L);
+    assertThat(as.length(), equalTo(5));
+    assertThat(as.get(3), equalTo(3L));
+    assertThat(as.sum(), equalTo(10L));
+    assertThat(as.map(x -> x + 1L), equalTo(LongArray.array(1L, 2L, 3L, 4L, 5L)));
+    assertThat(as.mapToObj(x -> x * 10L), equalTo(Array.array(0L, 10L, 20L, 30L, 40L)));
+    assertThat(as.filter(x -> x > 2L), equalTo(LongArray.array(3L, 4L)));
+    assertThat(as.foldLeft(Math::max, Long.MIN_VALUE), equalTo(4L));
+    assertThat(as.foldLeft((acc, x) -> acc - x, 0L), equalTo(-10L));
+    assertThat(LongArray.array(1L, 2L, 3L).foldRight((x, acc) -> x - acc, 0L), equalTo(2L));
+    assertThat(LongArray.array(2L, 0L, 1L).sort(), equalTo(LongArray.array(0L, 1L, 2L)));
+    assertThat(as.reverse().append(LongArray.array(9L)), equalTo(LongArray.array(4L, 3L, 2L, 1L, 0L, 9L)));
+    assertThat(as.toArray(), equalTo(Array.range(0, 5).map(Integer::longValue)));
+    assertThat(as.toLongList(), equalTo(LongList.range(0L, 5L)));
+  }
+
+  @Test
+  public void boundaries() {
+    assertThat(LongArray.range(2L, 1L).isEmpty(), equalTo(true));
+    assertThat(LongArray.range(Long.MAX_VALUE - 1L, Long.MAX_VALUE), equalTo(LongArray.array(Long.MAX_VALUE - 1L)));
+    assertThat(LongArray.empty().sum(), equalTo(0L));
+    assertThat(LongArray.empty().foldRight((x, acc) -> x + acc, 7L), equalTo(7L));
+    assertThat(LongArray.empty().reverse().isEmpty(), equalTo(true));
+    assertThat(LongArray.array(Long.MAX_VALUE, 1L).sum(), equalTo(Long.MIN_VALUE));
+    assertThat(LongArray.array(Long.MAX_VALUE, Long.MIN_VALUE).sort().get(0), equalTo(Long.MIN_VALUE));
+    LongArray as = LongArray.array(1L, 2L);
+    assertThat(as.get(as.length() - 1), equalTo(2L));
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void getOutOfBounds() {
+    LongArray.array(1L, 2L).get(2);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void rangeTooLarge() {
+    LongArray.range(0L, Long.MAX_VALUE);
+  }
+
+  @Test
+  public void conversions() {
+    long[] xs = {1L, 2L, 3L};
+    LongArray as = LongArray.array(xs);
+    long[] copy = as.toJavaArray();
+    copy[0] = 7L;
+    assertThat(as.get(0), equalTo(1L));
+    assertThat(as.stream().sum(), equalTo(6L));
+    assertThat(LongArray.fromStream(LongStream.of(1L, 2L, 3L)), equalTo(as));
+    long sum = 0L;
+    for (final long x : as) {
+      sum += x;
+    }
+    assertThat(sum, equalTo(6L));
+  }
+
+}
@@ -0,0 +1,75 @@
+package fj.data;
+
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LongListTest {
+
+  @Test
+  public void construction() {
+    assertThat(LongList.range(0L, 5L), equalTo(LongList.list(0L, 1L, 2L, 3L, 4L)));
+    assertThat(LongList.range(3L, 3L).isEmpty(), equalTo(true));
+    assertThat(LongList.range(3L, 1L).isEmpty(), equalTo(true));
+    assertThat(LongList.nil().cons(2L).cons(1L), equalTo(LongList.list(1L, 2L)));
+    assertThat(LongList.fromArray(new long[]{1L, 2L, 3L, 4L}, 1, 3), equalTo(LongList.list(2L, 3L)));
+    assertThat(LongList.fromStream(LongStream.range(0L, 3L)), equalTo(LongList.range(0L, 3L)));
+    assertThat(LongList.list(1L, 2L, 3L).toString(), equalTo("LongList(1,2,3)"));
+  }
+
+  @Test
+  public void operations() {
+    LongList xs = LongList.range(1L, 11L);
+    assertThat(xs.length(), equalTo(10));
+    assertThat(xs.sum(), equalTo(55L));
+    assertThat(xs.map(x -> x * 2L).sum(), equalTo(110L));
+    assertThat(xs.mapToObj(Long::toString).take(2), equalTo(List.list("1", "2")));
+    assertThat(xs.filter(x -> x % 2L == 0L), equalTo(LongList.list(2L, 4L, 6L, 8L, 10L)));
+    assertThat(xs.foldLeft((acc, x) -> acc - x, 0L), equalTo(-55L));
+    assertThat(LongList.list(1L, 2L, 3L).foldRight((x, acc) -> x - acc, 0L), equalTo(2L));
+    assertThat(LongList.list(3L, 1L, 2L).sort(), equalTo(LongList.list(1L, 2L, 3L)));
+    assertThat(LongList.list(1L, 2L).reverse(), equalTo(LongList.list(2L, 1L)));
+    assertThat(LongList.list(1L).append(LongList.list(2L, 3L)), equalTo(LongList.list(1L, 2L, 3L)));
+    assertThat(xs.head(), equalTo(1L));
+    assertThat(xs.tail().head(), equalTo(2L));
+    assertThat(xs.toList(), equalTo(List.range(1, 11).map(Integer::longValue)));
+    assertThat(xs.stream().sum(), equalTo(55L));
+    assertThat(xs.toLongArray(), equalTo(LongArray.range(1L, 11L)));
+  }
+
+  @Test
+  public void boundaries() {
+    LongList xs = LongList.range(Long.MAX_VALUE - 2L, Long.MAX_VALUE);
+    assertThat(xs, equalTo(LongList.list(Long.MAX_VALUE - 2L, Long.MAX_VALUE - 1L)));
+    assertThat(LongList.list(Long.MIN_VALUE, Long.MAX_VALUE).sort().head(), equalTo(Long.MIN_VALUE));
+    assertThat(LongList.list(Long.MAX_VALUE, 1L).sum(), equalTo(Long.MIN_VALUE));
+    assertThat(LongList.nil().sum(), equalTo(0L));
+    assertThat(LongList.nil().foldRight((x, acc) -> x + acc, 7L), equalTo(7L));
+    assertThat(LongList.nil().append(LongList.nil()).isEmpty(), equalTo(true));
+    assertThat(LongList.list(1L).equals(LongList.list(1L, 2L)), equalTo(false));
+    assertThat(LongList.list(1L, 2L).hashCode(), equalTo(LongList.list(1L, 2L).hashCode()));
+  }
+
+  @Test
+  public void largeListsUseConstantStack() {
+    LongList xs = LongList.range(0L, 1000000L);
+    assertThat(xs.map(x -> 1L).sum(), equalTo(1000000L));
+    assertThat(xs.reverse().head(), equalTo(999999L));
+    assertThat(xs.foldRight((x, acc) -> acc + 1L, 0L), equalTo(1000000L));
+    assertThat(xs.equals(LongList.range(0L, 1000000L)), equalTo(true));
+  }
+
+  @Test(expected = Error.class)
+  public void headOnEmptyList() {
+    LongList.nil().head();
+  }
+
+  @Test(expected = Error.class)
+  public void tailOnEmptyList() {
+    LongList.nil().tail();
+  }
+
+}
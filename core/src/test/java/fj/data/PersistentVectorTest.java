@@ -0,0 +1,83 @@
+package fj.data;
+
+import fj.Equal;
+import fj.Hash;
+import fj.Ord;
+import fj.Ordering;
+import fj.Show;
+import org.junit.Test;
+
+import static fj.data.PersistentVector.empty;
+import static fj.data.PersistentVector.iterableVector;
+import static fj.data.PersistentVector.vector;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class PersistentVectorTest {
+
+  private static PersistentVector<Integer> range(final int from, final int to) {
+    return iterableVector(List.range(from, to));
+  }
+
+  @Test
+  public void snocAndIndex() {
+    PersistentVector<Integer> v = empty();
+    for (int i = 0; i < 5000; i++) {
+      v = v.snoc(i);
+    }
+    assertThat(v.length(), equalTo(5000));
+    for (int i = 0; i < 5000; i++) {
+      assertThat(v.index(i), equalTo(i));
+    }
+    assertThat(v.toList(), equalTo(List.range(0, 5000)));
+  }
+
+  @Test
+  public void update() {
+    PersistentVector<Integer> v = range(0, 2000);
+    PersistentVector<Integer> w = v.update(1000, -1).update(1999, -2);
+    assertThat(w.index(1000), equalTo(-1));
+    assertThat(w.index(1999), equalTo(-2));
+    assertThat(v.index(1000), equalTo(1000));
+  }
+
+  @Test
+  public void appendAndSlice() {
+    PersistentVector<Integer> v = empty();
+    for (int i = 0; i < 100; i++) {
+      v = v.append(range(i * 37, (i + 1) * 37));
+    }
+    assertThat(v, equalTo(range(0, 3700)));
+    assertThat(v.take(1234), equalTo(range(0, 1234)));
+    assertThat(v.drop(1234), equalTo(range(1234, 3700)));
+    assertThat(v.drop(100).take(50).append(v.take(10)).toList(), equalTo(List.range(100, 150).append(List.range(0, 10))));
+    assertThat(v.split(3000)._2().index(0), equalTo(3000));
+    assertThat(v.cons(-1).head(), equalTo(-1));
+    assertThat(v.delete(5).index(5), equalTo(6));
+  }
+
+  @Test
+  public void conversions() {
+    assertThat(iterableVector(Array.range(0, 3)), equalTo(vector(0, 1, 2)));
+    assertThat(iterableVector(Seq.arraySeq(0, 1, 2)), equalTo(vector(0, 1, 2)));
+    assertThat(iterableVector(Stream.range(0, 3)), equalTo(vector(0, 1, 2)));
+    assertThat(vector(0, 1, 2).toSeq(), equalTo(Seq.arraySeq(0, 1, 2)));
+    assertThat(vector(0, 1, 2).toStream().toList(), equalTo(List.list(0, 1, 2)));
+  }
+
+  @Test
+  public void instances() {
+    assertThat(Equal.persistentVectorEqual(Equal.intEqual).eq(vector(1, 2), vector(1, 2)), equalTo(true));
+    assertThat(Ord.persistentVectorOrd(Ord.intOrd).compare(vector(1, 2), vector(1, 3)), equalTo(Ordering.LT));
+    assertThat(Ord.persistentVectorOrd(Ord.intOrd).compare(vector(1, 2), vector(1)), equalTo(Ordering.GT));
+    assertThat(Hash.persistentVectorHash(Hash.intHash).hash(range(0, 100)),
+        equalTo(Hash.persistentVectorHash(Hash.intHash).hash(range(0, 50).append(range(50, 100)))));
+    assertThat(Show.persistentVectorShow(Show.intShow).showS(vector(1, 2)), equalTo("PersistentVector(1,2)"));
+  }
+
+  @Test(expected = Error.class)
+  public void indexOutOfBounds() {
+    vector(1, 2).index(2);
+  }
+
+}
@@ -290,4 +290,36 @@ public class SeqTest {
     assertEquals(success(arraySeq(0, 2, 4, 6, 8)), arraySeq(0, 2, 4, 6, 8).traverseValidation(listSemigroup(),i -> condition(i% 2 == 0, List.single(i), i)));
     assertEquals(fail(arrayList(1, 3, 5, 7, 9)), arraySeq(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).traverseValidation(listSemigroup(),i -> condition(i% 2 == 0, List.single(i), i)));
   }
+
+  @Test
+  public void testTransient() {
+    Seq<Integer> s = single(-1);
+    Seq.Transient<Integer> t = s.asTransient();
+    for (int i = 0; i < 100; i++) {
+      t.snoc(i);
+    }
+    Seq<Integer> s2 = t.persistent();
+    assertEquals(101, s2.length());
+    assertEquals(iterableSeq(List.range(-1, 100)), s2);
+    assertEquals(single(-1), s);
+  }
+
+  @Test
+  public void testBulkConstruction() {
+    for (int n = 0; n < 50; n++) {
+      Seq<Integer> s = iterableSeq(List.range(0, n));
+      assertEquals(n, s.length());
+      assertEquals(List.range(0, n), s.toList());
+      for (int i = 0; i < n; i++) {
+        assertEquals(Integer.valueOf(i), s.index(i));
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTransientUsedAfterPersistent() {
+    Seq.Transient<Integer> t = Seq.<Integer>empty().asTransient();
+    t.persistent();
+    t.snoc(1);
+  }
 }
@@ -1,5 +1,6 @@
 package fj.data;
 
+import fj.P;
 import org.junit.Test;
 
 import static fj.data.Option.none;
@@ -39,4 +40,86 @@ public class SetTest {
 		assertThat(s.lookupGE(8), equalTo(some(8)));
 		assertThat(s.lookupGE(9), equalTo(none()));
 	}
+
+	@Test
+	public void testOrderStatistics() {
+		Set<Integer> s = Set.set(intOrd, 5, 1, 7, 8, 3);
+		assertThat(s.size(), equalTo(5));
+		assertThat(s.index(0), equalTo(1));
+		assertThat(s.index(4), equalTo(8));
+		assertThat(s.rank(7), equalTo(3));
+		assertThat(s.rank(6), equalTo(3));
+		assertThat(s.rank(0), equalTo(0));
+		assertThat(s.take(2), equalTo(Set.set(intOrd, 1, 3)));
+		assertThat(s.drop(2), equalTo(Set.set(intOrd, 5, 7, 8)));
+		assertThat(s.splitAt(10), equalTo(P.p(s, Set.empty(intOrd))));
+	}
+
+	@Test(expected = Error.class)
+	public void testIndexOutOfBounds() {
+		Set.set(intOrd, 1, 2, 3).index(3);
+	}
+
+	@Test
+	public void testSetAlgebra() {
+		Set<Integer> s1 = Set.set(intOrd, 1, 2, 3, 4, 5);
+		Set<Integer> s2 = Set.set(intOrd, 4, 5, 6, 7);
+		assertThat(s1.union(s2), equalTo(Set.set(intOrd, 1, 2, 3, 4, 5, 6, 7)));
+		assertThat(s1.intersect(s2), equalTo(Set.set(intOrd, 4, 5)));
+		assertThat(s1.minus(s2), equalTo(Set.set(intOrd, 1, 2, 3)));
+		assertThat(s1.delete(3), equalTo(Set.set(intOrd, 1, 2, 4, 5)));
+		assertThat(s1.delete(9), equalTo(s1));
+	}
+
+	@Test
+	public void testFromSorted() {
+		assertThat(Set.fromSortedIterable(intOrd, List.list(1, 2, 2, 3)), equalTo(Set.set(intOrd, 1, 2, 3)));
+		assertThat(Set.fromSortedArray(intOrd, 1, 2, 3, 4), equalTo(Set.set(intOrd, 4, 3, 2, 1)));
+		assertThat(Set.iterableSet(intOrd, List.range(0, 100)).size(), equalTo(100));
+	}
+
+	@Test(expected = Error.class)
+	public void testFromSortedUnsorted() {
+		Set.fromSortedIterable(intOrd, List.list(1, 3, 2));
+	}
+
+	@Test
+	public void testTransient() {
+		Set<Integer> s = Set.set(intOrd, 1, 5);
+		Set.Transient<Integer> t = s.asTransient();
+		t.insert(3).insert(2).insert(5).insertAll(List.list(4, 0));
+		assertThat(t.persistent(), equalTo(Set.set(intOrd, 0, 1, 2, 3, 4, 5)));
+		assertThat(s, equalTo(Set.set(intOrd, 1, 5)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTransientUsedAfterPersistent() {
+		Set.Transient<Integer> t = Set.<Integer>empty(intOrd).asTransient();
+		t.persistent();
+		t.insert(1);
+	}
+
+	@Test
+	public void testRange() {
+		// the even numbers from 0 to 98, queried with every bound from -1 to 100
+		final Set<Integer> s = Set.iterableSet(intOrd, List.range(0, 50).map(i -> 2 * i));
+		final List<Boolean> bools = List.list(true, false);
+		for (int from = -1; from <= 100; from++) {
+			for (int to = -1; to <= 100; to++) {
+				for (final boolean fi : bools) {
+					for (final boolean ti : bools) {
+						final int f = from, t = to;
+						final List<Integer> expected = s.toList().filter(a -> (fi ? a >= f : a > f) && (ti ? a <= t : a < t));
+						assertThat(s.range(from, fi, to, ti).toList(), equalTo(expected));
+						assertThat(s.countInRange(from, fi, to, ti), equalTo(expected.length()));
+					}
+				}
+			}
+			final int k = from;
+			assertThat(s.headSet(from, false).toList(), equalTo(s.toList().filter(a -> a < k)));
+			assertThat(s.tailSet(from, true).toList(), equalTo(s.toList().filter(a -> a >= k)));
+			assertThat(s.descendingFrom(from).toList(), equalTo(s.toList().filter(a -> a <= k).reverse()));
+		}
+		assertThat(Set.<Integer>empty(intOrd).range(0, true, 10, true).toList(), equalTo(List.nil()));
+	}
 }
@@ -0,0 +1,95 @@
+package fj.data;
+
+import fj.Equal;
+import fj.Hash;
+import fj.Ord;
+import fj.P2;
+import fj.data.hamt.HashArrayMappedTrie;
+import org.junit.Test;
+
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static fj.P.p;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SpliteratorTest {
+
+  private static final int N = 10000;
+
+  private static final List<Integer> LIST = List.range(0, N);
+
+  private static <A> List<A> parallel(final Spliterator<A> s) {
+    return StreamSupport.stream(s, true).collect(Collectors.toList());
+  }
+
+  // Splits the spliterator as far as it goes, checking that the sizes of the parts add up
+  private static <A> long splitAll(final Spliterator<A> s) {
+    final long size = s.estimateSize();
+    final Spliterator<A> prefix = s.trySplit();
+    if (prefix == null) {
+      final long[] n = {0};
+      s.forEachRemaining(a -> n[0]++);
+      assertThat(n[0], is(size));
+      return size;
+    }
+    assertThat(prefix.estimateSize() + s.estimateSize(), is(size));
+    return splitAll(prefix) + splitAll(s);
+  }
+
+  @Test
+  public void testOrderedCollections() {
+    assertThat(parallel(LIST.spliterator()), is(LIST));
+    assertThat(parallel(LIST.toArray().spliterator()), is(LIST));
+    assertThat(parallel(LIST.toStream().spliterator()), is(LIST));
+    assertThat(parallel(Seq.iterableSeq(LIST).spliterator()), is(LIST));
+    assertThat(parallel(Set.iterableSet(Ord.intOrd, LIST.reverse()).spliterator()), is(LIST));
+    final TreeMap<Integer, String> m = TreeMap.iterableTreeMap(Ord.intOrd, LIST.map(i -> p(i, String.valueOf(i))));
+    assertThat(parallel(m.spliterator()), is(LIST.map(i -> p(i, String.valueOf(i)))));
+  }
+
+  @Test
+  public void testSplitSizes() {
+    assertThat(splitAll(LIST.toArray().spliterator()), is((long) N));
+    assertThat(splitAll(Seq.iterableSeq(LIST).spliterator()), is((long) N));
+    assertThat(splitAll(Set.iterableSet(Ord.intOrd, LIST).spliterator()), is((long) N));
+    assertThat(splitAll(HashArrayMappedTrie.<Integer>emptyKeyInteger().set(LIST.map(i -> p(i, i))).spliterator()), is((long) N));
+    assertThat(splitAll(Set.<Integer>empty(Ord.intOrd).spliterator()), is(0L));
+    assertThat(splitAll(Seq.<Integer>empty().spliterator()), is(0L));
+  }
+
+  @Test
+  public void testSetSplitAfterAdvance() {
+    final Spliterator<Integer> s = Set.iterableSet(Ord.intOrd, LIST).spliterator();
+    final List.Buffer<Integer> b = new List.Buffer<>();
+    for (int i = 0; i < 100; i++) {
+      s.tryAdvance(b::snoc);
+    }
+    final Spliterator<Integer> prefix = s.trySplit();
+    prefix.forEachRemaining(b::snoc);
+    s.forEachRemaining(b::snoc);
+    assertThat(b.toList(), is(LIST));
+    assertThat((s.characteristics() & Spliterator.SORTED) != 0, is(true));
+  }
+
+  @Test
+  public void testHashArrayMappedTrie() {
+    final HashArrayMappedTrie<String, Integer> h = HashArrayMappedTrie.<String, Integer>empty(Equal.stringEqual, Hash.stringHash)
+        .set(LIST.map(i -> p(String.valueOf(i), i)));
+    final long sum = StreamSupport.stream(h.spliterator(), true).mapToLong(P2::_2).sum();
+    assertThat(sum, is((long) N * (N - 1) / 2));
+    assertThat(parallel(h.spliterator()).map(P2::_2).sort(Ord.intOrd), is(LIST));
+  }
+
+  @Test
+  public void testCollectors() {
+    assertThat(IntStream.range(0, N).boxed().parallel().collect(Collectors.toSeq()).toList(), is(LIST));
+    assertThat(IntStream.range(0, N).boxed().parallel().collect(Collectors.toPersistentVector()).toList(), is(LIST));
+    assertThat(IntStream.range(0, N).boxed().parallel().map(i -> i % 100).collect(Collectors.toSet(Ord.intOrd)).toList(),
+        is(List.range(0, 100)));
+    assertThat(Java8.Iterable_JavaParallelStream(Seq.iterableSeq(LIST)).map(i -> i * 2).collect(Collectors.toSeq()).toList(),
+        is(LIST.map(i -> i * 2)));
+  }
+}
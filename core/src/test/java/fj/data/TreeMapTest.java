@@ -120,4 +120,48 @@ public class TreeMapTest {
         assertTrue(true);
     }
 
+
+    @Test
+    public void orderStatistics() {
+        List<Integer> l = List.range(1, 11);
+        TreeMap<Integer, String> m = iterableTreeMap(Ord.intOrd, l.zip(l.map(i -> i.toString())));
+        assertThat(m.size(), equalTo(10));
+        assertThat(m.index(3), equalTo(p(4, "4")));
+        assertThat(m.rank(4), equalTo(3));
+        assertThat(m.take(3).keys(), equalTo(List.list(1, 2, 3)));
+        assertThat(m.drop(8).keys(), equalTo(List.list(9, 10)));
+        P2<TreeMap<Integer, String>, TreeMap<Integer, String>> lr = m.splitAt(5);
+        assertThat(lr._1().keys(), equalTo(List.range(1, 6)));
+        assertThat(lr._2().values(), equalTo(List.list("6", "7", "8", "9", "10")));
+    }
+
+
+    @Test
+    public void unionWith() {
+        TreeMap<Integer, String> m1 = TreeMap.treeMap(Ord.intOrd, p(1, "a"), p(2, "b"));
+        TreeMap<Integer, String> m2 = TreeMap.treeMap(Ord.intOrd, p(2, "c"), p(3, "d"));
+        assertThat(m1.union(m2).toList(), equalTo(List.list(p(1, "a"), p(2, "b"), p(3, "d"))));
+        assertThat(m1.union(m2, (v1, v2) -> v1 + v2).toList(), equalTo(List.list(p(1, "a"), p(2, "bc"), p(3, "d"))));
+    }
+
+
+    @Test
+    public void fromSorted() {
+        TreeMap<Integer, String> m = TreeMap.fromSortedArray(Ord.intOrd, p(1, "a"), p(2, "b"), p(2, "c"), p(3, "d"));
+        assertThat(m.toList(), equalTo(List.list(p(1, "a"), p(2, "c"), p(3, "d"))));
+        assertThat(TreeMap.fromSortedIterable(Ord.intOrd, m), equalTo(m));
+    }
+
+    @Test
+    public void range() {
+        TreeMap<Integer, String> m = iterableTreeMap(Ord.intOrd, List.range(0, 10).map(i -> p(i * 10, String.valueOf(i))));
+        assertThat(m.range(20, true, 50, false).toList(), equalTo(List.list(p(20, "2"), p(30, "3"), p(40, "4"))));
+        assertThat(m.range(25, false, 50, true).map(P2.__2()).toList(), equalTo(List.list("3", "4", "5")));
+        assertThat(m.headMap(20, true).length(), equalTo(3));
+        assertThat(m.tailMap(80, false).toList(), equalTo(List.list(p(90, "9"))));
+        assertThat(m.descendingFrom(35).take(2).toList(), equalTo(List.list(p(30, "3"), p(20, "2"))));
+        assertThat(m.countInRange(15, true, 65, true), equalTo(5));
+        assertThat(m.countInRange(65, true, 15, true), equalTo(0));
+    }
+
 }
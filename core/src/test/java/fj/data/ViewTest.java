@@ -0,0 +1,62 @@
+package fj.data;
+
+import fj.Monoid;
+import fj.Ord;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ViewTest {
+
+  @Test
+  public void fusesChainedTransformations() {
+    final List<Integer> l = List.range(0, 100);
+    assertThat(l.view().map(i -> i * 3).filter(i -> i % 2 == 0).map(i -> i + 1).toList(),
+        equalTo(l.map(i -> i * 3).filter(i -> i % 2 == 0).map(i -> i + 1)));
+    assertThat(l.view().map(i -> (long) i).foldLeft((acc, i) -> acc + i, 0L), equalTo(4950L));
+    assertThat(l.view().foldMap(i -> i, Monoid.intAdditionMonoid), equalTo(4950));
+  }
+
+  @Test
+  public void entryPoints() {
+    final List<Integer> l = List.list(3, 1, 2);
+    assertThat(l.toArray().view().toList(), equalTo(l));
+    assertThat(Seq.seq(3, 1, 2).view().toList(), equalTo(l));
+    assertThat(Set.set(Ord.intOrd, 3, 1, 2).view().toList(), equalTo(List.list(1, 2, 3)));
+    assertThat(l.toStream().view().toList(), equalTo(l));
+    assertThat(View.iterableView(l).toArray().toList(), equalTo(l));
+    assertThat(View.range(0, 5).toSeq().toList(), equalTo(List.range(0, 5)));
+    assertThat(l.view().toSet(Ord.intOrd), equalTo(Set.set(Ord.intOrd, 1, 2, 3)));
+    assertThat(l.view().collect(Collectors.toList()), equalTo(l));
+  }
+
+  @Test
+  public void shortCircuits() {
+    final AtomicInteger evaluated = new AtomicInteger();
+    final List<Integer> taken = Stream.range(0).view().map(i -> {
+      evaluated.incrementAndGet();
+      return i * 2;
+    }).take(5).toList();
+    assertThat(taken, equalTo(List.list(0, 2, 4, 6, 8)));
+    assertThat(evaluated.get(), equalTo(5));
+    assertThat(Stream.range(0).view().find(i -> i > 10), equalTo(Option.some(11)));
+    assertThat(Stream.range(0).view().exists(i -> i == 100), equalTo(true));
+    assertThat(Stream.range(0).view().forall(i -> i < 100), equalTo(false));
+    assertThat(Stream.range(0).view().takeWhile(i -> i < 4).toList(), equalTo(List.range(0, 4)));
+  }
+
+  @Test
+  public void dropBindAppend() {
+    final View<Integer> v = View.range(0, 10);
+    assertThat(v.drop(7).toList(), equalTo(List.list(7, 8, 9)));
+    assertThat(v.dropWhile(i -> i < 8).toList(), equalTo(List.list(8, 9)));
+    assertThat(v.take(2).append(v.drop(8)).toList(), equalTo(List.list(0, 1, 8, 9)));
+    assertThat(v.take(3).bind(i -> View.range(0, i)).toList(), equalTo(List.list(0, 0, 1)));
+    assertThat(v.bind(i -> View.range(0, i)).take(4).toList(), equalTo(List.list(0, 0, 1, 0)));
+    assertThat(v.length(), equalTo(10));
+    assertThat(View.range(0, 0).headOption(), equalTo(Option.none()));
+  }
+}
@@ -1,5 +1,7 @@
 package fj.data.hamt;
 
+import fj.Equal;
+import fj.Hash;
 import fj.Ord;
 import fj.P2;
 import fj.data.List;
@@ -63,4 +65,116 @@ public class HamtTest {
         assertThat(b, equalTo(true));
     }
 
+    @Test
+    public void delete() {
+        HashArrayMappedTrie<Integer, Integer> h = empty.set(list(p(0, 1), p(32, 2), p(64, 3)));
+        HashArrayMappedTrie<Integer, Integer> h2 = h.delete(32);
+        assertThat(h2.size(), equalTo(2));
+        assertThat(h2.find(32), equalTo(Option.none()));
+        assertThat(h2.find(64), equalTo(Option.some(3)));
+        assertThat(h2.delete(0).delete(64).isEmpty(), equalTo(true));
+        assertThat(h.delete(5), equalTo(h));
+    }
+
+    @Test
+    public void update() {
+        HashArrayMappedTrie<Integer, Integer> h = empty.set(1, 10);
+        assertThat(h.update(1, o -> o.map(i -> i + 1)).find(1), equalTo(Option.some(11)));
+        assertThat(h.update(2, o -> Option.some(5)).size(), equalTo(2));
+        assertThat(h.update(1, o -> Option.none()).isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void unionIntersection() {
+        HashArrayMappedTrie<Integer, Integer> h1 = empty.set(list(p(1, 1), p(33, 1), p(65, 1)));
+        HashArrayMappedTrie<Integer, Integer> h2 = empty.set(list(p(33, 2), p(2, 2)));
+        assertThat(h1.union(h2).toList(Ord.intOrd), equalTo(list(p(1, 1), p(2, 2), p(33, 1), p(65, 1))));
+        assertThat(h1.union(h2, (a, b) -> a + b).find(33), equalTo(Option.some(3)));
+        assertThat(h1.intersection(h2).toList(), equalTo(list(p(33, 1))));
+    }
+
+    @Test
+    public void equalAndHash() {
+        HashArrayMappedTrie<Integer, Integer> h1 = empty.set(list(p(1, 1), p(33, 1)));
+        HashArrayMappedTrie<Integer, Integer> h2 = empty.set(list(p(33, 1), p(1, 1)));
+        assertThat(h1, equalTo(h2));
+        assertThat(h1.hashCode(), equalTo(h2.hashCode()));
+        assertThat(h1.equals(h2.set(1, 2)), equalTo(false));
+
+        // keys equal by the equality of the tries hash alike
+        Equal<String> caseInsensitive = Equal.equal((a, b) -> a.equalsIgnoreCase(b));
+        Hash<String> caseInsensitiveHash = Hash.hash(a -> a.toLowerCase().hashCode());
+        HashArrayMappedTrie<String, Integer> lower = HashArrayMappedTrie.<String, Integer>empty(caseInsensitive, caseInsensitiveHash).set("a", 1);
+        HashArrayMappedTrie<String, Integer> upper = HashArrayMappedTrie.<String, Integer>empty(caseInsensitive, caseInsensitiveHash).set("A", 1);
+        assertThat(lower, equalTo(upper));
+        assertThat(lower.hashCode(), equalTo(upper.hashCode()));
+    }
+
+    @Test
+    public void unionAndIntersectionUseTheInstancesOfTheReceiver() {
+        Equal<String> caseInsensitive = Equal.equal((a, b) -> a.equalsIgnoreCase(b));
+        Hash<String> caseInsensitiveHash = Hash.hash(a -> a.toLowerCase().hashCode());
+        HashArrayMappedTrie<String, Integer> insensitive = HashArrayMappedTrie.empty(caseInsensitive, caseInsensitiveHash);
+        HashArrayMappedTrie<String, Integer> sensitive = HashArrayMappedTrie.<String, Integer>empty(Equal.stringEqual, Hash.stringHash)
+            .set("A", 1).set("b", 2);
+        HashArrayMappedTrie<String, Integer> u = insensitive.union(sensitive);
+        assertThat(u.find("a"), equalTo(Option.some(1)));
+        assertThat(u.find("B"), equalTo(Option.some(2)));
+        HashArrayMappedTrie<String, Integer> u2 = insensitive.set("a", 0).union(sensitive, (x, y) -> x + y);
+        assertThat(u2.size(), equalTo(2));
+        assertThat(u2.find("A"), equalTo(Option.some(1)));
+        HashArrayMappedTrie<String, Integer> i = insensitive.set("a", 0).set("c", 3).intersection(sensitive);
+        assertThat(i.size(), equalTo(0));
+        assertThat(insensitive.set("b", 0).set("c", 3).intersection(sensitive).find("B"), equalTo(Option.some(0)));
+    }
+
+    @Test
+    public void transientBuild() {
+        HashArrayMappedTrie<Integer, Integer> h = empty.set(1, 1);
+        HashArrayMappedTrie.Transient<Integer, Integer> t = h.asTransient();
+        for (int i = 0; i < 100; i++) {
+            t.set(i, i);
+        }
+        t.delete(50);
+        HashArrayMappedTrie<Integer, Integer> h2 = t.persistent();
+        assertThat(h2.size(), equalTo(99));
+        assertThat(h2.find(1), equalTo(Option.some(1)));
+        assertThat(h2.find(50), equalTo(Option.none()));
+        assertThat(h.find(1), equalTo(Option.some(1)));
+        assertThat(h.size(), equalTo(1));
+    }
+
+    @Test
+    public void transientMatchesPersistent() {
+        HashArrayMappedTrie<Integer, Integer> source = empty;
+        for (int i = 0; i < 2000; i += 3) {
+            source = source.set(i, i);
+        }
+        HashArrayMappedTrie<Integer, Integer> expected = source;
+        HashArrayMappedTrie.Transient<Integer, Integer> t = source.asTransient();
+        for (int i = 0; i < 2000; i += 2) {
+            expected = expected.set(i, -i);
+            t.set(i, -i);
+        }
+        for (int i = 0; i < 2000; i += 5) {
+            expected = expected.delete(i);
+            t.delete(i);
+        }
+        assertThat(t.size(), equalTo(expected.size()));
+        assertThat(t.find(4), equalTo(expected.find(4)));
+        assertThat(t.find(10), equalTo(Option.none()));
+        HashArrayMappedTrie<Integer, Integer> h = t.persistent();
+        assertThat(h.size(), equalTo(expected.size()));
+        assertThat(h.toList(Ord.intOrd), equalTo(expected.toList(Ord.intOrd)));
+        assertThat(source.size(), equalTo(667));
+        assertThat(source.find(6), equalTo(Option.some(6)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void transientUsedAfterPersistent() {
+        HashArrayMappedTrie.Transient<Integer, Integer> t = empty.asTransient();
+        t.persistent();
+        t.set(1, 1);
+    }
+
 }
@@ -0,0 +1,130 @@
+package fj.data.mapped;
+
+import fj.Monoid;
+import fj.Ord;
+import fj.P2;
+import fj.P3;
+import fj.data.List;
+import fj.data.Option;
+import fj.data.TreeMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static fj.P.p;
+import static fj.data.Option.some;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MappedTreeMapTest {
+
+  private static Path tempFile() throws IOException {
+    final Path p = Files.createTempFile("mapped", ".map");
+    p.toFile().deleteOnExit();
+    return p;
+  }
+
+  // The even keys from 0 to 1998, each mapped to its string
+  private static final List<P2<Integer, String>> ENTRIES = List.range(0, 1000).map(i -> p(2 * i, "v" + 2 * i));
+
+  private static MappedTreeMap<Integer, String> evens(final int segmentBits) throws IOException {
+    return evens(tempFile(), segmentBits);
+  }
+
+  private static MappedTreeMap<Integer, String> evens(final Path p, final int segmentBits) throws IOException {
+    return MappedTreeMap.fromSortedIterable(p, Ord.intOrd, Codec.intCodec, Codec.stringCodec, ENTRIES, segmentBits);
+  }
+
+  @Test
+  public void testLookups() throws IOException {
+    // segments of 64 bytes, so that records are padded to the segment boundaries
+    final MappedTreeMap<Integer, String> m = evens(6);
+    assertThat(m.size(), is(1000));
+    assertThat(m.get(42), is(some("v42")));
+    assertThat(m.get(43), is(Option.<String>none()));
+    assertThat(m.contains(1998), is(true));
+    assertThat(m.index(10), is(p(20, "v20")));
+    assertThat(m.rank(21), is(11));
+    assertThat(m.min(), is(some(p(0, "v0"))));
+    assertThat(m.max(), is(some(p(1998, "v1998"))));
+    assertThat(m.lookupLT(20), is(some(p(18, "v18"))));
+    assertThat(m.lookupLE(20), is(some(p(20, "v20"))));
+    assertThat(m.lookupGT(20), is(some(p(22, "v22"))));
+    assertThat(m.lookupGE(21), is(some(p(22, "v22"))));
+    assertThat(m.lookupLT(0), is(Option.<P2<Integer, String>>none()));
+    assertThat(m.lookupGT(1998), is(Option.<P2<Integer, String>>none()));
+    assertThat(m.toStream().toList(), is(ENTRIES));
+  }
+
+  @Test
+  public void testViews() throws IOException {
+    final MappedTreeMap<Integer, String> m = evens(30);
+    final MappedTreeMap<Integer, String> r = m.range(100, 200);
+    assertThat(r.size(), is(50));
+    assertThat(r.min(), is(some(p(100, "v100"))));
+    assertThat(r.max(), is(some(p(198, "v198"))));
+    assertThat(r.lookupGE(200), is(Option.<P2<Integer, String>>none()));
+    assertThat(r.get(50), is(Option.<String>none()));
+    assertThat(m.range(200, 100).isEmpty(), is(true));
+    final P3<MappedTreeMap<Integer, String>, Option<String>, MappedTreeMap<Integer, String>> s = m.splitLookup(500);
+    assertThat(s._1().size(), is(250));
+    assertThat(s._2(), is(some("v500")));
+    assertThat(s._3().min(), is(some(p(502, "v502"))));
+    assertThat(m.splitLookup(501)._2(), is(Option.<String>none()));
+    assertThat(m.take(3).toTreeMap(), is(TreeMap.iterableTreeMap(Ord.intOrd, ENTRIES.take(3))));
+    assertThat(m.drop(998).foldMap(P2::_1, Monoid.intAdditionMonoid), is(1996 + 1998));
+  }
+
+  @Test
+  public void testReopen() throws IOException {
+    final Path p = tempFile();
+    evens(p, 30);
+    final MappedTreeMap<Integer, String> m = MappedTreeMap.open(p, Ord.intOrd, Codec.intCodec, Codec.stringCodec);
+    assertThat(m.foldLeft((acc, kv) -> acc.snoc(kv), List.<P2<Integer, String>>nil()), is(ENTRIES));
+    final MappedTreeMap<Integer, String> empty = MappedTreeMap.fromSortedIterable(tempFile(), Ord.intOrd,
+        Codec.intCodec, Codec.stringCodec, List.nil());
+    assertThat(empty.isEmpty(), is(true));
+    assertThat(empty.get(1), is(Option.<String>none()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsorted() throws IOException {
+    MappedTreeMap.fromSortedIterable(tempFile(), Ord.intOrd, Codec.intCodec, Codec.intCodec,
+        List.list(p(1, 1), p(1, 2)));
+  }
+
+  @Test
+  public void testReplaceKeepsOpenMapsAndSurvivesFailure() throws IOException {
+    final Path dir = Files.createTempDirectory("mapped");
+    final Path p = dir.resolve("evens.map");
+    final MappedTreeMap<Integer, String> old = evens(p, 30);
+    final MappedTreeMap<Integer, String> one = MappedTreeMap.fromSortedIterable(p, Ord.intOrd, Codec.intCodec,
+        Codec.stringCodec, List.list(p(1, "one")));
+    assertThat(one.size(), is(1));
+    assertThat(old.get(1998), is(some("v1998")));
+    try {
+      MappedTreeMap.fromSortedIterable(p, Ord.intOrd, Codec.intCodec, Codec.stringCodec,
+          List.list(p(2, "two"), p(1, "one")));
+      fail("IllegalArgumentException expected");
+    } catch (IllegalArgumentException e) {
+      // the unsorted entries are rejected, and the file is left as it was
+    }
+    assertThat(MappedTreeMap.open(p, Ord.intOrd, Codec.intCodec, Codec.stringCodec).get(1), is(some("one")));
+    try (Stream<Path> files = Files.list(dir)) {
+      assertThat(files.count(), is(1L));
+    }
+    Files.delete(p);
+    Files.delete(dir);
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotAMap() throws IOException {
+    final Path p = tempFile();
+    Files.write(p, "not a map".getBytes());
+    MappedTreeMap.open(p, Ord.intOrd, Codec.intCodec, Codec.intCodec);
+  }
+}
@@ -0,0 +1,80 @@
+package fj.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static fj.function.Integers.add;
+
+/**
+ * JMH benchmarks for {@link Array}. Updates copy the array first, as a persistent update would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ArrayBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private Array<Integer> array;
+
+  @Setup
+  public void setup() {
+    array = Array.range(0, size);
+  }
+
+  @Benchmark
+  public Array<Integer> cons() {
+    return Array.single(-1).append(array);
+  }
+
+  @Benchmark
+  public Array<Integer> snoc() {
+    return array.append(Array.single(-1));
+  }
+
+  @Benchmark
+  public Array<Integer> append() {
+    return array.append(array);
+  }
+
+  @Benchmark
+  public Integer index() {
+    return array.get(size / 2);
+  }
+
+  @Benchmark
+  public Array<Integer> update() {
+    final Array<Integer> copy = Array.iterableArray(array);
+    copy.set(size / 2, -1);
+    return copy;
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : array) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return array.foldLeft(add, 0);
+  }
+
+}
@@ -0,0 +1,37 @@
+package fj.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Fixtures shared by the JMH benchmarks.
+ */
+final class Benchmarks {
+
+  private Benchmarks() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * The seed used for every shuffled fixture, so that all runs sort the same input.
+   */
+  static final long SEED = 42L;
+
+  /**
+   * Returns the integers from <code>0</code> (inclusive) to <code>size</code> (exclusive) in a
+   * reproducible random order.
+   *
+   * @param size The number of integers.
+   * @return The integers from <code>0</code> to <code>size</code> in a reproducible random order.
+   */
+  static java.util.List<Integer> shuffled(final int size) {
+    final ArrayList<Integer> xs = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      xs.add(i);
+    }
+    Collections.shuffle(xs, new Random(SEED));
+    return xs;
+  }
+
+}
@@ -0,0 +1,61 @@
+package fj.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link DList}. Each benchmark runs the difference list so that the deferred work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class DListBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private DList<Integer> dlist;
+
+  @Setup
+  public void setup() {
+    dlist = DList.listDList(List.range(0, size));
+  }
+
+  @Benchmark
+  public List<Integer> cons() {
+    return dlist.cons(-1).run();
+  }
+
+  @Benchmark
+  public List<Integer> snoc() {
+    return dlist.snoc(-1).run();
+  }
+
+  @Benchmark
+  public List<Integer> append() {
+    return dlist.append(dlist).run();
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : dlist.run()) {
+      bh.consume(i);
+    }
+  }
+
+}
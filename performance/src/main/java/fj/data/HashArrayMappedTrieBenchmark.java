@@ -0,0 +1,76 @@
+package fj.data;
+
+import fj.P;
+import fj.P2;
+import fj.data.hamt.HashArrayMappedTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link HashArrayMappedTrie}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class HashArrayMappedTrieBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private HashArrayMappedTrie<Integer, Integer> hamt;
+  private List<P2<Integer, Integer>> entries;
+
+  @Setup
+  public void setup() {
+    entries = List.iterableList(Benchmarks.shuffled(size)).map(i -> P.p(i, i));
+    hamt = HashArrayMappedTrie.<Integer>emptyKeyInteger().set(entries);
+  }
+
+  @Benchmark
+  public HashArrayMappedTrie<Integer, Integer> build() {
+    return HashArrayMappedTrie.<Integer>emptyKeyInteger().set(entries);
+  }
+
+  @Benchmark
+  public HashArrayMappedTrie<Integer, Integer> set() {
+    return hamt.set(size, size);
+  }
+
+  @Benchmark
+  public Option<Integer> find() {
+    return hamt.find(size / 2);
+  }
+
+  @Benchmark
+  public int length() {
+    return hamt.length();
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return hamt.foldLeft((acc, p) -> acc + p._2(), 0);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final P2<Integer, Integer> p : hamt.toStream()) {
+      bh.consume(p);
+    }
+  }
+
+}
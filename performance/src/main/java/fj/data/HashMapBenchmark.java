@@ -0,0 +1,81 @@
+package fj.data;
+
+import fj.Equal;
+import fj.Hash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link HashMap} and {@link HashSet}, with {@link java.util.HashMap} as a baseline.
+ * Run with <code>-prof gc</code> to see that {@link HashMap#contains} allocates nothing per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class HashMapBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private java.util.List<Integer> keys;
+  private HashMap<Integer, Integer> map;
+  private HashSet<Integer> set;
+  private java.util.HashMap<Integer, Integer> javaMap;
+  private Integer key;
+
+  @Setup
+  public void setup() {
+    keys = Benchmarks.shuffled(size);
+    map = build();
+    set = HashSet.iterableHashSet(Equal.intEqual, Hash.intHash, keys);
+    javaMap = new java.util.HashMap<>();
+    for (final Integer k : keys) {
+      javaMap.put(k, k);
+    }
+    key = size / 2;
+  }
+
+  @Benchmark
+  public HashMap<Integer, Integer> build() {
+    final HashMap<Integer, Integer> m = HashMap.hashMap(Equal.intEqual, Hash.intHash);
+    for (final Integer k : keys) {
+      m.set(k, k);
+    }
+    return m;
+  }
+
+  @Benchmark
+  public Option<Integer> get() {
+    return map.get(key);
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return map.contains(key);
+  }
+
+  @Benchmark
+  public boolean setContains() {
+    return set.contains(key);
+  }
+
+  @Benchmark
+  public Integer javaGet() {
+    return javaMap.get(key);
+  }
+
+}
@@ -0,0 +1,104 @@
+package fj.data;
+
+import fj.Ord;
+import fj.P2;
+import fj.control.parallel.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static fj.function.Integers.add;
+
+/**
+ * JMH benchmarks for {@link List}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ListBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private List<Integer> list;
+  private List<Integer> shuffled;
+
+  @Setup
+  public void setup() {
+    list = List.range(0, size);
+    shuffled = List.iterableList(Benchmarks.shuffled(size));
+  }
+
+  @Benchmark
+  public List<Integer> cons() {
+    return list.cons(-1);
+  }
+
+  @Benchmark
+  public List<Integer> snoc() {
+    return list.snoc(-1);
+  }
+
+  @Benchmark
+  public List<Integer> append() {
+    return list.append(list);
+  }
+
+  @Benchmark
+  public Integer index() {
+    return list.index(size / 2);
+  }
+
+  @Benchmark
+  public List<Integer> update() {
+    final P2<List<Integer>, List<Integer>> p = list.splitAt(size / 2);
+    return p._1().append(p._2().tail().cons(-1));
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : list) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return list.foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public List<Integer> sort() {
+    return shuffled.sort(Ord.intOrd);
+  }
+
+  @Benchmark
+  public Integer mapFilterFold() {
+    return list.map(i -> i * 3).filter(i -> i % 2 == 0).map(i -> i + 1).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer viewMapFilterFold() {
+    return list.view().map(i -> i * 3).filter(i -> i % 2 == 0).map(i -> i + 1).foldLeft(Integer::sum, 0);
+  }
+
+  @Benchmark
+  public List<Integer> parSort() {
+    return shuffled.sort(Ord.intOrd, Strategy.forkJoinStrategy());
+  }
+
+}
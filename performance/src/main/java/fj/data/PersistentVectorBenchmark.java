@@ -0,0 +1,90 @@
+package fj.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link PersistentVector}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PersistentVectorBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private PersistentVector<Integer> vector;
+
+  @Setup
+  public void setup() {
+    vector = PersistentVector.iterableVector(List.range(0, size));
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> cons() {
+    return vector.cons(-1);
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> snoc() {
+    return vector.snoc(-1);
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> append() {
+    return vector.append(vector);
+  }
+
+  @Benchmark
+  public Integer index() {
+    return vector.index(size / 2);
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> update() {
+    return vector.update(size / 2, -1);
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> build() {
+    PersistentVector<Integer> v = PersistentVector.empty();
+    for (int i = 0; i < size; i++) {
+      v = v.snoc(i);
+    }
+    return v;
+  }
+
+  @Benchmark
+  public PersistentVector<Integer> slice() {
+    return vector.drop(size / 4).take(size / 2);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : vector) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return vector.foldLeft((acc, i) -> acc + i, 0);
+  }
+
+}
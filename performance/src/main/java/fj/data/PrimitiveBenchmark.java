@@ -0,0 +1,85 @@
+package fj.data;
+
+import fj.function.Integers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks comparing {@link IntList} and {@link IntArray} with boxed {@link List} and {@link Array}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PrimitiveBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private List<Integer> list;
+  private IntList intList;
+  private Array<Integer> array;
+  private IntArray intArray;
+
+  @Setup
+  public void setup() {
+    list = List.range(0, size);
+    intList = IntList.range(0, size);
+    array = Array.range(0, size);
+    intArray = IntArray.range(0, size);
+  }
+
+  @Benchmark
+  public List<Integer> listRange() {
+    return List.range(0, size);
+  }
+
+  @Benchmark
+  public IntList intListRange() {
+    return IntList.range(0, size);
+  }
+
+  @Benchmark
+  public int listSum() {
+    return Integers.sum(list);
+  }
+
+  @Benchmark
+  public int intListSum() {
+    return intList.sum();
+  }
+
+  @Benchmark
+  public int listMapSum() {
+    return Integers.sum(list.map(x -> x * 3));
+  }
+
+  @Benchmark
+  public int intListMapSum() {
+    return intList.map(x -> x * 3).sum();
+  }
+
+  @Benchmark
+  public int arraySum() {
+    return array.foldLeft((acc, x) -> acc + x, 0);
+  }
+
+  @Benchmark
+  public int intArraySum() {
+    return intArray.sum();
+  }
+
+}
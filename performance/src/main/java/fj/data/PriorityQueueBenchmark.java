@@ -0,0 +1,70 @@
+package fj.data;
+
+import fj.P;
+import fj.P2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link PriorityQueue}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PriorityQueueBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private PriorityQueue<Integer, Integer> queue;
+  private List<P2<Integer, Integer>> entries;
+
+  @Setup
+  public void setup() {
+    entries = List.iterableList(Benchmarks.shuffled(size)).map(i -> P.p(i, i));
+    queue = PriorityQueue.<Integer>emptyInt().enqueue(entries);
+  }
+
+  @Benchmark
+  public PriorityQueue<Integer, Integer> build() {
+    return PriorityQueue.<Integer>emptyInt().enqueue(entries);
+  }
+
+  @Benchmark
+  public PriorityQueue<Integer, Integer> enqueue() {
+    return queue.enqueue(size, size);
+  }
+
+  @Benchmark
+  public Option<P2<Integer, Integer>> top() {
+    return queue.top();
+  }
+
+  @Benchmark
+  public PriorityQueue<Integer, Integer> dequeue() {
+    return queue.dequeue();
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final P2<Integer, Integer> p : queue.toStream()) {
+      bh.consume(p);
+    }
+  }
+
+}
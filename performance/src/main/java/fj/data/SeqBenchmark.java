@@ -0,0 +1,76 @@
+package fj.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link Seq}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SeqBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private Seq<Integer> seq;
+
+  @Setup
+  public void setup() {
+    seq = Seq.iterableSeq(List.range(0, size));
+  }
+
+  @Benchmark
+  public Seq<Integer> cons() {
+    return seq.cons(-1);
+  }
+
+  @Benchmark
+  public Seq<Integer> snoc() {
+    return seq.snoc(-1);
+  }
+
+  @Benchmark
+  public Seq<Integer> append() {
+    return seq.append(seq);
+  }
+
+  @Benchmark
+  public Integer index() {
+    return seq.index(size / 2);
+  }
+
+  @Benchmark
+  public Seq<Integer> update() {
+    return seq.update(size / 2, -1);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : seq) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return seq.foldLeft((acc, i) -> acc + i, 0);
+  }
+
+}
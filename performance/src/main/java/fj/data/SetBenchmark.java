@@ -0,0 +1,104 @@
+package fj.data;
+
+import fj.Monoid;
+import fj.Ord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static fj.Function.identity;
+
+/**
+ * JMH benchmarks for {@link Set}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SetBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private Set<Integer> set;
+  private Set<Integer> evens;
+  private java.util.List<Integer> shuffled;
+
+  @Setup
+  public void setup() {
+    shuffled = Benchmarks.shuffled(size);
+    set = Set.iterableSet(Ord.intOrd, shuffled);
+    evens = set.filter(i -> i % 2 == 0);
+  }
+
+  @Benchmark
+  public Set<Integer> build() {
+    return Set.iterableSet(Ord.intOrd, shuffled);
+  }
+
+  @Benchmark
+  public Set<Integer> buildSorted() {
+    return Set.fromSortedIterable(Ord.intOrd, set);
+  }
+
+  @Benchmark
+  public Set<Integer> insert() {
+    return set.insert(size);
+  }
+
+  @Benchmark
+  public boolean member() {
+    return set.member(size / 2);
+  }
+
+  @Benchmark
+  public Set<Integer> delete() {
+    return set.delete(size / 2);
+  }
+
+  @Benchmark
+  public int size() {
+    return set.size();
+  }
+
+  @Benchmark
+  public Set<Integer> union() {
+    return set.union(evens);
+  }
+
+  @Benchmark
+  public Set<Integer> intersect() {
+    return set.intersect(evens);
+  }
+
+  @Benchmark
+  public Set<Integer> minus() {
+    return set.minus(evens);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : set) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return set.foldMap(identity(), Monoid.intAdditionMonoid);
+  }
+
+}
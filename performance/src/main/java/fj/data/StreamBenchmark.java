@@ -0,0 +1,91 @@
+package fj.data;
+
+import fj.Ord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static fj.function.Integers.add;
+
+/**
+ * JMH benchmarks for {@link Stream}. Lazy results are consumed with a fold so that the work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class StreamBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private Stream<Integer> stream;
+  private Stream<Integer> shuffled;
+
+  @Setup
+  public void setup() {
+    stream = List.range(0, size).toStream();
+    shuffled = List.iterableList(Benchmarks.shuffled(size)).toStream();
+  }
+
+  @Benchmark
+  public Stream<Integer> cons() {
+    return stream.cons(-1);
+  }
+
+  @Benchmark
+  public Integer snoc() {
+    return stream.snoc(-1).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer append() {
+    return stream.append(stream).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer index() {
+    return stream.index(size / 2);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final Integer i : stream) {
+      bh.consume(i);
+    }
+  }
+
+  @Benchmark
+  public Integer fold() {
+    return stream.foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer sort() {
+    return shuffled.sort(Ord.intOrd).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer pipeline() {
+    return Stream.range(0, size).map(i -> i * 3).filter(i -> i % 2 == 0).foldLeft(add, 0);
+  }
+
+  @Benchmark
+  public Integer chunkedPipeline() {
+    return ChunkedStream.range(0, size).map(i -> i * 3).filter(i -> i % 2 == 0).foldLeft(Integer::sum, 0);
+  }
+
+}
@@ -0,0 +1,86 @@
+package fj.data;
+
+import fj.Ord;
+import fj.P;
+import fj.P2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link TreeMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class TreeMapBenchmark {
+
+  @Param({"10", "1000", "100000", "10000000"})
+  public int size;
+
+  private TreeMap<Integer, Integer> map;
+  private List<P2<Integer, Integer>> shuffled;
+
+  @Setup
+  public void setup() {
+    shuffled = List.iterableList(Benchmarks.shuffled(size)).map(i -> P.p(i, i));
+    map = TreeMap.iterableTreeMap(Ord.intOrd, shuffled);
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> build() {
+    return TreeMap.iterableTreeMap(Ord.intOrd, shuffled);
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> buildSorted() {
+    return TreeMap.fromSortedIterable(Ord.intOrd, map);
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> set() {
+    return map.set(size, size);
+  }
+
+  @Benchmark
+  public Option<Integer> get() {
+    return map.get(size / 2);
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> update() {
+    return map.update(size / 2, i -> i + 1)._2();
+  }
+
+  @Benchmark
+  public TreeMap<Integer, Integer> delete() {
+    return map.delete(size / 2);
+  }
+
+  @Benchmark
+  public int size() {
+    return map.size();
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole bh) {
+    for (final P2<Integer, Integer> p : map) {
+      bh.consume(p);
+    }
+  }
+
+}